@@ -0,0 +1,147 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.swing.table.UneditableDefaultTableModel;
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the alert history and table model updates done by
+ * {@link AlertsPane}, with the history full at the given size.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlertHistoryBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int rows;
+
+  private AlertHistory history;
+  private UneditableDefaultTableModel tableModel;
+  private int nextSource;
+  private int nextClear;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    history = new AlertHistory(rows);
+    tableModel = new UneditableDefaultTableModel(0, 5);
+    for (nextSource = 0; nextSource < rows; nextSource++) {
+      alert(nextSource, AlertLevel.HIGH);
+    }
+    nextClear = 0;
+  }
+
+  /**
+   * Adds an alert then applies the update to the table model, the same as
+   * {@link AlertsPane#alert(java.lang.Object, java.lang.String, com.aoindustries.noc.monitor.common.AlertLevel, com.aoindustries.noc.monitor.common.AlertLevel, java.lang.String, com.aoindustries.noc.monitor.common.AlertCategory, com.aoindustries.noc.monitor.common.AlertCategory)}.
+   */
+  private AlertHistory.Update alert(Object source, AlertLevel newAlertLevel) {
+    AlertHistory.Update update = history.alert(
+        source,
+        "Source " + source,
+        AlertLevel.NONE,
+        newAlertLevel,
+        "Benchmark alert",
+        AlertCategory.MONITORING,
+        AlertCategory.MONITORING
+    );
+    if (update.removedRow != -1) {
+      tableModel.removeRow(update.removedRow);
+    }
+    AlertsPane.Alert alert = update.inserted;
+    if (alert != null) {
+      tableModel.insertRow(
+          0,
+          new Object[]{
+              new Date(alert.time),
+              alert.newAlertLevel,
+              alert.newAlertCategory,
+              alert.sourceDisplay,
+              alert.alertMessage
+          }
+      );
+    }
+    return update;
+  }
+
+  /**
+   * A new source, scanning the whole history then dropping the oldest alert.
+   */
+  @Benchmark
+  public Object insert() {
+    return alert(nextSource++, AlertLevel.HIGH);
+  }
+
+  /**
+   * An existing source, moving its alert to the top.  The oldest source is
+   * chosen, so it is found at the end of the history.
+   */
+  @Benchmark
+  public Object replace() {
+    AlertsPane.Alert oldest = history.getAlerts().get(history.size() - 1);
+    return alert(oldest.source, AlertLevel.CRITICAL);
+  }
+
+  /**
+   * Clears the alert of one source by dropping below the alert threshold,
+   * then adds it back so the size is constant.
+   */
+  @Benchmark
+  public Object clearSource() {
+    Integer source = nextClear;
+    nextClear = (nextClear + 1) % rows;
+    alert(source, AlertLevel.NONE);
+    return alert(source, AlertLevel.HIGH);
+  }
+
+  /**
+   * Finds the highest alert level, as done for the tray icon after every change.
+   */
+  @Benchmark
+  public AlertLevel highestAlertLevel() {
+    return history.getHighestAlertLevel();
+  }
+}
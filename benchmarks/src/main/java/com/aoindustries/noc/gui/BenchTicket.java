@@ -0,0 +1,103 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+/**
+ * A synthetic ticket, with the same identity-based hashing as AOServ rows.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class BenchTicket {
+
+  static final TicketFilter.Accessor<BenchTicket, Integer, Integer> ACCESSOR = new TicketFilter.Accessor<>() {
+    @Override
+    public Object getBrand(BenchTicket ticket) {
+      return ticket.brand;
+    }
+
+    @Override
+    public Object getReseller(BenchTicket ticket) {
+      return ticket.reseller;
+    }
+
+    @Override
+    public Object getTicketType(BenchTicket ticket) {
+      return ticket.type;
+    }
+
+    @Override
+    public Object getStatus(BenchTicket ticket) {
+      return ticket.status;
+    }
+
+    @Override
+    public Object getPriority(BenchTicket ticket) {
+      return ticket.priority;
+    }
+
+    @Override
+    public Object getLanguage(BenchTicket ticket) {
+      return ticket.language;
+    }
+
+    @Override
+    public Integer getCategory(BenchTicket ticket) {
+      return ticket.category;
+    }
+
+    @Override
+    public Integer getAccount(BenchTicket ticket) {
+      return ticket.account;
+    }
+  };
+
+  private final Integer brand;
+  private final Integer reseller;
+  private final Integer type;
+  private final Integer status;
+  private final Integer priority;
+  private final Integer language;
+  private final Integer category;
+  private final Integer account;
+
+  BenchTicket(
+      Integer brand,
+      Integer reseller,
+      Integer type,
+      Integer status,
+      Integer priority,
+      Integer language,
+      Integer category,
+      Integer account
+  ) {
+    this.brand = brand;
+    this.reseller = reseller;
+    this.type = type;
+    this.status = status;
+    this.priority = priority;
+    this.language = language;
+    this.category = category;
+    this.account = account;
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks headless, reporting throughput along with the
+ * allocation rate from the GC profiler.  Any standard JMH command line options
+ * are applied on top, such as a regular expression to select benchmarks or
+ * <code>-p rows=1000</code> to limit parameters.
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class BenchmarkRunner {
+
+  /** Make no instances. */
+  private BenchmarkRunner() {
+    throw new AssertionError();
+  }
+
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    OptionsBuilder builder = new OptionsBuilder();
+    builder.parent(commandLine);
+    if (commandLine.getIncludes().isEmpty()) {
+      builder.include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark");
+    }
+    Options options = builder
+        .mode(Mode.Throughput)
+        .addProfiler(GCProfiler.class)
+        .jvmArgsAppend("-Djava.awt.headless=true")
+        .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,394 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.rmi.RMIClientSocketFactoryTCP;
+import com.aoapps.hodgepodge.rmi.RMIServerSocketFactoryTCP;
+import com.aoindustries.noc.monitor.common.Monitor;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.RootNode;
+import com.aoindustries.noc.monitor.common.SingleResult;
+import com.aoindustries.noc.monitor.common.SingleResultListener;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResult;
+import com.aoindustries.noc.monitor.common.TableMultiResultListener;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResult;
+import com.aoindustries.noc.monitor.common.TableResultListener;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the threads and heap used by many concurrent node subscriptions,
+ * with the subsystem executors on platform threads or on virtual threads.
+ * Subscribes to the leaves of the in-process {@link Simulator} the same way as
+ * {@link NodeSubscriptions}: each subscription is exported and added through
+ * an <code>rmi-lifecycle</code> executor, and each callback is processed
+ * through a {@link CallbackInbox} slot on a <code>systems</code> executor,
+ * both sized as in {@link Noc}.  The subscriptions are then held while results
+ * arrive, and the thread counts and heap are reported.
+ *
+ * <p>Run once per mode, each in a new JVM, with the shaded benchmarks jar on
+ * the classpath:</p>
+ *
+ * <pre>java -cp noc-gui-benchmarks.jar com.aoindustries.noc.gui.SubscriptionLoad platform [subscriptions [holdSeconds]]
+ * java -cp noc-gui-benchmarks.jar com.aoindustries.noc.gui.SubscriptionLoad virtual [subscriptions [holdSeconds]]</pre>
+ *
+ * <p>Virtual threads require Java 21 or newer; on older runtimes
+ * {@link SubsystemExecutor} falls back to platform threads, which is shown as
+ * <code>virtual = false</code> in the report.  Either way, the executors keep
+ * their limits on running and queued tasks.  The simulator runs in the same
+ * JVM, so the thread counts include its RMI connection threads.  The
+ * simulator is configured by {@link Simulator#CONFIG_PROPERTY} and must have
+ * at least as many leaves as subscriptions.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+public final class SubscriptionLoad {
+
+  private static final int DEFAULT_SUBSCRIPTIONS = 1000;
+
+  private static final int DEFAULT_HOLD_SECONDS = 30;
+
+  /** Make no instances. */
+  private SubscriptionLoad() {
+    throw new AssertionError();
+  }
+
+  private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+  private static final RMIClientSocketFactory csf = new RMIClientSocketFactoryTCP("127.0.0.1");
+  private static final RMIServerSocketFactory ssf = new RMIServerSocketFactoryTCP("127.0.0.1");
+
+  private static final LongAdder callbacks = new LongAdder();
+  private static final LongAdder processed = new LongAdder();
+  private static final LongAdder fetches = new LongAdder();
+  private static final LongAdder failures = new LongAdder();
+
+  private static SubsystemExecutor systemsExecutor;
+  private static CallbackInbox inbox;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1 || args.length > 3 || !("platform".equals(args[0]) || "virtual".equals(args[0]))) {
+      System.err.println("usage: " + SubscriptionLoad.class.getName() + " {platform|virtual} [subscriptions [holdSeconds]]");
+      System.exit(1);
+      return;
+    }
+    boolean virtualThreads = "virtual".equals(args[0]);
+    int subscriptions = args.length >= 2 ? Integer.parseInt(args[1]) : DEFAULT_SUBSCRIPTIONS;
+    int holdSeconds = args.length >= 3 ? Integer.parseInt(args[2]) : DEFAULT_HOLD_SECONDS;
+
+    SubsystemExecutor rmiLifecycleExecutor = new SubsystemExecutor("rmi-lifecycle", 8, 10000, new ThreadPoolExecutor.AbortPolicy(), virtualThreads);
+    systemsExecutor = new SubsystemExecutor("systems", 4, 4096, new ThreadPoolExecutor.AbortPolicy(), virtualThreads);
+    inbox = new CallbackInbox(new SubsystemExecutor("callbacks", 1, 1, new ThreadPoolExecutor.AbortPolicy(), false));
+
+    Monitor monitor = Simulator.start(csf, ssf);
+    RootNode rootNode = monitor.login(Locale.getDefault(), null, "");
+    List<Node> leaves = new ArrayList<>(subscriptions);
+    addLeaves(rootNode.getSnapshot(), leaves, subscriptions);
+    if (leaves.size() < subscriptions) {
+      throw new IllegalStateException("Simulator has only " + leaves.size() + " leaves, need " + subscriptions);
+    }
+
+    int baselineThreads = threads.getThreadCount();
+    long baselineHeap = usedHeapAfterGc();
+    threads.resetPeakThreadCount();
+
+    // Subscribe all at once
+    List<Subscription<?>> subscribed = new ArrayList<>(subscriptions);
+    CountDownLatch exported = new CountDownLatch(subscriptions);
+    long startNanos = System.nanoTime();
+    for (Node leaf : leaves) {
+      Subscription<?> subscription = newSubscription(leaf);
+      subscribed.add(subscription);
+      rmiLifecycleExecutor.submit(() -> {
+        try {
+          subscription.export();
+        } catch (RuntimeException e) {
+          failures.increment();
+          throw e;
+        } finally {
+          exported.countDown();
+        }
+      });
+    }
+    exported.await();
+    long subscribeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    int subscribedThreads = threads.getThreadCount();
+
+    // Hold while results arrive
+    Thread.sleep(TimeUnit.SECONDS.toMillis(holdSeconds));
+    int heldThreads = threads.getThreadCount();
+    int peakThreads = threads.getPeakThreadCount();
+    long heldHeap = usedHeapAfterGc();
+
+    // Unsubscribe all at once
+    CountDownLatch unexported = new CountDownLatch(subscriptions);
+    for (Subscription<?> subscription : subscribed) {
+      rmiLifecycleExecutor.submit(() -> {
+        try {
+          subscription.unexport();
+        } catch (RuntimeException e) {
+          failures.increment();
+          throw e;
+        } finally {
+          unexported.countDown();
+        }
+      });
+    }
+    unexported.await();
+
+    System.out.println("mode = " + args[0] + ", java = " + System.getProperty("java.version"));
+    System.out.println(rmiLifecycleExecutor);
+    System.out.println(systemsExecutor);
+    System.out.println("subscriptions = " + subscriptions + ", subscribe = " + subscribeMillis + " ms, hold = " + holdSeconds + " s");
+    System.out.println("threads: baseline = " + baselineThreads + ", subscribed = " + subscribedThreads
+        + ", held = " + heldThreads + ", peak = " + peakThreads);
+    System.out.println("heap used after GC: baseline = " + toMiB(baselineHeap) + " MiB, held = " + toMiB(heldHeap)
+        + " MiB, delta = " + toMiB(heldHeap - baselineHeap) + " MiB");
+    System.out.println("callbacks = " + callbacks.sum() + ", processed = " + processed.sum() + ", fetches = " + fetches.sum()
+        + ", failures = " + failures.sum());
+    System.exit(0);
+  }
+
+  private static void addLeaves(NodeSnapshot snapshot, List<Node> leaves, int max) {
+    for (NodeSnapshot child : snapshot.getChildren()) {
+      if (leaves.size() >= max) {
+        return;
+      }
+      Node node = child.getNode();
+      if (
+          node instanceof SingleResultNode
+              || node instanceof TableResultNode
+              || node instanceof TableMultiResultNode
+      ) {
+        leaves.add(node);
+      } else {
+        addLeaves(child, leaves, max);
+      }
+    }
+  }
+
+  private static long usedHeapAfterGc() {
+    System.gc();
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+
+  private static long toMiB(long bytes) {
+    return bytes / (1024 * 1024);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Subscription<?> newSubscription(Node leaf) {
+    if (leaf instanceof SingleResultNode) {
+      return new SingleResultSubscription((SingleResultNode) leaf);
+    } else if (leaf instanceof TableResultNode) {
+      return new TableResultSubscription((TableResultNode) leaf);
+    } else {
+      return new TableMultiResultSubscription((TableMultiResultNode<TableMultiResult>) leaf);
+    }
+  }
+
+  /**
+   * One subscription, processing each callback on the systems executor.
+   */
+  private abstract static class Subscription<V> {
+
+    final CallbackInbox.Slot<V> results = inbox.newSlot(systemsExecutor, this::process);
+
+    abstract Remote getListener();
+
+    abstract V getLastResult() throws RemoteException;
+
+    abstract void addListener() throws RemoteException;
+
+    abstract void removeListener() throws RemoteException;
+
+    void process(V value) {
+      processed.increment();
+    }
+
+    final void export() {
+      try {
+        results.offer(getLastResult());
+        UnicastRemoteObject.exportObject(getListener(), 0, csf, ssf);
+        addListener();
+      } catch (RemoteException err) {
+        throw new RuntimeException(err);
+      }
+    }
+
+    final void unexport() {
+      try {
+        removeListener();
+        UnicastRemoteObject.unexportObject(getListener(), true);
+      } catch (RemoteException err) {
+        throw new RuntimeException(err);
+      }
+    }
+  }
+
+  private static final class SingleResultSubscription extends Subscription<SingleResult> implements SingleResultListener {
+
+    private final SingleResultNode node;
+
+    private SingleResultSubscription(SingleResultNode node) {
+      this.node = node;
+    }
+
+    @Override
+    Remote getListener() {
+      return this;
+    }
+
+    @Override
+    SingleResult getLastResult() throws RemoteException {
+      return node.getLastResult();
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      node.addSingleResultListener(this);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      node.removeSingleResultListener(this);
+    }
+
+    @Override
+    public void singleResultUpdated(SingleResult singleResult) {
+      callbacks.increment();
+      results.offer(singleResult);
+    }
+  }
+
+  private static final class TableResultSubscription extends Subscription<TableResult> implements TableResultListener {
+
+    private final TableResultNode node;
+
+    private TableResultSubscription(TableResultNode node) {
+      this.node = node;
+    }
+
+    @Override
+    Remote getListener() {
+      return this;
+    }
+
+    @Override
+    TableResult getLastResult() throws RemoteException {
+      return node.getLastResult();
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      node.addTableResultListener(this);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      node.removeTableResultListener(this);
+    }
+
+    @Override
+    public void tableResultUpdated(TableResult tableResult) {
+      callbacks.increment();
+      results.offer(tableResult);
+    }
+  }
+
+  /**
+   * Like {@link NodeSubscriptions}, fetches all results again after each
+   * change, on the systems executor.
+   */
+  private static final class TableMultiResultSubscription extends Subscription<Boolean> implements TableMultiResultListener<TableMultiResult> {
+
+    private final TableMultiResultNode<TableMultiResult> node;
+
+    private TableMultiResultSubscription(TableMultiResultNode<TableMultiResult> node) {
+      this.node = node;
+    }
+
+    @Override
+    Remote getListener() {
+      return this;
+    }
+
+    @Override
+    Boolean getLastResult() {
+      return Boolean.TRUE;
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      node.addTableMultiResultListener(this);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      node.removeTableMultiResultListener(this);
+    }
+
+    @Override
+    void process(Boolean changed) {
+      try {
+        node.getResults();
+        fetches.increment();
+      } catch (RemoteException err) {
+        throw new RuntimeException(err);
+      }
+      super.process(changed);
+    }
+
+    @Override
+    public void tableMultiResultAdded(TableMultiResult multiTableResult) {
+      callbacks.increment();
+      results.offer(Boolean.TRUE);
+    }
+
+    @Override
+    public void tableMultiResultRemoved(TableMultiResult multiTableResult) {
+      callbacks.increment();
+      results.offer(Boolean.TRUE);
+    }
+  }
+}
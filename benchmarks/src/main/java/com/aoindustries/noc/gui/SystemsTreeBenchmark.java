@@ -0,0 +1,242 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building the {@link SystemsPane} tree state from snapshots, and
+ * the reconciliation of the tree model with new tree states.  The tree has three levels below the root, with the given number
+ * of children per node: 10, 22, and 47 give about one thousand, ten thousand,
+ * and one hundred thousand leaves.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SystemsTreeBenchmark {
+
+  /**
+   * The percentage of leaves that change alert level between snapshots.
+   */
+  private static final int CHANGED_PERCENT = 1;
+
+  @Param({"10", "22", "47"})
+  public int fanout;
+
+  private NodeSnapshot snapshot1;
+  private SystemsTreeState all1;
+  private SystemsTreeState low1;
+  private SystemsTreeState low2;
+  private SystemsTreeState critical1;
+  private SystemsTreeReconciler reconciler;
+  private SystemsPane.SystemsTreeNode rootTreeNode;
+  private boolean flip;
+
+  @Setup(Level.Trial)
+  public void setup() throws RemoteException {
+    Random random = new Random(fanout);
+    BenchNode root = new BenchNode(null, "Root", true);
+    List<BenchNode> leaves = new ArrayList<>();
+    for (int i = 0; i < fanout; i++) {
+      BenchNode level1 = new BenchNode(root, "Level 1 #" + i, true);
+      for (int j = 0; j < fanout; j++) {
+        BenchNode level2 = new BenchNode(level1, "Level 2 #" + j, true);
+        for (int k = 0; k < fanout; k++) {
+          leaves.add(new BenchNode(level2, "Leaf #" + k, false));
+        }
+      }
+    }
+    for (BenchNode leaf : leaves) {
+      leaf.alertLevel = random.nextInt(100) < CHANGED_PERCENT ? AlertLevel.LOW : AlertLevel.NONE;
+    }
+    root.updateAlertLevels();
+    snapshot1 = new NodeSnapshot(null, root);
+    for (BenchNode leaf : leaves) {
+      if (random.nextInt(100) < CHANGED_PERCENT) {
+        leaf.alertLevel = leaf.alertLevel == AlertLevel.NONE ? AlertLevel.LOW : AlertLevel.NONE;
+      }
+    }
+    root.updateAlertLevels();
+    NodeSnapshot snapshot2 = new NodeSnapshot(null, root);
+    all1 = SystemsTreeState.of(snapshot1, AlertLevel.NONE);
+    low1 = SystemsTreeState.of(snapshot1, AlertLevel.LOW);
+    low2 = SystemsTreeState.of(snapshot2, AlertLevel.LOW);
+    critical1 = SystemsTreeState.of(snapshot1, AlertLevel.CRITICAL);
+
+    DefaultMutableTreeNode hiddenRoot = new DefaultMutableTreeNode("Hidden Root", true);
+    DefaultTreeModel treeModel = new DefaultTreeModel(hiddenRoot, true);
+    reconciler = new SystemsTreeReconciler(treeModel, removing -> { });
+    rootTreeNode = new SystemsPane.SystemsTreeNode(root.label, root, true);
+    treeModel.insertNodeInto(rootTreeNode, hiddenRoot, 0);
+    reconciler.reconcile(all1, rootTreeNode);
+  }
+
+  /**
+   * Builds the tree state from a snapshot, done outside the Swing event
+   * dispatch thread.
+   */
+  @Benchmark
+  public Object buildState() {
+    return SystemsTreeState.of(snapshot1, AlertLevel.NONE);
+  }
+
+  /**
+   * A new snapshot with no changes, the most common case.
+   */
+  @Benchmark
+  public Object unchanged() {
+    reconciler.reconcile(all1, rootTreeNode);
+    return rootTreeNode;
+  }
+
+  /**
+   * Alternates between snapshots, each with a different set of leaves shown
+   * at the low alert level, inserting and removing tree nodes.
+   */
+  @Benchmark
+  public Object changed() {
+    reconciler.reconcile((flip = !flip) ? low2 : low1, rootTreeNode);
+    return rootTreeNode;
+  }
+
+  /**
+   * Removes all tree nodes then inserts them again, as when the systems alert
+   * level is changed from critical to none.
+   */
+  @Benchmark
+  public Object rebuild() {
+    reconciler.reconcile(critical1, rootTreeNode);
+    reconciler.reconcile(all1, rootTreeNode);
+    return rootTreeNode;
+  }
+
+  /**
+   * A local node for building snapshots.
+   */
+  private static final class BenchNode implements Node {
+
+    private final BenchNode parent;
+    private final String label;
+    private final boolean allowsChildren;
+    private final List<BenchNode> children = new ArrayList<>();
+    private final UUID uuid = UUID.randomUUID();
+    private AlertLevel alertLevel = AlertLevel.NONE;
+
+    private BenchNode(BenchNode parent, String label, boolean allowsChildren) {
+      this.parent = parent;
+      this.label = label;
+      this.allowsChildren = allowsChildren;
+      if (parent != null) {
+        parent.children.add(this);
+      }
+    }
+
+    /**
+     * Sets the alert level of each branch to the highest of its children.
+     */
+    private AlertLevel updateAlertLevels() {
+      if (allowsChildren) {
+        AlertLevel highest = AlertLevel.NONE;
+        for (BenchNode child : children) {
+          AlertLevel childLevel = child.updateAlertLevels();
+          if (childLevel.compareTo(highest) > 0) {
+            highest = childLevel;
+          }
+        }
+        alertLevel = highest;
+      }
+      return alertLevel;
+    }
+
+    @Override
+    public Node getParent() {
+      return parent;
+    }
+
+    @Override
+    public List<? extends Node> getChildren() {
+      return Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public AlertLevel getAlertLevel() {
+      return alertLevel;
+    }
+
+    @Override
+    public String getAlertMessage() {
+      return null;
+    }
+
+    @Override
+    public AlertCategory getAlertCategory() {
+      return AlertCategory.MONITORING;
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return allowsChildren;
+    }
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+
+    @Override
+    public UUID getUuid() {
+      return uuid;
+    }
+  }
+}
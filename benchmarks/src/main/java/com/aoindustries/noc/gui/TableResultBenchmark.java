@@ -0,0 +1,103 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.swing.table.UneditableDefaultTableModel;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the preparation of each new result by
+ * {@link TableResultTaskComponent}, done outside the Swing event dispatch
+ * thread, and the table model update done on the Swing event dispatch thread.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableResultBenchmark {
+
+  private static final int COLUMNS = 8;
+
+  @Param({"100", "1000", "10000"})
+  public int rows;
+
+  /**
+   * The systems alert level, {@code NONE} shows all rows.
+   */
+  @Param({"NONE", "MEDIUM"})
+  public AlertLevel systemsAlertLevel;
+
+  private List<Object> tableData;
+  private List<AlertLevel> alertLevels;
+  private TableView view;
+  private UneditableDefaultTableModel tableModel;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(rows);
+    AlertLevel[] levels = AlertLevel.values();
+    tableData = new ArrayList<>(rows * COLUMNS);
+    alertLevels = new ArrayList<>(rows);
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < COLUMNS; col++) {
+        tableData.add("Row " + row + ", column " + col);
+      }
+      alertLevels.add(levels[random.nextInt(levels.length)]);
+    }
+    view = TableResultTaskComponent.filterRows(COLUMNS, rows, tableData, alertLevels, systemsAlertLevel);
+    tableModel = new UneditableDefaultTableModel(rows, COLUMNS);
+  }
+
+  @Benchmark
+  public Object filterRows() {
+    return TableResultTaskComponent.filterRows(COLUMNS, rows, tableData, alertLevels, systemsAlertLevel);
+  }
+
+  @Benchmark
+  public Object applyTo() {
+    view.applyTo(tableModel);
+    return tableModel;
+  }
+}
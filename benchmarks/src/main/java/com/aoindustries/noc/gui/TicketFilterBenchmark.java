@@ -0,0 +1,207 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the ticket filtering done by {@link CommunicationPane} on each
+ * refresh, using synthetic tickets in place of AOServ tickets.  Compares
+ * filtering one ticket at a time to filtering by a {@link TicketIndex}.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketFilterBenchmark {
+
+  private static final int BRANDS = 4;
+  private static final int RESELLERS = 8;
+  private static final int ADMINISTRATORS = 20;
+  private static final int TYPES = 4;
+  private static final int STATUSES = 6;
+  private static final int PRIORITIES = 4;
+  private static final int LANGUAGES = 2;
+  private static final int CATEGORIES = 50;
+  private static final int ACCOUNTS = 1000;
+
+  /**
+   * The filters selected.
+   */
+  public enum Selection {
+    /**
+     * Nothing selected, all tickets shown.
+     */
+    NONE,
+    /**
+     * Open statuses only, the default view.
+     */
+    OPEN,
+    /**
+     * A value selected in every dimension, few tickets shown.
+     */
+    ALL
+  }
+
+  @Param({"10000", "100000", "1000000"})
+  public int tickets;
+
+  @Param({"NONE", "OPEN", "ALL"})
+  public Selection selection;
+
+  private List<BenchTicket> allTickets;
+  private TicketFilter<BenchTicket, Integer, Integer> filter;
+  private TicketIndex<BenchTicket, Integer, Integer> index;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Random random = new Random(tickets);
+    allTickets = new ArrayList<>(tickets);
+    Map<BenchTicket, Integer> ticketAssignments = new HashMap<>();
+    for (int i = 0; i < tickets; i++) {
+      BenchTicket ticket = new BenchTicket(
+          random.nextInt(BRANDS),
+          random.nextInt(RESELLERS),
+          random.nextInt(TYPES),
+          random.nextInt(STATUSES),
+          random.nextInt(PRIORITIES),
+          random.nextInt(LANGUAGES),
+          random.nextInt(10) == 0 ? null : random.nextInt(CATEGORIES),
+          random.nextInt(20) == 0 ? null : random.nextInt(ACCOUNTS)
+      );
+      allTickets.add(ticket);
+      if (random.nextBoolean()) {
+        ticketAssignments.put(ticket, random.nextInt(ADMINISTRATORS));
+      }
+    }
+    switch (selection) {
+      case NONE:
+        filter = new TicketFilter<>(
+            Collections.emptySet(),
+            Collections.emptySet(),
+            null,
+            false,
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            false,
+            Collections.emptySet(),
+            false,
+            Collections.emptySet()
+        );
+        break;
+      case OPEN:
+        filter = new TicketFilter<>(
+            Collections.emptySet(),
+            Collections.emptySet(),
+            null,
+            false,
+            Collections.emptySet(),
+            Collections.emptySet(),
+            set(0, 1, 2),
+            Collections.emptySet(),
+            Collections.emptySet(),
+            false,
+            Collections.emptySet(),
+            false,
+            Collections.emptySet()
+        );
+        break;
+      case ALL:
+        filter = new TicketFilter<>(
+            set(0, 1, 2),
+            set(0, 1, 2, 3, 4, 5),
+            ticketAssignments,
+            true,
+            set(0, 1, 2, 3, 4),
+            set(0, 1, 2),
+            set(0, 1, 2),
+            set(0, 1, 2),
+            set(0),
+            true,
+            set(0, 1, 2, 3, 4, 5, 6, 7, 8, 9),
+            true,
+            set(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)
+        );
+        break;
+      default:
+        throw new AssertionError("Unexpected selection: " + selection);
+    }
+    index = new TicketIndex<>(BenchTicket.ACCESSOR);
+    index.update(allTickets);
+  }
+
+  private static Set<Integer> set(Integer ... values) {
+    Set<Integer> set = new HashSet<>();
+    Collections.addAll(set, values);
+    return set;
+  }
+
+  @Benchmark
+  public Object filter() throws Exception {
+    return filter.filter(allTickets, BenchTicket.ACCESSOR);
+  }
+
+  @Benchmark
+  public Object filterIndexed() {
+    return filter.filter(index);
+  }
+
+  /**
+   * Updates the index when no tickets have changed, the cost of each ticket
+   * table update before any values have changed.
+   */
+  @Benchmark
+  public Object updateIndex() throws Exception {
+    index.update(allTickets);
+    return index;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the scaling of the per-ticket work of a communication refresh
+ * across threads: reading the ticket values into a {@link TicketIndex} and
+ * building the rows of the tickets table.  A parallelism of one runs in the
+ * calling thread, as when {@link Noc#COMMUNICATION_PARALLELISM_PROPERTY} is
+ * one.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketParallelBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int tickets;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  private List<BenchTicket> allTickets;
+  private ForkJoinPool pool;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(tickets);
+    allTickets = new ArrayList<>(tickets);
+    for (int i = 0; i < tickets; i++) {
+      allTickets.add(
+          new BenchTicket(
+              random.nextInt(4),
+              random.nextInt(8),
+              random.nextInt(4),
+              random.nextInt(6),
+              random.nextInt(4),
+              random.nextInt(2),
+              random.nextInt(10) == 0 ? null : random.nextInt(50),
+              random.nextInt(20) == 0 ? null : random.nextInt(1000)
+          )
+      );
+    }
+    pool = ParallelChunks.newPool("benchmark", parallelism);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Indexes all tickets, as on login.
+   */
+  @Benchmark
+  public Object indexTickets() throws Exception {
+    TicketIndex<BenchTicket, Integer, Integer> index = new TicketIndex<>(BenchTicket.ACCESSOR);
+    index.update(allTickets, pool);
+    return index;
+  }
+
+  /**
+   * Builds a row of formatted cells for each ticket, in the same order.
+   */
+  @Benchmark
+  public Object buildRows() throws Exception {
+    return ParallelChunks.map(pool, allTickets, ticket -> {
+      Integer account = BenchTicket.ACCESSOR.getAccount(ticket);
+      return new Object[]{
+          System.identityHashCode(ticket),
+          BenchTicket.ACCESSOR.getPriority(ticket),
+          BenchTicket.ACCESSOR.getStatus(ticket),
+          Instant.ofEpochMilli(1_600_000_000_000L + System.identityHashCode(ticket)).toString(),
+          "(ticket" + System.identityHashCode(ticket) + "@example.com)",
+          account == null ? "" : ("account" + account),
+          "Summary of ticket " + System.identityHashCode(ticket)
+      };
+    });
+  }
+}
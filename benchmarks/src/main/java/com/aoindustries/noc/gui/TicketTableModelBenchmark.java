@@ -0,0 +1,182 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks updating the tickets table through {@link KeyedTableModel}: the
+ * diff computed outside the Swing event dispatch thread, and the diff applied
+ * on the Swing event dispatch thread, for a refresh where nothing changed, a
+ * few tickets changed, new tickets were appended, and many tickets changed.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketTableModelBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int tickets;
+
+  @Param({"unchanged", "few", "append", "churn"})
+  public String scenario;
+
+  /**
+   * An immutable row of the table.
+   */
+  private static final class Row {
+    private final int key;
+    private final String status;
+    private final String summary;
+
+    private Row(int key, String status, String summary) {
+      this.key = key;
+      this.status = status;
+      this.summary = summary;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Row)) {
+        return false;
+      }
+      Row other = (Row) obj;
+      return key == other.key && status.equals(other.status) && summary.equals(other.summary);
+    }
+
+    @Override
+    public int hashCode() {
+      return key;
+    }
+  }
+
+  private static final KeyedTableModel.RowAdapter<Integer, Row> ADAPTER = new KeyedTableModel.RowAdapter<>() {
+    @Override
+    public Integer getKey(Row row) {
+      return row.key;
+    }
+
+    @Override
+    public Object getValueAt(Row row, int column) {
+      switch (column) {
+        case 0:
+          return row.key;
+        case 1:
+          return row.status;
+        case 2:
+        case 3:
+          return row.summary;
+        default:
+          throw new IndexOutOfBoundsException("column: " + column);
+      }
+    }
+  };
+
+  private List<Row> oldRows;
+  private List<Row> newRows;
+  private KeyedTableModel<Integer, Row> model;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(tickets);
+    oldRows = new ArrayList<>(tickets);
+    for (int i = 0; i < tickets; i++) {
+      oldRows.add(new Row(i, "open", "Summary of ticket " + i));
+    }
+    newRows = new ArrayList<>(oldRows);
+    switch (scenario) {
+      case "unchanged":
+        break;
+      case "few":
+        for (int i = 0; i < 10; i++) {
+          int index = random.nextInt(tickets);
+          newRows.set(index, new Row(index, "bounced", "Summary of ticket " + index));
+        }
+        break;
+      case "append":
+        for (int i = 0; i < 10; i++) {
+          newRows.add(new Row(tickets + i, "open", "Summary of ticket " + (tickets + i)));
+        }
+        break;
+      case "churn":
+        // Closes a tenth of the tickets and opens as many new ones
+        for (int i = 0; i < tickets / 10; i++) {
+          newRows.remove(random.nextInt(newRows.size()));
+        }
+        for (int i = 0; i < tickets / 10; i++) {
+          newRows.add(new Row(tickets + i, "open", "Summary of ticket " + (tickets + i)));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unexpected scenario: " + scenario);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setupModel() throws Exception {
+    model = new KeyedTableModel<>(Arrays.asList("key", "status", "summary", "summary2"), ADAPTER);
+    KeyedTableModel.Diff<Integer, Row> initial = model.diff(oldRows);
+    SwingUtilities.invokeAndWait(() -> model.apply(initial));
+  }
+
+  /**
+   * Computes the diff, outside the Swing event dispatch thread.
+   */
+  @Benchmark
+  public Object diff() {
+    return model.diff(newRows);
+  }
+
+  /**
+   * Computes the diff then applies it on the Swing event dispatch thread.
+   */
+  @Benchmark
+  public Object diffAndApply() throws Exception {
+    KeyedTableModel.Diff<Integer, Row> diff = model.diff(newRows);
+    SwingUtilities.invokeAndWait(() -> model.apply(diff));
+    return model;
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.tree.Node;
+import com.aoapps.hodgepodge.tree.Tree;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks finding the nodes of the account tree that have tickets in their
+ * subtree, as done by {@link CommunicationPane} to prune the tree.  Compares
+ * walking up from each account with tickets through {@link TreeParents} to
+ * searching the subtree beneath every node.
+ *
+ * @author  AO Industries, Inc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreePruneBenchmark {
+
+  /**
+   * The shape of the account tree.
+   */
+  public enum Shape {
+    /**
+     * Each account has up to ten sub-accounts, a shallow tree.
+     */
+    WIDE,
+    /**
+     * Each account has up to two sub-accounts, a deeper tree.
+     */
+    DEEP
+  }
+
+  @Param({"10000", "100000"})
+  public int accounts;
+
+  @Param({"WIDE", "DEEP"})
+  public Shape shape;
+
+  private Tree<Integer> tree;
+  private TreeParents<Integer> parents;
+  private Set<Integer> accountsWithTickets;
+
+  private static final class BenchNode implements Node<Integer> {
+
+    private final Integer value;
+    private final List<Node<Integer>> children = new ArrayList<>();
+
+    private BenchNode(Integer value) {
+      this.value = value;
+    }
+
+    @Override
+    public List<Node<Integer>> getChildren() {
+      return children.isEmpty() ? null : children;
+    }
+
+    @Override
+    public Integer getValue() {
+      return value;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    int maxChildren = shape == Shape.WIDE ? 10 : 2;
+    List<BenchNode> nodes = new ArrayList<>(accounts);
+    BenchNode root = new BenchNode(0);
+    nodes.add(root);
+    // Breadth-first, so each parent is filled before the next
+    int parent = 0;
+    for (int i = 1; i < accounts; i++) {
+      if (nodes.get(parent).children.size() == maxChildren) {
+        parent++;
+      }
+      BenchNode node = new BenchNode(i);
+      nodes.get(parent).children.add(node);
+      nodes.add(node);
+    }
+    List<Node<Integer>> roots = Collections.singletonList(root);
+    tree = () -> roots;
+    parents = new TreeParents<>(tree);
+    // One account in twenty has tickets
+    Random random = new Random(accounts);
+    accountsWithTickets = new HashSet<>();
+    for (int i = 0; i < accounts / 20; i++) {
+      accountsWithTickets.add(random.nextInt(accounts));
+    }
+  }
+
+  /**
+   * Walks up from each account with tickets, using the parents found once
+   * per change to the account tree.
+   */
+  @Benchmark
+  public Object ancestors() {
+    return parents.getAncestorsOrSelf(accountsWithTickets);
+  }
+
+  /**
+   * Finds the parents then walks up from each account with tickets, as after a
+   * change to the account tree.
+   */
+  @Benchmark
+  public Object parentsAndAncestors() throws Exception {
+    return new TreeParents<>(tree).getAncestorsOrSelf(accountsWithTickets);
+  }
+
+  /**
+   * Searches the subtree beneath every node, as done before {@link TreeParents}.
+   */
+  @Benchmark
+  public Object subtreeSearch() throws Exception {
+    Set<Integer> result = new HashSet<>();
+    List<Node<Integer>> stack = new ArrayList<>(tree.getRootNodes());
+    while (!stack.isEmpty()) {
+      Node<Integer> node = stack.remove(stack.size() - 1);
+      if (hasTicket(node)) {
+        result.add(node.getValue());
+      }
+      List<Node<Integer>> children = node.getChildren();
+      if (children != null) {
+        stack.addAll(children);
+      }
+    }
+    return result;
+  }
+
+  private boolean hasTicket(Node<Integer> node) throws Exception {
+    if (accountsWithTickets.contains(node.getValue())) {
+      return true;
+    }
+    List<Node<Integer>> children = node.getChildren();
+    if (children != null) {
+      for (Node<Integer> child : children) {
+        if (hasTicket(child)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
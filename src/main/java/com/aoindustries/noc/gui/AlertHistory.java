@@ -0,0 +1,234 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The alert bookkeeping behind {@link AlertsPane}, newest first, one alert per
+ * source.  This has no Swing dependencies, so it may be benchmarked headless.
+ * Each change is returned as an immutable {@link Update}, which the pane
+ * applies to its table model to keep it in step with the indexes here.
+ *
+ * <p>This class is not thread-safe.  It is only used by the Swing event
+ * dispatch thread in the application.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class AlertHistory {
+
+  /**
+   * The changes to the rows, newest first, from a new alert.
+   */
+  static final class Update {
+
+    /**
+     * No change.
+     */
+    static final Update NONE = new Update(-1, false, null);
+
+    /**
+     * The row removed first or {@code -1} for none.
+     */
+    final int removedRow;
+
+    /**
+     * When {@code true}, {@link #removedRow} is the previous alert of the same
+     * source, which moves to the top as {@link #inserted}.
+     */
+    final boolean moved;
+
+    /**
+     * The alert inserted at row zero or {@code null} for none.
+     */
+    final AlertsPane.Alert inserted;
+
+    private Update(int removedRow, boolean moved, AlertsPane.Alert inserted) {
+      this.removedRow = removedRow;
+      this.moved = moved;
+      this.inserted = inserted;
+    }
+
+    boolean isModified() {
+      return removedRow != -1 || inserted != null;
+    }
+  }
+
+  private final int maxSize;
+  private final List<AlertsPane.Alert> alerts = new ArrayList<>();
+  private final List<AlertsPane.Alert> unmodifiableAlerts = Collections.unmodifiableList(alerts);
+  private long nextSequence;
+
+  /**
+   * @param  maxSize  the maximum number of alerts or {@link Integer#MAX_VALUE} for unlimited
+   */
+  AlertHistory(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Checks if a change of alert level should be shown as an alert.
+   *
+   * @param  existing  {@code true} when the source already has an alert
+   */
+  private static boolean isAlert(boolean existing, AlertLevel oldAlertLevel, AlertLevel newAlertLevel) {
+    return
+        (existing || oldAlertLevel == AlertLevel.UNKNOWN || newAlertLevel.compareTo(oldAlertLevel) > 0)
+            // TODO: We may have lower level alerts going here, too, based on user-selectable per-category thresholds
+            && newAlertLevel.compareTo(AlertLevel.HIGH) >= 0;
+  }
+
+  /**
+   * Gets the alerts, newest first.
+   */
+  List<AlertsPane.Alert> getAlerts() {
+    return unmodifiableAlerts;
+  }
+
+  int size() {
+    return alerts.size();
+  }
+
+  /**
+   * Gets the sequence the next alert will have.
+   */
+  long getNextSequence() {
+    return nextSequence;
+  }
+
+  /**
+   * Gets the index of the alert for a given source.
+   *
+   * @return  The index where found or {@code -1} if not found.
+   */
+  int indexOf(Object source) {
+    for (int i = 0, size = alerts.size(); i < size; i++) {
+      if (alerts.get(i).source.equals(source)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a new alert at index zero when the alert level is high enough,
+   * replacing any existing alert of the same source.  When not high enough,
+   * any existing alert of the same source is removed.  When full, the oldest
+   * alert is removed for a new source.
+   */
+  Update alert(
+      Object source,
+      String sourceDisplay,
+      AlertLevel oldAlertLevel,
+      AlertLevel newAlertLevel,
+      String alertMessage,
+      AlertCategory oldAlertCategory,
+      AlertCategory newAlertCategory
+  ) {
+    int existingIndex = indexOf(source);
+    if (!isAlert(existingIndex != -1, oldAlertLevel, newAlertLevel)) {
+      if (existingIndex == -1) {
+        return Update.NONE;
+      }
+      alerts.remove(existingIndex);
+      return new Update(existingIndex, false, null);
+    }
+    int removedIndex;
+    if (existingIndex != -1) {
+      removedIndex = existingIndex;
+    } else if (maxSize != Integer.MAX_VALUE && alerts.size() >= maxSize) {
+      removedIndex = alerts.size() - 1;
+    } else {
+      removedIndex = -1;
+    }
+    AlertsPane.Alert alert = new AlertsPane.Alert(
+        nextSequence++,
+        source,
+        sourceDisplay,
+        oldAlertLevel,
+        newAlertLevel,
+        alertMessage,
+        oldAlertCategory,
+        newAlertCategory
+    );
+    if (removedIndex != -1) {
+      alerts.remove(removedIndex);
+    }
+    alerts.add(0, alert);
+    return new Update(removedIndex, existingIndex != -1, alert);
+  }
+
+  void remove(int index) {
+    alerts.remove(index);
+  }
+
+  void clear() {
+    alerts.clear();
+  }
+
+  /**
+   * Copies the alerts older than the given sequence, newest first.
+   *
+   * @return  the number of alerts copied
+   */
+  int copy(long beforeSequence, AlertsPane.Alert[] chunk) {
+    // Binary search for the first alert older than beforeSequence
+    int low = 0;
+    int high = alerts.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (alerts.get(mid).sequence >= beforeSequence) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int count = Math.min(chunk.length, alerts.size() - low);
+    for (int i = 0; i < count; i++) {
+      chunk[i] = alerts.get(low + i);
+    }
+    return count;
+  }
+
+  /**
+   * Gets the highest alert level, stopping early at the highest possible.
+   */
+  AlertLevel getHighestAlertLevel() {
+    AlertLevel highest = AlertLevel.NONE;
+    for (AlertsPane.Alert alert : alerts) {
+      if (alert.newAlertLevel.compareTo(highest) > 0) {
+        highest = alert.newAlertLevel;
+        if (highest == AlertLevel.CRITICAL || highest == AlertLevel.UNKNOWN) {
+          break;
+        }
+      }
+    }
+    return highest;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertChange;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A change of alert level of a node, held until delivered to the Swing event
+ * dispatch thread.  Pending changes are merged per node, but only runs of
+ * changes ending below {@link AlertLevel#HIGH}, which never raise an alert.
+ * Every change ending at {@link AlertLevel#HIGH} or above is kept, in order,
+ * so a node that recovers and fails again before delivery still raises an
+ * alert.
+ *
+ * <p>Once created, this is not modified.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class AlertTransition {
+
+  final Node node;
+  final String nodeFullPath;
+  final AlertLevel oldAlertLevel;
+  final AlertLevel newAlertLevel;
+  final String alertMessage;
+  final AlertCategory oldAlertCategory;
+  final AlertCategory newAlertCategory;
+
+  private AlertTransition(
+      Node node,
+      String nodeFullPath,
+      AlertLevel oldAlertLevel,
+      AlertLevel newAlertLevel,
+      String alertMessage,
+      AlertCategory oldAlertCategory,
+      AlertCategory newAlertCategory
+  ) {
+    this.node = node;
+    this.nodeFullPath = nodeFullPath;
+    this.oldAlertLevel = oldAlertLevel;
+    this.newAlertLevel = newAlertLevel;
+    this.alertMessage = alertMessage;
+    this.oldAlertCategory = oldAlertCategory;
+    this.newAlertCategory = newAlertCategory;
+  }
+
+  AlertTransition(AlertChange change) {
+    this(
+        change.getNode(),
+        change.getNodeFullPath(),
+        change.getOldAlertLevel(),
+        change.getNewAlertLevel(),
+        change.getAlertMessage(),
+        change.getOldAlertCategory(),
+        change.getNewAlertCategory()
+    );
+  }
+
+  /**
+   * Checks if this change may be merged with a later change of the same node.
+   * A change ending at {@link AlertLevel#HIGH} or above may raise or update
+   * an alert, so is always kept.
+   */
+  private boolean isMergeable() {
+    return newAlertLevel.compareTo(AlertLevel.HIGH) < 0;
+  }
+
+  /**
+   * Combines with a later change of the same node.
+   */
+  private AlertTransition then(AlertTransition later) {
+    return new AlertTransition(
+        node,
+        later.nodeFullPath,
+        oldAlertLevel,
+        later.newAlertLevel,
+        later.alertMessage,
+        oldAlertCategory,
+        later.newAlertCategory
+    );
+  }
+
+  /**
+   * Adds a later change to the changes of its node, merging it with the last
+   * change when both are mergeable.
+   */
+  private static void append(List<AlertTransition> transitions, AlertTransition later) {
+    int last = transitions.size() - 1;
+    if (last >= 0) {
+      AlertTransition earlier = transitions.get(last);
+      if (earlier.isMergeable() && later.isMergeable()) {
+        transitions.set(last, earlier.then(later));
+        return;
+      }
+    }
+    transitions.add(later);
+  }
+
+  /**
+   * Gets the changes by node, in order.
+   */
+  static Map<Node, List<AlertTransition>> of(List<AlertChange> changes) {
+    Map<Node, List<AlertTransition>> transitions = new LinkedHashMap<>();
+    for (AlertChange change : changes) {
+      append(transitions.computeIfAbsent(change.getNode(), node -> new ArrayList<>()), new AlertTransition(change));
+    }
+    return transitions;
+  }
+
+  /**
+   * Merges later changes into a copy of the earlier, by node.  Neither is
+   * modified, so this may be used as a {@link CallbackInbox.Slot} merge
+   * function.
+   */
+  static Map<Node, List<AlertTransition>> merge(Map<Node, List<AlertTransition>> earlier, Map<Node, List<AlertTransition>> later) {
+    Map<Node, List<AlertTransition>> merged = new LinkedHashMap<>(earlier);
+    for (Map.Entry<Node, List<AlertTransition>> entry : later.entrySet()) {
+      List<AlertTransition> transitions = new ArrayList<>(merged.getOrDefault(entry.getKey(), Collections.emptyList()));
+      for (AlertTransition transition : entry.getValue()) {
+        append(transitions, transition);
+      }
+      merged.put(entry.getKey(), transitions);
+    }
+    return merged;
+  }
+}
@@ -32,10 +32,11 @@ import java.awt.GridLayout;
 import java.awt.Image;
 import java.awt.event.ActionEvent;
 import java.awt.event.KeyEvent;
+import java.lang.reflect.InvocationTargetException;
 import java.text.DateFormat;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -72,6 +73,12 @@ public class AlertsPane extends JPanel {
 
   private static final long serialVersionUID = 2L;
 
+  /**
+   * The number of alerts copied from the history per trip to the Swing event
+   * dispatch thread during export.
+   */
+  private static final int EXPORT_CHUNK_SIZE = 1000;
+
   /**
    * Column indexes.
    */
@@ -109,6 +116,10 @@ public class AlertsPane extends JPanel {
   private final JTable table;
 
   static class Alert {
+    /**
+     * Increases with each alert added, so the history is always in descending order.
+     */
+    final long sequence;
     final long time = System.currentTimeMillis();
     final Object source;
     final String sourceDisplay;
@@ -118,7 +129,8 @@ public class AlertsPane extends JPanel {
     final AlertCategory oldAlertCategory;
     final AlertCategory newAlertCategory;
 
-    private Alert(Object source, String sourceDisplay, AlertLevel oldAlertLevel, AlertLevel newAlertLevel, String alertMessage, AlertCategory oldAlertCategory, AlertCategory newAlertCategory) {
+    Alert(long sequence, Object source, String sourceDisplay, AlertLevel oldAlertLevel, AlertLevel newAlertLevel, String alertMessage, AlertCategory oldAlertCategory, AlertCategory newAlertCategory) {
+      this.sequence = sequence;
       this.source = source;
       this.sourceDisplay = sourceDisplay;
       this.oldAlertLevel = oldAlertLevel;
@@ -130,7 +142,7 @@ public class AlertsPane extends JPanel {
   }
 
   // Only accessed by Swing event dispatch thread, no additional synchronization necessary
-  private final List<Alert> history = new ArrayList<>();
+  private final AlertHistory history = new AlertHistory(MAX_HISTORY_SIZE);
 
   /**
    * Create a new alerts panel.
@@ -259,6 +271,7 @@ public class AlertsPane extends JPanel {
                 history.remove(modelRow);
                 tableModel.removeRow(modelRow);
               }
+              noc.metrics.setAlertsTableSize(history.size());
               // Re-select the first selected row, or the row before if at end of list
               int rowCount = tableModel.getRowCount();
               if (firstSelectedRow >= rowCount) {
@@ -270,7 +283,7 @@ public class AlertsPane extends JPanel {
                 selectionModel.setSelectionInterval(firstSelectedRow, firstSelectedRow);
               }
               setTrayIcon();
-              buzzer.controlBuzzer(history);
+              buzzer.controlBuzzer(history.getAlerts());
             }
           }
         }
@@ -291,9 +304,80 @@ public class AlertsPane extends JPanel {
 
     JButton buzzerTest = new JButton(RESOURCES.getMessage("buzzerTest.label"));
     toolBar.add(buzzerTest);
-    // TODO: Call a method on the server, which will callback a method here, so buzzer only plays on successful bidirectional communication
-    buzzerTest.addActionListener(e -> buzzer.playBuzzer("buzzer.wav"));
+    // Only plays once the server and callback round trips succeed
+    buzzerTest.addActionListener(e -> noc.heartbeat.checkNow(() -> buzzer.playBuzzer("buzzer.wav")));
     buzzerTest.setMaximumSize(buzzerTest.getPreferredSize());
+
+    JButton exportButton = new JButton(RESOURCES.getMessage("export.label"));
+    toolBar.add(exportButton);
+    exportButton.addActionListener(e -> exportHistory());
+    exportButton.setMaximumSize(exportButton.getPreferredSize());
+  }
+
+  /**
+   * Exports the alert history as it was when the export started.  The history
+   * is read in chunks on the Swing event dispatch thread, so only one chunk is
+   * copied at a time.  Alerts added or moved after the export started are not
+   * included.
+   */
+  private void exportHistory() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final int rowCount = history.size();
+    final long startSequence = history.getNextSequence();
+    Exporter.export(
+        noc,
+        this,
+        RESOURCES.getMessage("export.defaultName"),
+        new Exporter.RowSource() {
+          private final Alert[] chunk = new Alert[EXPORT_CHUNK_SIZE];
+          private int chunkSize;
+          private int chunkIndex;
+          private long lastSequence = startSequence;
+
+          @Override
+          public List<String> getHeaders() {
+            return Arrays.asList(
+                RESOURCES.getMessage("time.header"),
+                RESOURCES.getMessage("alertLevel.header"),
+                RESOURCES.getMessage("alertCategory.header"),
+                RESOURCES.getMessage("sourceDisplay.header"),
+                RESOURCES.getMessage("alertMessage.header")
+            );
+          }
+
+          @Override
+          public int getRowCount() {
+            return rowCount;
+          }
+
+          @Override
+          public boolean nextRow(Object[] row) throws InterruptedException {
+            if (chunkIndex >= chunkSize) {
+              Arrays.fill(chunk, 0, chunkSize, null);
+              try {
+                SwingUtilities.invokeAndWait(() -> {
+                  chunkSize = history.copy(lastSequence, chunk);
+                });
+              } catch (InvocationTargetException e) {
+                throw new RuntimeException(e.getCause());
+              }
+              chunkIndex = 0;
+              if (chunkSize == 0) {
+                return false;
+              }
+              lastSequence = chunk[chunkSize - 1].sequence;
+            }
+            Alert alert = chunk[chunkIndex++];
+            row[0] = Instant.ofEpochMilli(alert.time).toString();
+            row[1] = alert.newAlertLevel.name();
+            row[2] = alert.newAlertCategory == null ? null : alert.newAlertCategory.name();
+            row[3] = alert.sourceDisplay;
+            row[4] = alert.alertMessage;
+            return true;
+          }
+        }
+    );
   }
 
   /**
@@ -314,42 +398,20 @@ public class AlertsPane extends JPanel {
     for (int row = tableModel.getRowCount() - 1; row >= 0; row--) {
       tableModel.removeRow(row);
     }
-    buzzer.controlBuzzer(history);
+    noc.metrics.setAlertsTableSize(0);
+    buzzer.controlBuzzer(history.getAlerts());
   }
 
   /**
    * Removes any alert history for a given source.
    */
   private void clearAlertsHistory(Object source) {
-    Iterator<Alert> historyIter = history.iterator();
-    int row = 0;
-    while (historyIter.hasNext()) {
-      Alert prev = historyIter.next();
-      if (prev.source.equals(source)) {
-        historyIter.remove();
-        tableModel.removeRow(row);
-        break;
-      }
-      row++;
-    }
-  }
-
-  /**
-   * Gets the row for a given source.
-   *
-   * @return  The index where found or {@code -1} if not found.
-   */
-  private int findExistingRow(Object source) {
-    Iterator<Alert> historyIter = history.iterator();
-    int row = 0;
-    while (historyIter.hasNext()) {
-      Alert prev = historyIter.next();
-      if (prev.source.equals(source)) {
-        return row;
-      }
-      row++;
+    int row = history.indexOf(source);
+    if (row != -1) {
+      history.remove(row);
+      tableModel.removeRow(row);
+      noc.metrics.setAlertsTableSize(history.size());
     }
-    return -1;
   }
 
   /**
@@ -360,65 +422,43 @@ public class AlertsPane extends JPanel {
   void alert(Object source, String sourceDisplay, AlertLevel oldAlertLevel, AlertLevel newAlertLevel, String alertMessage, AlertCategory oldAlertCategory, AlertCategory newAlertCategory) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    // First delete any alerts from the same source
-    boolean modified;
-    int existingRow = findExistingRow(source);
-    if (
-        (existingRow != -1 || oldAlertLevel == AlertLevel.UNKNOWN || newAlertLevel.compareTo(oldAlertLevel) > 0)
-            // TODO: We may have lower level alerts going here, too, based on user-selectable per-category thresholds
-            && newAlertLevel.compareTo(AlertLevel.HIGH) >= 0
-    ) {
-      Alert alert = new Alert(source, sourceDisplay, oldAlertLevel, newAlertLevel, alertMessage, oldAlertCategory, newAlertCategory);
+    noc.metrics.alertsReceived.increment();
+
+    AlertHistory.Update update = history.alert(source, sourceDisplay, oldAlertLevel, newAlertLevel, alertMessage, oldAlertCategory, newAlertCategory);
+    if (update.isModified()) {
       ListSelectionModel selectionModel = table.getSelectionModel();
       RowSorter<? extends TableModel> sorter = table.getRowSorter();
-      boolean isSelected;
-      if (existingRow == -1) {
-        // Inserting new row
-        if (MAX_HISTORY_SIZE != Integer.MAX_VALUE && history.size() >= MAX_HISTORY_SIZE) {
-          int removeIndex = history.size() - 1;
-          history.remove(removeIndex);
-          tableModel.removeRow(removeIndex);
+      boolean isSelected = false;
+      if (update.removedRow != -1) {
+        if (update.moved) {
+          int viewRow = sorter.convertRowIndexToView(update.removedRow);
+          isSelected = selectionModel.isSelectedIndex(viewRow);
         }
-        isSelected = false;
-      } else {
-        // Moving existing row
-        int viewRow = sorter.convertRowIndexToView(existingRow);
-        isSelected = selectionModel.isSelectedIndex(viewRow);
-        history.remove(existingRow);
-        tableModel.removeRow(existingRow);
+        tableModel.removeRow(update.removedRow);
       }
-      history.add(0, alert);
-      tableModel.insertRow(
-          0,
-          new Object[]{
-              new Date(alert.time),
-              alert.newAlertLevel,
-              alert.newAlertCategory,
-              alert.sourceDisplay,
-              alert.alertMessage
-          }
-      );
-      modified = true;
-      if (isSelected) {
-        int viewRow = sorter.convertRowIndexToView(0);
-        selectionModel.addSelectionInterval(viewRow, viewRow);
-      }
-    } else {
-      // Delete any alerts from the same source
-      if (existingRow != -1) {
-        history.remove(existingRow);
-        tableModel.removeRow(existingRow);
-        modified = true;
-      } else {
-        modified = false;
+      Alert alert = update.inserted;
+      if (alert != null) {
+        tableModel.insertRow(
+            0,
+            new Object[]{
+                new Date(alert.time),
+                alert.newAlertLevel,
+                alert.newAlertCategory,
+                alert.sourceDisplay,
+                alert.alertMessage
+            }
+        );
+        if (isSelected) {
+          int viewRow = sorter.convertRowIndexToView(0);
+          selectionModel.addSelectionInterval(viewRow, viewRow);
+        }
       }
-    }
-    if (modified) {
       table.repaint();
+      noc.metrics.setAlertsTableSize(history.size());
     }
 
     setTrayIcon();
-    buzzer.controlBuzzer(history);
+    buzzer.controlBuzzer(history.getAlerts());
     // validateTable();
   }
 
@@ -434,7 +474,7 @@ public class AlertsPane extends JPanel {
     clearAlertsHistory(source);
 
     setTrayIcon();
-    buzzer.controlBuzzer(history);
+    buzzer.controlBuzzer(history.getAlerts());
     // validateTable();
   }
 
@@ -443,15 +483,7 @@ public class AlertsPane extends JPanel {
 
     if (noc.trayIcon != null) {
       // Find the highest alertLevel in the list
-      AlertLevel highest = AlertLevel.NONE;
-      for (Alert alert : history) {
-        if (alert.newAlertLevel.compareTo(highest) > 0) {
-          highest = alert.newAlertLevel;
-          if (highest == AlertLevel.CRITICAL || highest == AlertLevel.UNKNOWN) {
-            break;
-          }
-        }
-      }
+      AlertLevel highest = history.getHighestAlertLevel();
       Image newImage;
       if (highest == AlertLevel.CRITICAL || highest == AlertLevel.UNKNOWN) {
         newImage = noc.trayIconCriticalImage;
@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2007-2013, 2016, 2018, 2020, 2021, 2022, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2007-2013, 2016, 2018, 2020, 2021, 2022, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.net.URL;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.sound.sampled.AudioInputStream;
@@ -168,19 +169,25 @@ class Buzzer {
     synchronized (buzzerLock) {
       if (!isBuzzing) {
         isBuzzing = true;
-        alertsPane.noc.executorService.submit(() -> {
-          try {
-            playSound(audioResource);
-          } catch (ThreadDeath td) {
-            throw td;
-          } catch (Throwable t) {
-            logger.log(Level.SEVERE, null, t);
-          } finally {
-            synchronized (buzzerLock) {
-              isBuzzing = false;
+        try {
+          alertsPane.noc.audioExecutor.submit(() -> {
+            try {
+              alertsPane.noc.metrics.buzzerPlays.increment();
+              playSound(audioResource);
+            } catch (ThreadDeath td) {
+              throw td;
+            } catch (Throwable t) {
+              logger.log(Level.SEVERE, null, t);
+            } finally {
+              synchronized (buzzerLock) {
+                isBuzzing = false;
+              }
             }
-          }
-        });
+          });
+        } catch (RejectedExecutionException e) {
+          isBuzzing = false;
+          logger.log(Level.WARNING, null, e);
+        }
       }
     }
   }
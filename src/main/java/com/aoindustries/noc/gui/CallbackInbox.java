@@ -0,0 +1,260 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Receives callbacks from RMI threads and processes them on a single worker.
+ * Each source of callbacks, such as a node, has its own {@link Slot} holding
+ * at most one unprocessed value.  A newer value replaces or is merged into the
+ * unprocessed older one, so memory is bounded by the number of slots, no
+ * matter how slowly the callbacks are processed.
+ *
+ * <p>Offering a value is lock-free and does no other work, so RMI threads
+ * return immediately.</p>
+ *
+ * <p>The shared worker must only be used for handlers that return quickly.
+ * A slot whose handler blocks, such as on RMI calls or on the Swing event
+ * dispatch thread, is given its own executor instead.  Such a slot has at most
+ * one task submitted at a time, and values keep being merged into the slot
+ * while that task is pending, so one slow source does not delay any
+ * other.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class CallbackInbox {
+
+  private static final Logger logger = Logger.getLogger(CallbackInbox.class.getName());
+
+  private final Executor worker;
+
+  /**
+   * The slots with a value, each slot at most once.
+   */
+  private final Queue<Slot<?>> ready = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  private final LongAdder offered = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder processed = new LongAdder();
+
+  /**
+   * @param  worker  runs the drain task, only one at a time is submitted
+   */
+  CallbackInbox(Executor worker) {
+    this.worker = worker;
+  }
+
+  /**
+   * Holds the most recent unprocessed value from one source.
+   */
+  final class Slot<V> {
+
+    private final AtomicReference<V> pending = new AtomicReference<>();
+    /**
+     * The executor for this slot or {@code null} to use the shared worker.
+     */
+    private final Executor executor;
+    private final Consumer<? super V> handler;
+    /**
+     * Set while a task is submitted to the executor of this slot.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private Slot(Executor executor, Consumer<? super V> handler) {
+      this.executor = executor;
+      this.handler = handler;
+    }
+
+    /**
+     * Offers a new value, replacing any unprocessed value.
+     */
+    void offer(V value) {
+      offered.increment();
+      if (pending.getAndSet(value) == null) {
+        ready();
+      } else {
+        coalesced.increment();
+      }
+    }
+
+    /**
+     * Offers a new value, merged into any unprocessed value.  The merge
+     * function may be called more than once, so must not have side effects.
+     *
+     * @param  merge  called with the unprocessed value and the new value
+     */
+    void offer(V value, BinaryOperator<V> merge) {
+      offered.increment();
+      V previous = pending.getAndAccumulate(value, (V old, V newValue) -> old == null ? newValue : merge.apply(old, newValue));
+      if (previous == null) {
+        ready();
+      } else {
+        coalesced.increment();
+      }
+    }
+
+    @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+    private void process() {
+      V value = pending.getAndSet(null);
+      if (value != null) {
+        try {
+          handler.accept(value);
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.SEVERE, null, t);
+        }
+        processed.increment();
+      }
+    }
+
+    private void ready() {
+      if (executor == null) {
+        CallbackInbox.this.ready(this);
+      } else if (scheduled.compareAndSet(false, true)) {
+        schedule();
+      }
+    }
+
+    private void schedule() {
+      try {
+        executor.execute(this::run);
+      } catch (RejectedExecutionException e) {
+        // Drop the value, the next value offered will try again
+        pending.set(null);
+        scheduled.set(false);
+        logger.log(Level.WARNING, null, e);
+      }
+    }
+
+    /**
+     * Processes one value then submits again when another value arrived
+     * meanwhile, so other tasks on the executor are not held up.
+     */
+    private void run() {
+      process();
+      scheduled.set(false);
+      // Check again for any value offered after processing but before scheduled was cleared
+      if (pending.get() != null && scheduled.compareAndSet(false, true)) {
+        schedule();
+      }
+    }
+  }
+
+  /**
+   * Creates a new slot, processed by the given handler on the worker.  The
+   * handler must return quickly.
+   */
+  <V> Slot<V> newSlot(Consumer<? super V> handler) {
+    return new Slot<>(null, handler);
+  }
+
+  /**
+   * Creates a new slot, processed by the given handler on the given executor,
+   * one value at a time.
+   */
+  <V> Slot<V> newSlot(Executor executor, Consumer<? super V> handler) {
+    return new Slot<>(executor, handler);
+  }
+
+  private void ready(Slot<?> slot) {
+    ready.add(slot);
+    if (draining.compareAndSet(false, true)) {
+      try {
+        worker.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        // Drop the values of the ready slots, the next value offered to each will try again
+        Slot<?> dropped;
+        while ((dropped = ready.poll()) != null) {
+          dropped.pending.set(null);
+        }
+        logger.log(Level.WARNING, null, e);
+      }
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      Slot<?> slot;
+      while ((slot = ready.poll()) != null) {
+        slot.process();
+      }
+      draining.set(false);
+      // Check again for any slot made ready after the queue was empty but before draining was cleared
+      if (ready.isEmpty() || !draining.compareAndSet(false, true)) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of slots waiting to be processed.
+   */
+  int getReadyCount() {
+    return ready.size();
+  }
+
+  /**
+   * Gets the number of values offered.
+   */
+  long getOfferedCount() {
+    return offered.sum();
+  }
+
+  /**
+   * Gets the number of values replaced or merged before being processed.
+   */
+  long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Gets the number of values processed.
+   */
+  long getProcessedCount() {
+    return processed.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "callbacks: ready = " + getReadyCount()
+        + ", offered = " + getOfferedCount()
+        + ", coalesced = " + getCoalescedCount()
+        + ", processed = " + getProcessedCount();
+  }
+}
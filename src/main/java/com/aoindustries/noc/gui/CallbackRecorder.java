@@ -0,0 +1,461 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertChange;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.SingleResult;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResult;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records the callbacks received from the monitor to a compact binary log,
+ * for replay by {@link CallbackReplay}.  Enabled by the system property
+ * {@link #RECORD_PROPERTY}.
+ *
+ * <p>Recorded are the snapshots fetched by {@link SystemsPane}, the alert
+ * change batches and structure changes of its tree listener, and the results
+ * delivered to {@link NodeSubscriptions}, whether from a callback or fetched.
+ * Each record has the time since recording started.  Nodes are given an id on
+ * first sight, and snapshots are recorded as the nodes changed since the
+ * previous snapshot only.  A node first seen outside a snapshot, without its
+ * parent, is defined again once seen in a snapshot.</p>
+ *
+ * <p>Records are written in order by a single background thread, so the
+ * callback threads are not delayed by the disk.  When the writer falls too
+ * far behind, new records are dropped and counted.  The log is completed by a
+ * shutdown hook.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class CallbackRecorder {
+
+  private static final Logger logger = Logger.getLogger(CallbackRecorder.class.getName());
+
+  /**
+   * The system property with the path of the log to write.
+   */
+  static final String RECORD_PROPERTY = "com.aoindustries.noc.gui.record";
+
+  // Log format, shared with CallbackReplay
+  static final int MAGIC = 0x4e4f4352;
+  static final short VERSION = 2;
+
+  static final byte RECORD_NODE = 1;
+  static final byte RECORD_SNAPSHOT = 2;
+  static final byte RECORD_ALERTS = 3;
+  static final byte RECORD_STRUCTURE = 4;
+  static final byte RECORD_RESULT = 5;
+
+  static final byte KIND_BRANCH = 0;
+  static final byte KIND_SINGLE = 1;
+  static final byte KIND_TABLE = 2;
+  static final byte KIND_MULTI = 3;
+
+  static final int NO_NODE = -1;
+
+  /**
+   * The maximum number of records waiting to be written.
+   */
+  private static final int QUEUE_CAPACITY = 4096;
+
+  /**
+   * Writes an enum as its ordinal plus one, or zero for {@code null}.
+   */
+  static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    out.writeByte(value == null ? 0 : (value.ordinal() + 1));
+  }
+
+  static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+    int ordinal = in.readUnsignedByte();
+    return ordinal == 0 ? null : values[ordinal - 1];
+  }
+
+  /**
+   * Writes a string as its length in UTF-8 bytes then the bytes, or a length
+   * of {@code -1} for {@code null}.  Unlike {@link DataOutput#writeUTF(java.lang.String)},
+   * this is not limited to 64 KiB.
+   */
+  static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+    } else {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  static String readString(DataInput in) throws IOException {
+    int length = in.readInt();
+    if (length == -1) {
+      return null;
+    }
+    if (length < 0) {
+      throw new IOException("Invalid string length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @FunctionalInterface
+  private interface Record {
+    void write(long nanos) throws IOException;
+  }
+
+  /**
+   * The last recorded state of a node, to only record changes.
+   */
+  private static final class NodeState {
+
+    /**
+     * Defined without its parent, when first seen outside a snapshot.
+     */
+    private boolean provisional;
+    private AlertLevel alertLevel;
+    private AlertCategory alertCategory;
+    private String alertMessage;
+    private int[] children;
+  }
+
+  /**
+   * A node changed since the previous snapshot.
+   */
+  private static final class Change {
+
+    private final int id;
+    private final NodeSnapshot snapshot;
+    /**
+     * The new children or {@code null} when unchanged.
+     */
+    private final int[] children;
+
+    private Change(int id, NodeSnapshot snapshot, int[] children) {
+      this.id = id;
+      this.snapshot = snapshot;
+      this.children = children;
+    }
+  }
+
+  private volatile ThreadPoolExecutor writer;
+  private ObjectOutputStream out;
+  private volatile long startNanos;
+  private final AtomicLong dropped = new AtomicLong();
+
+  // All below are only accessed by the writer thread
+  private final Map<Node, Integer> nodeIds = new HashMap<>();
+  private final List<NodeState> nodeStates = new ArrayList<>();
+  private long records;
+
+  /**
+   * Starts recording, when enabled.  Failures are logged only, since recording
+   * is not required to run.
+   */
+  synchronized void start() {
+    String path = System.getProperty(RECORD_PROPERTY);
+    if (path != null && writer == null) {
+      try {
+        out = new ObjectOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(Paths.get(path)))));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        startNanos = System.nanoTime();
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Unable to start recording to " + path, e);
+        return;
+      }
+      writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY), r -> {
+        Thread thread = new Thread(r, "noc-gui-recorder");
+        thread.setDaemon(true);
+        return thread;
+      });
+      Runtime.getRuntime().addShutdownHook(new Thread(this::close, "noc-gui-recorder-close"));
+      logger.log(Level.INFO, "Recording callbacks to {0}", path);
+    }
+  }
+
+  /**
+   * Checks if recording.
+   */
+  boolean isEnabled() {
+    return writer != null;
+  }
+
+  private void close() {
+    ThreadPoolExecutor w = writer;
+    w.shutdown();
+    try {
+      if (!w.awaitTermination(10, TimeUnit.SECONDS)) {
+        logger.warning("Recording not completed");
+      }
+      out.close();
+      logger.log(Level.INFO, "Recorded {0} records, dropped {1}", new Object[]{records, dropped.get()});
+    } catch (InterruptedException e) {
+      logger.log(Level.WARNING, null, e);
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      logger.log(Level.WARNING, null, e);
+    }
+  }
+
+  private void submit(Record record) {
+    ThreadPoolExecutor w = writer;
+    if (w != null) {
+      long nanos = System.nanoTime() - startNanos;
+      try {
+        w.execute(() -> {
+          try {
+            record.write(nanos);
+            records++;
+          } catch (IOException e) {
+            logger.log(Level.SEVERE, "Stopping recording", e);
+            w.shutdown();
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        if (w.isShutdown()) {
+          // Stopped or shutting down
+          logger.log(Level.FINE, null, e);
+        } else {
+          // Queue full
+          if (dropped.incrementAndGet() == 1) {
+            logger.log(Level.WARNING, "Recording behind, dropping records", e);
+          }
+        }
+      }
+    }
+  }
+
+  private static byte getKind(Node node) {
+    if (node instanceof SingleResultNode) {
+      return KIND_SINGLE;
+    }
+    if (node instanceof TableResultNode) {
+      return KIND_TABLE;
+    }
+    if (node instanceof TableMultiResultNode) {
+      return KIND_MULTI;
+    }
+    return KIND_BRANCH;
+  }
+
+  private void writeNode(int id, Node node, int parentId, String label, boolean allowsChildren, long nanos) throws IOException {
+    out.writeByte(RECORD_NODE);
+    out.writeLong(nanos);
+    out.writeInt(id);
+    out.writeInt(parentId);
+    out.writeByte(getKind(node));
+    out.writeBoolean(allowsChildren);
+    writeString(out, label);
+  }
+
+  /**
+   * Gets the id of a node seen in a snapshot, writing its definition on first
+   * sight, or again when first seen outside a snapshot.
+   */
+  private int getNodeId(Node node, int parentId, String label, boolean allowsChildren, long nanos) throws IOException {
+    Integer id = nodeIds.get(node);
+    if (id == null) {
+      id = nodeStates.size();
+      nodeIds.put(node, id);
+      nodeStates.add(new NodeState());
+      writeNode(id, node, parentId, label, allowsChildren, nanos);
+    } else {
+      NodeState state = nodeStates.get(id);
+      if (state.provisional) {
+        state.provisional = false;
+        writeNode(id, node, parentId, label, allowsChildren, nanos);
+      }
+    }
+    return id;
+  }
+
+  /**
+   * Gets the id of a node seen outside a snapshot, writing a provisional
+   * definition on first sight, without its parent.
+   */
+  private int getProvisionalNodeId(Node node, String label, long nanos) throws IOException {
+    Integer id = nodeIds.get(node);
+    if (id == null) {
+      id = nodeStates.size();
+      nodeIds.put(node, id);
+      NodeState state = new NodeState();
+      state.provisional = true;
+      nodeStates.add(state);
+      writeNode(id, node, NO_NODE, label, false, nanos);
+    }
+    return id;
+  }
+
+  /**
+   * Records a snapshot, fetched outside the Swing event dispatch thread.
+   */
+  void recordSnapshot(NodeSnapshot rootNodeSnapshot) {
+    submit(nanos -> {
+      List<Change> changed = new ArrayList<>();
+      int rootId = collectChanges(rootNodeSnapshot, NO_NODE, changed, nanos);
+      out.writeByte(RECORD_SNAPSHOT);
+      out.writeLong(nanos);
+      out.writeInt(rootId);
+      out.writeInt(changed.size());
+      for (Change change : changed) {
+        NodeSnapshot snapshot = change.snapshot;
+        int[] children = change.children;
+        out.writeInt(change.id);
+        writeEnum(out, snapshot.getAlertLevel());
+        writeEnum(out, snapshot.getAlertCategory());
+        writeString(out, snapshot.getAlertMessage());
+        out.writeBoolean(children != null);
+        if (children != null) {
+          out.writeInt(children.length);
+          for (int child : children) {
+            out.writeInt(child);
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * Walks the snapshot, adding each node changed since the previous snapshot.
+   *
+   * @return  the id of the node
+   */
+  private int collectChanges(NodeSnapshot snapshot, int parentId, List<Change> changed, long nanos) throws IOException {
+    int id = getNodeId(snapshot.getNode(), parentId, snapshot.getLabel(), snapshot.getAllowsChildren(), nanos);
+    List<NodeSnapshot> childSnapshots = snapshot.getChildren();
+    int[] children = new int[childSnapshots.size()];
+    for (int i = 0; i < children.length; i++) {
+      children[i] = collectChanges(childSnapshots.get(i), id, changed, nanos);
+    }
+    NodeState state = nodeStates.get(id);
+    boolean childrenChanged = !Arrays.equals(children, state.children);
+    if (
+        childrenChanged
+            || state.alertLevel != snapshot.getAlertLevel()
+            || state.alertCategory != snapshot.getAlertCategory()
+            || !Objects.equals(state.alertMessage, snapshot.getAlertMessage())
+    ) {
+      state.alertLevel = snapshot.getAlertLevel();
+      state.alertCategory = snapshot.getAlertCategory();
+      state.alertMessage = snapshot.getAlertMessage();
+      state.children = children;
+      changed.add(new Change(id, snapshot, childrenChanged ? children : null));
+    }
+    return id;
+  }
+
+  /**
+   * Records a batch of alert changes, as received by the tree listener.
+   */
+  void recordAlertChanges(List<AlertChange> changes) {
+    submit(nanos -> {
+      int[] ids = new int[changes.size()];
+      for (int i = 0; i < ids.length; i++) {
+        AlertChange change = changes.get(i);
+        ids[i] = getProvisionalNodeId(change.getNode(), change.getNodeFullPath(), nanos);
+      }
+      out.writeByte(RECORD_ALERTS);
+      out.writeLong(nanos);
+      out.writeInt(ids.length);
+      for (int i = 0; i < ids.length; i++) {
+        AlertChange change = changes.get(i);
+        out.writeInt(ids[i]);
+        writeString(out, change.getNodeFullPath());
+        writeEnum(out, change.getOldAlertLevel());
+        writeEnum(out, change.getNewAlertLevel());
+        writeString(out, change.getAlertMessage());
+        writeEnum(out, change.getOldAlertCategory());
+        writeEnum(out, change.getNewAlertCategory());
+      }
+    });
+  }
+
+  /**
+   * Records a node added or removed, as received by the tree listener.
+   */
+  void recordStructureChanged(boolean added) {
+    submit(nanos -> {
+      out.writeByte(RECORD_STRUCTURE);
+      out.writeLong(nanos);
+      out.writeBoolean(added);
+    });
+  }
+
+  /**
+   * Records a result delivered to the subscriptions of a node.
+   *
+   * @param  result  a {@link SingleResult}, {@link TableResult}, or
+   *                 {@link NodeSubscriptions.TableMultiResults}; may be {@code null}
+   * @param  callback  {@code true} when from a callback, {@code false} when fetched
+   */
+  void recordResult(Node node, Object result, boolean callback) {
+    submit(nanos -> {
+      int id = getProvisionalNodeId(node, "", nanos);
+      out.writeByte(RECORD_RESULT);
+      out.writeLong(nanos);
+      out.writeInt(id);
+      out.writeBoolean(callback);
+      if (result instanceof NodeSubscriptions.TableMultiResults) {
+        NodeSubscriptions.TableMultiResults multi = (NodeSubscriptions.TableMultiResults) result;
+        out.writeObject(new ArrayList<>(multi.getColumnHeaders()));
+        out.writeObject(new ArrayList<>(multi.getResults()));
+      } else {
+        out.writeObject(result);
+      }
+      // Results are not repeated, do not keep references to them
+      out.reset();
+    });
+  }
+}
@@ -0,0 +1,799 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.aoserv.client.account.User;
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertChange;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Monitor;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.RootNode;
+import com.aoindustries.noc.monitor.common.SingleResult;
+import com.aoindustries.noc.monitor.common.SingleResultListener;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResult;
+import com.aoindustries.noc.monitor.common.TableMultiResultListener;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResult;
+import com.aoindustries.noc.monitor.common.TableResultListener;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import com.aoindustries.noc.monitor.common.TreeListener;
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.RemoteObject;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Replays a log written by {@link CallbackRecorder} as an in-process monitor.
+ * It is selected by logging in to the server {@link #SERVER_PREFIX} followed
+ * by the path of the log, with any username and password.
+ *
+ * <p>The nodes of the log are exported on loopback, the same as the
+ * {@link Simulator}, so the replayed callbacks and the snapshots and results
+ * fetched by the GUI follow the same code paths as with a remote monitor.
+ * The state up to the first recorded snapshot is applied at once.  The rest
+ * of the log is played once the GUI adds its tree listener, at the speed set
+ * by {@link #SPEED_PROPERTY}: {@code 1}, {@code 10}, or any other multiplier,
+ * or {@code max} for no delays.  Alert changes, structure changes, and results
+ * received by callback are sent to the listeners.  Recorded snapshots and
+ * fetched results only update the state returned when the GUI fetches.</p>
+ *
+ * <p>Only one log is replayed at a time, a new login stops any previous
+ * replay.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class CallbackReplay {
+
+  private static final Logger logger = Logger.getLogger(CallbackReplay.class.getName());
+
+  /**
+   * The prefix of the server name that selects a replay, followed by the path of the log.
+   */
+  static final String SERVER_PREFIX = "replay:";
+
+  /**
+   * The system property with the speed of replay.
+   */
+  static final String SPEED_PROPERTY = "com.aoindustries.noc.gui.replay.speed";
+
+  private static final String SPEED_MAX = "max";
+
+  private static CallbackReplay running;
+
+  /**
+   * Checks if the given server name selects a replay.
+   */
+  static boolean isReplay(String server) {
+    return server.trim().startsWith(SERVER_PREFIX);
+  }
+
+  /**
+   * Loads the log, stopping any previous replay, and gets its monitor.
+   *
+   * @param  server  the server name, starting with {@link #SERVER_PREFIX}
+   */
+  static synchronized Monitor start(String server, RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws IOException {
+    String speedValue = System.getProperty(SPEED_PROPERTY, "1").trim();
+    double speed;
+    if (SPEED_MAX.equalsIgnoreCase(speedValue)) {
+      speed = 0;
+    } else {
+      speed = Double.parseDouble(speedValue);
+      if (!(speed > 0)) {
+        throw new IllegalArgumentException("Invalid replay speed: " + speedValue);
+      }
+    }
+    if (running != null) {
+      running.stop();
+      running = null;
+    }
+    Path path = Paths.get(server.trim().substring(SERVER_PREFIX.length()));
+    CallbackReplay replay = new CallbackReplay(path, speed);
+    replay.export(csf, ssf);
+    running = replay;
+    logger.log(
+        Level.INFO,
+        "Loaded {0}: nodes = {1}, events = {2}, speed = {3}",
+        new Object[]{path, replay.nodes.size(), replay.events.size() - replay.firstEvent, speedValue}
+    );
+    // Calls through the stub go over loopback, the same as a remote monitor
+    return (Monitor) RemoteObject.toStub(replay.monitor);
+  }
+
+  /**
+   * Stops the replay, if running, unexporting its monitor and nodes.
+   */
+  static synchronized void stopRunning() {
+    if (running != null) {
+      running.stop();
+      running = null;
+    }
+  }
+
+  /**
+   * One record of the log, other than node definitions.
+   */
+  private abstract static class Event {
+
+    private final long nanos;
+
+    private Event(long nanos) {
+      this.nanos = nanos;
+    }
+
+    /**
+     * Applies the event to the state of the nodes.
+     *
+     * @param  fire  send any callbacks to the listeners
+     */
+    abstract void apply(boolean fire);
+  }
+
+  /**
+   * The definition of a node, as read from the log.
+   */
+  private static final class NodeDefinition {
+
+    private final int parentId;
+    private final byte kind;
+    private final boolean allowsChildren;
+    private final String label;
+
+    private NodeDefinition(int parentId, byte kind, boolean allowsChildren, String label) {
+      this.parentId = parentId;
+      this.kind = kind;
+      this.allowsChildren = allowsChildren;
+      this.label = label;
+    }
+  }
+
+  /**
+   * The results of a table multi-result node, as read from the log.
+   */
+  private static final class MultiResults {
+
+    private final List<?> columnHeaders;
+    private final List<TableMultiResult> results;
+
+    private MultiResults(List<?> columnHeaders, List<TableMultiResult> results) {
+      this.columnHeaders = columnHeaders;
+      this.results = results;
+    }
+  }
+
+  private final double speed;
+  private final List<ReplayNode> nodes;
+  private final ReplayRoot root;
+  private final List<Event> events = new ArrayList<>();
+  /**
+   * The index of the first event played, after the first snapshot.
+   */
+  private final int firstEvent;
+  private final Monitor monitor;
+  private final Set<Remote> exported = Collections.newSetFromMap(new IdentityHashMap<>());
+  private Thread thread;
+  private volatile boolean stopped;
+
+  private CallbackReplay(Path path, double speed) throws IOException {
+    this.speed = speed;
+    List<NodeDefinition> definitions = new ArrayList<>();
+    List<Integer> rootIds = new ArrayList<>();
+    // Resolved to nodes once all are defined
+    List<Runnable> resolves = new ArrayList<>();
+    int firstSnapshot = -1;
+    try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+      if (in.readInt() != CallbackRecorder.MAGIC) {
+        throw new IOException("Not a callback log: " + path);
+      }
+      short version = in.readShort();
+      if (version != CallbackRecorder.VERSION) {
+        throw new IOException("Unsupported callback log version: " + version);
+      }
+      long startMillis = in.readLong();
+      logger.log(Level.FINE, "Recorded at {0,date} {0,time}", startMillis);
+      try {
+        while (true) {
+          byte type = in.readByte();
+          long nanos = in.readLong();
+          switch (type) {
+            case CallbackRecorder.RECORD_NODE: {
+              int id = in.readInt();
+              NodeDefinition definition = new NodeDefinition(in.readInt(), in.readByte(), in.readBoolean(), CallbackRecorder.readString(in));
+              if (id == definitions.size()) {
+                definitions.add(definition);
+              } else if (id >= 0 && id < definitions.size()) {
+                // Defined again once seen in a snapshot
+                definitions.set(id, definition);
+              } else {
+                throw new IOException("Unexpected node id: " + id);
+              }
+              break;
+            }
+            case CallbackRecorder.RECORD_SNAPSHOT: {
+              int rootId = in.readInt();
+              if (!rootIds.contains(rootId)) {
+                rootIds.add(rootId);
+              }
+              int count = in.readInt();
+              SnapshotEvent event = new SnapshotEvent(nanos, count);
+              for (int i = 0; i < count; i++) {
+                event.ids[i] = in.readInt();
+                event.alertLevels[i] = CallbackRecorder.readEnum(in, AlertLevel.values());
+                event.alertCategories[i] = CallbackRecorder.readEnum(in, AlertCategory.values());
+                event.alertMessages[i] = CallbackRecorder.readString(in);
+                if (in.readBoolean()) {
+                  int[] children = new int[in.readInt()];
+                  for (int j = 0; j < children.length; j++) {
+                    children[j] = in.readInt();
+                  }
+                  event.childIds[i] = children;
+                }
+              }
+              resolves.add(event::resolve);
+              if (firstSnapshot == -1) {
+                firstSnapshot = events.size();
+              }
+              events.add(event);
+              break;
+            }
+            case CallbackRecorder.RECORD_ALERTS: {
+              int count = in.readInt();
+              AlertsEvent event = new AlertsEvent(nanos, count);
+              for (int i = 0; i < count; i++) {
+                event.ids[i] = in.readInt();
+                event.fullPaths[i] = CallbackRecorder.readString(in);
+                event.oldAlertLevels[i] = CallbackRecorder.readEnum(in, AlertLevel.values());
+                event.newAlertLevels[i] = CallbackRecorder.readEnum(in, AlertLevel.values());
+                event.alertMessages[i] = CallbackRecorder.readString(in);
+                event.oldAlertCategories[i] = CallbackRecorder.readEnum(in, AlertCategory.values());
+                event.newAlertCategories[i] = CallbackRecorder.readEnum(in, AlertCategory.values());
+              }
+              resolves.add(event::resolve);
+              events.add(event);
+              break;
+            }
+            case CallbackRecorder.RECORD_STRUCTURE: {
+              boolean added = in.readBoolean();
+              events.add(new Event(nanos) {
+                @Override
+                void apply(boolean fire) {
+                  if (fire) {
+                    Simulator.deliver(root.treeListeners, added ? TreeListener::nodeAdded : TreeListener::nodeRemoved);
+                  }
+                }
+              });
+              break;
+            }
+            case CallbackRecorder.RECORD_RESULT: {
+              int id = in.readInt();
+              boolean callback = in.readBoolean();
+              Object result;
+              if (definitions.get(id).kind == CallbackRecorder.KIND_MULTI) {
+                List<?> columnHeaders = (List<?>) in.readObject();
+                @SuppressWarnings("unchecked")
+                List<TableMultiResult> results = (List<TableMultiResult>) in.readObject();
+                result = new MultiResults(columnHeaders, results);
+              } else {
+                result = in.readObject();
+              }
+              ResultEvent event = new ResultEvent(nanos, id, callback, result);
+              resolves.add(event::resolve);
+              events.add(event);
+              break;
+            }
+            default:
+              throw new IOException("Unexpected record type: " + type);
+          }
+        }
+      } catch (EOFException e) {
+        // End of log, or the end of a log not completed
+        logger.log(Level.FINE, null, e);
+      }
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+    if (firstSnapshot == -1) {
+      throw new IOException("No snapshot in callback log: " + path);
+    }
+    this.firstEvent = firstSnapshot + 1;
+
+    // Create the nodes, with all recorded roots as the one root
+    int mainRootId = rootIds.get(0);
+    root = new ReplayRoot(definitions.get(mainRootId).label);
+    nodes = new ArrayList<>(definitions.size());
+    for (NodeDefinition definition : definitions) {
+      String label = definition.label;
+      boolean allowsChildren = definition.allowsChildren;
+      switch (definition.kind) {
+        case CallbackRecorder.KIND_SINGLE:
+          nodes.add(new ReplaySingleNode(label, allowsChildren));
+          break;
+        case CallbackRecorder.KIND_TABLE:
+          nodes.add(new ReplayTableNode(label, allowsChildren));
+          break;
+        case CallbackRecorder.KIND_MULTI:
+          nodes.add(new ReplayMultiNode(label, allowsChildren));
+          break;
+        default:
+          nodes.add(new ReplayNode(label, allowsChildren));
+      }
+    }
+    for (int rootId : rootIds) {
+      nodes.set(rootId, root);
+    }
+    for (int id = 0; id < definitions.size(); id++) {
+      int parentId = definitions.get(id).parentId;
+      if (parentId != CallbackRecorder.NO_NODE) {
+        nodes.get(id).parent = nodes.get(parentId);
+      }
+    }
+    for (Runnable resolve : resolves) {
+      resolve.run();
+    }
+
+    // Start from the state of the first snapshot
+    for (int i = 0; i < firstEvent; i++) {
+      events.get(i).apply(false);
+    }
+
+    monitor = (Locale locale, User.Name username, String password) -> root;
+  }
+
+  private void export(RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws RemoteException {
+    UnicastRemoteObject.exportObject(monitor, 0, csf, ssf);
+    exported.add(monitor);
+    for (ReplayNode node : nodes) {
+      // Recorded roots are all the same node
+      if (exported.add(node)) {
+        UnicastRemoteObject.exportObject(node, 0, csf, ssf);
+      }
+    }
+  }
+
+  /**
+   * Starts playing, once the GUI has added its tree listener.
+   */
+  private synchronized void play() {
+    if (thread == null && !stopped) {
+      thread = new Thread(this::run, "noc-gui-replay");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  private void run() {
+    long startNanos = System.nanoTime();
+    long baseNanos = events.get(firstEvent - 1).nanos;
+    int played = 0;
+    for (int i = firstEvent; i < events.size() && !stopped; i++) {
+      Event event = events.get(i);
+      if (speed > 0) {
+        long delay = startNanos + (long) ((event.nanos - baseNanos) / speed) - System.nanoTime();
+        if (delay > 0) {
+          try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+          } catch (InterruptedException e) {
+            // Stopped
+            break;
+          }
+        }
+      }
+      try {
+        event.apply(true);
+        played++;
+      } catch (ThreadDeath td) {
+        throw td;
+      } catch (Throwable t) {
+        logger.log(Level.SEVERE, null, t);
+      }
+    }
+    long recordedMillis = TimeUnit.NANOSECONDS.toMillis(events.get(events.size() - 1).nanos - baseNanos);
+    long replayedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    logger.log(
+        Level.INFO,
+        "Replay {0}: events = {1}, recordedMillis = {2}, replayedMillis = {3}",
+        new Object[]{stopped ? "stopped" : "finished", played, recordedMillis, replayedMillis}
+    );
+  }
+
+  private synchronized void stop() {
+    stopped = true;
+    if (thread != null) {
+      thread.interrupt();
+    }
+    for (Remote obj : exported) {
+      try {
+        UnicastRemoteObject.unexportObject(obj, true);
+      } catch (NoSuchObjectException e) {
+        logger.log(Level.FINE, null, e);
+      }
+    }
+  }
+
+  private final class SnapshotEvent extends Event {
+
+    private final int[] ids;
+    private final AlertLevel[] alertLevels;
+    private final AlertCategory[] alertCategories;
+    private final String[] alertMessages;
+    private final int[][] childIds;
+    private List<List<ReplayNode>> children;
+
+    private SnapshotEvent(long nanos, int count) {
+      super(nanos);
+      ids = new int[count];
+      alertLevels = new AlertLevel[count];
+      alertCategories = new AlertCategory[count];
+      alertMessages = new String[count];
+      childIds = new int[count][];
+    }
+
+    private void resolve() {
+      children = new ArrayList<>(ids.length);
+      for (int[] nodeChildIds : childIds) {
+        if (nodeChildIds == null) {
+          children.add(null);
+        } else {
+          List<ReplayNode> nodeChildren = new ArrayList<>(nodeChildIds.length);
+          for (int childId : nodeChildIds) {
+            nodeChildren.add(nodes.get(childId));
+          }
+          children.add(Collections.unmodifiableList(nodeChildren));
+        }
+      }
+    }
+
+    /**
+     * Snapshots are fetched by the GUI, so only update the state.
+     */
+    @Override
+    void apply(boolean fire) {
+      for (int i = 0; i < ids.length; i++) {
+        ReplayNode node = nodes.get(ids[i]);
+        node.alertLevel = alertLevels[i];
+        node.alertCategory = alertCategories[i];
+        node.alertMessage = alertMessages[i];
+        List<ReplayNode> nodeChildren = children.get(i);
+        if (nodeChildren != null) {
+          node.children = nodeChildren;
+        }
+      }
+    }
+  }
+
+  private final class AlertsEvent extends Event {
+
+    private final int[] ids;
+    private final String[] fullPaths;
+    private final AlertLevel[] oldAlertLevels;
+    private final AlertLevel[] newAlertLevels;
+    private final String[] alertMessages;
+    private final AlertCategory[] oldAlertCategories;
+    private final AlertCategory[] newAlertCategories;
+    private List<AlertChange> changes;
+
+    private AlertsEvent(long nanos, int count) {
+      super(nanos);
+      ids = new int[count];
+      fullPaths = new String[count];
+      oldAlertLevels = new AlertLevel[count];
+      newAlertLevels = new AlertLevel[count];
+      alertMessages = new String[count];
+      oldAlertCategories = new AlertCategory[count];
+      newAlertCategories = new AlertCategory[count];
+    }
+
+    private void resolve() {
+      changes = new ArrayList<>(ids.length);
+      for (int i = 0; i < ids.length; i++) {
+        changes.add(
+            new AlertChange(
+                nodes.get(ids[i]),
+                fullPaths[i],
+                oldAlertLevels[i],
+                newAlertLevels[i],
+                alertMessages[i],
+                oldAlertCategories[i],
+                newAlertCategories[i]
+            )
+        );
+      }
+    }
+
+    @Override
+    void apply(boolean fire) {
+      for (int i = 0; i < ids.length; i++) {
+        ReplayNode node = nodes.get(ids[i]);
+        node.alertLevel = newAlertLevels[i];
+        node.alertCategory = newAlertCategories[i];
+        node.alertMessage = alertMessages[i];
+      }
+      if (fire) {
+        Simulator.deliver(root.treeListeners, listener -> listener.nodeAlertChanged(changes));
+      }
+    }
+  }
+
+  private final class ResultEvent extends Event {
+
+    private final int id;
+    private final boolean callback;
+    private final Object result;
+    private ReplayNode node;
+
+    private ResultEvent(long nanos, int id, boolean callback, Object result) {
+      super(nanos);
+      this.id = id;
+      this.callback = callback;
+      this.result = result;
+    }
+
+    private void resolve() {
+      node = nodes.get(id);
+    }
+
+    /**
+     * Fetched results only update the state, results from callbacks are also
+     * sent to the listeners.
+     */
+    @Override
+    void apply(boolean fire) {
+      node.setResult(result, fire && callback);
+    }
+  }
+
+  private static class ReplayNode implements Node {
+
+    private final String label;
+    private final boolean allowsChildren;
+    private final UUID uuid = UUID.randomUUID();
+    volatile ReplayNode parent;
+    volatile List<ReplayNode> children = Collections.emptyList();
+    volatile AlertLevel alertLevel = AlertLevel.UNKNOWN;
+    volatile AlertCategory alertCategory = AlertCategory.MONITORING;
+    volatile String alertMessage;
+
+    private ReplayNode(String label, boolean allowsChildren) {
+      this.label = label;
+      this.allowsChildren = allowsChildren;
+    }
+
+    /**
+     * Sets the last result.
+     *
+     * @param  result  the result as read from the log
+     * @param  fire  send to the listeners
+     */
+    void setResult(Object result, boolean fire) {
+      // No results
+    }
+
+    @Override
+    public Node getParent() {
+      return parent;
+    }
+
+    @Override
+    public List<? extends Node> getChildren() {
+      return children;
+    }
+
+    @Override
+    public AlertLevel getAlertLevel() {
+      return alertLevel;
+    }
+
+    @Override
+    public String getAlertMessage() {
+      return alertMessage;
+    }
+
+    @Override
+    public AlertCategory getAlertCategory() {
+      return alertCategory;
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return allowsChildren;
+    }
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+
+    @Override
+    public UUID getUuid() {
+      return uuid;
+    }
+  }
+
+  private final class ReplayRoot extends ReplayNode implements RootNode {
+
+    private final List<TreeListener> treeListeners = new CopyOnWriteArrayList<>();
+
+    private ReplayRoot(String label) {
+      super(label, true);
+    }
+
+    @Override
+    public void addTreeListener(TreeListener treeListener) {
+      treeListeners.add(treeListener);
+      play();
+    }
+
+    @Override
+    public void removeTreeListener(TreeListener treeListener) {
+      treeListeners.remove(treeListener);
+    }
+
+    @Override
+    public NodeSnapshot getSnapshot() throws RemoteException {
+      return new NodeSnapshot(null, this);
+    }
+  }
+
+  private static final class ReplaySingleNode extends ReplayNode implements SingleResultNode {
+
+    private final List<SingleResultListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile SingleResult lastResult;
+
+    private ReplaySingleNode(String label, boolean allowsChildren) {
+      super(label, allowsChildren);
+    }
+
+    @Override
+    void setResult(Object result, boolean fire) {
+      SingleResult singleResult = (SingleResult) result;
+      lastResult = singleResult;
+      if (fire) {
+        Simulator.deliver(listeners, listener -> listener.singleResultUpdated(singleResult));
+      }
+    }
+
+    @Override
+    public void addSingleResultListener(SingleResultListener listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeSingleResultListener(SingleResultListener listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public SingleResult getLastResult() {
+      return lastResult;
+    }
+  }
+
+  private static final class ReplayTableNode extends ReplayNode implements TableResultNode {
+
+    private final List<TableResultListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile TableResult lastResult;
+
+    private ReplayTableNode(String label, boolean allowsChildren) {
+      super(label, allowsChildren);
+    }
+
+    @Override
+    void setResult(Object result, boolean fire) {
+      TableResult tableResult = (TableResult) result;
+      lastResult = tableResult;
+      if (fire) {
+        Simulator.deliver(listeners, listener -> listener.tableResultUpdated(tableResult));
+      }
+    }
+
+    @Override
+    public void addTableResultListener(TableResultListener listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeTableResultListener(TableResultListener listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public TableResult getLastResult() {
+      return lastResult;
+    }
+  }
+
+  private static final class ReplayMultiNode extends ReplayNode implements TableMultiResultNode<TableMultiResult> {
+
+    private final List<TableMultiResultListener<? super TableMultiResult>> listeners = new CopyOnWriteArrayList<>();
+    private volatile List<?> columnHeaders = Collections.emptyList();
+    private volatile List<TableMultiResult> results = Collections.emptyList();
+
+    private ReplayMultiNode(String label, boolean allowsChildren) {
+      super(label, allowsChildren);
+    }
+
+    /**
+     * The GUI fetches all results on any change, so a change is sent as the
+     * newest result added.
+     */
+    @Override
+    void setResult(Object result, boolean fire) {
+      MultiResults multiResults = (MultiResults) result;
+      columnHeaders = multiResults.columnHeaders;
+      List<TableMultiResult> newResults = multiResults.results;
+      results = newResults;
+      if (fire) {
+        TableMultiResult newest = newResults.isEmpty() ? null : newResults.get(0);
+        Simulator.deliver(listeners, listener -> listener.tableMultiResultAdded(newest));
+      }
+    }
+
+    @Override
+    public void addTableMultiResultListener(TableMultiResultListener<? super TableMultiResult> listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeTableMultiResultListener(TableMultiResultListener<? super TableMultiResult> listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public List<?> getColumnHeaders() {
+      return columnHeaders;
+    }
+
+    @Override
+    public List<? extends TableMultiResult> getResults() {
+      return results;
+    }
+  }
+}
@@ -0,0 +1,487 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.collections.AoCollections;
+import com.aoapps.hodgepodge.table.Table;
+import com.aoapps.hodgepodge.table.TableListener;
+import com.aoapps.hodgepodge.tree.Tree;
+import com.aoapps.hodgepodge.tree.TreeCopy;
+import com.aoindustries.aoserv.client.AoservConnector;
+import com.aoindustries.aoserv.client.account.Account;
+import com.aoindustries.aoserv.client.account.Administrator;
+import com.aoindustries.aoserv.client.master.Permission;
+import com.aoindustries.aoserv.client.reseller.Brand;
+import com.aoindustries.aoserv.client.reseller.Category;
+import com.aoindustries.aoserv.client.reseller.Reseller;
+import com.aoindustries.aoserv.client.ticket.Assignment;
+import com.aoindustries.aoserv.client.ticket.Language;
+import com.aoindustries.aoserv.client.ticket.Priority;
+import com.aoindustries.aoserv.client.ticket.Status;
+import com.aoindustries.aoserv.client.ticket.Ticket;
+import com.aoindustries.aoserv.client.ticket.TicketType;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The data looked-up from the master server by {@link CommunicationPane}, kept
+ * between refreshes.  Each table has a version counter that is incremented when
+ * the table is updated.  Each derived value records the versions of the tables
+ * it was computed from, and is only recomputed when one of those versions has
+ * changed.  For example, a change to the priorities does not re-copy the
+ * account tree, and a change to the tickets does not recompute the assignable
+ * users.
+ *
+ * <p>One instance is used per connector.  The derived values are not
+ * thread-safe and must only be accessed by one refresh at a time, while
+ * {@link #tableUpdated(com.aoapps.hodgepodge.table.Table)} may be called from
+ * any thread.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class CommunicationCache {
+
+  private static final Logger logger = Logger.getLogger(CommunicationCache.class.getName());
+
+  /**
+   * The tables that are listened to.
+   */
+  enum Source {
+    ACCOUNT(conn -> conn.getAccount().getAccount()),
+    ADMINISTRATOR(conn -> conn.getAccount().getAdministrator()),
+    ADMINISTRATOR_PERMISSION(conn -> conn.getMaster().getAdministratorPermission()),
+    BRAND(conn -> conn.getReseller().getBrand()),
+    LANGUAGE(conn -> conn.getTicket().getLanguage()),
+    RESELLER(conn -> conn.getReseller().getReseller()),
+    ASSIGNMENT(conn -> conn.getTicket().getAssignment()),
+    CATEGORY(conn -> conn.getReseller().getCategory()),
+    PRIORITY(conn -> conn.getTicket().getPriority()),
+    STATUS(conn -> conn.getTicket().getStatus()),
+    TICKET_TYPE(conn -> conn.getTicket().getTicketType()),
+    TICKET(conn -> conn.getTicket().getTicket());
+
+    private final Function<AoservConnector, Table<?>> getTable;
+
+    Source(Function<AoservConnector, Table<?>> getTable) {
+      this.getTable = getTable;
+    }
+
+    Table<?> getTable(AoservConnector conn) {
+      return getTable.apply(conn);
+    }
+  }
+
+  /**
+   * Computes a derived value.
+   */
+  @FunctionalInterface
+  private interface Loader<T> {
+    T load() throws IOException, SQLException;
+  }
+
+  /**
+   * A value derived from one or more tables, recomputed only when any of the
+   * tables have changed since it was last computed.
+   */
+  private final class Derived<T> {
+
+    private final String name;
+    private final Source[] dependencies;
+    private final Loader<T> loader;
+    private long[] computedVersions;
+    private T value;
+
+    private Derived(String name, Loader<T> loader, Source ... dependencies) {
+      this.name = name;
+      this.dependencies = dependencies;
+      this.loader = loader;
+    }
+
+    /**
+     * Checks if any of the tables have changed since last computed.
+     */
+    private boolean isDirty() {
+      if (computedVersions == null) {
+        return true;
+      }
+      for (int i = 0; i < dependencies.length; i++) {
+        if (versions.get(dependencies[i].ordinal()) != computedVersions[i]) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private T get() throws IOException, SQLException {
+      if (isDirty()) {
+        // Read the versions first, so any update during the load is seen on the next refresh
+        long[] newVersions = new long[dependencies.length];
+        for (int i = 0; i < dependencies.length; i++) {
+          newVersions[i] = versions.get(dependencies[i].ordinal());
+        }
+        if (logger.isLoggable(Level.FINE)) {
+          logger.log(Level.FINE, "Recomputing {0}", name);
+        }
+        value = loader.load();
+        computedVersions = newVersions;
+      }
+      return value;
+    }
+  }
+
+  /**
+   * The ticket assignments and the users that tickets may be assigned to.
+   */
+  static final class Assignments {
+
+    /**
+     * The administrator assigned to each ticket, in the reseller of the current
+     * administrator, or {@code null} when the current administrator is not
+     * part of a reseller.
+     */
+    final Map<Ticket, Administrator> ticketAssignments;
+
+    /**
+     * Anybody in this reseller with any tickets assigned to them or any
+     * enabled user with the edit_ticket permission, sorted.
+     */
+    final List<Administrator> assignableUsers;
+
+    private Assignments(Map<Ticket, Administrator> ticketAssignments, List<Administrator> assignableUsers) {
+      this.ticketAssignments = ticketAssignments == null ? null : Collections.unmodifiableMap(ticketAssignments);
+      this.assignableUsers = Collections.unmodifiableList(assignableUsers);
+    }
+  }
+
+  private final AoservConnector conn;
+  private final ForkJoinPool pool;
+  private final Map<Table<?>, Source> sources = new IdentityHashMap<>();
+  private final AtomicLongArray versions = new AtomicLongArray(Source.values().length);
+
+  private final Derived<Tree<Category>> categoryTree;
+  private final Derived<TreeParents<Category>> categoryParents;
+  private final Derived<Tree<Account>> accountTree;
+  private final Derived<TreeParents<Account>> accountParents;
+  private final Derived<Tree<Brand>> brandTree;
+  private final Derived<Tree<Reseller>> resellerTree;
+  private final Derived<List<Ticket>> allTickets;
+  private final Derived<Assignments> assignments;
+  private final Derived<List<TicketType>> ticketTypes;
+  private final Derived<List<Status>> ticketStatuses;
+  private final Derived<List<Priority>> ticketPriorities;
+  private final Derived<List<Language>> languages;
+  /**
+   * The rows looked-up so far, cleared when any of the tables used by
+   * {@link CommunicationPane.TicketRow#of(com.aoindustries.aoserv.client.ticket.Ticket)}
+   * have changed.
+   */
+  private final Derived<Map<Ticket, CommunicationPane.TicketRow>> ticketRows;
+  /**
+   * Updated incrementally, so the loader returns the same index.
+   */
+  private final Derived<TicketIndex<Ticket, Category, Account>> ticketIndex;
+
+  /**
+   * @param  pool  the pool to look-up tickets in parallel or {@code null} to look-up in the calling thread
+   */
+  CommunicationCache(AoservConnector conn, ForkJoinPool pool) {
+    this.conn = conn;
+    this.pool = pool;
+    for (Source source : Source.values()) {
+      sources.put(source.getTable(conn), source);
+    }
+    categoryTree = new Derived<>(
+        "categoryTree",
+        () -> new TreeCopy<>(conn.getReseller().getCategory().getTree()),
+        Source.CATEGORY
+    );
+    categoryParents = new Derived<>(
+        "categoryParents",
+        () -> new TreeParents<>(categoryTree.get()),
+        Source.CATEGORY
+    );
+    accountTree = new Derived<>(
+        "accountTree",
+        () -> new TreeCopy<>(conn.getAccount().getAccount().getTree()),
+        Source.ACCOUNT
+    );
+    accountParents = new Derived<>(
+        "accountParents",
+        () -> new TreeParents<>(accountTree.get()),
+        Source.ACCOUNT
+    );
+    brandTree = new Derived<>(
+        "brandTree",
+        () -> new TreeCopy<>(conn.getReseller().getBrand().getTree()),
+        Source.BRAND
+    );
+    resellerTree = new Derived<>(
+        "resellerTree",
+        () -> new TreeCopy<>(conn.getReseller().getReseller().getTree()),
+        Source.RESELLER
+    );
+    allTickets = new Derived<>(
+        "allTickets",
+        () -> conn.getTicket().getTicket().getRows(),
+        Source.TICKET
+    );
+    final TicketIndex<Ticket, Category, Account> index = new TicketIndex<>(CommunicationPane.TICKET_ACCESSOR);
+    ticketIndex = new Derived<>(
+        "ticketIndex",
+        () -> {
+          index.update(allTickets.get(), pool);
+          return index;
+        },
+        Source.TICKET
+    );
+    assignments = new Derived<>(
+        "assignments",
+        this::loadAssignments,
+        Source.ACCOUNT,
+        Source.ADMINISTRATOR,
+        Source.ADMINISTRATOR_PERMISSION,
+        Source.BRAND,
+        Source.RESELLER,
+        Source.ASSIGNMENT
+    );
+    ticketTypes = new Derived<>(
+        "ticketTypes",
+        () -> conn.getTicket().getTicketType().getRows(),
+        Source.TICKET_TYPE
+    );
+    ticketStatuses = new Derived<>(
+        "ticketStatuses",
+        () -> conn.getTicket().getStatus().getRows(),
+        Source.STATUS
+    );
+    ticketPriorities = new Derived<>(
+        "ticketPriorities",
+        () -> conn.getTicket().getPriority().getRows(),
+        Source.PRIORITY
+    );
+    languages = new Derived<>(
+        "languages",
+        () -> conn.getTicket().getLanguage().getRows(),
+        Source.LANGUAGE
+    );
+    ticketRows = new Derived<>(
+        "ticketRows",
+        HashMap::new,
+        Source.TICKET,
+        Source.ACCOUNT,
+        Source.ADMINISTRATOR,
+        Source.PRIORITY,
+        Source.STATUS
+    );
+  }
+
+  AoservConnector getConnector() {
+    return conn;
+  }
+
+  void addTableListeners(TableListener listener) {
+    for (Source source : Source.values()) {
+      source.getTable(conn).addTableListener(listener, 0);
+    }
+  }
+
+  void removeTableListeners(TableListener listener) {
+    for (Source source : Source.values()) {
+      source.getTable(conn).removeTableListener(listener);
+    }
+  }
+
+  /**
+   * Marks the values derived from the given table as needing recomputed.
+   * May be called from any thread.
+   *
+   * @return  {@code true} when the table is one of the {@link Source sources}
+   */
+  boolean tableUpdated(Table<?> table) {
+    Source source = sources.get(table);
+    if (source == null) {
+      return false;
+    }
+    versions.incrementAndGet(source.ordinal());
+    return true;
+  }
+
+  Tree<Category> getCategoryTree() throws IOException, SQLException {
+    return categoryTree.get();
+  }
+
+  TreeParents<Category> getCategoryParents() throws IOException, SQLException {
+    return categoryParents.get();
+  }
+
+  Tree<Account> getAccountTree() throws IOException, SQLException {
+    return accountTree.get();
+  }
+
+  TreeParents<Account> getAccountParents() throws IOException, SQLException {
+    return accountParents.get();
+  }
+
+  Tree<Brand> getBrandTree() throws IOException, SQLException {
+    return brandTree.get();
+  }
+
+  Tree<Reseller> getResellerTree() throws IOException, SQLException {
+    return resellerTree.get();
+  }
+
+  List<Ticket> getAllTickets() throws IOException, SQLException {
+    return allTickets.get();
+  }
+
+  /**
+   * Gets the index of {@link #getAllTickets()}.
+   */
+  TicketIndex<Ticket, Category, Account> getTicketIndex() throws IOException, SQLException {
+    return ticketIndex.get();
+  }
+
+  Assignments getAssignments() throws IOException, SQLException {
+    return assignments.get();
+  }
+
+  List<TicketType> getTicketTypes() throws IOException, SQLException {
+    return ticketTypes.get();
+  }
+
+  List<Status> getTicketStatuses() throws IOException, SQLException {
+    return ticketStatuses.get();
+  }
+
+  List<Priority> getTicketPriorities() throws IOException, SQLException {
+    return ticketPriorities.get();
+  }
+
+  List<Language> getLanguages() throws IOException, SQLException {
+    return languages.get();
+  }
+
+  /**
+   * Gets the rows for the given tickets, in the same order.  Each row is only
+   * looked-up when not already done since the last change to any of the tables
+   * it uses.  The rows not yet looked-up are looked-up in parallel.
+   *
+   * @param  canceled  checked before looking-up each row
+   *
+   * @throws  CancellationException  when canceled, without storing any of the rows looked-up
+   */
+  List<CommunicationPane.TicketRow> getTicketRows(List<Ticket> tickets, BooleanSupplier canceled) throws IOException, SQLException {
+    Map<Ticket, CommunicationPane.TicketRow> rows = ticketRows.get();
+    List<Ticket> missing = new ArrayList<>();
+    for (Ticket ticket : tickets) {
+      if (!rows.containsKey(ticket)) {
+        missing.add(ticket);
+      }
+    }
+    if (!missing.isEmpty()) {
+      List<CommunicationPane.TicketRow> missingRows = ParallelChunks.map(pool, missing, ticket -> {
+        if (canceled.getAsBoolean()) {
+          throw new CancellationException();
+        }
+        return CommunicationPane.TicketRow.of(ticket);
+      });
+      for (int i = 0, size = missing.size(); i < size; i++) {
+        rows.put(missing.get(i), missingRows.get(i));
+      }
+    }
+    List<CommunicationPane.TicketRow> result = new ArrayList<>(tickets.size());
+    for (Ticket ticket : tickets) {
+      result.add(rows.get(ticket));
+    }
+    return result;
+  }
+
+  private Assignments loadAssignments() throws IOException, SQLException {
+    // Determine the reseller for assignment lookups
+    Reseller currentReseller = null;
+    {
+      Account currentAccount = conn.getCurrentAdministrator().getUsername().getPackage().getAccount();
+      if (currentAccount != null) {
+        Brand currentBrand = currentAccount.getBrand();
+        if (currentBrand != null) {
+          currentReseller = currentBrand.getReseller();
+        }
+      }
+    }
+    List<Assignment> allTicketAssignments = conn.getTicket().getAssignment().getRows();
+    Map<Ticket, Administrator> ticketAssignments;
+    if (currentReseller != null) {
+      ticketAssignments = AoCollections.newHashMap(allTicketAssignments.size());
+    } else {
+      ticketAssignments = null;
+    }
+    // The set of assignable users includes anybody
+    // in this reseller with any tickets assigned
+    // to them or any enabled user with the
+    // edit_ticket permission.
+    Set<Administrator> assignableUsersSet = new HashSet<>();
+    for (Assignment ticketAssignment : allTicketAssignments) {
+      Administrator administrator = ticketAssignment.getAdministrator();
+      // Build set of assignments for matching in the filters
+      if (ticketAssignments != null) {
+        assert currentReseller != null;
+        if (currentReseller.equals(ticketAssignment.getReseller())) {
+          ticketAssignments.put(ticketAssignment.getTicket(), administrator);
+        }
+      }
+      // Add to assignable
+      assignableUsersSet.add(administrator);
+    }
+    final Administrator currentAdministrator = conn.getCurrentAdministrator();
+    final Account currentAccount = currentAdministrator.getUsername().getPackage().getAccount();
+    for (Administrator administrator : conn.getAccount().getAdministrator().getRows()) {
+      if (
+          !administrator.isDisabled()
+              && administrator.hasPermission(Permission.Name.edit_ticket)
+              && administrator.getUsername().getPackage().getAccount().equals(currentAccount)
+      ) {
+        assignableUsersSet.add(administrator);
+      }
+    }
+    List<Administrator> assignableUsers = new ArrayList<>(assignableUsersSet);
+    Collections.sort(assignableUsers);
+    return new Assignments(ticketAssignments, assignableUsers);
+  }
+}
@@ -26,11 +26,8 @@ package com.aoindustries.noc.gui;
 import com.aoapps.collections.AoCollections;
 import com.aoapps.hodgepodge.swing.SynchronizingListModel;
 import com.aoapps.hodgepodge.swing.SynchronizingMutableTreeNode;
-import com.aoapps.hodgepodge.swing.table.UneditableDefaultTableModel;
 import com.aoapps.hodgepodge.table.Table;
 import com.aoapps.hodgepodge.table.TableListener;
-import com.aoapps.hodgepodge.tree.Node;
-import com.aoapps.hodgepodge.tree.NodeFilter;
 import com.aoapps.hodgepodge.tree.Tree;
 import com.aoapps.hodgepodge.tree.TreeCopy;
 import com.aoapps.hodgepodge.tree.Trees;
@@ -41,11 +38,9 @@ import com.aoindustries.aoserv.client.AoservConnector;
 import com.aoindustries.aoserv.client.Disablable;
 import com.aoindustries.aoserv.client.account.Account;
 import com.aoindustries.aoserv.client.account.Administrator;
-import com.aoindustries.aoserv.client.master.Permission;
 import com.aoindustries.aoserv.client.reseller.Brand;
 import com.aoindustries.aoserv.client.reseller.Category;
 import com.aoindustries.aoserv.client.reseller.Reseller;
-import com.aoindustries.aoserv.client.ticket.Assignment;
 import com.aoindustries.aoserv.client.ticket.Language;
 import com.aoindustries.aoserv.client.ticket.Priority;
 import com.aoindustries.aoserv.client.ticket.Status;
@@ -54,7 +49,6 @@ import com.aoindustries.aoserv.client.ticket.TicketType;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
-import java.awt.Cursor;
 import java.awt.Font;
 import java.awt.Frame;
 import java.awt.Graphics;
@@ -64,31 +58,38 @@ import java.awt.font.TextAttribute;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.Icon;
 import javax.swing.JLabel;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JToolBar;
 import javax.swing.JTree;
 import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.plaf.basic.BasicGraphicsUtils;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.table.TableRowSorter;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -140,10 +141,84 @@ public class CommunicationPane extends JPanel implements TableListener {
       + ") ";
   // </editor-fold>
 
+  /**
+   * Reads the filtered values from AOServ tickets.
+   */
+  static final TicketFilter.Accessor<Ticket, Category, Account> TICKET_ACCESSOR = new TicketFilter.Accessor<>() {
+    @Override
+    public Object getBrand(Ticket ticket) throws IOException, SQLException {
+      return ticket.getBrand();
+    }
+
+    @Override
+    public Object getReseller(Ticket ticket) throws IOException, SQLException {
+      return ticket.getReseller();
+    }
+
+    @Override
+    public Object getTicketType(Ticket ticket) throws IOException, SQLException {
+      return ticket.getTicketType();
+    }
+
+    @Override
+    public Object getStatus(Ticket ticket) throws IOException, SQLException {
+      return ticket.getStatus();
+    }
+
+    @Override
+    public Object getPriority(Ticket ticket) throws IOException, SQLException {
+      Priority priority = ticket.getAdminPriority();
+      if (priority == null) {
+        priority = ticket.getClientPriority();
+      }
+      return priority;
+    }
+
+    @Override
+    public Object getLanguage(Ticket ticket) throws IOException, SQLException {
+      return ticket.getLanguage();
+    }
+
+    @Override
+    public Category getCategory(Ticket ticket) throws IOException, SQLException {
+      return ticket.getCategory();
+    }
+
+    @Override
+    public Account getAccount(Ticket ticket) throws IOException, SQLException {
+      return ticket.getAccount();
+    }
+  };
+
+  private static final KeyedTableModel.RowAdapter<Integer, TicketRow> TICKET_ROW_ADAPTER = new KeyedTableModel.RowAdapter<>() {
+    @Override
+    public Integer getKey(TicketRow row) {
+      return row.ticketNumber;
+    }
+
+    @Override
+    public Object getValueAt(TicketRow row, int column) {
+      return row.getCell(column);
+    }
+  };
+
   // <editor-fold defaultstate="collapsed" desc="Fields">
   private static final long serialVersionUID = 1L;
+  /**
+   * The delay after the last selection change or table update before refreshing.
+   */
+  private static final int REFRESH_DELAY_MILLIS = 150;
+  /**
+   * The longest delay after the first selection change or table update before
+   * refreshing, even while changes keep arriving.
+   */
+  private static final int REFRESH_MAX_DELAY_MILLIS = 1000;
   private final Noc noc;
   private AoservConnector conn; // This is the connector that has all the listeners added
+  /**
+   * The data looked-up for {@link #conn}, or {@code null} when logged-out.
+   */
+  private volatile CommunicationCache cache;
   private final JXMultiSplitPane splitPane;
   // Categories
   private final SynchronizingMutableTreeNode<Category> categoriesRootNode = new SynchronizingMutableTreeNode<>(RESOURCES.getMessage("categories.uncategorized"), true);
@@ -177,8 +252,8 @@ public class CommunicationPane extends JPanel implements TableListener {
   private final SynchronizingListModel<Language> languagesListModel = new SynchronizingListModel<>();
   private final JList<Language> languagesList = new JList<>(languagesListModel);
   // Tickets
-  private final DefaultTableModel ticketsTableModel = new UneditableDefaultTableModel(
-      new Object[]{
+  private final KeyedTableModel<Integer, TicketRow> ticketsTableModel = new KeyedTableModel<>(
+      Arrays.asList(
           RESOURCES.getMessage("ticketsTable.header.ticketNumber"),
           RESOURCES.getMessage("ticketsTable.header.priority"),
           RESOURCES.getMessage("ticketsTable.header.status"),
@@ -186,8 +261,8 @@ public class CommunicationPane extends JPanel implements TableListener {
           RESOURCES.getMessage("ticketsTable.header.openedBy"),
           RESOURCES.getMessage("ticketsTable.header.account"),
           RESOURCES.getMessage("ticketsTable.header.summary")
-      },
-      0
+      ),
+      TICKET_ROW_ADAPTER
   );
   private final JTable ticketsTable = new JTable(ticketsTableModel) {
     private static final long serialVersionUID = 1L;
@@ -200,6 +275,14 @@ public class CommunicationPane extends JPanel implements TableListener {
   };
   // Ticket Editor
   private final TicketEditor ticketEditor;
+  // Refreshing
+  private final Timer refreshTimer = new Timer(REFRESH_DELAY_MILLIS, e -> refreshNow());
+  /**
+   * The time of the first call to {@link #refresh()} since the last refresh,
+   * or {@code -1} when no refresh is pending.
+   */
+  private long refreshPendingSinceNanos = -1;
+  private final JProgressBar refreshProgress = new JProgressBar();
 
   // </editor-fold>
 
@@ -401,7 +484,7 @@ public class CommunicationPane extends JPanel implements TableListener {
     splitPane.add(languagesPanel, "languages");
 
     // Tickets
-    TableRowSorter<DefaultTableModel> tableRowSorter = new TableRowSorter<>(ticketsTableModel);
+    TableRowSorter<KeyedTableModel<Integer, TicketRow>> tableRowSorter = new TableRowSorter<>(ticketsTableModel);
     Comparator<Comparable<Object>> naturalComparator = (Comparable<Object> o1, Comparable<Object> o2) -> {
       // nulls sorted last
       if (o1 == null) {
@@ -448,7 +531,7 @@ public class CommunicationPane extends JPanel implements TableListener {
         if (selectedRows.length == 1) {
           int selectedRow = selectedRows[0];
           int selectedModelRow = ticketsTable.convertRowIndexToModel(selectedRow);
-          Integer ticketId = (Integer) ((TicketCell) ticketsTableModel.getValueAt(selectedModelRow, 0)).value;
+          Integer ticketId = ticketsTableModel.getRow(selectedModelRow).ticketNumber;
           // System.out.println("DEBUG: selectedModelRow: "+ticketId);
           showTicketEditor(ticketId);
         } else {
@@ -472,7 +555,7 @@ public class CommunicationPane extends JPanel implements TableListener {
               int[] selectedRows = ticketsTable.getSelectedRows();
               for (int selectedRow : selectedRows) {
                 int selectedModelRow = ticketsTable.convertRowIndexToModel(selectedRow);
-                Integer ticketId = (Integer) ((TicketCell) ticketsTableModel.getValueAt(selectedModelRow, 0)).value;
+                Integer ticketId = ticketsTableModel.getRow(selectedModelRow).ticketNumber;
                 // System.out.println("DEBUG: selectedModelRow: "+ticketId);
                 openTicketFrame(ticketId);
               }
@@ -486,6 +569,14 @@ public class CommunicationPane extends JPanel implements TableListener {
     ticketEditor = new TicketEditor(noc, TicketEditor.PreferencesSet.EMBEDDED);
     ticketEditor.setVisible(false);
     splitPane.add(ticketEditor, "ticketEditor");
+
+    // Refreshing
+    refreshTimer.setRepeats(false);
+    refreshProgress.setIndeterminate(true);
+    refreshProgress.setStringPainted(true);
+    refreshProgress.setString(RESOURCES.getMessage("refreshProgress.string"));
+    refreshProgress.setVisible(false);
+    add(refreshProgress, BorderLayout.SOUTH);
   }
 
   void addToolBars(JToolBar toolBar) {
@@ -495,27 +586,25 @@ public class CommunicationPane extends JPanel implements TableListener {
   // </editor-fold>
 
   // <editor-fold defaultstate="collapsed" desc="Start/Stop/Exit">
+  /**
+   * The timeline of the login, until the first tickets are shown.
+   */
+  private LoginTimeline startTimeline;
+
   /**
    * {@code start()} should only be called when we have a login established.
+   *
+   * @param  timeline  the timeline of the login, marked once the first tickets are shown
    */
-  void start(AoservConnector conn) {
+  void start(AoservConnector conn, LoginTimeline timeline) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
     this.conn = conn;
-    conn.getAccount().getAccount().addTableListener(this, 0);
-    conn.getAccount().getAdministrator().addTableListener(this, 0);
-    conn.getMaster().getAdministratorPermission().addTableListener(this, 0);
-    conn.getReseller().getBrand().addTableListener(this, 0);
-    conn.getTicket().getLanguage().addTableListener(this, 0);
-    conn.getReseller().getReseller().addTableListener(this, 0);
-    // conn.getTicketActions().addTableListener(this, 0);
-    conn.getTicket().getAssignment().addTableListener(this, 0);
-    conn.getReseller().getCategory().addTableListener(this, 0);
-    conn.getTicket().getPriority().addTableListener(this, 0);
-    conn.getTicket().getStatus().addTableListener(this, 0);
-    conn.getTicket().getTicketType().addTableListener(this, 0);
-    conn.getTicket().getTicket().addTableListener(this, 0);
+    this.startTimeline = timeline;
+    CommunicationCache newCache = new CommunicationCache(conn, noc.communicationPool);
+    this.cache = newCache;
+    newCache.addTableListeners(this);
 
-    refresh();
+    refreshNow();
   }
 
   /**
@@ -523,22 +612,12 @@ public class CommunicationPane extends JPanel implements TableListener {
    */
   void stop() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+    startTimeline = null;
     closeAllTicketFrames();
-    conn.getAccount().getAccount().removeTableListener(this);
-    conn.getAccount().getAdministrator().removeTableListener(this);
-    conn.getMaster().getAdministratorPermission().removeTableListener(this);
-    conn.getReseller().getBrand().removeTableListener(this);
-    conn.getTicket().getLanguage().removeTableListener(this);
-    conn.getReseller().getReseller().removeTableListener(this);
-    // conn.getTicketActions().removeTableListener(this);
-    conn.getTicket().getAssignment().removeTableListener(this);
-    conn.getReseller().getCategory().removeTableListener(this);
-    conn.getTicket().getPriority().removeTableListener(this);
-    conn.getTicket().getStatus().removeTableListener(this);
-    conn.getTicket().getTicketType().removeTableListener(this);
-    conn.getTicket().getTicket().removeTableListener(this);
+    cache.removeTableListeners(this);
+    cache = null;
     conn = null;
-    refresh();
+    refreshNow();
   }
 
   /**
@@ -563,6 +642,10 @@ public class CommunicationPane extends JPanel implements TableListener {
     } catch (Exception err) {
       noc.reportError(err, null);
     }*/
+    CommunicationCache cache1 = cache;
+    if (cache1 != null) {
+      cache1.tableUpdated(table);
+    }
     refresh();
   }
 
@@ -571,475 +654,413 @@ public class CommunicationPane extends JPanel implements TableListener {
   private final Object refreshLock = new Object();
 
   /**
-   * Refreshes all data in the background, returns immediately.
-   * It is synchronized to only allow one refresh to occur at a time.
-   * The data operations are all performed first, then the GUI is updated
-   * on the Swing event dispatch thread.
+   * Incremented each time a refresh is started.  A refresh stops as soon as it
+   * sees a newer generation, since its results would only be replaced.
+   */
+  private final AtomicLong refreshGeneration = new AtomicLong();
+
+  private boolean isSuperseded(long generation) {
+    return refreshGeneration.get() != generation;
+  }
+
+  /**
+   * Refreshes once there have been no further calls for
+   * {@link #REFRESH_DELAY_MILLIS}, so a burst of selection changes or table
+   * updates results in a single refresh.  A steady stream of calls still
+   * refreshes at least once every {@link #REFRESH_MAX_DELAY_MILLIS}.  May be
+   * called from any thread.
    */
-  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
   private void refresh() {
     // Launch on the swing event thread if not already running on it
     if (!SwingUtilities.isEventDispatchThread()) {
       SwingUtilities.invokeLater(this::refresh);
     } else {
       assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+      long now = System.nanoTime();
+      if (refreshPendingSinceNanos == -1) {
+        refreshPendingSinceNanos = now;
+      }
+      long remainingMillis = REFRESH_MAX_DELAY_MILLIS - TimeUnit.NANOSECONDS.toMillis(now - refreshPendingSinceNanos);
+      if (remainingMillis <= 0) {
+        refreshNow();
+      } else {
+        refreshTimer.setInitialDelay((int) Math.min(REFRESH_DELAY_MILLIS, remainingMillis));
+        refreshTimer.restart();
+      }
+    }
+  }
 
-      // Query the GUI filter components
-      final boolean includeUncategorized;
-      final Set<Category> selectedCategories;
-      {
-        TreePath[] selectedCategoryPaths = categoriesTree.getSelectionPaths();
-        if (selectedCategoryPaths == null) {
-          includeUncategorized = false;
-          selectedCategories = Collections.emptySet();
-        } else {
-          boolean includeUncategorizedTmp = false;
-          selectedCategories = AoCollections.newHashSet(selectedCategoryPaths.length);
-          for (TreePath treePath : selectedCategoryPaths) {
-            TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
-            if (treeNode == categoriesRootNode) {
-              includeUncategorizedTmp = true;
-            } else {
-              Category ticketCategory = (Category) ((DefaultMutableTreeNode) treeNode).getUserObject();
-              selectedCategories.add(ticketCategory);
-            }
+  /**
+   * Refreshes all data in the background, returns immediately.
+   * It is synchronized to only allow one refresh to occur at a time.
+   * The data operations are all performed first, then the GUI is updated
+   * on the Swing event dispatch thread.  Any refresh still running is
+   * superseded.
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  private void refreshNow() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    refreshTimer.stop();
+    refreshPendingSinceNanos = -1;
+    final long generation = refreshGeneration.incrementAndGet();
+    refreshProgress.setVisible(true);
+
+    // Query the GUI filter components
+    final boolean includeUncategorized;
+    final Set<Category> selectedCategories;
+    {
+      TreePath[] selectedCategoryPaths = categoriesTree.getSelectionPaths();
+      if (selectedCategoryPaths == null) {
+        includeUncategorized = false;
+        selectedCategories = Collections.emptySet();
+      } else {
+        boolean includeUncategorizedTmp = false;
+        selectedCategories = AoCollections.newHashSet(selectedCategoryPaths.length);
+        for (TreePath treePath : selectedCategoryPaths) {
+          TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
+          if (treeNode == categoriesRootNode) {
+            includeUncategorizedTmp = true;
+          } else {
+            Category ticketCategory = (Category) ((DefaultMutableTreeNode) treeNode).getUserObject();
+            selectedCategories.add(ticketCategory);
           }
-          includeUncategorized = includeUncategorizedTmp;
         }
+        includeUncategorized = includeUncategorizedTmp;
       }
-      final boolean includeNoAccount;
-      final Set<Account> selectedAccounts;
-      {
-        TreePath[] selectedAccountPaths = accountsTree.getSelectionPaths();
-        if (selectedAccountPaths == null) {
-          includeNoAccount = false;
-          selectedAccounts = Collections.emptySet();
-        } else {
-          boolean includeNoAccountTmp = false;
-          selectedAccounts = AoCollections.newHashSet(selectedAccountPaths.length);
-          for (TreePath treePath : selectedAccountPaths) {
-            TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
-            if (treeNode == accountsRootNode) {
-              includeNoAccountTmp = true;
-            } else {
-              Account account = (Account) ((DefaultMutableTreeNode) treeNode).getUserObject();
-              selectedAccounts.add(account);
-            }
+    }
+    final boolean includeNoAccount;
+    final Set<Account> selectedAccounts;
+    {
+      TreePath[] selectedAccountPaths = accountsTree.getSelectionPaths();
+      if (selectedAccountPaths == null) {
+        includeNoAccount = false;
+        selectedAccounts = Collections.emptySet();
+      } else {
+        boolean includeNoAccountTmp = false;
+        selectedAccounts = AoCollections.newHashSet(selectedAccountPaths.length);
+        for (TreePath treePath : selectedAccountPaths) {
+          TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
+          if (treeNode == accountsRootNode) {
+            includeNoAccountTmp = true;
+          } else {
+            Account account = (Account) ((DefaultMutableTreeNode) treeNode).getUserObject();
+            selectedAccounts.add(account);
           }
-          includeNoAccount = includeNoAccountTmp;
         }
+        includeNoAccount = includeNoAccountTmp;
       }
-      final Set<Brand> selectedBrands;
-      {
-        TreePath[] selectedBrandPaths = brandsTree.getSelectionPaths();
-        if (selectedBrandPaths == null) {
-          selectedBrands = Collections.emptySet();
-        } else {
-          selectedBrands = AoCollections.newHashSet(selectedBrandPaths.length);
-          for (TreePath treePath : selectedBrandPaths) {
-            TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
-            if (treeNode != brandsRootNode) {
-              Brand brand = (Brand) ((DefaultMutableTreeNode) treeNode).getUserObject();
-              selectedBrands.add(brand);
-            }
+    }
+    final Set<Brand> selectedBrands;
+    {
+      TreePath[] selectedBrandPaths = brandsTree.getSelectionPaths();
+      if (selectedBrandPaths == null) {
+        selectedBrands = Collections.emptySet();
+      } else {
+        selectedBrands = AoCollections.newHashSet(selectedBrandPaths.length);
+        for (TreePath treePath : selectedBrandPaths) {
+          TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
+          if (treeNode != brandsRootNode) {
+            Brand brand = (Brand) ((DefaultMutableTreeNode) treeNode).getUserObject();
+            selectedBrands.add(brand);
           }
         }
       }
-      final Set<Reseller> selectedResellers;
-      {
-        TreePath[] selectedResellerPaths = resellersTree.getSelectionPaths();
-        if (selectedResellerPaths == null) {
-          selectedResellers = Collections.emptySet();
-        } else {
-          selectedResellers = AoCollections.newHashSet(selectedResellerPaths.length);
-          for (TreePath treePath : selectedResellerPaths) {
-            TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
-            if (treeNode != resellersRootNode) {
-              Reseller reseller = (Reseller) ((DefaultMutableTreeNode) treeNode).getUserObject();
-              selectedResellers.add(reseller);
-            }
+    }
+    final Set<Reseller> selectedResellers;
+    {
+      TreePath[] selectedResellerPaths = resellersTree.getSelectionPaths();
+      if (selectedResellerPaths == null) {
+        selectedResellers = Collections.emptySet();
+      } else {
+        selectedResellers = AoCollections.newHashSet(selectedResellerPaths.length);
+        for (TreePath treePath : selectedResellerPaths) {
+          TreeNode treeNode = (TreeNode) treePath.getLastPathComponent();
+          if (treeNode != resellersRootNode) {
+            Reseller reseller = (Reseller) ((DefaultMutableTreeNode) treeNode).getUserObject();
+            selectedResellers.add(reseller);
           }
         }
       }
-      final boolean includeUnassigned;
-      final Set<Administrator> selectedAssignments;
-      {
-        List<Object> selectedValues = assignmentsList.getSelectedValuesList();
-        boolean includeUnassignedTmp = false;
-        selectedAssignments = AoCollections.newHashSet(selectedValues.size());
-        for (Object selectedValue : selectedValues) {
-          if (selectedValue == assignmentsListModel.getElementAt(0)) {
-            includeUnassignedTmp = true;
-          } else {
-            Administrator administrator = (Administrator) selectedValue;
-            selectedAssignments.add(administrator);
-          }
+    }
+    final boolean includeUnassigned;
+    final Set<Administrator> selectedAssignments;
+    {
+      List<Object> selectedValues = assignmentsList.getSelectedValuesList();
+      boolean includeUnassignedTmp = false;
+      selectedAssignments = AoCollections.newHashSet(selectedValues.size());
+      for (Object selectedValue : selectedValues) {
+        if (selectedValue == assignmentsListModel.getElementAt(0)) {
+          includeUnassignedTmp = true;
+        } else {
+          Administrator administrator = (Administrator) selectedValue;
+          selectedAssignments.add(administrator);
         }
-        includeUnassigned = includeUnassignedTmp;
       }
-      final Set<TicketType> selectedTypes = new HashSet<>(typesList.getSelectedValuesList());
-      final Set<Status> selectedStatuses = new HashSet<>(statusesList.getSelectedValuesList());
-      final Set<Priority> selectedPriorities = new HashSet<>(prioritiesList.getSelectedValuesList());
-      final Set<Language> selectedLanguages = new HashSet<>(languagesList.getSelectedValuesList());
-
-      // Run in a background thread for data access
-      noc.executorService.submit(() -> {
-        assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-        boolean doRefresh;
-        synchronized (refreshLock) {
-          if (isRefreshing) {
-            refreshRequestedWhileRefreshing = true;
-            doRefresh = false;
-          } else {
-            isRefreshing = true;
-            doRefresh = true;
-          }
+      includeUnassigned = includeUnassignedTmp;
+    }
+    final Set<TicketType> selectedTypes = new HashSet<>(typesList.getSelectedValuesList());
+    final Set<Status> selectedStatuses = new HashSet<>(statusesList.getSelectedValuesList());
+    final Set<Priority> selectedPriorities = new HashSet<>(prioritiesList.getSelectedValuesList());
+    final Set<Language> selectedLanguages = new HashSet<>(languagesList.getSelectedValuesList());
+
+    // Run in a background thread for data access
+    noc.sessionTasks.submit(noc.communicationExecutor, () -> {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+      boolean doRefresh;
+      synchronized (refreshLock) {
+        if (isRefreshing) {
+          refreshRequestedWhileRefreshing = true;
+          doRefresh = false;
+        } else {
+          isRefreshing = true;
+          doRefresh = true;
         }
-        if (doRefresh) {
+      }
+      if (doRefresh) {
+        try {
+          final long startNanos = System.nanoTime();
           try {
-            // final long startTime = System.currentTimeMillis();
-            // Set wait cursor
-            SwingUtilities.invokeLater(() -> {
-              assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-              if (noc.singleFrame != null) {
-                Component glassPane = noc.singleFrame.getGlassPane();
-                glassPane.setCursor(Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
-                glassPane.setVisible(true);
-              }
-              if (noc.communicationFrame != null) {
-                Component glassPane = noc.communicationFrame.getGlassPane();
-                glassPane.setCursor(Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
-                glassPane.setVisible(true);
-              }
-            });
-            try {
-              // Perform all data lookups
-              AoservConnector conn1 = CommunicationPane.this.conn;
-              final Tree<Category> categoryTree;
-              final Tree<Account> accountTree;
-              final Tree<Brand> brandTree;
-              final Tree<Reseller> resellerTree;
-              final List<Ticket> allTickets;
-              final Map<Ticket, Administrator> ticketAssignments;
-              final List<TicketType> ticketTypes;
-              final List<Status> ticketStatuses;
-              final List<Priority> ticketPriorities;
-              final List<Language> languages;
-              final List<Administrator> assignableUsers;
-              if (conn1 == null) {
-                // Logged-out, use empty lists for all
-                categoryTree = Trees.emptyTree();
-                accountTree = Trees.emptyTree();
-                brandTree = Trees.emptyTree();
-                resellerTree = Trees.emptyTree();
-                allTickets = Collections.emptyList();
-                ticketAssignments = null;
-                ticketTypes = Collections.emptyList();
-                ticketStatuses = Collections.emptyList();
-                ticketPriorities = Collections.emptyList();
-                languages = Collections.emptyList();
-                assignableUsers = Collections.emptyList();
-              } else {
-                // Logged-in, actually perform the data lookup
-                categoryTree = new TreeCopy<>(conn1.getReseller().getCategory().getTree());
-                accountTree = new TreeCopy<>(conn1.getAccount().getAccount().getTree());
-                brandTree = new TreeCopy<>(conn1.getReseller().getBrand().getTree());
-                resellerTree = new TreeCopy<>(conn1.getReseller().getReseller().getTree());
-                final List<Administrator> administrators = conn1.getAccount().getAdministrator().getRows();
-                allTickets = conn1.getTicket().getTicket().getRows();
-                final List<Assignment> allTicketAssignments = conn1.getTicket().getAssignment().getRows();
-                ticketTypes = conn1.getTicket().getTicketType().getRows();
-                ticketStatuses = conn1.getTicket().getStatus().getRows();
-                ticketPriorities = conn1.getTicket().getPriority().getRows();
-                languages = conn1.getTicket().getLanguage().getRows();
-                // Determine the reseller for assignment lookups
-                Reseller currentReseller = null;
-                {
-                  Account currentAccount = conn1.getCurrentAdministrator().getUsername().getPackage().getAccount();
-                  if (currentAccount != null) {
-                    Brand currentBrand = currentAccount.getBrand();
-                    if (currentBrand != null) {
-                      currentReseller = currentBrand.getReseller();
-                    }
-                  }
-                }
-                if (currentReseller != null && (includeUnassigned || !selectedAssignments.isEmpty())) {
-                  ticketAssignments = AoCollections.newHashMap(allTickets.size()); // Worst-case is all tickets assigned
-                } else {
-                  ticketAssignments = null;
-                }
-                // The set of assignable users includes anybody
-                // in this reseller with any tickets assigned
-                // to them or any enabled user with the
-                // edit_ticket permission.
-                Set<Administrator> assignableUsersSet = new HashSet<>();
-                for (Assignment ticketAssignment : allTicketAssignments) {
-                  Administrator administrator = ticketAssignment.getAdministrator();
-                  // Build set of assignments for matching below
-                  if (ticketAssignments != null) {
-                    assert currentReseller != null;
-                    if (currentReseller.equals(ticketAssignment.getReseller())) {
-                      ticketAssignments.put(ticketAssignment.getTicket(), administrator);
-                    }
-                  }
-                  // Add to assignable
-                  assignableUsersSet.add(administrator);
-                }
-                final Administrator currentAdministrator = conn1.getCurrentAdministrator();
-                final Account currentAccount = currentAdministrator.getUsername().getPackage().getAccount();
-                for (Administrator administrator : administrators) {
-                  if (
-                      !administrator.isDisabled()
-                          && administrator.hasPermission(Permission.Name.edit_ticket)
-                          && administrator.getUsername().getPackage().getAccount().equals(currentAccount)
-                  ) {
-                    assignableUsersSet.add(administrator);
-                  }
-                }
-                assignableUsers = new ArrayList<>(assignableUsersSet);
-                Collections.sort(assignableUsers);
-              }
-              // TODO: Remove any filter values that are no longer relevant
-              // Query the tickets with the current filters
-              final Set<Category> categoriesWithTickets;
-              final Set<Account> accountsWithTickets;
-              final List<Ticket> tickets;
-              if (conn1 == null) {
-                tickets = Collections.emptyList();
-                categoriesWithTickets = Collections.emptySet();
-                accountsWithTickets = Collections.emptySet();
+            if (isSuperseded(generation)) {
+              return;
+            }
+            // Perform all data lookups
+            // Only the tables changed since the last refresh are looked-up again
+            final CommunicationCache cache1 = CommunicationPane.this.cache;
+            final AoservConnector conn1 = cache1 == null ? null : cache1.getConnector();
+            final Tree<Category> categoryTree;
+            final TreeParents<Category> categoryParents;
+            final Tree<Account> accountTree;
+            final TreeParents<Account> accountParents;
+            final Tree<Brand> brandTree;
+            final Tree<Reseller> resellerTree;
+            final List<Ticket> allTickets;
+            final Map<Ticket, Administrator> ticketAssignments;
+            final List<TicketType> ticketTypes;
+            final List<Status> ticketStatuses;
+            final List<Priority> ticketPriorities;
+            final List<Language> languages;
+            final List<Administrator> assignableUsers;
+            if (cache1 == null) {
+              // Logged-out, use empty lists for all
+              categoryTree = Trees.emptyTree();
+              categoryParents = new TreeParents<>(categoryTree);
+              accountTree = Trees.emptyTree();
+              accountParents = new TreeParents<>(accountTree);
+              brandTree = Trees.emptyTree();
+              resellerTree = Trees.emptyTree();
+              allTickets = Collections.emptyList();
+              ticketAssignments = null;
+              ticketTypes = Collections.emptyList();
+              ticketStatuses = Collections.emptyList();
+              ticketPriorities = Collections.emptyList();
+              languages = Collections.emptyList();
+              assignableUsers = Collections.emptyList();
+            } else {
+              // Logged-in, actually perform the data lookup
+              categoryTree = cache1.getCategoryTree();
+              categoryParents = cache1.getCategoryParents();
+              accountTree = cache1.getAccountTree();
+              accountParents = cache1.getAccountParents();
+              brandTree = cache1.getBrandTree();
+              resellerTree = cache1.getResellerTree();
+              allTickets = cache1.getAllTickets();
+              CommunicationCache.Assignments assignments = cache1.getAssignments();
+              if (includeUnassigned || !selectedAssignments.isEmpty()) {
+                ticketAssignments = assignments.ticketAssignments;
               } else {
-                // System.out.println("DEBUG: Got "+allTickets.size()+" total tickets");
-                tickets = new ArrayList<>(allTickets.size()); // Worst-case is to be equal size - this avoids any resize - choosing time over space
-                categoriesWithTickets = new HashSet<>();
-                accountsWithTickets = new HashSet<>();
-                for (Ticket ticket : allTickets) {
-                  // Brands
-                  if (!selectedBrands.isEmpty()) {
-                    Brand brand = ticket.getBrand();
-                    if (brand == null || !selectedBrands.contains(brand)) {
-                      continue;
-                    }
-                  }
-                  // Resellers
-                  if (!selectedResellers.isEmpty()) {
-                    Reseller reseller = ticket.getReseller();
-                    if (reseller == null || !selectedResellers.contains(reseller)) {
-                      continue;
-                    }
-                  }
-                  // Assignments
-                  if (ticketAssignments != null && (includeUnassigned || !selectedAssignments.isEmpty())) {
-                    Administrator assignment = ticketAssignments.get(ticket);
-                    if (assignment == null) {
-                      if (!includeUnassigned) {
-                        continue;
-                      }
-                    } else {
-                      if (!selectedAssignments.contains(assignment)) {
-                        continue;
-                      }
-                    }
-                  }
-                  // Types
-                  if (!selectedTypes.isEmpty()) {
-                    if (!selectedTypes.contains(ticket.getTicketType())) {
-                      continue;
-                    }
-                  }
-                  // Statuses
-                  if (!selectedStatuses.isEmpty()) {
-                    if (!selectedStatuses.contains(ticket.getStatus())) {
-                      continue;
-                    }
-                  }
-                  // Priorities
-                  if (!selectedPriorities.isEmpty()) {
-                    Priority priority = ticket.getAdminPriority();
-                    if (priority == null) {
-                      priority = ticket.getClientPriority();
-                    }
-                    if (!selectedPriorities.contains(priority)) {
-                      continue;
-                    }
-                  }
-                  // Languages
-                  if (!selectedLanguages.isEmpty()) {
-                    if (!selectedLanguages.contains(ticket.getLanguage())) {
-                      continue;
-                    }
-                  }
-                  // These are updated after the above filters because we want only
-                  // the categories and accounts that have tickets given the
-                  // above filters
-                  Category ticketCategory = ticket.getCategory();
-                  categoriesWithTickets.add(ticketCategory);
-                  Account account = ticket.getAccount();
-                  accountsWithTickets.add(account);
-                  // Categories
-                  if (includeUncategorized || !selectedCategories.isEmpty()) {
-                    if (ticketCategory == null) {
-                      if (!includeUncategorized) {
-                        continue;
-                      }
-                    } else {
-                      if (!selectedCategories.contains(ticketCategory)) {
-                        continue;
-                      }
-                    }
-                  }
-                  // Accounts
-                  if (includeNoAccount || !selectedAccounts.isEmpty()) {
-                    if (account == null) {
-                      if (!includeNoAccount) {
-                        continue;
-                      }
-                    } else {
-                      if (!selectedAccounts.contains(account)) {
-                        continue;
-                      }
-                    }
-                  }
-                  // All filters passed, add to results
-                  tickets.add(ticket);
-                }
-                // Reverse order because default is sorted by open date descending, we want ascending
-                Collections.reverse(tickets);
-                // System.out.println("DEBUG: Got "+tickets.size()+" tickets through the filters");
+                ticketAssignments = null;
               }
-              // Prune the categories and accounts trees to only include nodes that
-              // either have tickets or have children with tickets.
-              final Tree<Category> filteredCategoryTree = new TreeCopy<>(
-                  categoryTree,
-                  new NodeFilter<>() {
-                    @Override
-                    public boolean isNodeFiltered(Node<Category> node) throws IOException, SQLException {
-                      return !hasTicket(node, categoriesWithTickets);
-                    }
-
-                    private boolean hasTicket(Node<Category> node, Set<Category> categoriesWithTickets) throws IOException, SQLException {
-                      if (categoriesWithTickets.contains(node.getValue())) {
-                        return true;
-                      }
-                      List<Node<Category>> children = node.getChildren();
-                      if (children != null) {
-                        for (Node<Category> child : children) {
-                          if (hasTicket(child, categoriesWithTickets)) {
-                            return true;
-                          }
-                        }
-                      }
-                      return false;
-                    }
-                  }
-              );
-              final Tree<Account> filteredAccountTree = new TreeCopy<>(
-                  accountTree,
-                  new NodeFilter<>() {
-                    @Override
-                    public boolean isNodeFiltered(Node<Account> node) throws IOException, SQLException {
-                      return !hasTicket(node, accountsWithTickets);
-                    }
-
-                    private boolean hasTicket(Node<Account> node, Set<Account> accountsWithTickets) throws IOException, SQLException {
-                      if (accountsWithTickets.contains(node.getValue())) {
-                        return true;
-                      }
-                      List<Node<Account>> children = node.getChildren();
-                      if (children != null) {
-                        for (Node<Account> child : children) {
-                          if (hasTicket(child, accountsWithTickets)) {
-                            return true;
-                          }
-                        }
-                      }
-                      return false;
-                    }
-                  }
-              );
-              // Perform ticket data lookups before going to the Swing thread
-              final List<TicketRow> ticketRows = new ArrayList<>(tickets.size());
-              for (Ticket ticket : tickets) {
-                Priority priority = ticket.getAdminPriority();
-                if (priority == null) {
-                  priority = ticket.getClientPriority();
+              assignableUsers = assignments.assignableUsers;
+              ticketTypes = cache1.getTicketTypes();
+              ticketStatuses = cache1.getTicketStatuses();
+              ticketPriorities = cache1.getTicketPriorities();
+              languages = cache1.getLanguages();
+            }
+            if (isSuperseded(generation)) {
+              return;
+            }
+            // TODO: Remove any filter values that are no longer relevant
+            // Query the tickets with the current filters
+            final Set<Category> categoriesWithTickets;
+            final Set<Account> accountsWithTickets;
+            final List<Ticket> tickets;
+            if (conn1 == null) {
+              tickets = Collections.emptyList();
+              categoriesWithTickets = Collections.emptySet();
+              accountsWithTickets = Collections.emptySet();
+            } else {
+              // System.out.println("DEBUG: Got "+allTickets.size()+" total tickets");
+              TicketFilter.Result<Ticket, Category, Account> result = new TicketFilter<>(
+                  selectedBrands,
+                  selectedResellers,
+                  ticketAssignments,
+                  includeUnassigned,
+                  selectedAssignments,
+                  selectedTypes,
+                  selectedStatuses,
+                  selectedPriorities,
+                  selectedLanguages,
+                  includeUncategorized,
+                  selectedCategories,
+                  includeNoAccount,
+                  selectedAccounts
+              ).filter(cache1.getTicketIndex());
+              tickets = result.tickets;
+              categoriesWithTickets = result.categoriesWithTickets;
+              accountsWithTickets = result.accountsWithTickets;
+              // System.out.println("DEBUG: Got "+tickets.size()+" tickets through the filters");
+            }
+            // Prune the categories and accounts trees to only include nodes that
+            // either have tickets or have children with tickets.
+            final Set<Category> categoriesInTree = categoryParents.getAncestorsOrSelf(categoriesWithTickets);
+            final Tree<Category> filteredCategoryTree = new TreeCopy<>(
+                categoryTree,
+                node -> !categoriesInTree.contains(node.getValue())
+            );
+            final Set<Account> accountsInTree = accountParents.getAncestorsOrSelf(accountsWithTickets);
+            final Tree<Account> filteredAccountTree = new TreeCopy<>(
+                accountTree,
+                node -> !accountsInTree.contains(node.getValue())
+            );
+            // Perform ticket data lookups before going to the Swing thread
+            final List<TicketRow> ticketRows = cache1 == null
+                ? Collections.emptyList()
+                : cache1.getTicketRows(tickets, () -> isSuperseded(generation));
+            final KeyedTableModel.Diff<Integer, TicketRow> ticketsDiff = ticketsTableModel.diff(ticketRows);
+            final ViewState viewState = new ViewState(
+                conn1,
+                filteredCategoryTree,
+                filteredAccountTree,
+                brandTree,
+                resellerTree,
+                assignableUsers,
+                ticketTypes,
+                ticketStatuses,
+                ticketPriorities,
+                languages,
+                ticketsDiff,
+                allTickets.size()
+            );
+            if (Thread.currentThread().isInterrupted() || isSuperseded(generation)) {
+              // Canceled by logout or superseded, the results are no longer wanted
+              return;
+            }
+            // Perform GUI updates
+            SwingUtilities.invokeLater(() -> {
+              assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+              try {
+                if (!isSuperseded(generation)) {
+                  applyViewState(viewState, startNanos);
                 }
-                Account account = ticket.getAccount();
-                Administrator openedBy = ticket.getCreatedBy();
-                Email fromAddress = ticket.getFromAddress();
-                ticketRows.add(
-                    new TicketRow(
-                        account != null && account.isDisabled(), // isStrikethrough
-                        ticket.getKey(),
-                        priority,
-                        ticket.getStatus(),
-                        ticket.getOpenDate().getTime(),
-                        openedBy == null
-                            ? (
-                            fromAddress == null
-                                ? ""
-                                : ('(' + fromAddress.toString() + ')')
-                        ) : (
-                            fromAddress == null
-                                ? openedBy.getKey().toString()
-                                : (openedBy.getKey() + " (" + fromAddress.toString() + ')')
-                        ),
-                        account == null ? "" : account.getKey().toString(),
-                        ticket.getSummary()
-                    )
-                );
+              } catch (ThreadDeath td) {
+                throw td;
+              } catch (Throwable t) {
+                logger.log(Level.SEVERE, null, t);
               }
-              // Perform GUI updates
-              SwingUtilities.invokeLater(() -> {
-                assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-                try {
-                  categoriesRootNode.synchronize(categoriesTreeModel, filteredCategoryTree);
-                  accountsRootNode.synchronize(accountsTreeModel, filteredAccountTree);
-                  brandsRootNode.synchronize(brandsTreeModel, brandTree);
-                  resellersRootNode.synchronize(resellersTreeModel, resellerTree);
-                  assignmentsListModel.synchronize(assignableUsers);
-                  typesListModel.synchronize(ticketTypes);
-                  statusesListModel.synchronize(ticketStatuses);
-                  prioritiesListModel.synchronize(ticketPriorities);
-                  languagesListModel.synchronize(languages);
-                  synchronizedTickets(ticketRows);
-                } catch (ThreadDeath td) {
-                  throw td;
-                } catch (Throwable t) {
-                  logger.log(Level.SEVERE, null, t);
-                }
-              });
-            } catch (ThreadDeath td) {
-              throw td;
-            } catch (Throwable t) {
-              logger.log(Level.SEVERE, null, t);
-            } finally {
-              SwingUtilities.invokeLater(() -> {
-                assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-                if (noc.singleFrame != null) {
-                  Component glassPane = noc.singleFrame.getGlassPane();
-                  glassPane.setCursor(null);
-                  glassPane.setVisible(false);
-                }
-                if (noc.communicationFrame != null) {
-                  Component glassPane = noc.communicationFrame.getGlassPane();
-                  glassPane.setCursor(null);
-                  glassPane.setVisible(false);
-                }
-              });
-              // System.out.println("DEBUG: CommunicationPanel: refresh completed in "+(System.currentTimeMillis()-startTime)+" ms");
-            }
+            });
+          } catch (CancellationException e) {
+            // Superseded while looking-up tickets, the results are no longer wanted
+          } catch (ThreadDeath td) {
+            throw td;
+          } catch (Throwable t) {
+            logger.log(Level.SEVERE, null, t);
           } finally {
-            synchronized (refreshLock) {
-              isRefreshing = false;
-              if (refreshRequestedWhileRefreshing) {
-                refreshRequestedWhileRefreshing = false;
-                refresh();
+            SwingUtilities.invokeLater(() -> {
+              assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+              // A newer refresh hides the progress once done
+              if (!isSuperseded(generation)) {
+                refreshProgress.setVisible(false);
               }
+            });
+          }
+        } finally {
+          synchronized (refreshLock) {
+            isRefreshing = false;
+            if (refreshRequestedWhileRefreshing) {
+              refreshRequestedWhileRefreshing = false;
+              SwingUtilities.invokeLater(this::refreshNow);
             }
           }
         }
-      });
+      }
+    });
+  }
+
+  /**
+   * The results of one refresh, computed outside the Swing event dispatch
+   * thread.  Once created, this is not modified, so it may be handed to the
+   * Swing event dispatch thread without further synchronization.  All
+   * lookups against the master server are complete, so applying it does not
+   * block the Swing event dispatch thread.
+   */
+  private static final class ViewState {
+
+    private final AoservConnector conn;
+    private final Tree<Category> categoryTree;
+    private final Tree<Account> accountTree;
+    private final Tree<Brand> brandTree;
+    private final Tree<Reseller> resellerTree;
+    private final List<Administrator> assignableUsers;
+    private final List<TicketType> ticketTypes;
+    private final List<Status> ticketStatuses;
+    private final List<Priority> ticketPriorities;
+    private final List<Language> languages;
+    private final KeyedTableModel.Diff<Integer, TicketRow> ticketsDiff;
+    private final int totalTickets;
+
+    private ViewState(
+        AoservConnector conn,
+        Tree<Category> categoryTree,
+        Tree<Account> accountTree,
+        Tree<Brand> brandTree,
+        Tree<Reseller> resellerTree,
+        List<Administrator> assignableUsers,
+        List<TicketType> ticketTypes,
+        List<Status> ticketStatuses,
+        List<Priority> ticketPriorities,
+        List<Language> languages,
+        KeyedTableModel.Diff<Integer, TicketRow> ticketsDiff,
+        int totalTickets
+    ) {
+      this.conn = conn;
+      this.categoryTree = categoryTree;
+      this.accountTree = accountTree;
+      this.brandTree = brandTree;
+      this.resellerTree = resellerTree;
+      this.assignableUsers = Collections.unmodifiableList(assignableUsers);
+      this.ticketTypes = Collections.unmodifiableList(ticketTypes);
+      this.ticketStatuses = Collections.unmodifiableList(ticketStatuses);
+      this.ticketPriorities = Collections.unmodifiableList(ticketPriorities);
+      this.languages = Collections.unmodifiableList(languages);
+      this.ticketsDiff = ticketsDiff;
+      this.totalTickets = totalTickets;
+    }
+  }
+
+  /**
+   * Applies the results of a refresh to the trees, lists, and tickets table.
+   * Only updates the Swing models; all computation has already been done.
+   */
+  private void applyViewState(ViewState viewState, long startNanos) throws IOException, SQLException {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    categoriesRootNode.synchronize(categoriesTreeModel, viewState.categoryTree);
+    accountsRootNode.synchronize(accountsTreeModel, viewState.accountTree);
+    brandsRootNode.synchronize(brandsTreeModel, viewState.brandTree);
+    resellersRootNode.synchronize(resellersTreeModel, viewState.resellerTree);
+    assignmentsListModel.synchronize(viewState.assignableUsers);
+    typesListModel.synchronize(viewState.ticketTypes);
+    statusesListModel.synchronize(viewState.ticketStatuses);
+    prioritiesListModel.synchronize(viewState.ticketPriorities);
+    languagesListModel.synchronize(viewState.languages);
+    synchronizeTickets(viewState.ticketsDiff);
+    noc.metrics.communicationRefresh.record(System.nanoTime() - startNanos);
+    noc.metrics.setTickets(viewState.totalTickets, viewState.ticketsDiff.getRows().size());
+    LoginTimeline timeline = startTimeline;
+    if (timeline != null && viewState.conn != null && viewState.conn == conn) {
+      startTimeline = null;
+      timeline.mark(LoginTimeline.FIRST_TICKETS);
     }
   }
 
@@ -1049,7 +1070,7 @@ public class CommunicationPane extends JPanel implements TableListener {
   /**
    * Each table cell has a value, foregroundColor, and strikethrough flag.
    */
-  class TicketCell<T extends Comparable<T>> implements Comparable<TicketCell<T>> {
+  static class TicketCell<T extends Comparable<T>> implements Comparable<TicketCell<T>> {
 
     final T value;
     final Color foregroundColor;
@@ -1116,7 +1137,7 @@ public class CommunicationPane extends JPanel implements TableListener {
     }
   }
 
-  class DateTimeTicketCell extends TicketCell<Long> {
+  static class DateTimeTicketCell extends TicketCell<Long> {
     DateTimeTicketCell(Long value, Color foregroundColor, boolean isStrikethrough) {
       super(value, foregroundColor, isStrikethrough);
     }
@@ -1132,7 +1153,7 @@ public class CommunicationPane extends JPanel implements TableListener {
    * updating the tickets table, the cells for each ticket is looked-up
    * in advanced and encapsulated with instances of TicketRow.
    */
-  class TicketRow {
+  static final class TicketRow {
     final boolean isStrikethrough;
     final Integer ticketNumber;
     final Priority priority;
@@ -1141,6 +1162,7 @@ public class CommunicationPane extends JPanel implements TableListener {
     final String openedBy;
     final String account;
     final String summary;
+    private final TicketCell<?>[] cells;
 
     TicketRow(
         boolean isStrikethrough,
@@ -1160,11 +1182,8 @@ public class CommunicationPane extends JPanel implements TableListener {
       this.openedBy = openedBy;
       this.account = account;
       this.summary = summary;
-    }
-
-    Object[] getObjectArray() {
       Color foregroundColor = getForegroundColor();
-      return new Object[]{
+      this.cells = new TicketCell<?>[]{
           new TicketCell<>(ticketNumber, foregroundColor, isStrikethrough),
           new TicketCell<>(priority, foregroundColor, isStrikethrough),
           new TicketCell<>(status, foregroundColor, isStrikethrough),
@@ -1175,6 +1194,68 @@ public class CommunicationPane extends JPanel implements TableListener {
       };
     }
 
+    /**
+     * Looks-up the cells for a ticket.  This may query the master server,
+     * so must not be called in the Swing event dispatch thread.
+     */
+    static TicketRow of(Ticket ticket) throws IOException, SQLException {
+      Priority priority = ticket.getAdminPriority();
+      if (priority == null) {
+        priority = ticket.getClientPriority();
+      }
+      Account account = ticket.getAccount();
+      Administrator openedBy = ticket.getCreatedBy();
+      Email fromAddress = ticket.getFromAddress();
+      return new TicketRow(
+          account != null && account.isDisabled(), // isStrikethrough
+          ticket.getKey(),
+          priority,
+          ticket.getStatus(),
+          ticket.getOpenDate().getTime(),
+          openedBy == null
+              ? (
+              fromAddress == null
+                  ? ""
+                  : ('(' + fromAddress.toString() + ')')
+          ) : (
+              fromAddress == null
+                  ? openedBy.getKey().toString()
+                  : (openedBy.getKey() + " (" + fromAddress.toString() + ')')
+          ),
+          account == null ? "" : account.getKey().toString(),
+          ticket.getSummary()
+      );
+    }
+
+    /**
+     * Gets the cell for the given column of the tickets table.
+     */
+    TicketCell<?> getCell(int column) {
+      return cells[column];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof TicketRow)) {
+        return false;
+      }
+      TicketRow other = (TicketRow) obj;
+      return
+          isStrikethrough == other.isStrikethrough
+              && openDate == other.openDate
+              && ticketNumber.equals(other.ticketNumber)
+              && Objects.equals(priority, other.priority)
+              && Objects.equals(status, other.status)
+              && Objects.equals(openedBy, other.openedBy)
+              && Objects.equals(account, other.account)
+              && Objects.equals(summary, other.summary);
+    }
+
+    @Override
+    public int hashCode() {
+      return ticketNumber.hashCode();
+    }
+
     /**
      * Gets the foreground color for this row.
      */
@@ -1206,188 +1287,39 @@ public class CommunicationPane extends JPanel implements TableListener {
   }
 
   /**
-   * Synchronizes the tickets table to the provided list.  Must be run
-   * in the Swing event thread.
+   * Applies the changes to the tickets table.  When the rows are replaced all
+   * at once, the selected tickets are selected again.
    */
-  private void synchronizedTickets(List<TicketRow> tickets) {
+  private void synchronizeTickets(KeyedTableModel.Diff<Integer, TicketRow> diff) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    // Make minimal changes to the table during the synchronization
-    int size = tickets.size();
-    for (int index = 0; index < size; index++) {
-      TicketRow ticketRow = tickets.get(index);
-      if (index >= ticketsTableModel.getRowCount()) {
-        ticketsTableModel.addRow(ticketRow.getObjectArray());
-      } else {
-        Integer ticketNumber = ticketRow.ticketNumber;
-        boolean needsCheckCells;
-        if (!ticketNumber.equals(((TicketCell<?>) ticketsTableModel.getValueAt(index, 0)).value)) {
-          // Objects don't match
-          // If this object is found further down the list, then move it to this address
-          int foundIndex = -1;
-          for (int searchIndex = index + 1; searchIndex < ticketsTableModel.getRowCount(); searchIndex++) {
-            if (ticketNumber.equals(((TicketCell<?>) ticketsTableModel.getValueAt(searchIndex, 0)).value)) {
-              foundIndex = searchIndex;
-              break;
-            }
-          }
-          if (foundIndex != -1) {
-            // Seems to lose selection pretty badly: ticketsTableModel.moveRow(foundIndex, foundIndex, index);
-            for (int removeIndex = foundIndex - 1; removeIndex >= index; removeIndex--) {
-              ticketsTableModel.removeRow(removeIndex);
-            }
-            needsCheckCells = true;
-          } else {
-            // Otherwise, insert in the current index
-            ticketsTableModel.insertRow(index, ticketRow.getObjectArray());
-            needsCheckCells = false;
-          }
-        } else {
-          needsCheckCells = true;
-        }
-        if (needsCheckCells) {
-          // Check each cell in this row for changes
-          Color foregroundColor = ticketRow.getForegroundColor();
-          boolean isStrikethrough = ticketRow.isStrikethrough;
-          // ticketNumber
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 0);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.ticketNumber)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.ticketNumber,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  0
-              );
-            }
-          }
-          // priority
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 1);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.priority)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.priority,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  1
-              );
-            }
-          }
-          // status
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 2);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.status)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.status,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  2
-              );
-            }
-          }
-          // openDate
-          {
-            DateTimeTicketCell ticketCell = (DateTimeTicketCell) ticketsTableModel.getValueAt(index, 3);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.openDate)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new DateTimeTicketCell(
-                      ticketRow.openDate,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  3
-              );
-            }
-          }
-          // openedBy
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 4);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.openedBy)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.openedBy,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  4
-              );
-            }
-          }
-          // account
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 5);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.account)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.account,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  5
-              );
-            }
-          }
-          // summary
-          {
-            TicketCell<?> ticketCell = (TicketCell<?>) ticketsTableModel.getValueAt(index, 6);
-            if (
-                ticketCell.isStrikethrough != isStrikethrough
-                    || !ticketCell.value.equals(ticketRow.summary)
-                    || !ticketCell.foregroundColor.equals(foregroundColor)
-            ) {
-              ticketsTableModel.setValueAt(
-                  new TicketCell<>(
-                      ticketRow.summary,
-                      foregroundColor,
-                      isStrikethrough
-                  ),
-                  index,
-                  6
-              );
+    diff = ticketsTableModel.rebase(diff);
+    if (diff.isReplace()) {
+      int[] selectedRows = ticketsTable.getSelectedRows();
+      List<Integer> selectedTickets = new ArrayList<>(selectedRows.length);
+      for (int selectedRow : selectedRows) {
+        selectedTickets.add(ticketsTableModel.getRow(ticketsTable.convertRowIndexToModel(selectedRow)).ticketNumber);
+      }
+      ticketsTableModel.apply(diff);
+      if (!selectedTickets.isEmpty()) {
+        ListSelectionModel selectionModel = ticketsTable.getSelectionModel();
+        selectionModel.setValueIsAdjusting(true);
+        try {
+          for (Integer ticketNumber : selectedTickets) {
+            int modelRow = ticketsTableModel.indexOf(ticketNumber);
+            if (modelRow != -1) {
+              int viewRow = ticketsTable.convertRowIndexToView(modelRow);
+              if (viewRow != -1) {
+                selectionModel.addSelectionInterval(viewRow, viewRow);
+              }
             }
           }
+        } finally {
+          selectionModel.setValueIsAdjusting(false);
         }
       }
-    }
-    // Remove any extra
-    while (ticketsTableModel.getRowCount() > size) {
-      ticketsTableModel.removeRow(ticketsTableModel.getRowCount() - 1);
+    } else {
+      ticketsTableModel.apply(diff);
     }
   }
 
@@ -0,0 +1,474 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A socket that compresses its traffic with a {@link Deflater}, flushing with
+ * {@link Deflater#SYNC_FLUSH} so each flushed message may be decompressed
+ * without waiting for more data.
+ *
+ * <p>Compression is negotiated per connection: the client sends a short
+ * header and the server acknowledges it.  A server socket accepts both
+ * compressed and plain connections, detected by the header.</p>
+ *
+ * <p>Byte counters are kept for all compressed sockets in this JVM.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class CompressedSocket extends Socket {
+
+  /**
+   * Sent by the client before any other data.
+   */
+  private static final byte[] HEADER = {'N', 'O', 'C', 'Z', 1};
+
+  /**
+   * Sent by the server once the header is received.
+   */
+  private static final int ACK = 1;
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private static final LongAdder compressedConnections = new LongAdder();
+  private static final LongAdder plainConnections = new LongAdder();
+  private static final LongAdder rawBytesOut = new LongAdder();
+  private static final LongAdder wireBytesOut = new LongAdder();
+  private static final LongAdder rawBytesIn = new LongAdder();
+  private static final LongAdder wireBytesIn = new LongAdder();
+
+  /**
+   * Connects as a client, negotiating compression with the server.  Blocks
+   * until the server acknowledges.
+   */
+  static CompressedSocket connect(Socket socket) throws IOException {
+    boolean success = false;
+    try {
+      OutputStream out = socket.getOutputStream();
+      out.write(HEADER);
+      out.flush();
+      InputStream in = socket.getInputStream();
+      int ack = in.read();
+      if (ack == -1) {
+        throw new EOFException("Connection closed during compression negotiation");
+      }
+      if (ack != ACK) {
+        throw new SocketException("Compression not accepted by server: " + ack);
+      }
+      CompressedSocket compressedSocket = new CompressedSocket(socket, true);
+      compressedSocket.startCompression(in, out);
+      success = true;
+      return compressedSocket;
+    } finally {
+      if (!success) {
+        socket.close();
+      }
+    }
+  }
+
+  /**
+   * Wraps a socket accepted by a server.  Negotiation is not done here, since
+   * it blocks on the client, but on the first call to
+   * {@link #getInputStream()} or {@link #getOutputStream()}, which RMI makes
+   * on the connection thread.
+   */
+  static CompressedSocket accept(Socket socket) {
+    return new CompressedSocket(socket, false);
+  }
+
+  private final Socket socket;
+  private boolean negotiated;
+  private InputStream in;
+  private OutputStream out;
+  private Deflater deflater;
+  private Inflater inflater;
+
+  private CompressedSocket(Socket socket, boolean negotiated) {
+    this.socket = socket;
+    this.negotiated = negotiated;
+  }
+
+  private void startCompression(InputStream socketIn, OutputStream socketOut) {
+    compressedConnections.increment();
+    deflater = new Deflater(Deflater.BEST_SPEED);
+    inflater = new Inflater();
+    out = new CountingOutputStream(
+        new DeflaterOutputStream(new CountingOutputStream(socketOut, wireBytesOut), deflater, BUFFER_SIZE, true),
+        rawBytesOut
+    );
+    in = new CountingInputStream(
+        new InflaterInputStream(new CountingInputStream(socketIn, wireBytesIn), inflater, BUFFER_SIZE),
+        rawBytesIn
+    );
+  }
+
+  /**
+   * Reads the header, if any, on the server side.
+   */
+  private synchronized void negotiate() throws IOException {
+    if (!negotiated) {
+      PushbackInputStream socketIn = new PushbackInputStream(socket.getInputStream(), HEADER.length);
+      OutputStream socketOut = socket.getOutputStream();
+      byte[] header = new byte[HEADER.length];
+      int len = 0;
+      while (len < header.length) {
+        int count = socketIn.read(header, len, header.length - len);
+        if (count == -1) {
+          break;
+        }
+        len += count;
+        // Stop as soon as this cannot be the header
+        if (header[len - 1] != HEADER[len - 1]) {
+          break;
+        }
+      }
+      if (len == HEADER.length && Arrays.equals(header, HEADER)) {
+        socketOut.write(ACK);
+        socketOut.flush();
+        startCompression(socketIn, socketOut);
+      } else {
+        // A plain connection, give back what was read
+        plainConnections.increment();
+        socketIn.unread(header, 0, len);
+        in = socketIn;
+        out = socketOut;
+      }
+      negotiated = true;
+    }
+  }
+
+  @Override
+  public synchronized InputStream getInputStream() throws IOException {
+    negotiate();
+    return in == null ? socket.getInputStream() : in;
+  }
+
+  @Override
+  public synchronized OutputStream getOutputStream() throws IOException {
+    negotiate();
+    return out == null ? socket.getOutputStream() : out;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      socket.close();
+    } finally {
+      synchronized (this) {
+        if (deflater != null) {
+          deflater.end();
+        }
+        if (inflater != null) {
+          inflater.end();
+        }
+      }
+    }
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) throws IOException {
+    throw new SocketException("Already connected");
+  }
+
+  @Override
+  public void bind(SocketAddress bindpoint) throws IOException {
+    throw new SocketException("Already bound");
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return socket.getInetAddress();
+  }
+
+  @Override
+  public InetAddress getLocalAddress() {
+    return socket.getLocalAddress();
+  }
+
+  @Override
+  public int getPort() {
+    return socket.getPort();
+  }
+
+  @Override
+  public int getLocalPort() {
+    return socket.getLocalPort();
+  }
+
+  @Override
+  public SocketAddress getRemoteSocketAddress() {
+    return socket.getRemoteSocketAddress();
+  }
+
+  @Override
+  public SocketAddress getLocalSocketAddress() {
+    return socket.getLocalSocketAddress();
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean on) throws SocketException {
+    socket.setTcpNoDelay(on);
+  }
+
+  @Override
+  public boolean getTcpNoDelay() throws SocketException {
+    return socket.getTcpNoDelay();
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) throws SocketException {
+    socket.setSoLinger(on, linger);
+  }
+
+  @Override
+  public int getSoLinger() throws SocketException {
+    return socket.getSoLinger();
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    socket.setSoTimeout(timeout);
+  }
+
+  @Override
+  public int getSoTimeout() throws SocketException {
+    return socket.getSoTimeout();
+  }
+
+  @Override
+  public void setSendBufferSize(int size) throws SocketException {
+    socket.setSendBufferSize(size);
+  }
+
+  @Override
+  public int getSendBufferSize() throws SocketException {
+    return socket.getSendBufferSize();
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) throws SocketException {
+    socket.setReceiveBufferSize(size);
+  }
+
+  @Override
+  public int getReceiveBufferSize() throws SocketException {
+    return socket.getReceiveBufferSize();
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) throws SocketException {
+    socket.setKeepAlive(on);
+  }
+
+  @Override
+  public boolean getKeepAlive() throws SocketException {
+    return socket.getKeepAlive();
+  }
+
+  @Override
+  public void shutdownInput() throws IOException {
+    socket.shutdownInput();
+  }
+
+  @Override
+  public void shutdownOutput() throws IOException {
+    socket.shutdownOutput();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return socket.isConnected();
+  }
+
+  @Override
+  public boolean isBound() {
+    return socket.isBound();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return socket.isClosed();
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return socket.isInputShutdown();
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return socket.isOutputShutdown();
+  }
+
+  @Override
+  public String toString() {
+    return "CompressedSocket(" + socket + ")";
+  }
+
+  private static class CountingOutputStream extends FilterOutputStream {
+
+    private final LongAdder counter;
+
+    private CountingOutputStream(OutputStream out, LongAdder counter) {
+      super(out);
+      this.counter = counter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      counter.increment();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      counter.add(len);
+    }
+  }
+
+  private static class CountingInputStream extends FilterInputStream {
+
+    private final LongAdder counter;
+
+    private CountingInputStream(InputStream in, LongAdder counter) {
+      super(in);
+      this.counter = counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = in.read();
+      if (b != -1) {
+        counter.increment();
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int count = in.read(b, off, len);
+      if (count > 0) {
+        counter.add(count);
+      }
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long count = in.skip(n);
+      if (count > 0) {
+        counter.add(count);
+      }
+      return count;
+    }
+
+    /**
+     * {@link InflaterInputStream} reports one byte available until the end of
+     * the stream, which would make a buffered reader block for data that has
+     * not been sent.  Zero is always a valid estimate.
+     */
+    @Override
+    public int available() {
+      return 0;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+  }
+
+  /**
+   * Gets the number of connections negotiated with compression.
+   */
+  static long getCompressedConnectionCount() {
+    return compressedConnections.sum();
+  }
+
+  /**
+   * Gets the number of plain connections accepted by compressed server sockets.
+   */
+  static long getPlainConnectionCount() {
+    return plainConnections.sum();
+  }
+
+  /**
+   * Gets the number of bytes written before compression.
+   */
+  static long getRawBytesOut() {
+    return rawBytesOut.sum();
+  }
+
+  /**
+   * Gets the number of bytes written to the network after compression.
+   */
+  static long getWireBytesOut() {
+    return wireBytesOut.sum();
+  }
+
+  /**
+   * Gets the number of bytes read after decompression.
+   */
+  static long getRawBytesIn() {
+    return rawBytesIn.sum();
+  }
+
+  /**
+   * Gets the number of bytes read from the network before decompression.
+   */
+  static long getWireBytesIn() {
+    return wireBytesIn.sum();
+  }
+
+  /**
+   * Gets the statistics for all compressed sockets.
+   */
+  static String getStatistics() {
+    return "compression: compressedConnections = " + getCompressedConnectionCount()
+        + ", plainConnections = " + getPlainConnectionCount()
+        + ", rawBytesOut = " + getRawBytesOut()
+        + ", wireBytesOut = " + getWireBytesOut()
+        + ", rawBytesIn = " + getRawBytesIn()
+        + ", wireBytesIn = " + getWireBytesIn();
+  }
+}
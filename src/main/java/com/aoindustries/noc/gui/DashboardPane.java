@@ -0,0 +1,283 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.lang.i18n.Resources;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import java.awt.BorderLayout;
+import java.awt.GridLayout;
+import java.awt.Insets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+
+/**
+ * A grid of pinned nodes, each updating live side by side.  Each tile has its
+ * own {@link TaskComponent}, while the subscriptions to the nodes are shared
+ * through {@link NodeSubscriptions}.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class DashboardPane extends JPanel {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, DashboardPane.class);
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int TILE_GAP = 4;
+
+  private final Noc noc;
+  private final JPanel tilesPanel;
+  private final JLabel emptyLabel;
+
+  private final Map<Node, Tile> tiles = new LinkedHashMap<>();
+
+  /**
+   * Creates a new dashboard.
+   */
+  @SuppressWarnings("OverridableMethodCallInConstructor")
+  public DashboardPane(Noc noc) {
+    super(new BorderLayout());
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.noc = noc;
+    tilesPanel = new JPanel(new GridLayout(1, 1, TILE_GAP, TILE_GAP));
+    emptyLabel = new JLabel(RESOURCES.getMessage("empty"), SwingConstants.CENTER);
+    tilesPanel.add(emptyLabel);
+    add(tilesPanel, BorderLayout.CENTER);
+  }
+
+  /**
+   * Checks if the given node has a task component that may be pinned.
+   */
+  static boolean isPinnable(Node node) {
+    return
+        node instanceof SingleResultNode
+            || node instanceof TableMultiResultNode
+            || node instanceof TableResultNode;
+  }
+
+  private TaskComponent createTaskComponent(Node node) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (node instanceof SingleResultNode) {
+      return new SingleResultTaskComponent(noc);
+    }
+    if (node instanceof TableMultiResultNode) {
+      return new TableMultiResultTaskComponent(noc);
+    }
+    if (node instanceof TableResultNode) {
+      return new TableResultTaskComponent(noc);
+    }
+    throw new IllegalArgumentException("node is not pinnable: " + (node == null ? "null" : node.getClass().getName()));
+  }
+
+  boolean isPinned(Node node) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return tiles.containsKey(node);
+  }
+
+  /**
+   * Gets the number of pinned nodes.
+   */
+  int getPinnedCount() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return tiles.size();
+  }
+
+  /**
+   * Gets the labels of the pinned nodes, in the order pinned.
+   */
+  List<String> getPinnedLabels() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    List<String> labels = new ArrayList<>(tiles.size());
+    for (Tile tile : tiles.values()) {
+      labels.add(tile.label);
+    }
+    return labels;
+  }
+
+  /**
+   * Pins a node to the dashboard, if not already pinned.
+   *
+   * @param  label  the full path of the node, for display
+   */
+  void pin(Node node, String label, AlertLevel alertLevel) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!tiles.containsKey(node)) {
+      Tile tile = new Tile(node, label, createTaskComponent(node));
+      tile.setAlertLevel(alertLevel);
+      tiles.put(node, tile);
+      layoutTiles();
+      tile.taskComponent.start(node, tile);
+    }
+  }
+
+  void unpin(Node node) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Tile tile = tiles.remove(node);
+    if (tile != null) {
+      tile.taskComponent.stop();
+      layoutTiles();
+    }
+  }
+
+  void unpinAll() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!tiles.isEmpty()) {
+      List<Tile> removed = new ArrayList<>(tiles.values());
+      tiles.clear();
+      for (Tile tile : removed) {
+        tile.taskComponent.stop();
+      }
+      layoutTiles();
+    }
+  }
+
+  /**
+   * Updates the alert level shown on each tile from a new snapshot.  The
+   * tiles of nodes no longer in the tree are unpinned.
+   */
+  void updateAlertLevels(NodeSnapshot rootNodeSnapshot) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!tiles.isEmpty()) {
+      Set<Node> found = new HashSet<>();
+      updateAlertLevelsRecursive(rootNodeSnapshot, found);
+      if (found.size() < tiles.size()) {
+        Iterator<Map.Entry<Node, Tile>> iter = tiles.entrySet().iterator();
+        while (iter.hasNext()) {
+          Map.Entry<Node, Tile> entry = iter.next();
+          if (!found.contains(entry.getKey())) {
+            iter.remove();
+            entry.getValue().taskComponent.stop();
+          }
+        }
+        layoutTiles();
+      }
+    }
+  }
+
+  private void updateAlertLevelsRecursive(NodeSnapshot nodeSnapshot, Set<Node> found) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Node node = nodeSnapshot.getNode();
+    Tile tile = tiles.get(node);
+    if (tile != null) {
+      tile.setAlertLevel(nodeSnapshot.getAlertLevel());
+      found.add(node);
+    }
+    for (NodeSnapshot child : nodeSnapshot.getChildren()) {
+      updateAlertLevelsRecursive(child, found);
+    }
+  }
+
+  void systemsAlertLevelChanged(AlertLevel systemsAlertLevel) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    for (Tile tile : tiles.values()) {
+      tile.taskComponent.systemsAlertLevelChanged(systemsAlertLevel);
+    }
+  }
+
+  /**
+   * Lays out the tiles in a grid as close to square as possible.
+   */
+  private void layoutTiles() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    tilesPanel.removeAll();
+    int size = tiles.size();
+    if (size == 0) {
+      tilesPanel.setLayout(new GridLayout(1, 1, TILE_GAP, TILE_GAP));
+      tilesPanel.add(emptyLabel);
+    } else {
+      int columns = (int) Math.ceil(Math.sqrt(size));
+      tilesPanel.setLayout(new GridLayout(0, columns, TILE_GAP, TILE_GAP));
+      for (Tile tile : tiles.values()) {
+        tilesPanel.add(tile);
+      }
+    }
+    tilesPanel.revalidate();
+    tilesPanel.repaint();
+  }
+
+  private class Tile extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String label;
+    private final TaskComponent taskComponent;
+    private final JLabel titleLabel;
+
+    private Tile(Node node, String label, TaskComponent taskComponent) {
+      super(new BorderLayout());
+      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+      this.label = label;
+      this.taskComponent = taskComponent;
+      setBorder(BorderFactory.createEtchedBorder());
+
+      JPanel titlePanel = new JPanel(new BorderLayout());
+      titleLabel = new JLabel(label);
+      titleLabel.setToolTipText(label);
+      titlePanel.add(titleLabel, BorderLayout.CENTER);
+      JButton unpinButton = new JButton(RESOURCES.getMessage("unpin.label"));
+      unpinButton.setMargin(new Insets(0, 2, 0, 2));
+      unpinButton.addActionListener(e -> unpin(node));
+      titlePanel.add(unpinButton, BorderLayout.EAST);
+      add(titlePanel, BorderLayout.NORTH);
+
+      add(taskComponent.getComponent(), BorderLayout.CENTER);
+    }
+
+    private void setAlertLevel(AlertLevel alertLevel) {
+      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+      titleLabel.setForeground(AlertLevelTableCellRenderer.getColor(alertLevel));
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.swing.table.UneditableDefaultTableModel;
+import com.aoapps.lang.i18n.Resources;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.text.DateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.WindowConstants;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * Shows the responsiveness of the Swing event dispatch thread and the longest
+ * and most recent stalls found by {@link EdtWatchdog}, longest first, updated
+ * while visible.
+ *
+ * @author  AO Industries, Inc.
+ */
+class DiagnosticsFrame extends JFrame {
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, DiagnosticsFrame.class);
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int REFRESH_MILLIS = 1000;
+
+  private final EdtWatchdog watchdog;
+  private final JLabel summaryLabel = new JLabel();
+  private final DefaultTableModel stallsTableModel = new UneditableDefaultTableModel(
+      new Object[]{
+          RESOURCES.getMessage("stallsTable.header.time"),
+          RESOURCES.getMessage("stallsTable.header.duration"),
+          RESOURCES.getMessage("stallsTable.header.samples"),
+          RESOURCES.getMessage("stallsTable.header.source"),
+          RESOURCES.getMessage("stallsTable.header.frame")
+      },
+      0
+  );
+  private final JTable stallsTable = new JTable(stallsTableModel);
+  private final JTextArea detailsArea = new JTextArea();
+  private final Timer refreshTimer;
+
+  /**
+   * The stalls currently displayed, in the order of the table rows.
+   */
+  private List<EdtWatchdog.Stall> displayedStalls;
+
+  @SuppressWarnings("OverridableMethodCallInConstructor")
+  DiagnosticsFrame(EdtWatchdog watchdog) {
+    super(RESOURCES.getMessage("title"));
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.watchdog = watchdog;
+    getContentPane().setLayout(new BorderLayout());
+    getContentPane().add(summaryLabel, BorderLayout.NORTH);
+
+    stallsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    stallsTable.getSelectionModel().addListSelectionListener(e -> {
+      if (!e.getValueIsAdjusting()) {
+        showDetails();
+      }
+    });
+    detailsArea.setEditable(false);
+    detailsArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, detailsArea.getFont().getSize()));
+    JSplitPane splitPane = new JSplitPane(
+        JSplitPane.VERTICAL_SPLIT,
+        new JScrollPane(stallsTable),
+        new JScrollPane(detailsArea)
+    );
+    splitPane.setResizeWeight(0.4);
+    getContentPane().add(splitPane, BorderLayout.CENTER);
+
+    JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+    JButton clearButton = new JButton(RESOURCES.getMessage("clearButton.label"));
+    clearButton.addActionListener(e -> {
+      watchdog.clearStalls();
+      refresh();
+    });
+    buttons.add(clearButton);
+    getContentPane().add(buttons, BorderLayout.SOUTH);
+
+    refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+    // Hiding stops the refresh timer through setVisible
+    setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
+    setSize(800, 600);
+  }
+
+  @Override
+  public void setVisible(boolean visible) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (visible) {
+      refresh();
+      refreshTimer.start();
+    } else {
+      refreshTimer.stop();
+    }
+    super.setVisible(visible);
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  private void refresh() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    LatencyHistogram probeLatency = watchdog.getProbeLatency();
+    summaryLabel.setText(
+        RESOURCES.getMessage(
+            "summary",
+            toMillis(probeLatency.getPercentileNanos(0.50)),
+            toMillis(probeLatency.getPercentileNanos(0.99)),
+            toMillis(probeLatency.getMaxNanos()),
+            probeLatency.getCount(),
+            watchdog.getStallCount(),
+            toMillis(watchdog.getTotalStallNanos()),
+            toMillis(EdtWatchdog.STALL_THRESHOLD_NANOS)
+        )
+    );
+    List<EdtWatchdog.Stall> stalls = watchdog.getStalls();
+    if (!stalls.equals(displayedStalls)) {
+      EdtWatchdog.Stall selected = getSelectedStall();
+      displayedStalls = stalls;
+      DateFormat df = DateFormat.getTimeInstance(DateFormat.MEDIUM, Locale.getDefault());
+      stallsTableModel.setRowCount(0);
+      int selectedRow = -1;
+      for (EdtWatchdog.Stall stall : stalls) {
+        if (stall == selected) {
+          selectedRow = stallsTableModel.getRowCount();
+        }
+        stallsTableModel.addRow(
+            new Object[]{
+                df.format(new Date(stall.getStartTime())),
+                toMillis(stall.getDurationNanos()),
+                stall.getSampleCount(),
+                stall.getSource(),
+                stall.getFrame()
+            }
+        );
+      }
+      if (selectedRow != -1) {
+        stallsTable.setRowSelectionInterval(selectedRow, selectedRow);
+      } else {
+        showDetails();
+      }
+    }
+  }
+
+  private EdtWatchdog.Stall getSelectedStall() {
+    int row = stallsTable.getSelectedRow();
+    return row == -1 || displayedStalls == null || row >= displayedStalls.size() ? null : displayedStalls.get(row);
+  }
+
+  private void showDetails() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    EdtWatchdog.Stall stall = getSelectedStall();
+    detailsArea.setText(stall == null ? "" : stall.getDetails());
+    detailsArea.setCaretPosition(0);
+  }
+}
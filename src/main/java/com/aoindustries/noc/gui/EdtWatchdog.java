@@ -0,0 +1,478 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Measures the responsiveness of the Swing event dispatch thread by posting a
+ * probe and timing how long it waits to run.  While a probe is waiting longer
+ * than {@link #STALL_THRESHOLD_NANOS}, the stack of the event dispatch thread
+ * is sampled at each tick.  Once the probe runs, the stall is attributed to
+ * the event that was being dispatched and the most common application frame,
+ * then kept if it is among the longest stalls or the most recent stalls.  A
+ * long freeze is kept no matter how many short stalls follow it.
+ *
+ * <p>The event being dispatched is tracked by pushing an {@link EventQueue}
+ * onto the system event queue.  For {@link InvocationEvent}, the class of the
+ * runnable, such as a lambda in {@link SystemsPane}, names the code that
+ * submitted it.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class EdtWatchdog {
+
+  private static final Logger logger = Logger.getLogger(EdtWatchdog.class.getName());
+
+  /**
+   * The time between ticks of the watchdog thread.
+   */
+  private static final long TICK_MILLIS = 50;
+
+  /**
+   * The minimum time between the end of one probe and the posting of the next.
+   */
+  private static final long PROBE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+  /**
+   * The time a probe waits before it is a stall.
+   */
+  static final long STALL_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+  /**
+   * The number of longest stalls kept.
+   */
+  private static final int MAX_LONGEST_STALLS = 32;
+
+  /**
+   * The number of most recent stalls kept, in addition to the longest.
+   */
+  private static final int MAX_RECENT_STALLS = 8;
+
+  /**
+   * Orders stalls from shortest to longest.
+   */
+  private static final Comparator<Stall> DURATION_COMPARATOR = Comparator.comparingLong(Stall::getDurationNanos);
+
+  /**
+   * The number of stack samples kept per stall.  The counts of sources and
+   * frames include all samples.
+   */
+  private static final int MAX_STACKS = 20;
+
+  /**
+   * The prefix of classes considered application code when finding the frame
+   * to attribute a stall to.
+   */
+  private static final String APPLICATION_PREFIX = "com.aoindustries.";
+
+  /**
+   * Tracks the event currently being dispatched, including nested dispatch
+   * loops of modal dialogs.
+   */
+  private static final class DispatchTrackingQueue extends EventQueue {
+
+    private volatile AWTEvent dispatching;
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+      AWTEvent outer = dispatching;
+      dispatching = event;
+      try {
+        super.dispatchEvent(event);
+      } finally {
+        dispatching = outer;
+      }
+    }
+  }
+
+  /**
+   * One stall, immutable once finished.
+   */
+  static final class Stall {
+
+    private final long startTime;
+    private final long durationNanos;
+    private final int sampleCount;
+    private final String source;
+    private final String frame;
+    private final String details;
+
+    private Stall(long startTime, long durationNanos, int sampleCount, String source, String frame, String details) {
+      this.startTime = startTime;
+      this.durationNanos = durationNanos;
+      this.sampleCount = sampleCount;
+      this.source = source;
+      this.frame = frame;
+      this.details = details;
+    }
+
+    /**
+     * Gets the time the probe was posted, in milliseconds since the epoch.
+     */
+    long getStartTime() {
+      return startTime;
+    }
+
+    /**
+     * Gets the time the probe waited.
+     */
+    long getDurationNanos() {
+      return durationNanos;
+    }
+
+    int getSampleCount() {
+      return sampleCount;
+    }
+
+    /**
+     * Gets the event most often being dispatched while sampled.
+     */
+    String getSource() {
+      return source;
+    }
+
+    /**
+     * Gets the application frame most often found on the stack while sampled.
+     */
+    String getFrame() {
+      return frame;
+    }
+
+    /**
+     * Gets the counts of all sources and frames, followed by the sampled stacks.
+     */
+    String getDetails() {
+      return details;
+    }
+  }
+
+  /**
+   * The samples of the stall in progress, only accessed by the watchdog thread.
+   */
+  private static final class Sampling {
+
+    private final long startTime;
+    private final Map<String, Integer> sources = new HashMap<>();
+    private final Map<String, Integer> frames = new HashMap<>();
+    private final List<StackTraceElement[]> stacks = new ArrayList<>();
+    private int sampleCount;
+
+    private Sampling(long startTime) {
+      this.startTime = startTime;
+    }
+  }
+
+  private final ScheduledThreadPoolExecutor timer;
+  private final DispatchTrackingQueue queue = new DispatchTrackingQueue();
+  private volatile Thread edtThread;
+
+  // All below are only accessed by the watchdog thread
+  private boolean probeOutstanding;
+  private long probePostedNanos;
+  private long probePostedTime;
+  private long lastProbeEndNanos = System.nanoTime();
+  private Sampling sampling;
+
+  /**
+   * The time the most recent probe ran, set by the event dispatch thread
+   * before {@link #probeRan}.
+   */
+  private volatile long probeRunNanos;
+  private volatile boolean probeRan;
+
+  private final LatencyHistogram probeLatency = new LatencyHistogram();
+  private final LongAdder stallCount = new LongAdder();
+  private final LongAdder totalStallNanos = new LongAdder();
+
+  /**
+   * The longest stalls, with the shortest of them at the head.  Guarded by
+   * itself, also guards {@link #recentStalls}.
+   */
+  private final PriorityQueue<Stall> longestStalls = new PriorityQueue<>(MAX_LONGEST_STALLS + 1, DURATION_COMPARATOR);
+
+  /**
+   * The most recent stalls, newest last.
+   */
+  private final Deque<Stall> recentStalls = new ArrayDeque<>(MAX_RECENT_STALLS);
+
+  EdtWatchdog() {
+    timer = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "noc-gui-edt-watchdog");
+      // Runs for the life of the application, without keeping it running
+      thread.setDaemon(true);
+      // Must run while the event dispatch thread is busy
+      thread.setPriority(Thread.MAX_PRIORITY);
+      return thread;
+    });
+  }
+
+  /**
+   * Starts watching.
+   */
+  void start() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    try {
+      Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+    } catch (SecurityException e) {
+      logger.log(Level.WARNING, "Unable to track events, stalls will not be attributed to a source", e);
+    }
+    timer.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+  }
+
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  private void tick() {
+    try {
+      long now = System.nanoTime();
+      if (probeOutstanding) {
+        if (probeRan) {
+          long runNanos = probeRunNanos;
+          long latency = runNanos - probePostedNanos;
+          probeLatency.record(latency);
+          if (sampling != null) {
+            finishStall(latency);
+          }
+          probeOutstanding = false;
+          lastProbeEndNanos = runNanos;
+        } else if (now - probePostedNanos >= STALL_THRESHOLD_NANOS) {
+          sample();
+        }
+      } else if (now - lastProbeEndNanos >= PROBE_INTERVAL_NANOS) {
+        postProbe();
+      }
+    } catch (ThreadDeath td) {
+      throw td;
+    } catch (Throwable t) {
+      // Keep the watchdog running
+      logger.log(Level.SEVERE, null, t);
+    }
+  }
+
+  private void postProbe() {
+    probeRan = false;
+    probeOutstanding = true;
+    probePostedTime = System.currentTimeMillis();
+    probePostedNanos = System.nanoTime();
+    EventQueue.invokeLater(() -> {
+      edtThread = Thread.currentThread();
+      probeRunNanos = System.nanoTime();
+      probeRan = true;
+    });
+  }
+
+  private static <K> void increment(Map<K, Integer> counts, K key) {
+    counts.merge(key, 1, Integer::sum);
+  }
+
+  private static <K> K mostCommon(Map<K, Integer> counts) {
+    K most = null;
+    int mostCount = 0;
+    for (Map.Entry<K, Integer> entry : counts.entrySet()) {
+      if (entry.getValue() > mostCount) {
+        most = entry.getKey();
+        mostCount = entry.getValue();
+      }
+    }
+    return most;
+  }
+
+  /**
+   * Describes an event by the code that submitted it.
+   */
+  private static String describe(AWTEvent event) {
+    if (event == null) {
+      return "(idle)";
+    }
+    if (event instanceof InvocationEvent) {
+      // The runnable is only available through paramString
+      String param = event.paramString();
+      int start = param.indexOf("runnable=");
+      if (start != -1) {
+        start += "runnable=".length();
+        int end = param.indexOf(',', start);
+        String runnable = end == -1 ? param.substring(start) : param.substring(start, end);
+        // Remove the lambda and identity parts, leaving the submitting class
+        int lambda = runnable.indexOf("$$Lambda");
+        if (lambda != -1) {
+          return runnable.substring(0, lambda) + " (lambda)";
+        }
+        int at = runnable.indexOf('@');
+        return at == -1 ? runnable : runnable.substring(0, at);
+      }
+    }
+    Object source = event.getSource();
+    return event.getClass().getName() + (source == null ? "" : (" on " + source.getClass().getName()));
+  }
+
+  /**
+   * Finds the first application frame, or the top frame when none.
+   */
+  private static String findFrame(StackTraceElement[] stack) {
+    for (StackTraceElement element : stack) {
+      if (element.getClassName().startsWith(APPLICATION_PREFIX) && !element.getClassName().startsWith(EdtWatchdog.class.getName())) {
+        return element.toString();
+      }
+    }
+    return stack.length == 0 ? "(unknown)" : stack[0].toString();
+  }
+
+  private void sample() {
+    Thread edt = edtThread;
+    if (edt == null) {
+      // The first probe has not run yet
+      return;
+    }
+    if (sampling == null) {
+      sampling = new Sampling(probePostedTime);
+    }
+    String source = describe(queue.dispatching);
+    StackTraceElement[] stack = edt.getStackTrace();
+    sampling.sampleCount++;
+    increment(sampling.sources, source);
+    increment(sampling.frames, findFrame(stack));
+    if (sampling.stacks.size() < MAX_STACKS) {
+      sampling.stacks.add(stack);
+    }
+  }
+
+  private static void appendCounts(StringBuilder details, String title, Map<String, Integer> counts) {
+    details.append(title).append(":\n");
+    List<Map.Entry<String, Integer>> entries = new ArrayList<>(counts.entrySet());
+    entries.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+    for (Map.Entry<String, Integer> entry : entries) {
+      details.append("    ").append(entry.getValue()).append(" x ").append(entry.getKey()).append('\n');
+    }
+  }
+
+  private void finishStall(long durationNanos) {
+    Sampling s = sampling;
+    sampling = null;
+    String source = mostCommon(s.sources);
+    String frame = mostCommon(s.frames);
+    StringBuilder details = new StringBuilder();
+    appendCounts(details, "Sources", s.sources);
+    appendCounts(details, "Frames", s.frames);
+    int i = 0;
+    for (StackTraceElement[] stack : s.stacks) {
+      details.append("Sample ").append(++i).append(":\n");
+      for (StackTraceElement element : stack) {
+        details.append("    at ").append(element).append('\n');
+      }
+    }
+    Stall stall = new Stall(s.startTime, durationNanos, s.sampleCount, source, frame, details.toString());
+    stallCount.increment();
+    totalStallNanos.add(durationNanos);
+    synchronized (longestStalls) {
+      longestStalls.add(stall);
+      if (longestStalls.size() > MAX_LONGEST_STALLS) {
+        longestStalls.poll();
+      }
+      if (recentStalls.size() == MAX_RECENT_STALLS) {
+        recentStalls.removeFirst();
+      }
+      recentStalls.addLast(stall);
+    }
+    if (logger.isLoggable(Level.WARNING)) {
+      logger.log(
+          Level.WARNING,
+          "Event dispatch thread stalled for {0} ms: source = {1}, frame = {2}",
+          new Object[]{TimeUnit.NANOSECONDS.toMillis(durationNanos), source, frame}
+      );
+    }
+  }
+
+  /**
+   * Gets the longest stalls along with the most recent stalls, longest first.
+   */
+  List<Stall> getStalls() {
+    Set<Stall> set = Collections.newSetFromMap(new IdentityHashMap<>());
+    synchronized (longestStalls) {
+      set.addAll(longestStalls);
+      set.addAll(recentStalls);
+    }
+    List<Stall> list = new ArrayList<>(set);
+    list.sort(DURATION_COMPARATOR.reversed());
+    return list;
+  }
+
+  /**
+   * Removes all stalls kept.  The counters are not reset.
+   */
+  void clearStalls() {
+    synchronized (longestStalls) {
+      longestStalls.clear();
+      recentStalls.clear();
+    }
+  }
+
+  /**
+   * Gets the distribution of the time probes waited to run.
+   */
+  LatencyHistogram getProbeLatency() {
+    return probeLatency;
+  }
+
+  /**
+   * Gets the number of stalls since started.
+   */
+  long getStallCount() {
+    return stallCount.sum();
+  }
+
+  /**
+   * Gets the total time of all stalls since started.
+   */
+  long getTotalStallNanos() {
+    return totalStallNanos.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "edt: stalls = " + getStallCount()
+        + ", totalStallNanos = " + getTotalStallNanos()
+        + ", probes: (" + probeLatency + ')';
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.swing.ErrorDialog;
+import com.aoapps.lang.i18n.Resources;
+import java.awt.Component;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JFileChooser;
+import javax.swing.JOptionPane;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+/**
+ * Exports rows to a file outside the Swing event dispatch thread, with
+ * progress and cancellation.  Rows are pulled one at a time from a
+ * {@link RowSource} and written directly, without collecting them first.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Exporter {
+
+  /** Make no instances. */
+  private Exporter() {
+    throw new AssertionError();
+  }
+
+  private static final Logger logger = Logger.getLogger(Exporter.class.getName());
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, Exporter.class);
+
+  /**
+   * The time between progress updates and checks for cancel.
+   */
+  private static final int PROGRESS_INTERVAL_MILLIS = 100;
+
+  /**
+   * Progress is only published once per this many rows.
+   */
+  private static final int PROGRESS_CHECK_MASK = 0xff;
+
+  /**
+   * Provides the rows to export.
+   */
+  interface RowSource {
+
+    /**
+     * Gets the column headers, called outside the Swing event dispatch thread.
+     */
+    List<String> getHeaders();
+
+    /**
+     * Gets the number of rows expected, used for progress only.
+     * Called once, on the Swing event dispatch thread.
+     */
+    int getRowCount();
+
+    /**
+     * Fills the next row, called outside the Swing event dispatch thread.
+     * The array is reused between calls.
+     *
+     * @return  {@code false} when there are no more rows
+     */
+    boolean nextRow(Object[] row) throws InterruptedException;
+  }
+
+  /**
+   * Prompts for a file then exports in the background.
+   *
+   * @param  defaultName  the default file name, without extension
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  static void export(Noc noc, Component parent, String defaultName, RowSource source) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    JFileChooser chooser = new JFileChooser();
+    FileNameExtensionFilter csvFilter = new FileNameExtensionFilter(
+        RESOURCES.getMessage("csv.description"),
+        TableExportWriter.Format.CSV.getExtension()
+    );
+    FileNameExtensionFilter ndjsonFilter = new FileNameExtensionFilter(
+        RESOURCES.getMessage("ndjson.description"),
+        TableExportWriter.Format.NDJSON.getExtension(),
+        "jsonl"
+    );
+    chooser.addChoosableFileFilter(csvFilter);
+    chooser.addChoosableFileFilter(ndjsonFilter);
+    chooser.setAcceptAllFileFilterUsed(false);
+    chooser.setFileFilter(csvFilter);
+    chooser.setSelectedFile(new File(defaultName + '.' + TableExportWriter.Format.CSV.getExtension()));
+    if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+      return;
+    }
+    TableExportWriter.Format format = chooser.getFileFilter() == ndjsonFilter
+        ? TableExportWriter.Format.NDJSON
+        : TableExportWriter.Format.CSV;
+    File file = chooser.getSelectedFile();
+    if (file.getName().indexOf('.') == -1) {
+      file = new File(file.getParentFile(), file.getName() + '.' + format.getExtension());
+    }
+    if (
+        file.exists()
+            && JOptionPane.showConfirmDialog(
+                parent,
+                RESOURCES.getMessage("overwrite.message", file.getName()),
+                RESOURCES.getMessage("overwrite.title"),
+                JOptionPane.YES_NO_OPTION
+            ) != JOptionPane.YES_OPTION
+    ) {
+      return;
+    }
+    final Path path = file.toPath();
+    final int expectedRows = source.getRowCount();
+    final int rowCount = Math.max(1, expectedRows);
+    final ProgressMonitor progressMonitor = new ProgressMonitor(
+        parent,
+        RESOURCES.getMessage("progress.message", file.getName()),
+        RESOURCES.getMessage("progress.note", 0, expectedRows),
+        0,
+        rowCount
+    );
+    final AtomicBoolean canceled = new AtomicBoolean();
+    final AtomicLong progress = new AtomicLong();
+    // The progress monitor is only used on the Swing event dispatch thread, so
+    // is checked on a timer, independent of how quickly rows are written
+    final Timer progressTimer = new Timer(PROGRESS_INTERVAL_MILLIS, e -> {
+      if (progressMonitor.isCanceled()) {
+        canceled.set(true);
+      } else {
+        long rows = progress.get();
+        progressMonitor.setProgress((int) Math.min(rows, rowCount));
+        progressMonitor.setNote(RESOURCES.getMessage("progress.note", rows, expectedRows));
+      }
+    });
+    progressTimer.start();
+    try {
+      noc.exportExecutor.submit(() -> {
+        boolean created = false;
+        boolean success = false;
+        try {
+          List<String> headers = source.getHeaders();
+          try (TableExportWriter writer = new TableExportWriter(path, format, headers)) {
+            created = true;
+            writer.writeHeader();
+            Object[] row = new Object[headers.size()];
+            long rows = 0;
+            // Checked before every row
+            while (!canceled.get() && source.nextRow(row)) {
+              writer.writeRow(row);
+              rows++;
+              if ((rows & PROGRESS_CHECK_MASK) == 0) {
+                progress.set(rows);
+              }
+            }
+          }
+          success = !canceled.get();
+        } catch (InterruptedException err) {
+          logger.log(Level.WARNING, null, err);
+          // Restore the interrupted status
+          Thread.currentThread().interrupt();
+        } catch (IOException err) {
+          logger.log(Level.SEVERE, null, err);
+          SwingUtilities.invokeLater(() -> new ErrorDialog(parent, RESOURCES.getMessage("ioError"), err).setVisible(true));
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.SEVERE, null, t);
+        } finally {
+          SwingUtilities.invokeLater(() -> {
+            progressTimer.stop();
+            progressMonitor.close();
+          });
+          // Only a file created or truncated by this export, not one kept because
+          // the export failed before opening it
+          if (created && !success) {
+            // Do not leave a partial file
+            try {
+              Files.deleteIfExists(path);
+            } catch (IOException err) {
+              logger.log(Level.WARNING, null, err);
+            }
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      logger.log(Level.WARNING, null, e);
+      progressTimer.stop();
+      progressMonitor.close();
+    }
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.lang.i18n.Resources;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.RootNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JLabel;
+import javax.swing.JToolBar;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Periodically checks the connection to the monitor while logged in, shows
+ * the link health in the toolbars, and reconnects after repeated failures.
+ *
+ * <p>Each check is a round trip to the server followed by a round trip
+ * through the shared worker of {@link CallbackInbox}, which processes the
+ * tree structure changes from the monitor.  The monitor has no call that echoes back through a listener, so
+ * the callback half only verifies that callbacks are being processed
+ * locally.  A slow callback round trip marks the link degraded, but does not
+ * reconnect.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class Heartbeat {
+
+  private static final Logger logger = Logger.getLogger(Heartbeat.class.getName());
+
+  private static final Resources RESOURCES = Resources.getResources(ResourceBundle::getBundle, Heartbeat.class);
+
+  /**
+   * The time between checks.
+   */
+  private static final int INTERVAL_MILLIS = 15 * 1000;
+
+  /**
+   * A check still running after this long is counted as failed.
+   */
+  private static final long TIMEOUT_NANOS = 10L * 1000 * 1000 * 1000;
+
+  /**
+   * The longest time to wait for the callback round trip.
+   */
+  private static final long CALLBACK_TIMEOUT_MILLIS = 5 * 1000;
+
+  /**
+   * A round trip longer than this marks the link degraded.
+   */
+  private static final long DEGRADED_NANOS = 1000L * 1000 * 1000;
+
+  /**
+   * The number of consecutive failed checks before reconnecting.
+   */
+  private static final int FAILURES_BEFORE_RECONNECT = 2;
+
+  /**
+   * The delay before the first reconnect retry, doubled on each failure.
+   */
+  private static final int MIN_RECONNECT_DELAY_MILLIS = 5 * 1000;
+
+  /**
+   * The longest delay between reconnect retries.
+   */
+  private static final int MAX_RECONNECT_DELAY_MILLIS = 60 * 1000;
+
+  /**
+   * The health of the link, from the most recent check.
+   */
+  enum Health {
+    OFFLINE(AlertLevel.UNKNOWN),
+    UNKNOWN(AlertLevel.UNKNOWN),
+    GOOD(AlertLevel.NONE),
+    DEGRADED(AlertLevel.MEDIUM),
+    FAILING(AlertLevel.HIGH),
+    RECONNECTING(AlertLevel.CRITICAL);
+
+    private final AlertLevel alertLevel;
+
+    Health(AlertLevel alertLevel) {
+      this.alertLevel = alertLevel;
+    }
+  }
+
+  private final Noc noc;
+  private final Timer timer;
+  private final Timer reconnectTimer;
+  private final List<JLabel> labels = new ArrayList<>();
+
+  /**
+   * The callback round trip, completed when processed by the callback worker.
+   */
+  private final CallbackInbox.Slot<CompletableFuture<Void>> callbackProbe;
+
+  private final LatencyHistogram serverLatency = new LatencyHistogram();
+  private final LatencyHistogram callbackLatency = new LatencyHistogram();
+
+  // All below are only accessed on the Swing event dispatch thread
+  private boolean running;
+  /**
+   * Incremented on start and stop, so results of older checks are ignored.
+   */
+  private long generation;
+  private Health health = Health.OFFLINE;
+  private long lastServerNanos = -1;
+  private long lastCallbackNanos = -1;
+  private int consecutiveFailures;
+  private long checkStartNanos;
+  private boolean checkRunning;
+  private int reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+  private long failureCount;
+  private long reconnectCount;
+  /**
+   * Called once the current check succeeds.
+   */
+  private final List<Runnable> onSuccess = new ArrayList<>();
+
+  Heartbeat(Noc noc) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.noc = noc;
+    timer = new Timer(INTERVAL_MILLIS, e -> check());
+    reconnectTimer = new Timer(MIN_RECONNECT_DELAY_MILLIS, e -> noc.reconnect());
+    reconnectTimer.setRepeats(false);
+    callbackProbe = noc.callbacks.newSlot(future -> future.complete(null));
+  }
+
+  /**
+   * Adds the link health to the given toolbar.
+   */
+  void addToolBars(JToolBar toolBar) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    JLabel label = new JLabel();
+    labels.add(label);
+    updateLabel(label);
+    toolBar.add(label);
+    toolBar.addSeparator();
+  }
+
+  /**
+   * Forgets the labels of the previous toolbars, before the display mode creates new ones.
+   */
+  void removeToolBars() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    labels.clear();
+  }
+
+  /**
+   * Starts checking the current login, called once logged in or reconnected.
+   */
+  void start() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    generation++;
+    running = true;
+    checkRunning = false;
+    consecutiveFailures = 0;
+    reconnectDelay = MIN_RECONNECT_DELAY_MILLIS;
+    reconnectTimer.stop();
+    setHealth(Health.UNKNOWN);
+    timer.restart();
+    check();
+  }
+
+  /**
+   * Stops checking, called on logout.
+   */
+  void stop() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    generation++;
+    running = false;
+    checkRunning = false;
+    timer.stop();
+    reconnectTimer.stop();
+    onSuccess.clear();
+    lastServerNanos = -1;
+    lastCallbackNanos = -1;
+    setHealth(Health.OFFLINE);
+  }
+
+  /**
+   * Checks the link now, then runs the given task if successful.  When not
+   * logged in, there is nothing to check and the task is run immediately.
+   */
+  void checkNow(Runnable task) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!running) {
+      if (health == Health.OFFLINE) {
+        task.run();
+      }
+    } else {
+      onSuccess.add(task);
+      check();
+    }
+  }
+
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  private void check() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!running) {
+      return;
+    }
+    if (checkRunning) {
+      if ((System.nanoTime() - checkStartNanos) >= TIMEOUT_NANOS) {
+        // Ignore the result of the hung check
+        generation++;
+        checkRunning = false;
+        failed(null);
+      }
+      return;
+    }
+    final RootNode rootNode = noc.rootNode;
+    if (rootNode == null) {
+      return;
+    }
+    final long checkGeneration = generation;
+    checkRunning = true;
+    checkStartNanos = System.nanoTime();
+    try {
+      noc.sessionTasks.submit(noc.heartbeatExecutor, () -> {
+        try {
+          // Server round trip
+          long startNanos = System.nanoTime();
+          rootNode.getAlertLevel();
+          final long serverNanos = System.nanoTime() - startNanos;
+          serverLatency.record(serverNanos);
+
+          // Callback round trip
+          CompletableFuture<Void> processed = new CompletableFuture<>();
+          startNanos = System.nanoTime();
+          callbackProbe.offer(processed);
+          long callbackNanos;
+          try {
+            processed.get(CALLBACK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            callbackNanos = System.nanoTime() - startNanos;
+            callbackLatency.record(callbackNanos);
+          } catch (TimeoutException e) {
+            callbackNanos = -1;
+          }
+          final long finalCallbackNanos = callbackNanos;
+          SwingUtilities.invokeLater(() -> {
+            if (generation == checkGeneration) {
+              checkRunning = false;
+              succeeded(serverNanos, finalCallbackNanos);
+            }
+          });
+        } catch (InterruptedException err) {
+          // Canceled by logout
+          // Restore the interrupted status
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException err) {
+          throw new AssertionError("Callback probe is never completed exceptionally", err);
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.WARNING, null, t);
+          SwingUtilities.invokeLater(() -> {
+            if (generation == checkGeneration) {
+              checkRunning = false;
+              failed(t);
+            }
+          });
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // Every heartbeat thread is stuck in an earlier check
+      logger.log(Level.WARNING, null, e);
+      checkRunning = false;
+      failed(e);
+    }
+  }
+
+  private void succeeded(long serverNanos, long callbackNanos) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    lastServerNanos = serverNanos;
+    lastCallbackNanos = callbackNanos;
+    consecutiveFailures = 0;
+    setHealth(
+        callbackNanos == -1 || serverNanos >= DEGRADED_NANOS || callbackNanos >= DEGRADED_NANOS
+            ? Health.DEGRADED
+            : Health.GOOD
+    );
+    if (!onSuccess.isEmpty()) {
+      List<Runnable> tasks = new ArrayList<>(onSuccess);
+      onSuccess.clear();
+      for (Runnable task : tasks) {
+        task.run();
+      }
+    }
+  }
+
+  private void failed(Throwable cause) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    failureCount++;
+    consecutiveFailures++;
+    onSuccess.clear();
+    if (consecutiveFailures >= FAILURES_BEFORE_RECONNECT) {
+      logger.log(Level.WARNING, "Connection lost, reconnecting", cause);
+      running = false;
+      timer.stop();
+      setHealth(Health.RECONNECTING);
+      reconnectCount++;
+      noc.reconnect();
+    } else {
+      setHealth(Health.FAILING);
+    }
+  }
+
+  /**
+   * Called when a reconnect attempt has failed, retries with an increasing delay.
+   */
+  void reconnectFailed() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    setHealth(Health.RECONNECTING);
+    reconnectTimer.setInitialDelay(reconnectDelay);
+    reconnectTimer.restart();
+    reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MILLIS);
+  }
+
+  private void setHealth(Health health) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.health = health;
+    for (JLabel label : labels) {
+      updateLabel(label);
+    }
+  }
+
+  private void updateLabel(JLabel label) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (health == Health.GOOD || health == Health.DEGRADED) {
+      label.setText(RESOURCES.getMessage("label.latency", toMillis(lastServerNanos)));
+    } else {
+      label.setText(RESOURCES.getMessage("label." + health.name()));
+    }
+    label.setForeground(AlertLevelTableCellRenderer.getColor(health.alertLevel));
+    label.setToolTipText(
+        RESOURCES.getMessage(
+            "toolTip",
+            RESOURCES.getMessage("health." + health.name()),
+            toMillis(lastServerNanos),
+            toMillis(serverLatency.getPercentileNanos(0.50)),
+            toMillis(serverLatency.getPercentileNanos(0.95)),
+            toMillis(serverLatency.getPercentileNanos(0.99)),
+            toMillis(serverLatency.getMaxNanos()),
+            toMillis(lastCallbackNanos),
+            toMillis(callbackLatency.getPercentileNanos(0.99)),
+            serverLatency.getCount(),
+            failureCount,
+            reconnectCount
+        )
+    );
+  }
+
+  /**
+   * Converts to milliseconds for display, negative values are shown as none.
+   */
+  private static Object toMillis(long nanos) {
+    return nanos < 0 ? RESOURCES.getMessage("none") : TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  @Override
+  public String toString() {
+    return "heartbeat: server = {" + serverLatency
+        + "}, callback = {" + callbackLatency
+        + "}, failures = " + failureCount
+        + ", reconnects = " + reconnectCount;
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableColumnModel;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableColumn;
+import javax.swing.table.TableColumnModel;
+import javax.swing.table.TableModel;
+
+/**
+ * Caches the {@link JTable} used for each distinct set of column headers.
+ * The cache is bounded both by the number of tables and by the total number
+ * of cells held in their models.  The least-recently used tables are evicted
+ * first, and the table currently being displayed is never evicted.
+ *
+ * <p>When a table is evicted, its model is cleared so any retained references
+ * do not keep the old data reachable.  A copy of its column model is kept (in
+ * a second, larger bounded map) so that a table recreated for the same headers
+ * keeps its column widths and ordering.</p>
+ *
+ * <p>All access must be on the Swing event dispatch thread.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class JTableCache<K> {
+
+  private static final Logger logger = Logger.getLogger(JTableCache.class.getName());
+
+  /**
+   * The number of column models retained per table retained.
+   */
+  private static final int COLUMN_MODELS_PER_TABLE = 4;
+
+  private final String name;
+  private final int maxTables;
+  private final long maxCells;
+  private final NocMetrics metrics;
+
+  private final Map<K, JTable> tables = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<K, TableColumnModel> columnModels;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long columnModelReuses;
+
+  /**
+   * Creates a new cache.
+   *
+   * @param  name       the name used in log messages
+   * @param  maxTables  the maximum number of tables to retain, including the current table
+   * @param  maxCells   the maximum total number of cells ({@code rows * columns}) across all retained models
+   * @param  metrics    the totals across all caches
+   */
+  JTableCache(String name, int maxTables, long maxCells, NocMetrics metrics) {
+    if (maxTables < 1) {
+      throw new IllegalArgumentException("maxTables < 1: " + maxTables);
+    }
+    if (maxCells < 0) {
+      throw new IllegalArgumentException("maxCells < 0: " + maxCells);
+    }
+    this.name = name;
+    this.maxTables = maxTables;
+    this.maxCells = maxCells;
+    this.metrics = metrics;
+    final int maxColumnModels = maxTables * COLUMN_MODELS_PER_TABLE;
+    this.columnModels = new LinkedHashMap<>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, TableColumnModel> eldest) {
+        return size() > maxColumnModels;
+      }
+    };
+  }
+
+  /**
+   * Gets the table for the given headers, creating it when not in the cache.
+   *
+   * @param  key      the column headers, must be immutable or not modified once cached
+   * @param  factory  creates the table, given a column model previously used for these headers or {@code null} when none
+   */
+  JTable get(K key, Function<? super TableColumnModel, ? extends JTable> factory) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    JTable table = tables.get(key);
+    if (table != null) {
+      hits++;
+      metrics.tableCacheHits.increment();
+    } else {
+      misses++;
+      metrics.tableCacheMisses.increment();
+      TableColumnModel columnModel = columnModels.remove(key);
+      if (columnModel != null) {
+        columnModelReuses++;
+      }
+      table = factory.apply(columnModel);
+      tables.put(key, table);
+    }
+    return table;
+  }
+
+  /**
+   * Evicts tables until within bounds.  This should be called after the
+   * current table has been updated, since that is when the cell count changes.
+   *
+   * @param  current  the table currently displayed, which is never evicted, may be {@code null}
+   */
+  void trim(JTable current) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    long cells = 0;
+    for (JTable table : tables.values()) {
+      cells += getCells(table.getModel());
+    }
+    Iterator<Map.Entry<K, JTable>> iter = tables.entrySet().iterator();
+    while (
+        (tables.size() > maxTables || cells > maxCells)
+            && iter.hasNext()
+    ) {
+      Map.Entry<K, JTable> entry = iter.next();
+      JTable table = entry.getValue();
+      if (table != current) {
+        TableModel model = table.getModel();
+        cells -= getCells(model);
+        iter.remove();
+        evict(entry.getKey(), table);
+      }
+    }
+  }
+
+  /**
+   * Evicts all tables except the current table.
+   *
+   * @param  current  the table currently displayed, which is never evicted, may be {@code null}
+   */
+  void clear(JTable current) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Iterator<Map.Entry<K, JTable>> iter = tables.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<K, JTable> entry = iter.next();
+      JTable table = entry.getValue();
+      if (table != current) {
+        iter.remove();
+        evict(entry.getKey(), table);
+      }
+    }
+  }
+
+  private void evict(K key, JTable table) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    evictions++;
+    metrics.tableCacheEvictions.increment();
+    TableModel model = table.getModel();
+    if (model instanceof DefaultTableModel) {
+      ((DefaultTableModel) model).setRowCount(0);
+    }
+    columnModels.put(key, copyColumnModel(table.getColumnModel()));
+    if (logger.isLoggable(Level.FINE)) {
+      logger.fine(
+          name + ": evicted table, size=" + tables.size()
+              + ", hits=" + hits
+              + ", misses=" + misses
+              + ", evictions=" + evictions
+              + ", columnModelReuses=" + columnModelReuses
+      );
+    }
+  }
+
+  /**
+   * Copies the column model so the evicted table is not kept reachable
+   * through the listeners it registered on its own column model.
+   */
+  private static TableColumnModel copyColumnModel(TableColumnModel columnModel) {
+    DefaultTableColumnModel copy = new DefaultTableColumnModel();
+    for (int i = 0, count = columnModel.getColumnCount(); i < count; i++) {
+      TableColumn column = columnModel.getColumn(i);
+      TableColumn columnCopy = new TableColumn(column.getModelIndex(), column.getWidth());
+      columnCopy.setPreferredWidth(column.getPreferredWidth());
+      columnCopy.setIdentifier(column.getIdentifier());
+      columnCopy.setHeaderValue(column.getHeaderValue());
+      copy.addColumn(columnCopy);
+    }
+    return copy;
+  }
+
+  private static long getCells(TableModel model) {
+    return (long) model.getRowCount() * model.getColumnCount();
+  }
+
+  /**
+   * Gets the number of tables currently retained.
+   */
+  int getSize() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return tables.size();
+  }
+
+  /**
+   * Gets the number of times a table was found in the cache.
+   */
+  long getHits() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return hits;
+  }
+
+  /**
+   * Gets the number of times a table had to be created.
+   */
+  long getMisses() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return misses;
+  }
+
+  /**
+   * Gets the number of tables evicted.
+   */
+  long getEvictions() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return evictions;
+  }
+
+  /**
+   * Gets the number of times a created table reused the column model of an evicted table.
+   */
+  long getColumnModelReuses() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return columnModelReuses;
+  }
+}
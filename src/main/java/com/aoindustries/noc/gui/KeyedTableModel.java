@@ -0,0 +1,326 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A read-only table model of immutable rows, each identified by a key.  The
+ * rows are replaced by a {@link Diff}, computed against the rows last applied
+ * in any thread, then applied in the Swing event dispatch thread as ranges of
+ * deleted, inserted, and updated rows.  Unlike a single data-changed event,
+ * row range events keep the selection of the rows that remain.
+ *
+ * @param  <K>  the type of key
+ * @param  <R>  the type of row
+ *
+ * @author  AO Industries, Inc.
+ */
+final class KeyedTableModel<K, R> extends AbstractTableModel {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * When a diff would fire more than this many row range events, the rows are
+   * replaced with a single data-changed event instead.
+   */
+  static final int MAX_RANGES = 64;
+
+  /**
+   * Reads the key and cells of a row.
+   */
+  interface RowAdapter<K, R> {
+
+    K getKey(R row);
+
+    Object getValueAt(R row, int column);
+  }
+
+  /**
+   * The changes from one list of rows to another.  Once created, this is not
+   * modified.
+   */
+  static final class Diff<K, R> {
+
+    private final List<R> base;
+    private final List<R> rows;
+    private final Map<K, Integer> index;
+    private final boolean replace;
+    private final int[] deleted;
+    private final int[] inserted;
+    private final int[] changed;
+
+    private Diff(List<R> base, List<R> rows, Map<K, Integer> index, boolean replace, int[] deleted, int[] inserted, int[] changed) {
+      this.base = base;
+      this.rows = rows;
+      this.index = index;
+      this.replace = replace;
+      this.deleted = deleted;
+      this.inserted = inserted;
+      this.changed = changed;
+    }
+
+    /**
+     * Gets the new rows.
+     */
+    List<R> getRows() {
+      return rows;
+    }
+
+    /**
+     * Checks if the rows are replaced all at once, which does not keep the
+     * selection.  This happens when the order of the remaining rows has
+     * changed, or when there are more than {@link #MAX_RANGES} ranges of
+     * changes.
+     */
+    boolean isReplace() {
+      return replace;
+    }
+
+    /**
+     * Checks if any rows are deleted, inserted, or changed.
+     */
+    boolean isModified() {
+      return replace || deleted.length > 0 || inserted.length > 0 || changed.length > 0;
+    }
+  }
+
+  private final List<String> columnNames;
+  private final RowAdapter<K, R> adapter;
+
+  /**
+   * The rows last applied, the base for new diffs.
+   */
+  private volatile List<R> applied = Collections.emptyList();
+
+  /**
+   * The current rows, only accessed in the Swing event dispatch thread.
+   * This is briefly a working copy while a diff is applied.
+   */
+  private List<R> rows = applied;
+
+  /**
+   * The index of each key in {@link #applied}.
+   */
+  private Map<K, Integer> index = Collections.emptyMap();
+
+  KeyedTableModel(List<String> columnNames, RowAdapter<K, R> adapter) {
+    this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+    this.adapter = adapter;
+  }
+
+  @Override
+  public int getRowCount() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return rows.size();
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columnNames.size();
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columnNames.get(column);
+  }
+
+  @Override
+  public Object getValueAt(int rowIndex, int columnIndex) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return adapter.getValueAt(rows.get(rowIndex), columnIndex);
+  }
+
+  /**
+   * Gets the row at the given index.
+   */
+  R getRow(int rowIndex) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return rows.get(rowIndex);
+  }
+
+  /**
+   * Gets the index of the row with the given key.
+   *
+   * @return  the index or {@code -1} when not found
+   */
+  int indexOf(K key) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Integer i = index.get(key);
+    return i == null ? -1 : i;
+  }
+
+  /**
+   * Computes the changes from the rows last applied to the given rows.
+   * May be called from any thread.  Rows are matched by key and compared by
+   * {@link Object#equals(java.lang.Object)}.
+   */
+  Diff<K, R> diff(List<? extends R> newRows) {
+    return diff(applied, newRows);
+  }
+
+  private Diff<K, R> diff(List<R> base, List<? extends R> newRows) {
+    List<R> rowsCopy = Collections.unmodifiableList(new ArrayList<>(newRows));
+    int size = rowsCopy.size();
+    Map<K, Integer> newIndex = new HashMap<>(size * 4 / 3 + 1);
+    for (int i = 0; i < size; i++) {
+      newIndex.put(adapter.getKey(rowsCopy.get(i)), i);
+    }
+    // Rows deleted and changed, and whether the remaining rows are still in order
+    int baseSize = base.size();
+    int[] deleted = new int[baseSize];
+    int deletedCount = 0;
+    int[] changed = new int[Math.min(baseSize, size)];
+    int changedCount = 0;
+    boolean[] remaining = new boolean[size];
+    boolean ordered = true;
+    int lastIndex = -1;
+    for (int i = 0; i < baseSize; i++) {
+      R oldRow = base.get(i);
+      Integer newIndexObj = newIndex.get(adapter.getKey(oldRow));
+      if (newIndexObj == null) {
+        deleted[deletedCount++] = i;
+      } else {
+        int j = newIndexObj;
+        if (j < lastIndex) {
+          ordered = false;
+        }
+        lastIndex = j;
+        remaining[j] = true;
+        if (!Objects.equals(oldRow, rowsCopy.get(j))) {
+          changed[changedCount++] = j;
+        }
+      }
+    }
+    int[] inserted = new int[size - (baseSize - deletedCount)];
+    int insertedCount = 0;
+    for (int j = 0; j < size; j++) {
+      if (!remaining[j]) {
+        inserted[insertedCount++] = j;
+      }
+    }
+    assert insertedCount == inserted.length;
+    deleted = Arrays.copyOf(deleted, deletedCount);
+    changed = Arrays.copyOf(changed, changedCount);
+    boolean replace = !ordered || (countRanges(deleted) + countRanges(inserted) + countRanges(changed)) > MAX_RANGES;
+    return new Diff<>(base, rowsCopy, Collections.unmodifiableMap(newIndex), replace, deleted, inserted, changed);
+  }
+
+  /**
+   * Counts the ranges of consecutive indexes.
+   */
+  private static int countRanges(int[] indexes) {
+    int ranges = 0;
+    for (int i = 0; i < indexes.length; i++) {
+      if (i == 0 || indexes[i] != indexes[i - 1] + 1) {
+        ranges++;
+      }
+    }
+    return ranges;
+  }
+
+  /**
+   * Gets a diff that may be applied to the current rows.  When another diff
+   * has been applied since the given diff was computed, it is computed again
+   * against the current rows.
+   */
+  Diff<K, R> rebase(Diff<K, R> diff) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return diff.base == applied ? diff : diff(applied, diff.rows);
+  }
+
+  /**
+   * Applies a diff, firing events for each range of deleted, inserted, and
+   * changed rows.
+   */
+  void apply(Diff<K, R> diff) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    diff = rebase(diff);
+    if (!diff.isModified()) {
+      return;
+    }
+    if (diff.replace) {
+      rows = applied = diff.rows;
+      index = diff.index;
+      fireTableDataChanged();
+      return;
+    }
+    List<R> working = new ArrayList<>(rows);
+    rows = working;
+    // Deleted, from the end so the earlier indexes are unchanged
+    int[] deleted = diff.deleted;
+    for (int end = deleted.length - 1; end >= 0; ) {
+      int start = end;
+      while (start > 0 && deleted[start - 1] == deleted[start] - 1) {
+        start--;
+      }
+      int first = deleted[start];
+      int last = deleted[end];
+      working.subList(first, last + 1).clear();
+      fireTableRowsDeleted(first, last);
+      end = start - 1;
+    }
+    // Inserted, from the start, so the remaining rows shift into their new indexes
+    int[] inserted = diff.inserted;
+    for (int start = 0; start < inserted.length; ) {
+      int end = start;
+      while (end < inserted.length - 1 && inserted[end + 1] == inserted[end] + 1) {
+        end++;
+      }
+      int first = inserted[start];
+      int last = inserted[end];
+      working.addAll(first, diff.rows.subList(first, last + 1));
+      fireTableRowsInserted(first, last);
+      start = end + 1;
+    }
+    assert working.size() == diff.rows.size();
+    rows = applied = diff.rows;
+    index = diff.index;
+    // Changed
+    int[] changed = diff.changed;
+    for (int start = 0; start < changed.length; ) {
+      int end = start;
+      while (end < changed.length - 1 && changed[end + 1] == changed[end] + 1) {
+        end++;
+      }
+      fireTableRowsUpdated(changed[start], changed[end]);
+      start = end + 1;
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A distribution of latencies in fixed buckets of doubling width, starting
+ * at one microsecond.  Recording is lock-free and uses constant memory, at
+ * the cost of percentiles being rounded up to the bucket boundary.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class LatencyHistogram {
+
+  /**
+   * The upper bound of the first bucket.
+   */
+  private static final long FIRST_BUCKET_NANOS = 1000;
+
+  /**
+   * The number of buckets, the last is unbounded and starts at about nine minutes.
+   */
+  private static final int BUCKETS = 31;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  private static int getBucket(long nanos) {
+    if (nanos <= FIRST_BUCKET_NANOS) {
+      return 0;
+    }
+    int bucket = 64 - Long.numberOfLeadingZeros((nanos - 1) / FIRST_BUCKET_NANOS);
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  /**
+   * Gets the upper bound of a bucket.
+   */
+  private static long getBucketNanos(int bucket) {
+    return FIRST_BUCKET_NANOS << bucket;
+  }
+
+  /**
+   * Records one latency, negative values are recorded as zero.
+   */
+  void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    counts.incrementAndGet(getBucket(nanos));
+    count.increment();
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Gets the number of latencies recorded.
+   */
+  long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Gets the sum of all latencies recorded.
+   */
+  long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  /**
+   * Gets the average latency or {@code 0} when none recorded.
+   */
+  long getAverageNanos() {
+    long c = count.sum();
+    return c == 0 ? 0 : (totalNanos.sum() / c);
+  }
+
+  /**
+   * Gets the highest latency or {@code 0} when none recorded.
+   */
+  long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  /**
+   * Gets the latency at or below which the given fraction of latencies fall,
+   * rounded up to the bucket boundary, but never more than the maximum.
+   *
+   * @param  fraction  between {@code 0} and {@code 1}, such as {@code 0.99}
+   *
+   * @return  the latency or {@code 0} when none recorded
+   */
+  long getPercentileNanos(double fraction) {
+    long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += snapshot[i] = counts.get(i);
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(total * fraction));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= target) {
+        return Math.min(getBucketNanos(i), maxNanos.get());
+      }
+    }
+    return maxNanos.get();
+  }
+
+  @Override
+  public String toString() {
+    return "count = " + getCount()
+        + ", averageNanos = " + getAverageNanos()
+        + ", p50Nanos = " + getPercentileNanos(0.50)
+        + ", p95Nanos = " + getPercentileNanos(0.95)
+        + ", p99Nanos = " + getPercentileNanos(0.99)
+        + ", maxNanos = " + getMaxNanos();
+  }
+}
@@ -0,0 +1,280 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.util.Arrays;
+
+/**
+ * An immutable text with an index of the starting offset of each line.
+ * The index is built in the constructor, which should be called outside the
+ * Swing event dispatch thread for large text.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class LineIndexedText {
+
+  static final int TAB_SIZE = 8;
+
+  static final LineIndexedText EMPTY = new LineIndexedText("");
+
+  private final String text;
+  private final int[] lineStarts;
+  private final int lineCount;
+  private final int maxColumns;
+
+  LineIndexedText(String text) {
+    this.text = text;
+    int length = text.length();
+    int[] starts = new int[16];
+    int count = 0;
+    int max = 0;
+    int lineStart = 0;
+    int columns = 0;
+    for (int i = 0; i < length; i++) {
+      char ch = text.charAt(i);
+      if (ch == '\n') {
+        if (count == starts.length) {
+          starts = Arrays.copyOf(starts, count << 1);
+        }
+        starts[count++] = lineStart;
+        if (columns > max) {
+          max = columns;
+        }
+        lineStart = i + 1;
+        columns = 0;
+      } else if (ch == '\t') {
+        columns += TAB_SIZE - (columns % TAB_SIZE);
+      } else if (ch != '\r') {
+        columns++;
+      }
+    }
+    if (count == starts.length) {
+      starts = Arrays.copyOf(starts, count + 1);
+    }
+    starts[count++] = lineStart;
+    if (columns > max) {
+      max = columns;
+    }
+    this.lineStarts = starts;
+    this.lineCount = count;
+    this.maxColumns = max;
+  }
+
+  String getText() {
+    return text;
+  }
+
+  int getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * Gets the number of columns in the longest line, with tabs expanded.
+   */
+  int getMaxColumns() {
+    return maxColumns;
+  }
+
+  int getLineStart(int line) {
+    return lineStarts[line];
+  }
+
+  /**
+   * Gets the end of the line, exclusive, not including any line terminator.
+   */
+  int getLineEnd(int line) {
+    int end = (line + 1) < lineCount ? (lineStarts[line + 1] - 1) : text.length();
+    if (end > lineStarts[line] && text.charAt(end - 1) == '\r') {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Gets the line containing the given offset.
+   */
+  int getLineOfOffset(int offset) {
+    int index = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+    return index >= 0 ? index : (-index - 2);
+  }
+
+  /**
+   * Gets the line, with tabs expanded to spaces.
+   */
+  String getExpandedLine(int line) {
+    int start = lineStarts[line];
+    int end = getLineEnd(line);
+    int tab = text.indexOf('\t', start);
+    if (tab == -1 || tab >= end) {
+      return text.substring(start, end);
+    }
+    StringBuilder expanded = new StringBuilder((end - start) + TAB_SIZE);
+    for (int i = start; i < end; i++) {
+      char ch = text.charAt(i);
+      if (ch == '\t') {
+        do {
+          expanded.append(' ');
+        } while ((expanded.length() % TAB_SIZE) != 0);
+      } else {
+        expanded.append(ch);
+      }
+    }
+    return expanded.toString();
+  }
+
+  /**
+   * Gets the column of the given offset within its line, with tabs expanded.
+   */
+  int getColumn(int line, int offset) {
+    int column = 0;
+    for (int i = lineStarts[line]; i < offset; i++) {
+      if (text.charAt(i) == '\t') {
+        column += TAB_SIZE - (column % TAB_SIZE);
+      } else {
+        column++;
+      }
+    }
+    return column;
+  }
+
+  /**
+   * Checks if a line of this text is equal to a line of another text.
+   */
+  boolean lineEquals(int line, LineIndexedText other, int otherLine) {
+    int start = lineStarts[line];
+    int len = getLineEnd(line) - start;
+    int otherStart = other.lineStarts[otherLine];
+    int otherLen = other.getLineEnd(otherLine) - otherStart;
+    return len == otherLen && text.regionMatches(start, other.text, otherStart, len);
+  }
+
+  /**
+   * Finds the next case-insensitive occurrence of the query.
+   *
+   * @return  the offset of the match or {@code -1} when not found
+   */
+  int indexOfIgnoreCase(String query, int fromIndex) {
+    int queryLen = query.length();
+    if (queryLen == 0) {
+      return -1;
+    }
+    char first = query.charAt(0);
+    char firstUpper = Character.toUpperCase(first);
+    char firstLower = Character.toLowerCase(first);
+    for (int i = Math.max(0, fromIndex), last = text.length() - queryLen; i <= last; i++) {
+      char ch = text.charAt(i);
+      if (
+          (ch == firstUpper || ch == firstLower || ch == first)
+              && text.regionMatches(true, i, query, 0, queryLen)
+      ) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * The difference between two texts, computed outside the Swing event
+   * dispatch thread.  Only a single changed range of lines is tracked,
+   * between the common leading and trailing lines.
+   */
+  static final class Update {
+
+    private final LineIndexedText base;
+    private final LineIndexedText text;
+    private final int firstChangedLine;
+    private final int oldChangedEnd;
+    private final int newChangedEnd;
+
+    /**
+     * Computes the changed lines from {@code base} to {@code text}.
+     *
+     * @param  base  the text being replaced or {@code null} to treat all lines as changed
+     */
+    Update(LineIndexedText base, LineIndexedText text) {
+      this.base = base;
+      this.text = text;
+      if (base == null) {
+        firstChangedLine = 0;
+        oldChangedEnd = 0;
+        newChangedEnd = text.lineCount;
+      } else {
+        int oldCount = base.lineCount;
+        int newCount = text.lineCount;
+        int prefix = 0;
+        int maxPrefix = Math.min(oldCount, newCount);
+        while (prefix < maxPrefix && base.lineEquals(prefix, text, prefix)) {
+          prefix++;
+        }
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (
+            suffix < maxSuffix
+                && base.lineEquals(oldCount - 1 - suffix, text, newCount - 1 - suffix)
+        ) {
+          suffix++;
+        }
+        firstChangedLine = prefix;
+        oldChangedEnd = oldCount - suffix;
+        newChangedEnd = newCount - suffix;
+      }
+    }
+
+    /**
+     * The text this update was computed against, or {@code null} when computed against no text.
+     */
+    LineIndexedText getBase() {
+      return base;
+    }
+
+    LineIndexedText getText() {
+      return text;
+    }
+
+    /**
+     * The first line that differs.
+     */
+    int getFirstChangedLine() {
+      return firstChangedLine;
+    }
+
+    /**
+     * The end of the changed lines in the old text, exclusive.
+     */
+    int getOldChangedEnd() {
+      return oldChangedEnd;
+    }
+
+    /**
+     * The end of the changed lines in the new text, exclusive.
+     */
+    int getNewChangedEnd() {
+      return newChangedEnd;
+    }
+
+    boolean hasChanges() {
+      return firstChangedLine != oldChangedEnd || firstChangedLine != newChangedEnd;
+    }
+  }
+}
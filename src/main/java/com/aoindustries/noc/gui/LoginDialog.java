@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2007-2013, 2016, 2017, 2018, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2007-2013, 2016, 2017, 2018, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -23,19 +23,10 @@
 
 package com.aoindustries.noc.gui;
 
-import com.aoapps.hodgepodge.rmi.RMIClientSocketFactorySSL;
-import com.aoapps.hodgepodge.rmi.RMIClientSocketFactoryTCP;
-import com.aoapps.hodgepodge.rmi.RMIServerSocketFactorySSL;
-import com.aoapps.hodgepodge.rmi.RMIServerSocketFactoryTCP;
 import com.aoapps.hodgepodge.swing.ErrorDialog;
 import com.aoapps.lang.i18n.Resources;
 import com.aoapps.lang.validation.ValidationException;
-import com.aoindustries.aoserv.client.AoservConnector;
 import com.aoindustries.aoserv.client.account.User;
-import com.aoindustries.noc.monitor.MonitorImpl;
-import com.aoindustries.noc.monitor.client.MonitorClient;
-import com.aoindustries.noc.monitor.common.Monitor;
-import com.aoindustries.noc.monitor.common.RootNode;
 import java.awt.BorderLayout;
 import java.awt.Component;
 import java.awt.Container;
@@ -47,17 +38,14 @@ import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.File;
 import java.io.IOException;
 import java.rmi.NotBoundException;
-import java.rmi.server.RMIClientSocketFactory;
-import java.rmi.server.RMIServerSocketFactory;
-import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import javax.swing.AbstractAction;
 import javax.swing.InputMap;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
@@ -68,6 +56,8 @@ import javax.swing.JRootPane;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * Prompts for a AOServ connection information and returns a connector.
@@ -86,6 +76,7 @@ public final class LoginDialog extends JDialog {
   private final JTextField serverPortField;
   private final JTextField externalField;
   private final JTextField localPortField;
+  private final JCheckBox compressionCheckBox;
   private final JTextField usernameField;
   private final JPasswordField passwordField;
   private final JButton okButton;
@@ -106,17 +97,18 @@ public final class LoginDialog extends JDialog {
     final JRootPane localRootPane = getRootPane();
 
     // Add the labels
-    JPanel p = new JPanel(new GridLayout(6, 1, 0, 2));
+    JPanel p = new JPanel(new GridLayout(7, 1, 0, 2));
     p.add(new JLabel(RESOURCES.getMessage("server.prompt")));
     p.add(new JLabel(RESOURCES.getMessage("serverPort.prompt")));
     p.add(new JLabel(RESOURCES.getMessage("external.prompt")));
     p.add(new JLabel(RESOURCES.getMessage("localPort.prompt")));
+    p.add(new JLabel(RESOURCES.getMessage("compression.prompt")));
     p.add(new JLabel(RESOURCES.getMessage("username.prompt")));
     p.add(new JLabel(RESOURCES.getMessage("password.prompt")));
     localContentPane.add(p, BorderLayout.WEST);
 
     // Add the fields
-    JPanel p2 = new JPanel(new GridLayout(6, 1, 0, 2));
+    JPanel p2 = new JPanel(new GridLayout(7, 1, 0, 2));
     p2.add(serverField = new JTextField(16));
     serverField.setText(noc.preferences.getServer());
     p2.add(serverPortField = new JTextField(6));
@@ -125,6 +117,10 @@ public final class LoginDialog extends JDialog {
     externalField.setText(noc.preferences.getExternal());
     p2.add(localPortField = new JTextField(6));
     localPortField.setText(noc.preferences.getLocalPort());
+    p2.add(compressionCheckBox = new JCheckBox());
+    compressionCheckBox.setSelected(noc.preferences.getCompression());
+    compressionCheckBox.setToolTipText(RESOURCES.getMessage("compression.toolTip"));
+    updateCompressionEnabled();
     p2.add(usernameField = new JTextField(16));
     usernameField.setText(Objects.toString(noc.preferences.getUsername(), ""));
     p2.add(passwordField = new JPasswordField(16));
@@ -162,6 +158,22 @@ public final class LoginDialog extends JDialog {
     );
 
     // Add actions
+    serverField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        updateCompressionEnabled();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        updateCompressionEnabled();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        updateCompressionEnabled();
+      }
+    });
     serverField.addActionListener((ActionEvent e) -> {
       serverPortField.selectAll();
       serverPortField.requestFocus();
@@ -209,6 +221,15 @@ public final class LoginDialog extends JDialog {
     );
   }
 
+  /**
+   * Compression is only available when the server is {@linkplain MonitorConnection#isLocal(java.lang.String) local}.
+   */
+  private void updateCompressionEnabled() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    compressionCheckBox.setEnabled(serverField.isEditable() && MonitorConnection.isLocal(serverField.getText()));
+  }
+
   private final Object loginLock = new Object();
   private Thread loginThread;
 
@@ -221,6 +242,7 @@ public final class LoginDialog extends JDialog {
         serverPortField.setEditable(false);
         externalField.setEditable(false);
         localPortField.setEditable(false);
+        compressionCheckBox.setEnabled(false);
         usernameField.setEditable(false);
         passwordField.setEditable(false);
         okButton.setEnabled(false);
@@ -228,6 +250,7 @@ public final class LoginDialog extends JDialog {
         final String serverPort = serverPortField.getText();
         final String external = externalField.getText();
         final String localPort = localPortField.getText();
+        final boolean compression = compressionCheckBox.isSelected() && MonitorConnection.isLocal(server);
         final User.Name username;
         try {
           username = User.Name.valueOf(usernameField.getText());
@@ -238,70 +261,20 @@ public final class LoginDialog extends JDialog {
           return;
         }
         final String password = new String(passwordField.getPassword());
+        final LoginTimeline timeline = new LoginTimeline();
         loginThread = new Thread(() -> {
           try {
-            // First try to login to local AoservConnector
-            final AoservConnector conn = AoservConnector.getConnector(
+            final MonitorConnection connection = MonitorConnection.connect(
+                noc,
+                timeline,
+                server,
+                serverPort,
+                external,
+                localPort,
+                compression,
                 username,
                 password
             );
-            Monitor monitor;
-            final RMIClientSocketFactory csf;
-            final RMIServerSocketFactory ssf;
-            if (server.trim().length() == 0) {
-              // Setup the RMI system properties
-              System.clearProperty("java.rmi.server.hostname");
-              System.clearProperty("java.rmi.server.randomIDs");
-              System.clearProperty("java.rmi.server.useCodebaseOnly");
-              System.clearProperty("java.rmi.server.disableHttp");
-
-              // Non-SSL for anything in-process
-              csf = new RMIClientSocketFactoryTCP("127.0.0.1");
-              ssf = new RMIServerSocketFactoryTCP("127.0.0.1");
-              monitor = new MonitorImpl(
-                  Integer.parseInt(localPort),
-                  csf,
-                  ssf
-              );
-            } else {
-              // Setup the RMI system properties
-              if (external.trim().length() > 0) {
-                System.setProperty("java.rmi.server.hostname", external.trim());
-              } else {
-                System.clearProperty("java.rmi.server.hostname");
-              }
-              System.setProperty("java.rmi.server.randomIDs", "true");
-              System.setProperty("java.rmi.server.useCodebaseOnly", "true");
-              System.setProperty("java.rmi.server.disableHttp", "true");
-
-              // SSL for everything going over the network
-              if (System.getProperty("javax.net.ssl.keyStorePassword") == null) {
-                System.setProperty(
-                    "javax.net.ssl.keyStorePassword",
-                    "changeit"
-                );
-              }
-              if (System.getProperty("javax.net.ssl.keyStore") == null) {
-                System.setProperty(
-                    "javax.net.ssl.keyStore",
-                    System.getProperty("user.home") + File.separatorChar + ".keystore"
-                );
-              }
-              csf = new RMIClientSocketFactorySSL();
-              ssf = new RMIServerSocketFactorySSL();
-              monitor = new MonitorClient(server.trim(), Integer.parseInt(serverPort), csf);
-            }
-
-            // Do the login (get the root node)
-            final RootNode rootNode = monitor.login(Locale.getDefault(), username, password);
-            final String rootNodeLabel = rootNode.getLabel();
-
-            // Check if canceled
-            synchronized (loginLock) {
-              if (Thread.currentThread() != loginThread) {
-                return;
-              }
-            }
 
             // Check if canceled
             synchronized (loginLock) {
@@ -312,19 +285,7 @@ public final class LoginDialog extends JDialog {
 
             SwingUtilities.invokeLater(() -> {
               setVisible(false);
-              noc.loginCompleted(
-                  conn,
-                  rootNode,
-                  rootNodeLabel,
-                  server,
-                  serverPort,
-                  external,
-                  localPort,
-                  username,
-                  Integer.parseInt(localPort),
-                  csf,
-                  ssf
-              );
+              noc.loginCompleted(connection);
             });
           } catch (IOException err) {
             // Check if canceled
@@ -340,6 +301,7 @@ public final class LoginDialog extends JDialog {
               serverPortField.setEditable(true);
               externalField.setEditable(true);
               localPortField.setEditable(true);
+              updateCompressionEnabled();
               usernameField.setEditable(true);
               passwordField.setEditable(true);
               okButton.setEnabled(true);
@@ -360,6 +322,7 @@ public final class LoginDialog extends JDialog {
               serverPortField.setEditable(true);
               externalField.setEditable(true);
               localPortField.setEditable(true);
+              updateCompressionEnabled();
               usernameField.setEditable(true);
               passwordField.setEditable(true);
               okButton.setEnabled(true);
@@ -382,6 +345,7 @@ public final class LoginDialog extends JDialog {
               serverPortField.setEditable(true);
               externalField.setEditable(true);
               localPortField.setEditable(true);
+              updateCompressionEnabled();
               usernameField.setEditable(true);
               passwordField.setEditable(true);
               okButton.setEnabled(true);
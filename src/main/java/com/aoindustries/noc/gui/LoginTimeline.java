@@ -0,0 +1,165 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records when each phase of a login starts and ends, relative to the start
+ * of the login, to see where the time to the first tree goes.  Phases may run
+ * concurrently on any thread.  The timeline is logged once the first tree and
+ * the first tickets are displayed.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class LoginTimeline {
+
+  private static final Logger logger = Logger.getLogger(LoginTimeline.class.getName());
+
+  /**
+   * Marked when the systems tree is first displayed.
+   */
+  static final String FIRST_TREE = "firstTree";
+
+  /**
+   * Marked when the tickets are first displayed.
+   */
+  static final String FIRST_TICKETS = "firstTickets";
+
+  /**
+   * A step of the login that may throw a checked exception.
+   */
+  @FunctionalInterface
+  interface Step<T, E extends Exception> {
+    T run() throws E;
+  }
+
+  private static final class Phase {
+
+    private final String name;
+    private final String thread;
+    private final long startNanos;
+    private long endNanos = -1;
+    private boolean failed;
+
+    private Phase(String name, long startNanos) {
+      this.name = name;
+      this.thread = Thread.currentThread().getName();
+      this.startNanos = startNanos;
+    }
+  }
+
+  private final long startNanos = System.nanoTime();
+
+  // All below are guarded by phases
+  private final List<Phase> phases = new ArrayList<>();
+  private final Set<String> marks = new HashSet<>();
+  private boolean logged;
+
+  /**
+   * Runs one phase, recording its start and end.
+   */
+  <T, E extends Exception> T time(String name, Step<T, E> step) throws E {
+    Phase phase = new Phase(name, System.nanoTime());
+    synchronized (phases) {
+      phases.add(phase);
+    }
+    boolean success = false;
+    try {
+      T result = step.run();
+      success = true;
+      return result;
+    } finally {
+      long endNanos = System.nanoTime();
+      synchronized (phases) {
+        phase.endNanos = endNanos;
+        phase.failed = !success;
+      }
+    }
+  }
+
+  /**
+   * Marks a point in time, logging the timeline once both
+   * {@link #FIRST_TREE} and {@link #FIRST_TICKETS} are marked.
+   */
+  void mark(String name) {
+    long nanos = System.nanoTime();
+    String timeline = null;
+    synchronized (phases) {
+      if (marks.add(name)) {
+        Phase phase = new Phase(name, nanos);
+        phase.endNanos = nanos;
+        phases.add(phase);
+        if (!logged && marks.contains(FIRST_TREE) && marks.contains(FIRST_TICKETS)) {
+          logged = true;
+          timeline = toString();
+        }
+      }
+    }
+    if (timeline != null) {
+      logger.log(Level.INFO, "Login timeline:\n{0}", timeline);
+    }
+  }
+
+  private long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos - startNanos);
+  }
+
+  /**
+   * One line per phase, with the start and end in milliseconds since the
+   * start of the login.
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    synchronized (phases) {
+      for (Phase phase : phases) {
+        if (sb.length() > 0) {
+          sb.append('\n');
+        }
+        sb.append(phase.name).append(": +").append(toMillis(phase.startNanos));
+        if (phase.endNanos == -1) {
+          sb.append(" ms, running");
+        } else if (phase.endNanos != phase.startNanos) {
+          sb.append(" ms to +").append(toMillis(phase.endNanos)).append(" ms (")
+              .append(TimeUnit.NANOSECONDS.toMillis(phase.endNanos - phase.startNanos)).append(" ms)");
+        } else {
+          sb.append(" ms");
+        }
+        if (phase.failed) {
+          sb.append(", failed");
+        }
+        sb.append(", ").append(phase.thread);
+      }
+    }
+    return sb.toString();
+  }
+}
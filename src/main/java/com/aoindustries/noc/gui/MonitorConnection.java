@@ -0,0 +1,465 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.rmi.RMIClientSocketFactorySSL;
+import com.aoapps.hodgepodge.rmi.RMIClientSocketFactoryTCP;
+import com.aoapps.hodgepodge.rmi.RMIServerSocketFactorySSL;
+import com.aoapps.hodgepodge.rmi.RMIServerSocketFactoryTCP;
+import com.aoapps.hodgepodge.table.Table;
+import com.aoindustries.aoserv.client.AoservConnector;
+import com.aoindustries.aoserv.client.account.User;
+import com.aoindustries.noc.monitor.MonitorImpl;
+import com.aoindustries.noc.monitor.client.MonitorClient;
+import com.aoindustries.noc.monitor.common.Monitor;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.RootNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * A login to the monitor, along with the settings used to make it.  The
+ * settings, including the password, are kept in memory only, so the same
+ * login may be made again without prompting.
+ *
+ * <p>The steps of a login run as a concurrent pipeline.  The AOServ connector
+ * and the monitor login run in parallel, and each following step starts as
+ * soon as the step it depends on is done.  The initial snapshot and the
+ * AOServ tables used by the communication pane are loaded before the login
+ * completes, but are not waited for.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class MonitorConnection {
+
+  private static final Logger logger = Logger.getLogger(MonitorConnection.class.getName());
+
+  /**
+   * The socket factories for the monitor.
+   */
+  private static final class SocketFactories {
+
+    /**
+     * Used for the listeners exported here.
+     */
+    private RMIClientSocketFactory csf;
+    private RMIServerSocketFactory ssf;
+
+    /**
+     * Used to look up the monitor.
+     */
+    private RMIClientSocketFactory lookupCsf;
+  }
+
+  /**
+   * Checks if the given server runs in this process: the monitor in-process,
+   * the {@link Simulator}, or a {@link CallbackReplay}.  Compression is only
+   * supported by these, since the client socket factories are sent to the
+   * monitor with each listener, and the monitor server does not have the
+   * compressed socket factories of this package.
+   */
+  static boolean isLocal(String server) {
+    String trimmed = server.trim();
+    return
+        trimmed.isEmpty()
+            || Simulator.SERVER.equalsIgnoreCase(trimmed)
+            || CallbackReplay.isReplay(server);
+  }
+
+  /**
+   * Sets up the RMI system properties and the socket factories.
+   *
+   * @param  compression  compress the traffic, only used in-process
+   */
+  private static SocketFactories createSocketFactories(boolean inProcess, String external, boolean compression) {
+    SocketFactories factories = new SocketFactories();
+    if (inProcess) {
+      // Setup the RMI system properties
+      System.clearProperty("java.rmi.server.hostname");
+      System.clearProperty("java.rmi.server.randomIDs");
+      System.clearProperty("java.rmi.server.useCodebaseOnly");
+      System.clearProperty("java.rmi.server.disableHttp");
+
+      // Non-SSL for anything in-process
+      factories.csf = new RMIClientSocketFactoryTCP("127.0.0.1");
+      factories.ssf = new RMIServerSocketFactoryTCP("127.0.0.1");
+      if (compression) {
+        factories.csf = new RMIClientSocketFactoryCompressed(factories.csf);
+        factories.ssf = new RMIServerSocketFactoryCompressed(factories.ssf);
+      }
+      factories.lookupCsf = factories.csf;
+    } else {
+      // Setup the RMI system properties
+      if (external.trim().length() > 0) {
+        System.setProperty("java.rmi.server.hostname", external.trim());
+      } else {
+        System.clearProperty("java.rmi.server.hostname");
+      }
+      System.setProperty("java.rmi.server.randomIDs", "true");
+      System.setProperty("java.rmi.server.useCodebaseOnly", "true");
+      System.setProperty("java.rmi.server.disableHttp", "true");
+
+      // SSL for everything going over the network
+      if (System.getProperty("javax.net.ssl.keyStorePassword") == null) {
+        System.setProperty(
+            "javax.net.ssl.keyStorePassword",
+            "changeit"
+        );
+      }
+      if (System.getProperty("javax.net.ssl.keyStore") == null) {
+        System.setProperty(
+            "javax.net.ssl.keyStore",
+            System.getProperty("user.home") + File.separatorChar + ".keystore"
+        );
+      }
+      factories.ssf = new RMIServerSocketFactorySSL();
+      // Only used here, to time the handshake of the registry lookup on each login
+      factories.lookupCsf = new RMIClientSocketFactorySSLTimed();
+      // Sent to the monitor with each listener, so must be a class the monitor has
+      factories.csf = new RMIClientSocketFactorySSL();
+    }
+    return factories;
+  }
+
+  /**
+   * Runs one step of the login on the given executor.
+   */
+  private static <T> CompletableFuture<T> async(Executor executor, LoginTimeline timeline, String phase, LoginTimeline.Step<? extends T, ?> step) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return timeline.time(phase, step);
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor
+    );
+  }
+
+  /**
+   * Waits for one step of the login, throwing its exception.
+   */
+  private static <T> T await(CompletableFuture<T> future) throws IOException, SQLException, NotBoundException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      // Restore the interrupted status
+      Thread.currentThread().interrupt();
+      InterruptedIOException ioErr = new InterruptedIOException();
+      ioErr.initCause(e);
+      throw ioErr;
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof NotBoundException) {
+        throw (NotBoundException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new CompletionException(cause);
+    }
+  }
+
+  /**
+   * Loads the AOServ tables used by the communication pane, in parallel, so
+   * its first refresh finds them already loaded.  Failures are only logged,
+   * since the refresh will load the tables again.
+   */
+  private static CompletableFuture<Void> preloadTables(Executor executor, LoginTimeline timeline, AoservConnector conn) {
+    Map<String, Table<?>> tables = new LinkedHashMap<>();
+    tables.put("ticket", conn.getTicket().getTicket());
+    tables.put("account", conn.getAccount().getAccount());
+    tables.put("administrator", conn.getAccount().getAdministrator());
+    tables.put("administratorPermission", conn.getMaster().getAdministratorPermission());
+    tables.put("assignment", conn.getTicket().getAssignment());
+    tables.put("brand", conn.getReseller().getBrand());
+    tables.put("reseller", conn.getReseller().getReseller());
+    tables.put("category", conn.getReseller().getCategory());
+    tables.put("ticketType", conn.getTicket().getTicketType());
+    tables.put("status", conn.getTicket().getStatus());
+    tables.put("priority", conn.getTicket().getPriority());
+    tables.put("language", conn.getTicket().getLanguage());
+    List<CompletableFuture<?>> futures = new ArrayList<>(tables.size());
+    for (Map.Entry<String, Table<?>> entry : tables.entrySet()) {
+      Table<?> table = entry.getValue();
+      futures.add(
+          async(executor, timeline, "preload." + entry.getKey(), table::getRows).exceptionally(t -> {
+            logger.log(Level.WARNING, null, t);
+            return null;
+          })
+      );
+    }
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]));
+  }
+
+  /**
+   * Releases what a failed login started: stops the simulator or replay, or
+   * unexports the in-process monitor and its root node.  A remote monitor has
+   * nothing to release, since it has no logout.
+   *
+   * @param  monitor  the monitor, or {@code null} when not started
+   * @param  rootNode  the root node, or {@code null} when not logged-in
+   */
+  private static void release(boolean inProcess, boolean simulator, boolean replay, Monitor monitor, RootNode rootNode) {
+    if (monitor != null) {
+      if (simulator) {
+        Simulator.stopRunning();
+      } else if (replay) {
+        CallbackReplay.stopRunning();
+      } else if (inProcess) {
+        if (rootNode != null) {
+          unexport(rootNode);
+        }
+        unexport(monitor);
+      }
+    }
+  }
+
+  private static void unexport(Remote obj) {
+    try {
+      UnicastRemoteObject.unexportObject(obj, true);
+    } catch (NoSuchObjectException e) {
+      logger.log(Level.FINE, null, e);
+    }
+  }
+
+  /**
+   * Performs the connection steps of a login.  This blocks on the network.
+   * Both the AOServ connector and the monitor are waited for, even when the
+   * other fails, and anything started for the monitor is released on failure.
+   *
+   * @param  server  the monitor server, empty to run the monitor in-process,
+   *                 {@link Simulator#SERVER} for the simulator, or {@link CallbackReplay#SERVER_PREFIX}
+   *                 followed by the path of a log to replay.  The simulator and replay have no AOServ connector.
+   * @param  compression  compress the traffic of the monitor, see {@link CompressedSocket}.
+   *                      Ignored unless {@link #isLocal(java.lang.String)}.
+   */
+  static MonitorConnection connect(
+      Noc noc,
+      LoginTimeline timeline,
+      String server,
+      String serverPort,
+      String external,
+      String localPort,
+      boolean compression,
+      User.Name username,
+      String password
+  ) throws IOException, SQLException, NotBoundException {
+    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+    final boolean inProcess = server.trim().length() == 0;
+    final boolean simulator = Simulator.SERVER.equalsIgnoreCase(server.trim());
+    final boolean replay = CallbackReplay.isReplay(server);
+    if (compression && !(inProcess || simulator || replay)) {
+      logger.log(Level.WARNING, "Compression is not supported by the monitor server, connecting to {0} without compression", server);
+    }
+    // Set up before anything else connects, since the system properties are global
+    final SocketFactories factories = timeline.time(
+        "socketFactories",
+        () -> createSocketFactories(inProcess || simulator || replay, external, compression)
+    );
+
+    // The AOServ connector, then its tables
+    CompletableFuture<AoservConnector> connFuture;
+    if (simulator || replay) {
+      connFuture = CompletableFuture.completedFuture(null);
+    } else {
+      connFuture = async(
+          noc.rmiLifecycleExecutor,
+          timeline,
+          "aoservConnector",
+          () -> AoservConnector.getConnector(username, password)
+      );
+      connFuture.thenCompose(conn -> preloadTables(noc.ticketsExecutor, timeline, conn));
+    }
+
+    // In parallel, the monitor, then the login (get the root node), then its label and snapshot
+    CompletableFuture<Monitor> monitorFuture = async(
+        noc.rmiLifecycleExecutor,
+        timeline,
+        "monitorLookup",
+        () -> inProcess
+            ? new MonitorImpl(Integer.parseInt(localPort), factories.csf, factories.ssf)
+            : simulator
+            ? Simulator.start(factories.csf, factories.ssf)
+            : replay
+            ? CallbackReplay.start(server, factories.csf, factories.ssf)
+            : new MonitorClient(server.trim(), Integer.parseInt(serverPort), factories.lookupCsf)
+    );
+    CompletableFuture<RootNode> rootNodeFuture = monitorFuture.thenCompose(monitor -> async(
+        noc.rmiLifecycleExecutor,
+        timeline,
+        "monitorLogin",
+        () -> monitor.login(Locale.getDefault(), username, password)
+    ));
+    CompletableFuture<String> rootNodeLabelFuture = rootNodeFuture.thenCompose(rootNode -> async(
+        noc.rmiLifecycleExecutor,
+        timeline,
+        "rootNodeLabel",
+        rootNode::getLabel
+    ));
+    CompletableFuture<NodeSnapshot> initialSnapshot = rootNodeFuture.thenCompose(rootNode -> async(
+        noc.systemsExecutor,
+        timeline,
+        "initialSnapshot",
+        rootNode::getSnapshot
+    ));
+
+    boolean success = false;
+    try {
+      await(CompletableFuture.allOf(connFuture, rootNodeLabelFuture));
+      MonitorConnection connection = new MonitorConnection(
+          server,
+          serverPort,
+          external,
+          localPort,
+          compression,
+          username,
+          password,
+          connFuture.join(),
+          rootNodeFuture.join(),
+          rootNodeLabelFuture.join(),
+          factories.csf,
+          factories.ssf,
+          timeline,
+          initialSnapshot
+      );
+      success = true;
+      return connection;
+    } finally {
+      if (!success) {
+        initialSnapshot.cancel(false);
+        // Once the monitor is done, which may be after an interrupted wait
+        rootNodeFuture.whenComplete((rootNode, t) -> release(
+            inProcess,
+            simulator,
+            replay,
+            monitorFuture.isCompletedExceptionally() ? null : monitorFuture.join(),
+            rootNode
+        ));
+      }
+    }
+  }
+
+  final String server;
+  final String serverPort;
+  final String external;
+  final String localPort;
+  final boolean compression;
+  final User.Name username;
+  private final String password;
+  /**
+   * The AOServ connector or {@code null} for the {@link Simulator} and {@link CallbackReplay}.
+   */
+  final AoservConnector conn;
+  final RootNode rootNode;
+  final String rootNodeLabel;
+  final RMIClientSocketFactory csf;
+  final RMIServerSocketFactory ssf;
+  final LoginTimeline timeline;
+  /**
+   * The first snapshot, started as soon as logged in, may still be loading.
+   */
+  final CompletableFuture<NodeSnapshot> initialSnapshot;
+
+  private MonitorConnection(
+      String server,
+      String serverPort,
+      String external,
+      String localPort,
+      boolean compression,
+      User.Name username,
+      String password,
+      AoservConnector conn,
+      RootNode rootNode,
+      String rootNodeLabel,
+      RMIClientSocketFactory csf,
+      RMIServerSocketFactory ssf,
+      LoginTimeline timeline,
+      CompletableFuture<NodeSnapshot> initialSnapshot
+  ) {
+    this.server = server;
+    this.serverPort = serverPort;
+    this.external = external;
+    this.localPort = localPort;
+    this.compression = compression;
+    this.username = username;
+    this.password = password;
+    this.conn = conn;
+    this.rootNode = rootNode;
+    this.rootNodeLabel = rootNodeLabel;
+    this.csf = csf;
+    this.ssf = ssf;
+    this.timeline = timeline;
+    this.initialSnapshot = initialSnapshot;
+  }
+
+  /**
+   * Performs the connection steps again, with the same settings.  This
+   * blocks on the network.
+   */
+  MonitorConnection reconnect(Noc noc) throws IOException, SQLException, NotBoundException {
+    return connect(noc, new LoginTimeline(), server, serverPort, external, localPort, compression, username, password);
+  }
+
+  /**
+   * Gets the port for the local objects, not the server port.
+   */
+  int getPort() {
+    return Integer.parseInt(localPort);
+  }
+}
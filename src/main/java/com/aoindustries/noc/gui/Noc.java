@@ -28,7 +28,6 @@ import com.aoapps.lang.SysExits;
 import com.aoapps.lang.i18n.Resources;
 import com.aoapps.lang.util.ErrorPrinter;
 import com.aoindustries.aoserv.client.AoservConnector;
-import com.aoindustries.aoserv.client.account.User;
 import com.aoindustries.noc.monitor.common.AlertCategory;
 import com.aoindustries.noc.monitor.common.AlertLevel;
 import com.aoindustries.noc.monitor.common.RootNode;
@@ -51,16 +50,17 @@ import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.IOException;
-import java.rmi.NoSuchObjectException;
-import java.rmi.Remote;
 import java.rmi.server.RMIClientSocketFactory;
 import java.rmi.server.RMIServerSocketFactory;
-import java.rmi.server.UnicastRemoteObject;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JButton;
@@ -164,7 +164,143 @@ public class Noc {
   @SuppressWarnings("PackageVisibleField")
   RMIServerSocketFactory ssf;
 
-  final ExecutorService executorService = Executors.newCachedThreadPool();
+  /**
+   * The current login, kept while reconnecting so the same login may be made
+   * again.  {@code null} when logged out.
+   */
+  private MonitorConnection connection;
+
+  /**
+   * The view to restore once reconnected.
+   */
+  private SystemsPane.ViewState reconnectViewState;
+
+  /**
+   * The system property that enables virtual threads for the subsystems that
+   * mostly block on RMI or AOServ calls.  Requires Java 21 or newer, and is
+   * ignored otherwise.  Experimental: the same limits on running and queued
+   * tasks apply as with the thread pools.
+   */
+  static final String VIRTUAL_THREADS_PROPERTY = "com.aoindustries.noc.gui.virtualThreads";
+
+  private static final boolean VIRTUAL_THREADS = Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY);
+
+  /**
+   * The system property that sets the number of threads used to look-up
+   * tickets in parallel during communication refreshes.  Defaults to the
+   * number of available processors.  One or less looks-up tickets in the
+   * communication thread.
+   */
+  static final String COMMUNICATION_PARALLELISM_PROPERTY = "com.aoindustries.noc.gui.communicationParallelism";
+
+  private static final int COMMUNICATION_PARALLELISM = Integer.getInteger(
+      COMMUNICATION_PARALLELISM_PROPERTY,
+      Runtime.getRuntime().availableProcessors()
+  );
+
+  /**
+   * Tree listeners, tree validation, and the initial delivery of results to new views.
+   */
+  final SubsystemExecutor systemsExecutor = new SubsystemExecutor("systems", 4, 4096, new ThreadPoolExecutor.AbortPolicy(), VIRTUAL_THREADS);
+
+  /**
+   * Refreshes of the communication pane.  Each refresh reads the current
+   * filters, so only the most recent waiting refresh is needed.
+   */
+  final SubsystemExecutor communicationExecutor = new SubsystemExecutor("communication", 1, 4, new ThreadPoolExecutor.DiscardOldestPolicy(), VIRTUAL_THREADS);
+
+  /**
+   * Parallel ticket lookups within a communication refresh, or {@code null}
+   * when not run in parallel.
+   */
+  final ForkJoinPool communicationPool = ParallelChunks.newPool("communication-parallel", COMMUNICATION_PARALLELISM);
+
+  /**
+   * Ticket lookups and updates, run in order per ticket editor through {@link SubsystemExecutor#newSerialExecutor()}.
+   */
+  final SubsystemExecutor ticketsExecutor = new SubsystemExecutor("tickets", 4, 256, new ThreadPoolExecutor.AbortPolicy(), VIRTUAL_THREADS);
+
+  /**
+   * Buzzer playback.  Only one buzzer plays at a time.
+   */
+  final SubsystemExecutor audioExecutor = new SubsystemExecutor("audio", 1, 1, new ThreadPoolExecutor.AbortPolicy(), false);
+
+  /**
+   * Exporting, adding, removing, and unexporting RMI listeners.
+   */
+  final SubsystemExecutor rmiLifecycleExecutor = new SubsystemExecutor("rmi-lifecycle", 8, 10000, new ThreadPoolExecutor.AbortPolicy(), VIRTUAL_THREADS);
+
+  /**
+   * Exports to files.
+   */
+  final SubsystemExecutor exportExecutor = new SubsystemExecutor("export", 2, 8, new ThreadPoolExecutor.AbortPolicy(), false);
+
+  /**
+   * Processes incoming RMI callbacks through {@link #callbacks}.  Only one
+   * drain task is ever submitted at a time.
+   */
+  final SubsystemExecutor callbacksExecutor = new SubsystemExecutor("callbacks", 1, 1, new ThreadPoolExecutor.AbortPolicy(), false);
+
+  /**
+   * Connection checks.  Each check is handed directly to a free thread, since
+   * a check hung in a socket read cannot be interrupted and holds its thread.
+   */
+  final SubsystemExecutor heartbeatExecutor = new SubsystemExecutor("heartbeat", 4, 0, new ThreadPoolExecutor.AbortPolicy(), false);
+
+  /**
+   * All executors, for monitoring.
+   */
+  final List<SubsystemExecutor> executors = Collections.unmodifiableList(Arrays.asList(
+      systemsExecutor,
+      communicationExecutor,
+      ticketsExecutor,
+      audioExecutor,
+      rmiLifecycleExecutor,
+      exportExecutor,
+      callbacksExecutor,
+      heartbeatExecutor
+  ));
+
+  /**
+   * Coalesces incoming RMI callbacks, so RMI threads return immediately.
+   */
+  final CallbackInbox callbacks = new CallbackInbox(callbacksExecutor);
+
+  /**
+   * The background tasks of the current login, canceled on logout.
+   * Replaced with a new scope on each logout.
+   */
+  volatile TaskScope sessionTasks = new TaskScope();
+
+  /**
+   * Exports and unexports all listeners given to the monitor.
+   */
+  final UnexportManager unexports = new UnexportManager();
+
+  final NodeSubscriptions subscriptions = new NodeSubscriptions(this);
+
+  final Heartbeat heartbeat = new Heartbeat(this);
+
+  /**
+   * Watches for stalls of the Swing event dispatch thread, for the whole
+   * life of the application.
+   */
+  final EdtWatchdog edtWatchdog = new EdtWatchdog();
+
+  /**
+   * The metrics of the hot paths, exposed through JMX.
+   */
+  final NocMetrics metrics = new NocMetrics(this);
+
+  /**
+   * Records the callbacks from the monitor, when enabled.
+   */
+  final CallbackRecorder recorder = new CallbackRecorder();
+
+  /**
+   * Created when first shown.
+   */
+  private DiagnosticsFrame diagnosticsFrame;
 
   /**
    * Creates a new Noc component.
@@ -309,7 +445,7 @@ public class Noc {
       final PopupMenu popup = new PopupMenu();
       MenuItem localLoginMenuItem = new MenuItem(RESOURCES.getMessage("trayIcon.popup.login"));
       localLoginMenuItem.addActionListener((ActionEvent e) -> {
-        if (Noc.this.rootNode != null) {
+        if (Noc.this.connection != null) {
           logout();
         } else {
           login();
@@ -362,6 +498,9 @@ public class Noc {
       this.trayIconCriticalImage = null;
       this.trayIcon = null;
     }
+    edtWatchdog.start();
+    metrics.start();
+    recorder.start();
     SwingUtilities.invokeLater(this::login);
   }
 
@@ -421,6 +560,7 @@ public class Noc {
         alertsFrame.setVisible(false);
         communicationFrame.setVisible(false);
         systemsFrame.setVisible(false);
+        metrics.stop();
         try {
           System.exit(0);
         } catch (SecurityException err) {
@@ -496,6 +636,8 @@ public class Noc {
   private void configureDisplayMode() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
+    heartbeat.removeToolBars();
+
     switch (currentDisplayMode) {
       case FRAMES:
         {
@@ -644,13 +786,14 @@ public class Noc {
   private JButton addCommonButtons(JToolBar toolBar) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
+    heartbeat.addToolBars(toolBar);
     JButton loginButton = new JButton(
-        rootNode == null
+        connection == null
             ? RESOURCES.getMessage("loginButton.label")
             : RESOURCES.getMessage("logoutButton.label")
     );
     loginButton.addActionListener((ActionEvent e) -> {
-      if (rootNode == null) {
+      if (connection == null) {
         login();
       } else {
         logout();
@@ -658,6 +801,10 @@ public class Noc {
     });
     toolBar.add(loginButton);
 
+    JButton diagnosticsButton = new JButton(RESOURCES.getMessage("diagnosticsButton.label"));
+    diagnosticsButton.addActionListener(e -> showDiagnostics());
+    toolBar.add(diagnosticsButton);
+
     switch (currentDisplayMode) {
       case FRAMES:
         {
@@ -679,6 +826,16 @@ public class Noc {
     return loginButton;
   }
 
+  private void showDiagnostics() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (diagnosticsFrame == null) {
+      diagnosticsFrame = new DiagnosticsFrame(edtWatchdog);
+    }
+    diagnosticsFrame.setVisible(true);
+    diagnosticsFrame.toFront();
+  }
+
   private void login() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
@@ -688,22 +845,8 @@ public class Noc {
 
   /**
    * Called when login completed.
-   *
-   * @param  port  the port for the local objects, not the server port.
-   */
-  void loginCompleted(
-      AoservConnector conn,
-      RootNode rootNode,
-      String rootNodeLabel,
-      String server,
-      String serverPort,
-      String external,
-      String localPort,
-      User.Name username,
-      int port,
-      RMIClientSocketFactory csf,
-      RMIServerSocketFactory ssf
-  ) {
+   */
+  void loginCompleted(MonitorConnection connection) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
     String logoutLabel = RESOURCES.getMessage("logoutButton.label");
@@ -723,19 +866,87 @@ public class Noc {
       setTrayIconImage(trayIconEnabledImage);
       loginMenuItem.setLabel(RESOURCES.getMessage("trayIcon.popup.logout"));
     }
-    preferences.setServer(server);
-    preferences.setServerPort(serverPort);
-    preferences.setExternal(external);
-    preferences.setLocalPort(localPort);
-    preferences.setUsername(username);
-    this.conn = conn;
-    this.rootNode = rootNode;
-    this.port = port;
-    this.csf = csf;
-    this.ssf = ssf;
+    preferences.setServer(connection.server);
+    preferences.setServerPort(connection.serverPort);
+    preferences.setExternal(connection.external);
+    preferences.setLocalPort(connection.localPort);
+    preferences.setCompression(connection.compression);
+    preferences.setUsername(connection.username);
+    this.connection = connection;
+    startSession(connection);
+  }
+
+  /**
+   * Starts all components for a login.
+   */
+  private void startSession(MonitorConnection connection) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.conn = connection.conn;
+    this.rootNode = connection.rootNode;
+    this.port = connection.getPort();
+    this.csf = connection.csf;
+    this.ssf = connection.ssf;
     alerts.start();
-    communication.start(conn);
-    systems.start(rootNode, rootNodeLabel);
+    if (conn != null) {
+      communication.start(conn, connection.timeline);
+    } else {
+      // The simulator and replay have no AOServ connector, so no tickets
+      connection.timeline.mark(LoginTimeline.FIRST_TICKETS);
+    }
+    systems.start(rootNode, connection.rootNodeLabel, connection.initialSnapshot, connection.timeline);
+    heartbeat.start();
+  }
+
+  /**
+   * Reconnects with the current login after the connection was lost.  All
+   * components are stopped, then started again from a fresh snapshot once
+   * reconnected, with the selected and pinned nodes restored.  Called again
+   * by {@link Heartbeat} until reconnected or logged out.
+   */
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  void reconnect() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final MonitorConnection oldConnection = this.connection;
+    if (oldConnection == null) {
+      return;
+    }
+    if (this.rootNode != null) {
+      reconnectViewState = systems.getViewState();
+      stopSession();
+    }
+    try {
+      rmiLifecycleExecutor.submit(() -> {
+        try {
+          final MonitorConnection newConnection = oldConnection.reconnect(this);
+          SwingUtilities.invokeLater(() -> {
+            // Ignore when logged out while reconnecting
+            if (this.connection == oldConnection) {
+              this.connection = newConnection;
+              startSession(newConnection);
+              SystemsPane.ViewState viewState = reconnectViewState;
+              reconnectViewState = null;
+              if (viewState != null) {
+                systems.restoreViewState(viewState);
+              }
+            }
+          });
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.WARNING, null, t);
+          SwingUtilities.invokeLater(() -> {
+            if (this.connection == oldConnection) {
+              heartbeat.reconnectFailed();
+            }
+          });
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      logger.log(Level.WARNING, null, e);
+      heartbeat.reconnectFailed();
+    }
   }
 
   void setTrayIconImage(Image image) {
@@ -746,19 +957,55 @@ public class Noc {
     }
   }
 
-  final void logout() {
+  /**
+   * Stops all components of the current login.
+   */
+  private void stopSession() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    if (this.rootNode != null) {
-      alerts.stop();
+    // Cancel any background work of this login before stopping, so the stop tasks are not canceled
+    TaskScope oldSessionTasks = sessionTasks;
+    sessionTasks = new TaskScope();
+    oldSessionTasks.close();
+    alerts.stop();
+    if (conn != null) {
       communication.stop();
-      systems.stop();
+    }
+    systems.stop();
+    subscriptions.releaseIdle();
+    if (logger.isLoggable(Level.FINE)) {
+      Runtime runtime = Runtime.getRuntime();
+      logger.log(
+          Level.FINE,
+          "threads = {0}, usedMemory = {1}, subscriptions = {2}",
+          new Object[]{Thread.activeCount(), runtime.totalMemory() - runtime.freeMemory(), subscriptions.getSubscriptionCount()}
+      );
+      for (SubsystemExecutor executor : executors) {
+        logger.fine(executor.toString());
+      }
+      logger.fine(unexports.toString());
+      logger.fine(callbacks.toString());
+      logger.fine(heartbeat.toString());
+      logger.fine(CompressedSocket.getStatistics());
+      logger.fine(RMIClientSocketFactorySSLTimed.getStatistics());
+      logger.fine(edtWatchdog.toString());
     }
     this.conn = null;
     this.rootNode = null;
     this.port = -1;
     this.csf = null;
     this.ssf = null;
+  }
+
+  final void logout() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    heartbeat.stop();
+    if (this.rootNode != null) {
+      stopSession();
+    }
+    this.connection = null;
+    this.reconnectViewState = null;
     String loginLabel = RESOURCES.getMessage("loginButton.label");
     if (singleLoginButton != null) {
       singleLoginButton.setText(loginLabel);
@@ -832,37 +1079,4 @@ public class Noc {
 
     alerts.clearAlerts(source);
   }
-
-  /**
-   * Tries for up to ten seconds to gracefully unexport an object.  If still not successful, logs a warning and forcefully unexports.
-   */
-  @SuppressWarnings("SleepWhileInLoop")
-  void unexportObject(Remote remote) {
-    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-    try {
-      boolean unexported = false;
-      for (int c = 0;
-          c < 100 && !Thread.currentThread().isInterrupted();
-          c++
-      ) {
-        if (UnicastRemoteObject.unexportObject(remote, false)) {
-          unexported = true;
-          break;
-        }
-        try {
-          Thread.sleep(100);
-        } catch (InterruptedException err) {
-          logger.log(Level.WARNING, null, err);
-          // Restore the interrupted status
-          Thread.currentThread().interrupt();
-        }
-      }
-      if (!unexported) {
-        logger.log(Level.WARNING, null, new RuntimeException("Unable to unexport Object, now being forceful"));
-        UnicastRemoteObject.unexportObject(remote, true);
-      }
-    } catch (NoSuchObjectException err) {
-      logger.log(Level.WARNING, null, err);
-    }
-  }
 }
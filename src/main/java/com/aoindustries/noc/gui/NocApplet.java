@@ -85,6 +85,7 @@ public class NocApplet extends JApplet {
         noc.alertsFrame.setVisible(false);
         noc.communicationFrame.setVisible(false);
         noc.systemsFrame.setVisible(false);
+        noc.metrics.stop();
         noc = null;
       }
       getContentPane().removeAll();
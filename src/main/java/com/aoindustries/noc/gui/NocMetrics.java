@@ -0,0 +1,429 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * The metrics of the hot paths of the NOC client, exposed as MXBeans and,
+ * optionally, in the Prometheus text format on localhost.  Counters are
+ * {@link LongAdder} and latencies are {@link LatencyHistogram}, so recording
+ * is lock-free.  Gauges are volatile fields written by their single owner.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class NocMetrics implements NocMetricsMXBean {
+
+  private static final Logger logger = Logger.getLogger(NocMetrics.class.getName());
+
+  /**
+   * The system property that enables the Prometheus endpoint on the given
+   * localhost port, at {@code /metrics}.
+   */
+  static final String METRICS_PORT_PROPERTY = "com.aoindustries.noc.gui.metricsPort";
+
+  private static final String DOMAIN = "com.aoindustries.noc.gui";
+
+  private final Noc noc;
+
+  final LongAdder alertsReceived = new LongAdder();
+  private volatile int alertsTableSize;
+  final LatencyHistogram snapshotFetch = new LatencyHistogram();
+  final LatencyHistogram snapshotReconcile = new LatencyHistogram();
+  final LatencyHistogram communicationRefresh = new LatencyHistogram();
+  private volatile int ticketsTotal;
+  private volatile int ticketsFiltered;
+  final LongAdder buzzerPlays = new LongAdder();
+  final LongAdder tableCacheHits = new LongAdder();
+  final LongAdder tableCacheMisses = new LongAdder();
+  final LongAdder tableCacheEvictions = new LongAdder();
+
+  /**
+   * The names of the MXBeans registered by {@link #start()}.
+   */
+  private final List<ObjectName> registered = new ArrayList<>();
+  private HttpServer httpServer;
+
+  NocMetrics(Noc noc) {
+    this.noc = noc;
+  }
+
+  /**
+   * Registers the MXBeans and starts the Prometheus endpoint, when enabled.
+   * Failures are logged only, since metrics are not required to run.
+   */
+  void start() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    register(server, DOMAIN + ":type=NocMetrics", new StandardMBean(this, NocMetricsMXBean.class, true));
+    for (SubsystemExecutor executor : noc.executors) {
+      register(
+          server,
+          DOMAIN + ":type=SubsystemExecutor,name=" + ObjectName.quote(executor.getName()),
+          new StandardMBean(new ExecutorMetrics(executor), SubsystemExecutorMXBean.class, true)
+      );
+    }
+    Integer port = Integer.getInteger(METRICS_PORT_PROPERTY);
+    if (port != null) {
+      try {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.createContext("/metrics", exchange -> {
+          try {
+            byte[] body = toPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          } finally {
+            exchange.close();
+          }
+        });
+        httpServer.start();
+        logger.log(Level.INFO, "Metrics available at http://{0}:{1,number,#}/metrics", new Object[]{InetAddress.getLoopbackAddress().getHostAddress(), port});
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Unable to start metrics endpoint on port " + port, e);
+      }
+    }
+  }
+
+  /**
+   * Stops the Prometheus endpoint and unregisters the MXBeans, so the port
+   * and names are free for the next instance, such as when the applet is
+   * reloaded.
+   */
+  void stop() {
+    if (httpServer != null) {
+      httpServer.stop(0);
+      httpServer = null;
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (ObjectName objectName : registered) {
+      try {
+        server.unregisterMBean(objectName);
+      } catch (InstanceNotFoundException e) {
+        // Already replaced and unregistered by another instance
+        logger.log(Level.FINE, null, e);
+      } catch (JMException | SecurityException e) {
+        logger.log(Level.WARNING, "Unable to unregister " + objectName, e);
+      }
+    }
+    registered.clear();
+  }
+
+  /**
+   * Registers an MXBean, replacing any from a previous instance that was not
+   * stopped.
+   */
+  private void register(MBeanServer server, String name, StandardMBean mbean) {
+    try {
+      ObjectName objectName = new ObjectName(name);
+      try {
+        server.registerMBean(mbean, objectName);
+      } catch (InstanceAlreadyExistsException e) {
+        server.unregisterMBean(objectName);
+        server.registerMBean(mbean, objectName);
+      }
+      registered.add(objectName);
+    } catch (JMException | SecurityException e) {
+      logger.log(Level.WARNING, "Unable to register " + name, e);
+    }
+  }
+
+  /**
+   * Adapts a {@link SubsystemExecutor} without making its methods public.
+   */
+  private static final class ExecutorMetrics implements SubsystemExecutorMXBean {
+
+    private final SubsystemExecutor executor;
+
+    private ExecutorMetrics(SubsystemExecutor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public boolean isVirtual() {
+      return executor.isVirtual();
+    }
+
+    @Override
+    public int getQueueDepth() {
+      return executor.getQueueDepth();
+    }
+
+    @Override
+    public int getActiveCount() {
+      return executor.getActiveCount();
+    }
+
+    @Override
+    public int getPoolSize() {
+      return executor.getPoolSize();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+      return executor.getCompletedTaskCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+      return executor.getRejectedCount();
+    }
+
+    @Override
+    public long getAverageWaitNanos() {
+      return executor.getAverageWaitNanos();
+    }
+
+    @Override
+    public long getMaxWaitNanos() {
+      return executor.getMaxWaitNanos();
+    }
+
+    @Override
+    public long getAverageRunNanos() {
+      return executor.getAverageRunNanos();
+    }
+
+    @Override
+    public long getMaxRunNanos() {
+      return executor.getMaxRunNanos();
+    }
+  }
+
+  /**
+   * Sets the number of rows in the alerts table.  Called on the Swing event
+   * dispatch thread only.
+   */
+  void setAlertsTableSize(int alertsTableSize) {
+    this.alertsTableSize = alertsTableSize;
+  }
+
+  /**
+   * Sets the ticket counts of the last refresh.  Called on the Swing event
+   * dispatch thread only.
+   */
+  void setTickets(int ticketsTotal, int ticketsFiltered) {
+    this.ticketsTotal = ticketsTotal;
+    this.ticketsFiltered = ticketsFiltered;
+  }
+
+  @Override
+  public long getAlertsReceived() {
+    return alertsReceived.sum();
+  }
+
+  @Override
+  public int getAlertsTableSize() {
+    return alertsTableSize;
+  }
+
+  @Override
+  public long getSnapshotFetchCount() {
+    return snapshotFetch.getCount();
+  }
+
+  @Override
+  public long getSnapshotFetchAverageNanos() {
+    return snapshotFetch.getAverageNanos();
+  }
+
+  @Override
+  public long getSnapshotFetchP99Nanos() {
+    return snapshotFetch.getPercentileNanos(0.99);
+  }
+
+  @Override
+  public long getSnapshotFetchMaxNanos() {
+    return snapshotFetch.getMaxNanos();
+  }
+
+  @Override
+  public long getSnapshotReconcileCount() {
+    return snapshotReconcile.getCount();
+  }
+
+  @Override
+  public long getSnapshotReconcileAverageNanos() {
+    return snapshotReconcile.getAverageNanos();
+  }
+
+  @Override
+  public long getSnapshotReconcileP99Nanos() {
+    return snapshotReconcile.getPercentileNanos(0.99);
+  }
+
+  @Override
+  public long getSnapshotReconcileMaxNanos() {
+    return snapshotReconcile.getMaxNanos();
+  }
+
+  @Override
+  public long getCommunicationRefreshCount() {
+    return communicationRefresh.getCount();
+  }
+
+  @Override
+  public long getCommunicationRefreshAverageNanos() {
+    return communicationRefresh.getAverageNanos();
+  }
+
+  @Override
+  public long getCommunicationRefreshP99Nanos() {
+    return communicationRefresh.getPercentileNanos(0.99);
+  }
+
+  @Override
+  public long getCommunicationRefreshMaxNanos() {
+    return communicationRefresh.getMaxNanos();
+  }
+
+  @Override
+  public int getTicketsTotal() {
+    return ticketsTotal;
+  }
+
+  @Override
+  public int getTicketsFiltered() {
+    return ticketsFiltered;
+  }
+
+  @Override
+  public int getExportedObjectCount() {
+    return noc.unexports.getExportedCount();
+  }
+
+  @Override
+  public int getPendingUnexportCount() {
+    return noc.unexports.getPendingCount();
+  }
+
+  @Override
+  public long getBuzzerPlays() {
+    return buzzerPlays.sum();
+  }
+
+  @Override
+  public long getTableCacheHits() {
+    return tableCacheHits.sum();
+  }
+
+  @Override
+  public long getTableCacheMisses() {
+    return tableCacheMisses.sum();
+  }
+
+  @Override
+  public long getTableCacheEvictions() {
+    return tableCacheEvictions.sum();
+  }
+
+  @Override
+  public long getEdtStallCount() {
+    return noc.edtWatchdog.getStallCount();
+  }
+
+  @Override
+  public long getEdtLatencyP99Nanos() {
+    return noc.edtWatchdog.getProbeLatency().getPercentileNanos(0.99);
+  }
+
+  private static double toSeconds(long nanos) {
+    return nanos / 1e9;
+  }
+
+  private static void appendHeader(StringBuilder out, String name, String type, String help) {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void appendMetric(StringBuilder out, String name, String type, String help, Number value) {
+    appendHeader(out, name, type, help);
+    out.append(name).append(' ').append(value).append('\n');
+  }
+
+  private static void appendSummary(StringBuilder out, String name, String help, LatencyHistogram histogram) {
+    appendHeader(out, name, "summary", help);
+    for (double quantile : new double[]{0.5, 0.95, 0.99}) {
+      out.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+          .append(toSeconds(histogram.getPercentileNanos(quantile))).append('\n');
+    }
+    out.append(name).append("_sum ").append(toSeconds(histogram.getTotalNanos())).append('\n');
+    out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+  }
+
+  private void appendExecutors(StringBuilder out, String name, String type, String help, ToLongFunction<SubsystemExecutor> value) {
+    appendHeader(out, name, type, help);
+    for (SubsystemExecutor executor : noc.executors) {
+      out.append(name).append("{executor=\"").append(executor.getName()).append("\"} ")
+          .append(value.applyAsLong(executor)).append('\n');
+    }
+  }
+
+  /**
+   * Gets all metrics in the Prometheus text exposition format.
+   */
+  String toPrometheus() {
+    StringBuilder out = new StringBuilder();
+    appendMetric(out, "noc_gui_alerts_received_total", "counter", "Alerts received by the alerts pane.", getAlertsReceived());
+    appendMetric(out, "noc_gui_alerts_table_size", "gauge", "Rows in the alerts table.", getAlertsTableSize());
+    appendSummary(out, "noc_gui_snapshot_fetch_seconds", "Time to fetch a systems snapshot.", snapshotFetch);
+    appendSummary(out, "noc_gui_snapshot_reconcile_seconds", "Time to apply a systems snapshot to the tree.", snapshotReconcile);
+    appendSummary(out, "noc_gui_communication_refresh_seconds", "Time to refresh the communication pane.", communicationRefresh);
+    appendMetric(out, "noc_gui_tickets_unfiltered", "gauge", "Tickets before filtering, as of the last refresh.", getTicketsTotal());
+    appendMetric(out, "noc_gui_tickets_filtered", "gauge", "Tickets after filtering, as of the last refresh.", getTicketsFiltered());
+    appendExecutors(out, "noc_gui_executor_queue_depth", "gauge", "Tasks waiting for a thread.", SubsystemExecutor::getQueueDepth);
+    appendExecutors(out, "noc_gui_executor_active", "gauge", "Tasks currently running.", SubsystemExecutor::getActiveCount);
+    appendExecutors(out, "noc_gui_executor_completed_total", "counter", "Tasks completed.", SubsystemExecutor::getCompletedTaskCount);
+    appendExecutors(out, "noc_gui_executor_rejected_total", "counter", "Tasks rejected.", SubsystemExecutor::getRejectedCount);
+    appendMetric(out, "noc_gui_exported_objects", "gauge", "Remote objects exported, including those pending unexport.", getExportedObjectCount());
+    appendMetric(out, "noc_gui_pending_unexports", "gauge", "Remote objects waiting to be unexported.", getPendingUnexportCount());
+    appendMetric(out, "noc_gui_buzzer_plays_total", "counter", "Times the buzzer was played.", getBuzzerPlays());
+    appendMetric(out, "noc_gui_table_cache_hits_total", "counter", "Tables found in the table caches of the task components.", getTableCacheHits());
+    appendMetric(out, "noc_gui_table_cache_misses_total", "counter", "Tables created by the table caches of the task components.", getTableCacheMisses());
+    appendMetric(out, "noc_gui_table_cache_evictions_total", "counter", "Tables evicted from the table caches of the task components.", getTableCacheEvictions());
+    appendMetric(out, "noc_gui_edt_stalls_total", "counter", "Stalls of the Swing event dispatch thread.", getEdtStallCount());
+    appendSummary(out, "noc_gui_edt_latency_seconds", "Time for an event to start on the Swing event dispatch thread.", noc.edtWatchdog.getProbeLatency());
+    return out.toString();
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+/**
+ * The metrics of the NOC client, registered as
+ * {@code com.aoindustries.noc.gui:type=NocMetrics}.  All times are in
+ * nanoseconds.
+ *
+ * @see  NocMetrics
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface NocMetricsMXBean {
+
+  /**
+   * Gets the number of alerts received by the alerts pane.
+   */
+  long getAlertsReceived();
+
+  /**
+   * Gets the number of rows in the alerts table.
+   */
+  int getAlertsTableSize();
+
+  long getSnapshotFetchCount();
+
+  long getSnapshotFetchAverageNanos();
+
+  long getSnapshotFetchP99Nanos();
+
+  long getSnapshotFetchMaxNanos();
+
+  /**
+   * Gets the number of snapshots applied to the systems tree.
+   */
+  long getSnapshotReconcileCount();
+
+  long getSnapshotReconcileAverageNanos();
+
+  long getSnapshotReconcileP99Nanos();
+
+  long getSnapshotReconcileMaxNanos();
+
+  /**
+   * Gets the number of completed refreshes of the communication pane.
+   */
+  long getCommunicationRefreshCount();
+
+  long getCommunicationRefreshAverageNanos();
+
+  long getCommunicationRefreshP99Nanos();
+
+  long getCommunicationRefreshMaxNanos();
+
+  /**
+   * Gets the number of tickets before filtering, as of the last refresh.
+   */
+  int getTicketsTotal();
+
+  /**
+   * Gets the number of tickets after filtering, as of the last refresh.
+   */
+  int getTicketsFiltered();
+
+  /**
+   * Gets the number of remote objects currently exported, including those
+   * pending unexport.
+   */
+  int getExportedObjectCount();
+
+  /**
+   * Gets the number of remote objects waiting to be unexported.
+   */
+  int getPendingUnexportCount();
+
+  /**
+   * Gets the number of times the buzzer was played.
+   */
+  long getBuzzerPlays();
+
+  /**
+   * Gets the number of times a table was found in a table cache of the task
+   * components, across all caches.
+   */
+  long getTableCacheHits();
+
+  /**
+   * Gets the number of times a table had to be created by a table cache of
+   * the task components, across all caches.
+   */
+  long getTableCacheMisses();
+
+  /**
+   * Gets the number of tables evicted from the table caches of the task
+   * components, across all caches.
+   */
+  long getTableCacheEvictions();
+
+  /**
+   * Gets the number of stalls of the Swing event dispatch thread.
+   */
+  long getEdtStallCount();
+
+  long getEdtLatencyP99Nanos();
+}
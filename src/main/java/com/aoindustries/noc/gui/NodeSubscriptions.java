@@ -0,0 +1,770 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.SingleResult;
+import com.aoindustries.noc.monitor.common.SingleResultListener;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResult;
+import com.aoindustries.noc.monitor.common.TableMultiResultListener;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResult;
+import com.aoindustries.noc.monitor.common.TableResultListener;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Reference-counted subscriptions to the results of nodes.  A single listener
+ * is exported and added per node, no matter how many views are displaying
+ * that node.  The listener is removed and unexported when the last view
+ * unsubscribes and the node has remained idle for {@link #IDLE_MILLIS}, so
+ * switching back and forth between nodes only subscribes locally.
+ *
+ * <p>Results are prepared for each subscriber outside the Swing event dispatch
+ * thread, then delivered to all subscribers together at most once per frame.
+ * Since all deliveries happen in the same event, the repaints requested by the
+ * subscribers are coalesced into a single paint.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class NodeSubscriptions {
+
+  private static final Logger logger = Logger.getLogger(NodeSubscriptions.class.getName());
+
+  /**
+   * The minimum time between deliveries to the subscribers.
+   */
+  private static final int FRAME_MILLIS = 1000 / 30;
+
+  /**
+   * The time a listener is kept after its last subscriber unsubscribes.
+   */
+  private static final int IDLE_MILLIS = 30 * 1000;
+
+  /**
+   * The maximum number of idle listeners kept.  The longest idle is released
+   * first.
+   */
+  private static final int MAX_IDLE_NODES = 64;
+
+  /**
+   * Receives the results of a node.
+   *
+   * @param  <R>  the type of result
+   * @param  <P>  the type of prepared result
+   */
+  interface Subscriber<R, P> {
+
+    /**
+     * Prepares a result for display, called outside the Swing event dispatch thread.
+     *
+     * @param  result  the result or {@code null} when the node has no result yet
+     */
+    P prepare(R result);
+
+    /**
+     * Updates the display, called on the Swing event dispatch thread.
+     */
+    void update(P prepared);
+  }
+
+  /**
+   * Creates a subscriber that requires no preparation.
+   */
+  static <R> Subscriber<R, R> direct(Consumer<? super R> update) {
+    return new Subscriber<>() {
+      @Override
+      public R prepare(R result) {
+        return result;
+      }
+
+      @Override
+      public void update(R prepared) {
+        update.accept(prepared);
+      }
+    };
+  }
+
+  /**
+   * A subscription that must be closed when no longer displayed.
+   */
+  interface Subscription {
+
+    /**
+     * Stops delivery to the subscriber.  No updates will be delivered once
+     * closed, even when already prepared.
+     */
+    void close();
+  }
+
+  /**
+   * The current results of a {@link TableMultiResultNode}, retrieved together
+   * on each change.
+   */
+  static final class TableMultiResults {
+
+    private final List<?> columnHeaders;
+    private final List<? extends TableMultiResult> results;
+
+    private TableMultiResults(List<?> columnHeaders, List<? extends TableMultiResult> results) {
+      this.columnHeaders = columnHeaders;
+      this.results = results;
+    }
+
+    List<?> getColumnHeaders() {
+      return columnHeaders;
+    }
+
+    List<? extends TableMultiResult> getResults() {
+      return results;
+    }
+  }
+
+  private final Noc noc;
+
+  private final Map<Node, Entry<?>> entries = new HashMap<>();
+
+  private final Object pendingLock = new Object();
+  private Map<State<?, ?>, Object> pending = new LinkedHashMap<>();
+  private boolean flushScheduled;
+
+  private final Timer frameTimer;
+
+  /**
+   * The entries without subscribers, in the order they became idle, with the
+   * time they became idle.  Only accessed on the Swing event dispatch thread.
+   */
+  private final Map<Entry<?>, Long> idle = new LinkedHashMap<>();
+
+  private final Timer idleTimer;
+
+  NodeSubscriptions(Noc noc) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.noc = noc;
+    frameTimer = new Timer(FRAME_MILLIS, e -> flush());
+    frameTimer.setRepeats(false);
+    idleTimer = new Timer(IDLE_MILLIS, e -> releaseExpired());
+    idleTimer.setRepeats(false);
+  }
+
+  Subscription subscribeSingleResult(SingleResultNode node, Subscriber<? super SingleResult, ?> subscriber) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return subscribe(node, subscriber, () -> new SingleResultEntry(node));
+  }
+
+  Subscription subscribeTableResult(TableResultNode node, Subscriber<? super TableResult, ?> subscriber) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return subscribe(node, subscriber, () -> new TableResultEntry(node));
+  }
+
+  Subscription subscribeTableMultiResult(TableMultiResultNode<?> node, Subscriber<? super TableMultiResults, ?> subscriber) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return subscribe(node, subscriber, () -> new TableMultiResultEntry(node));
+  }
+
+  /**
+   * Gets the number of nodes currently subscribed.
+   */
+  int getNodeCount() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * Gets the number of nodes with a listener kept without any subscribers.
+   */
+  int getIdleCount() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return idle.size();
+  }
+
+  /**
+   * Gets the total number of subscriptions, across all nodes.
+   */
+  int getSubscriptionCount() {
+    synchronized (entries) {
+      int count = 0;
+      for (Entry<?> entry : entries.values()) {
+        count += entry.states.size();
+      }
+      return count;
+    }
+  }
+
+  @FunctionalInterface
+  private interface EntryFactory<R> {
+    Entry<R> newEntry();
+  }
+
+  private <R> Subscription subscribe(Node node, Subscriber<? super R, ?> subscriber, EntryFactory<R> factory) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final Entry<R> entry;
+    final State<R, ?> state;
+    final boolean isNew;
+    final boolean isStale;
+    final boolean hasResult;
+    final R lastResult;
+    final long lastSequence;
+    synchronized (entries) {
+      Entry<?> existing = entries.get(node);
+      if (existing == null) {
+        entry = factory.newEntry();
+        entries.put(node, entry);
+        isNew = true;
+      } else {
+        @SuppressWarnings("unchecked")
+        Entry<R> existingEntry = (Entry<R>) existing;
+        entry = existingEntry;
+        isNew = false;
+      }
+      state = newState(entry, subscriber);
+      entry.states.add(state);
+      isStale = entry.stale;
+      entry.stale = false;
+      hasResult = entry.hasResult;
+      lastResult = entry.lastResult;
+      lastSequence = entry.lastSequence;
+    }
+    if (isNew) {
+      noc.rmiLifecycleExecutor.submit(entry::export);
+    } else if (idle.remove(entry) != null && isStale) {
+      // Changed while idle, fetch the current result for all subscribers
+      noc.systemsExecutor.submit(entry::refresh);
+    } else if (hasResult) {
+      // Deliver the last result to the new subscriber only, unless a newer result is offered first
+      state.pendingOffer = noc.systemsExecutor.submit(() -> state.offer(lastResult, lastSequence));
+    }
+    return state;
+  }
+
+  private static <R, P> State<R, P> newState(Entry<R> entry, Subscriber<? super R, P> subscriber) {
+    return new State<>(entry, subscriber);
+  }
+
+  /**
+   * Queues a prepared result for delivery, unless a newer result has already
+   * been queued for the subscriber.
+   */
+  private void enqueue(State<?, ?> state, Object prepared, long sequence) {
+    synchronized (pendingLock) {
+      if (sequence <= state.enqueuedSequence) {
+        return;
+      }
+      state.enqueuedSequence = sequence;
+      // Only the most recent result per subscriber is delivered
+      pending.remove(state);
+      pending.put(state, prepared);
+      if (!flushScheduled) {
+        flushScheduled = true;
+        SwingUtilities.invokeLater(frameTimer::restart);
+      }
+    }
+  }
+
+  /**
+   * Delivers all pending results in a single event.
+   */
+  private void flush() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Map<State<?, ?>, Object> toDeliver;
+    synchronized (pendingLock) {
+      toDeliver = pending;
+      pending = new LinkedHashMap<>();
+      flushScheduled = false;
+    }
+    for (Map.Entry<State<?, ?>, Object> entry : toDeliver.entrySet()) {
+      entry.getKey().deliver(entry.getValue());
+    }
+  }
+
+  private void close(State<?, ?> state) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final Entry<?> entry = state.entry;
+    boolean isLast;
+    synchronized (entries) {
+      isLast = entry.states.remove(state) && entry.states.isEmpty() && entries.get(entry.node) == entry;
+    }
+    synchronized (pendingLock) {
+      pending.remove(state);
+    }
+    if (isLast) {
+      // Keep the listener for a while, in case subscribed again soon
+      idle.put(entry, System.currentTimeMillis());
+      if (idle.size() > MAX_IDLE_NODES) {
+        Entry<?> eldest = idle.keySet().iterator().next();
+        idle.remove(eldest);
+        release(eldest);
+      }
+      if (!idleTimer.isRunning()) {
+        idleTimer.setInitialDelay(IDLE_MILLIS);
+        idleTimer.start();
+      }
+    }
+  }
+
+  /**
+   * Removes and unexports an entry, unless subscribed again.
+   */
+  private void release(Entry<?> entry) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    boolean doRelease;
+    synchronized (entries) {
+      doRelease = entry.states.isEmpty() && entries.get(entry.node) == entry;
+      if (doRelease) {
+        entries.remove(entry.node);
+      }
+    }
+    if (doRelease) {
+      noc.rmiLifecycleExecutor.submit(entry::unexport);
+    }
+  }
+
+  /**
+   * Releases the entries idle for at least {@link #IDLE_MILLIS}.
+   */
+  private void releaseExpired() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    long now = System.currentTimeMillis();
+    Iterator<Map.Entry<Entry<?>, Long>> iter = idle.entrySet().iterator();
+    while (iter.hasNext()) {
+      Map.Entry<Entry<?>, Long> idleEntry = iter.next();
+      long idleMillis = now - idleEntry.getValue();
+      if (idleMillis >= IDLE_MILLIS) {
+        iter.remove();
+        release(idleEntry.getKey());
+      } else {
+        // The rest became idle later
+        idleTimer.setInitialDelay((int) (IDLE_MILLIS - idleMillis));
+        idleTimer.start();
+        break;
+      }
+    }
+  }
+
+  /**
+   * Releases all idle entries now, such as on logout.
+   */
+  void releaseIdle() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    idleTimer.stop();
+    List<Entry<?>> toRelease = new ArrayList<>(idle.keySet());
+    idle.clear();
+    for (Entry<?> entry : toRelease) {
+      release(entry);
+    }
+  }
+
+  /**
+   * One subscriber to one node.
+   */
+  private static final class State<R, P> implements Subscription {
+
+    private final Entry<R> entry;
+    private final Subscriber<? super R, P> subscriber;
+    private volatile boolean closed;
+    /**
+     * The delivery of the last result to a new subscriber, canceled when closed first.
+     */
+    private volatile Future<?> pendingOffer;
+    /**
+     * The sequence of the newest result offered, to skip preparing older
+     * results.
+     */
+    private final AtomicLong offeredSequence = new AtomicLong();
+    /**
+     * The sequence of the newest result queued for delivery.  Guarded by
+     * {@link NodeSubscriptions#pendingLock}.
+     */
+    private long enqueuedSequence;
+
+    private State(Entry<R> entry, Subscriber<? super R, P> subscriber) {
+      this.entry = entry;
+      this.subscriber = subscriber;
+    }
+
+    /**
+     * Prepares and queues a result.  Results may be offered from different
+     * threads, so any result older than one already offered is dropped.
+     *
+     * @param  sequence  the order the result was received for the node
+     */
+    @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+    private void offer(R result, long sequence) {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+      if (!closed && offeredSequence.getAndAccumulate(sequence, Math::max) < sequence) {
+        try {
+          P prepared = subscriber.prepare(result);
+          entry.getSubscriptions().enqueue(this, prepared, sequence);
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.SEVERE, null, t);
+        }
+      }
+    }
+
+    @SuppressWarnings({"unchecked", "UseSpecificCatch", "TooBroadCatch"})
+    private void deliver(Object prepared) {
+      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+      if (!closed) {
+        try {
+          subscriber.update((P) prepared);
+        } catch (ThreadDeath td) {
+          throw td;
+        } catch (Throwable t) {
+          logger.log(Level.SEVERE, null, t);
+        }
+      }
+    }
+
+    @Override
+    public void close() {
+      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+      if (!closed) {
+        closed = true;
+        Future<?> offer = pendingOffer;
+        if (offer != null) {
+          pendingOffer = null;
+          offer.cancel(true);
+        }
+        entry.getSubscriptions().close(this);
+      }
+    }
+  }
+
+  /**
+   * The single exported listener for one node.
+   */
+  private abstract class Entry<R> {
+
+    private final Node node;
+    private final int port;
+    private final RMIClientSocketFactory csf;
+    private final RMIServerSocketFactory ssf;
+
+    /**
+     * Guarded by {@link NodeSubscriptions#entries}.
+     */
+    private final List<State<R, ?>> states = new ArrayList<>();
+
+    private final Object exportLock = new Object();
+    private boolean exported;
+    private boolean unexported;
+
+    /**
+     * The last result, with the order it was received.  Guarded by
+     * {@link NodeSubscriptions#entries}.
+     */
+    private boolean hasResult;
+    private R lastResult;
+    private long lastSequence;
+
+    /**
+     * Results received from the monitor, prepared for the subscribers outside
+     * the RMI threads, one result at a time per node.
+     */
+    final CallbackInbox.Slot<R> results = noc.callbacks.newSlot(noc.systemsExecutor, result -> resultUpdated(result, true));
+
+    /**
+     * Set when a change was not fetched because there were no subscribers.
+     * Guarded by {@link NodeSubscriptions#entries}.
+     */
+    private boolean stale;
+
+    Entry(Node node) {
+      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+      this.node = node;
+      this.port = noc.port;
+      this.csf = noc.csf;
+      this.ssf = noc.ssf;
+    }
+
+    private NodeSubscriptions getSubscriptions() {
+      return NodeSubscriptions.this;
+    }
+
+    abstract Remote getListener();
+
+    abstract void addListener() throws RemoteException;
+
+    abstract void removeListener() throws RemoteException;
+
+    abstract R getLastResult() throws RemoteException;
+
+    /**
+     * Sends a new result to all current subscribers.
+     *
+     * @param  callback  {@code true} when from a callback, {@code false} when fetched
+     */
+    void resultUpdated(R result, boolean callback) {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+      noc.recorder.recordResult(node, result, callback);
+      long sequence;
+      List<State<R, ?>> snapshot;
+      synchronized (entries) {
+        sequence = ++lastSequence;
+        lastResult = result;
+        hasResult = true;
+        snapshot = new ArrayList<>(states);
+      }
+      for (State<R, ?> state : snapshot) {
+        state.offer(result, sequence);
+      }
+    }
+
+    /**
+     * Marks as stale when there are no subscribers.
+     *
+     * @return  {@code true} when marked stale and the change should not be fetched
+     */
+    boolean markStaleIfIdle() {
+      synchronized (entries) {
+        if (states.isEmpty()) {
+          stale = true;
+          return true;
+        }
+        return false;
+      }
+    }
+
+    /**
+     * Fetches the current result after changes while idle.
+     */
+    private void refresh() {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+      try {
+        resultUpdated(getLastResult(), false);
+      } catch (RemoteException err) {
+        logger.log(Level.SEVERE, null, err);
+      }
+    }
+
+    private void export() {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+      try {
+        synchronized (exportLock) {
+          if (unexported) {
+            return;
+          }
+          resultUpdated(getLastResult(), false);
+          noc.unexports.exportObject(getListener(), port, csf, ssf);
+          exported = true;
+          addListener();
+        }
+      } catch (RemoteException err) {
+        logger.log(Level.SEVERE, null, err);
+      }
+    }
+
+    private void unexport() {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+      synchronized (exportLock) {
+        unexported = true;
+        if (exported) {
+          try {
+            removeListener();
+          } catch (RemoteException err) {
+            logger.log(Level.WARNING, null, err);
+          }
+          exported = false;
+          noc.unexports.unexportObject(getListener());
+        }
+      }
+    }
+  }
+
+  private class SingleResultEntry extends Entry<SingleResult> {
+
+    private final SingleResultNode singleResultNode;
+
+    private final SingleResultListener listener = singleResult -> {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+      results.offer(singleResult);
+    };
+
+    SingleResultEntry(SingleResultNode singleResultNode) {
+      super(singleResultNode);
+      this.singleResultNode = singleResultNode;
+    }
+
+    @Override
+    Remote getListener() {
+      return listener;
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      singleResultNode.addSingleResultListener(listener);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      singleResultNode.removeSingleResultListener(listener);
+    }
+
+    @Override
+    SingleResult getLastResult() throws RemoteException {
+      return singleResultNode.getLastResult();
+    }
+  }
+
+  private class TableResultEntry extends Entry<TableResult> {
+
+    private final TableResultNode tableResultNode;
+
+    private final TableResultListener listener = tableResult -> {
+      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+      results.offer(tableResult);
+    };
+
+    TableResultEntry(TableResultNode tableResultNode) {
+      super(tableResultNode);
+      this.tableResultNode = tableResultNode;
+    }
+
+    @Override
+    Remote getListener() {
+      return listener;
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      tableResultNode.addTableResultListener(listener);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      tableResultNode.removeTableResultListener(listener);
+    }
+
+    @Override
+    TableResult getLastResult() throws RemoteException {
+      return tableResultNode.getLastResult();
+    }
+  }
+
+  private class TableMultiResultEntry extends Entry<TableMultiResults> {
+
+    private final TableMultiResultNode<?> tableMultiResultNode;
+
+    /**
+     * Coalesces changes, since each change fetches all results.  Fetched
+     * outside the callback worker, so a slow node does not delay any other.
+     */
+    private final CallbackInbox.Slot<Boolean> changes = noc.callbacks.newSlot(noc.systemsExecutor, changed -> resultsChanged());
+
+    private final TableMultiResultListener<TableMultiResult> listener = new TableMultiResultListener<>() {
+      @Override
+      public void tableMultiResultAdded(TableMultiResult tableMultiResult) {
+        assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+        changes.offer(Boolean.TRUE);
+      }
+
+      @Override
+      public void tableMultiResultRemoved(TableMultiResult tableMultiResult) {
+        assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+        changes.offer(Boolean.TRUE);
+      }
+    };
+
+    /**
+     * Fetches the results when subscribed, otherwise waits until subscribed again.
+     */
+    private void resultsChanged() {
+      if (!markStaleIfIdle()) {
+        try {
+          // Fetched because of a callback
+          resultUpdated(getLastResult(), true);
+        } catch (RemoteException err) {
+          logger.log(Level.SEVERE, null, err);
+        }
+      }
+    }
+
+    TableMultiResultEntry(TableMultiResultNode<?> tableMultiResultNode) {
+      super(tableMultiResultNode);
+      this.tableMultiResultNode = tableMultiResultNode;
+    }
+
+    @Override
+    Remote getListener() {
+      return listener;
+    }
+
+    @Override
+    void addListener() throws RemoteException {
+      tableMultiResultNode.addTableMultiResultListener(listener);
+    }
+
+    @Override
+    void removeListener() throws RemoteException {
+      tableMultiResultNode.removeTableMultiResultListener(listener);
+    }
+
+    @Override
+    TableMultiResults getLastResult() throws RemoteException {
+      return new TableMultiResults(
+          tableMultiResultNode.getColumnHeaders(),
+          tableMultiResultNode.getResults()
+      );
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Maps lists in parallel on a {@link ForkJoinPool}, split into chunks.  The
+ * results are in the same order as the input.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class ParallelChunks {
+
+  /** Make no instances. */
+  private ParallelChunks() {
+    throw new AssertionError();
+  }
+
+  /**
+   * Lists no larger than this are mapped in the calling thread, and larger
+   * lists are split until no larger than this.
+   */
+  static final int CHUNK_SIZE = 1024;
+
+  /**
+   * Maps one item, possibly querying the master server.
+   */
+  @FunctionalInterface
+  interface Mapper<T, R> {
+    R map(T item) throws IOException, SQLException;
+  }
+
+  /**
+   * Creates a pool for parallel mapping.
+   *
+   * @param  name  the name of the subsystem, used in thread names
+   *
+   * @return  the pool or {@code null} when parallelism is one or less
+   */
+  static ForkJoinPool newPool(String name, int parallelism) {
+    if (parallelism <= 1) {
+      return null;
+    }
+    return new ForkJoinPool(
+        parallelism,
+        pool -> {
+          ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("noc-gui-" + name + "-" + thread.getPoolIndex());
+          return thread;
+        },
+        null,
+        false
+    );
+  }
+
+  /**
+   * Carries checked exceptions out of the pool.
+   */
+  private static class MapperException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private MapperException(Exception cause) {
+      super(cause);
+    }
+  }
+
+  private static class MapTask<T, R> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<? extends T> items;
+    private final Mapper<? super T, ? extends R> mapper;
+    private final Object[] results;
+    private final int from;
+    private final int to;
+
+    private MapTask(List<? extends T> items, Mapper<? super T, ? extends R> mapper, Object[] results, int from, int to) {
+      this.items = items;
+      this.mapper = mapper;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if ((to - from) <= CHUNK_SIZE) {
+        try {
+          for (int i = from; i < to; i++) {
+            results[i] = mapper.map(items.get(i));
+          }
+        } catch (IOException | SQLException e) {
+          throw new MapperException(e);
+        }
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new MapTask<>(items, mapper, results, from, middle),
+            new MapTask<>(items, mapper, results, middle, to)
+        );
+      }
+    }
+  }
+
+  /**
+   * Maps each item, in parallel when a pool is given and there is more than
+   * one chunk.
+   *
+   * @param  pool  the pool or {@code null} to map in the calling thread
+   *
+   * @return  the results, in the same order as the items
+   */
+  @SuppressWarnings("unchecked")
+  static <T, R> List<R> map(ForkJoinPool pool, List<? extends T> items, Mapper<? super T, ? extends R> mapper) throws IOException, SQLException {
+    int size = items.size();
+    if (pool == null || size <= CHUNK_SIZE) {
+      List<R> results = new ArrayList<>(size);
+      for (T item : items) {
+        results.add(mapper.map(item));
+      }
+      return Collections.unmodifiableList(results);
+    }
+    Object[] results = new Object[size];
+    try {
+      pool.invoke(new MapTask<>(items, mapper, results, 0, size));
+    } catch (MapperException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw (SQLException) cause;
+    }
+    return (List<R>) Collections.unmodifiableList(Arrays.asList(results));
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2007-2013, 2016, 2017, 2018, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2007-2013, 2016, 2017, 2018, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -77,6 +77,7 @@ public class Preferences {
   private String serverPort;
   private String external;
   private String localPort;
+  private boolean compression;
   private User.Name username;
 
   private AlertLevel systemsAlertLevel;
@@ -143,6 +144,7 @@ public class Preferences {
     serverPort = prefs.get("Preferences.serverPort", Integer.toString(Monitor.DEFAULT_RMI_SERVER_PORT));
     external = prefs.get("Preferences." + hostname + ".external", "");
     localPort = prefs.get("Preferences." + hostname + ".localPort", Integer.toString(Monitor.DEFAULT_RMI_CLIENT_PORT));
+    compression = prefs.getBoolean("Preferences.compression", false);
     try {
       username = User.Name.valueOf(prefs.get("Preferences.username", System.getProperty("user.name", null)));
     } catch (SecurityException | ValidationException err) {
@@ -400,6 +402,25 @@ public class Preferences {
     prefs.put("Preferences." + getLocalHostname() + ".localPort", localPort);
   }
 
+  /**
+   * Retrieves compression of {@link LoginDialog}.
+   */
+  public boolean getCompression() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return compression;
+  }
+
+  /**
+   * Stores compression of {@link LoginDialog}.
+   */
+  public void setCompression(boolean compression) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    this.compression = compression;
+    prefs.putBoolean("Preferences.compression", compression);
+  }
+
   /**
    * Retrieves username of {@link LoginDialog}.
    */
@@ -0,0 +1,72 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+
+/**
+ * Compresses the traffic of sockets created by another factory, such as TCP
+ * or SSL.  Since client socket factories are sent along with exported
+ * objects, this class must be available to the peer that connects back.
+ *
+ * @see  CompressedSocket
+ * @see  RMIServerSocketFactoryCompressed
+ *
+ * @author  AO Industries, Inc.
+ */
+class RMIClientSocketFactoryCompressed implements RMIClientSocketFactory, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final RMIClientSocketFactory wrapped;
+
+  RMIClientSocketFactoryCompressed(RMIClientSocketFactory wrapped) {
+    this.wrapped = wrapped;
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    return CompressedSocket.connect(wrapped.createSocket(host, port));
+  }
+
+  /**
+   * RMI reuses connections for equal factories.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    return
+        obj != null
+            && obj.getClass() == RMIClientSocketFactoryCompressed.class
+            && wrapped.equals(((RMIClientSocketFactoryCompressed) obj).wrapped);
+  }
+
+  @Override
+  public int hashCode() {
+    return wrapped.hashCode() * 31 + 1;
+  }
+}
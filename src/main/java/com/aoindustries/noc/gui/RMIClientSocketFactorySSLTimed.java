@@ -0,0 +1,134 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.Socket;
+import java.rmi.server.RMIClientSocketFactory;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Creates SSL sockets from the default {@link SSLContext}, doing the handshake
+ * eagerly so it can be timed and counted.
+ *
+ * <p>The default context is configured by the same {@code javax.net.ssl.*}
+ * system properties as {@link com.aoapps.hodgepodge.rmi.RMIClientSocketFactorySSL}.
+ * Since client socket factories are sent along with exported objects, and
+ * the monitor server does not have this class, it is only used to look up
+ * the monitor.  The sockets to the monitor objects are opened by the factory
+ * the monitor sends with them, and the sockets for callbacks are opened by the
+ * monitor, so neither can be measured here.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class RMIClientSocketFactorySSLTimed implements RMIClientSocketFactory, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final LongAdder handshakes = new LongAdder();
+  private static final LongAdder failedHandshakes = new LongAdder();
+  private static final LatencyHistogram handshakeTimes = new LatencyHistogram();
+
+  /**
+   * Looked-up when first needed, since this class is also loaded by peers
+   * that only deserialize it.
+   */
+  private static SSLSocketFactory socketFactory;
+
+  private static synchronized SSLSocketFactory getSocketFactory() throws IOException {
+    if (socketFactory == null) {
+      try {
+        socketFactory = SSLContext.getDefault().getSocketFactory();
+      } catch (NoSuchAlgorithmException e) {
+        throw new IOException(e);
+      }
+    }
+    return socketFactory;
+  }
+
+  RMIClientSocketFactorySSLTimed() {
+    // Nothing to do
+  }
+
+  @Override
+  public Socket createSocket(String host, int port) throws IOException {
+    SSLSocket socket = (SSLSocket) getSocketFactory().createSocket(host, port);
+    boolean success = false;
+    try {
+      long startNanos = System.nanoTime();
+      socket.startHandshake();
+      handshakeTimes.record(System.nanoTime() - startNanos);
+      handshakes.increment();
+      success = true;
+      return socket;
+    } finally {
+      if (!success) {
+        failedHandshakes.increment();
+        socket.close();
+      }
+    }
+  }
+
+  /**
+   * RMI reuses connections for equal factories.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    return obj != null && obj.getClass() == RMIClientSocketFactorySSLTimed.class;
+  }
+
+  @Override
+  public int hashCode() {
+    return RMIClientSocketFactorySSLTimed.class.getName().hashCode();
+  }
+
+  /**
+   * Gets the number of handshakes completed.
+   */
+  static long getHandshakeCount() {
+    return handshakes.sum();
+  }
+
+  /**
+   * Gets the number of handshakes that failed.
+   */
+  static long getFailedHandshakeCount() {
+    return failedHandshakes.sum();
+  }
+
+  /**
+   * Gets the statistics for all sockets created by this factory.
+   */
+  static String getStatistics() {
+    return "ssl: handshakes = " + getHandshakeCount()
+        + ", failedHandshakes = " + getFailedHandshakeCount()
+        + ", handshakeTimes: (" + handshakeTimes + ')';
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.rmi.server.RMIServerSocketFactory;
+
+/**
+ * Accepts compressed connections, and plain connections, on server sockets
+ * created by another factory, such as TCP or SSL.
+ *
+ * @see  CompressedSocket
+ * @see  RMIClientSocketFactoryCompressed
+ *
+ * @author  AO Industries, Inc.
+ */
+class RMIServerSocketFactoryCompressed implements RMIServerSocketFactory, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final RMIServerSocketFactory wrapped;
+
+  RMIServerSocketFactoryCompressed(RMIServerSocketFactory wrapped) {
+    this.wrapped = wrapped;
+  }
+
+  @Override
+  public ServerSocket createServerSocket(int port) throws IOException {
+    return new CompressedServerSocket(wrapped.createServerSocket(port));
+  }
+
+  /**
+   * RMI shares server sockets between equal factories.
+   */
+  @Override
+  public boolean equals(Object obj) {
+    return
+        obj != null
+            && obj.getClass() == RMIServerSocketFactoryCompressed.class
+            && wrapped.equals(((RMIServerSocketFactoryCompressed) obj).wrapped);
+  }
+
+  @Override
+  public int hashCode() {
+    return wrapped.hashCode() * 31 + 2;
+  }
+
+  private static class CompressedServerSocket extends ServerSocket {
+
+    private final ServerSocket serverSocket;
+
+    private CompressedServerSocket(ServerSocket serverSocket) throws IOException {
+      this.serverSocket = serverSocket;
+    }
+
+    @Override
+    public Socket accept() throws IOException {
+      return CompressedSocket.accept(serverSocket.accept());
+    }
+
+    @Override
+    public void bind(SocketAddress endpoint, int backlog) throws IOException {
+      serverSocket.bind(endpoint, backlog);
+    }
+
+    @Override
+    public InetAddress getInetAddress() {
+      return serverSocket.getInetAddress();
+    }
+
+    @Override
+    public int getLocalPort() {
+      return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public SocketAddress getLocalSocketAddress() {
+      return serverSocket.getLocalSocketAddress();
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+    }
+
+    @Override
+    public boolean isBound() {
+      return serverSocket.isBound();
+    }
+
+    @Override
+    public boolean isClosed() {
+      return serverSocket.isClosed();
+    }
+
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException {
+      serverSocket.setSoTimeout(timeout);
+    }
+
+    @Override
+    public int getSoTimeout() throws IOException {
+      return serverSocket.getSoTimeout();
+    }
+
+    @Override
+    public void setReceiveBufferSize(int size) throws SocketException {
+      serverSocket.setReceiveBufferSize(size);
+    }
+
+    @Override
+    public int getReceiveBufferSize() throws SocketException {
+      return serverSocket.getReceiveBufferSize();
+    }
+
+    @Override
+    public void setReuseAddress(boolean on) throws SocketException {
+      serverSocket.setReuseAddress(on);
+    }
+
+    @Override
+    public boolean getReuseAddress() throws SocketException {
+      return serverSocket.getReuseAddress();
+    }
+
+    @Override
+    public String toString() {
+      return "CompressedServerSocket(" + serverSocket + ")";
+    }
+  }
+}
@@ -0,0 +1,835 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.aoserv.client.account.User;
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertChange;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Monitor;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import com.aoindustries.noc.monitor.common.RootNode;
+import com.aoindustries.noc.monitor.common.SingleResult;
+import com.aoindustries.noc.monitor.common.SingleResultListener;
+import com.aoindustries.noc.monitor.common.SingleResultNode;
+import com.aoindustries.noc.monitor.common.TableMultiResult;
+import com.aoindustries.noc.monitor.common.TableMultiResultListener;
+import com.aoindustries.noc.monitor.common.TableMultiResultNode;
+import com.aoindustries.noc.monitor.common.TableResult;
+import com.aoindustries.noc.monitor.common.TableResultListener;
+import com.aoindustries.noc.monitor.common.TableResultNode;
+import com.aoindustries.noc.monitor.common.TreeListener;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.RemoteObject;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A synthetic monitor, run in-process, for load testing the GUI without a
+ * real monitor or AOServ.  It is selected by logging in to the server
+ * {@link #SERVER}, with any username and password.
+ *
+ * <p>The tree is generated from a {@link Config}, with leaves of all three
+ * result node types.  A single timer thread then produces results at a steady
+ * rate, flaps some leaves between {@link AlertLevel#NONE} and
+ * {@link AlertLevel#HIGH}, and raises periodic storms of
+ * {@link AlertLevel#CRITICAL} alerts.  All nodes are exported and looked-up
+ * through a registry on loopback, so the GUI talks to the simulator through
+ * real RMI calls and callbacks, the same as a remote monitor.</p>
+ *
+ * <p>There is only one simulator per JVM, started on the first login and kept
+ * for the following logins.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class Simulator {
+
+  private static final Logger logger = Logger.getLogger(Simulator.class.getName());
+
+  /**
+   * The server name that selects the simulator in the login dialog.
+   */
+  static final String SERVER = "simulator";
+
+  /**
+   * The system property with the path of a properties file overriding the
+   * defaults of {@link Config}.
+   */
+  static final String CONFIG_PROPERTY = "com.aoindustries.noc.gui.simulator.config";
+
+  private static final String REGISTRY_NAME = Monitor.class.getName();
+
+  /**
+   * The time between ticks of the timer thread.
+   */
+  private static final long TICK_MILLIS = 100;
+
+  /**
+   * The number of results kept by each table multi-result node.
+   */
+  private static final int MAX_MULTI_RESULTS = 100;
+
+  /**
+   * The seed for the tree shape and node types, so runs are comparable.
+   */
+  private static final long SEED = 1;
+
+  /**
+   * The settings of the simulator.  Each field is set from a property of the
+   * same name, when present.
+   */
+  static final class Config {
+
+    /**
+     * The number of levels of branches below the root.
+     */
+    int depth = 3;
+
+    /**
+     * The number of children of each branch.
+     */
+    int fanout = 10;
+
+    /**
+     * The number of leaves of each branch on the lowest level.
+     */
+    int leaves = 10;
+
+    /**
+     * The fraction of leaves that are table result nodes.
+     */
+    double tableFraction = 0.2;
+
+    /**
+     * The fraction of leaves that are table multi-result nodes.  The rest are
+     * single result nodes.
+     */
+    double multiFraction = 0.2;
+
+    /**
+     * The number of rows in each table result.
+     */
+    int tableRows = 20;
+
+    /**
+     * The time between results of each leaf.
+     */
+    long resultIntervalMillis = 10000;
+
+    /**
+     * The fraction of leaves that flap.
+     */
+    double flappingFraction = 0.001;
+
+    /**
+     * The time between changes of flapping leaves.
+     */
+    long flapIntervalMillis = 2000;
+
+    /**
+     * The time between the starts of alert storms, or {@code 0} for none.
+     */
+    long stormIntervalMillis = 60000;
+
+    /**
+     * The number of leaves raised to critical by each storm.
+     */
+    int stormSize = 500;
+
+    /**
+     * The time each storm lasts.
+     */
+    long stormDurationMillis = 10000;
+
+    /**
+     * Loads the configuration from the file named by {@link #CONFIG_PROPERTY}, if set.
+     */
+    static Config load() throws IOException {
+      Config config = new Config();
+      String path = System.getProperty(CONFIG_PROPERTY);
+      if (path != null) {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+          props.load(in);
+        }
+        config.depth = getInt(props, "depth", config.depth);
+        config.fanout = getInt(props, "fanout", config.fanout);
+        config.leaves = getInt(props, "leaves", config.leaves);
+        config.tableFraction = getDouble(props, "tableFraction", config.tableFraction);
+        config.multiFraction = getDouble(props, "multiFraction", config.multiFraction);
+        config.tableRows = getInt(props, "tableRows", config.tableRows);
+        config.resultIntervalMillis = getLong(props, "resultIntervalMillis", config.resultIntervalMillis);
+        config.flappingFraction = getDouble(props, "flappingFraction", config.flappingFraction);
+        config.flapIntervalMillis = getLong(props, "flapIntervalMillis", config.flapIntervalMillis);
+        config.stormIntervalMillis = getLong(props, "stormIntervalMillis", config.stormIntervalMillis);
+        config.stormSize = getInt(props, "stormSize", config.stormSize);
+        config.stormDurationMillis = getLong(props, "stormDurationMillis", config.stormDurationMillis);
+      }
+      return config;
+    }
+
+    private static int getInt(Properties props, String name, int defaultValue) {
+      String value = props.getProperty(name);
+      return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long getLong(Properties props, String name, long defaultValue) {
+      String value = props.getProperty(name);
+      return value == null ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    private static double getDouble(Properties props, String name, double defaultValue) {
+      String value = props.getProperty(name);
+      return value == null ? defaultValue : Double.parseDouble(value.trim());
+    }
+
+    @Override
+    public String toString() {
+      return "depth = " + depth
+          + ", fanout = " + fanout
+          + ", leaves = " + leaves
+          + ", tableFraction = " + tableFraction
+          + ", multiFraction = " + multiFraction
+          + ", tableRows = " + tableRows
+          + ", resultIntervalMillis = " + resultIntervalMillis
+          + ", flappingFraction = " + flappingFraction
+          + ", flapIntervalMillis = " + flapIntervalMillis
+          + ", stormIntervalMillis = " + stormIntervalMillis
+          + ", stormSize = " + stormSize
+          + ", stormDurationMillis = " + stormDurationMillis;
+    }
+  }
+
+  private static Simulator running;
+
+  /**
+   * Starts the simulator, if not already running, and looks-up its monitor
+   * through the registry.
+   */
+  static synchronized Monitor start(RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws IOException, NotBoundException {
+    if (running == null) {
+      Config config = Config.load();
+      logger.log(Level.INFO, "Starting simulator: {0}", config);
+      running = new Simulator(config, csf, ssf);
+    }
+    return (Monitor) running.registryStub.lookup(REGISTRY_NAME);
+  }
+
+  /**
+   * Stops the simulator, if running, unexporting its registry, monitor, and
+   * nodes.
+   */
+  static synchronized void stopRunning() {
+    if (running != null) {
+      running.stop();
+      running = null;
+    }
+  }
+
+  private final Config config;
+  private final RMIClientSocketFactory csf;
+  private final RMIServerSocketFactory ssf;
+  private final Monitor monitor;
+  private final Registry registry;
+  private final Registry registryStub;
+  private final SimulatedRoot root;
+  private final List<SimulatedLeaf> leaves = new ArrayList<>();
+  private final List<SimulatedLeaf> flappingLeaves = new ArrayList<>();
+  private final ScheduledThreadPoolExecutor timer;
+
+  // All below are only accessed by the timer thread
+  private int resultCursor;
+  private double resultsOwed;
+  private long nextFlap;
+  private long nextStorm;
+  private long stormEnd;
+  private final List<SimulatedLeaf> stormLeaves = new ArrayList<>();
+
+  private Simulator(Config config, RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws RemoteException {
+    this.config = config;
+    this.csf = csf;
+    this.ssf = ssf;
+    Random random = new Random(SEED);
+    root = new SimulatedRoot();
+    build(root, 0, random);
+    for (SimulatedLeaf leaf : leaves) {
+      if (random.nextDouble() < config.flappingFraction) {
+        flappingLeaves.add(leaf);
+      }
+    }
+    export(root);
+    monitor = (Locale locale, User.Name username, String password) -> root;
+    UnicastRemoteObject.exportObject(monitor, 0, csf, ssf);
+    registry = LocateRegistry.createRegistry(0, csf, ssf);
+    registry.rebind(REGISTRY_NAME, monitor);
+    // Calls through the stub go over loopback, the same as a remote registry
+    registryStub = (Registry) RemoteObject.toStub(registry);
+
+    long now = System.currentTimeMillis();
+    nextFlap = now + config.flapIntervalMillis;
+    nextStorm = config.stormIntervalMillis == 0 ? Long.MAX_VALUE : (now + config.stormIntervalMillis);
+    stormEnd = Long.MAX_VALUE;
+    timer = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "noc-gui-simulator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    timer.scheduleWithFixedDelay(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    logger.log(Level.INFO, "Simulator started: leaves = {0}, flapping = {1}", new Object[]{leaves.size(), flappingLeaves.size()});
+  }
+
+  private void build(SimulatedBranch branch, int level, Random random) {
+    if (level < config.depth) {
+      for (int i = 1; i <= config.fanout; i++) {
+        SimulatedBranch child = new SimulatedBranch(branch, "Group " + (level + 1) + '.' + i);
+        branch.children.add(child);
+        build(child, level + 1, random);
+      }
+    } else {
+      for (int i = 1; i <= config.leaves; i++) {
+        double type = random.nextDouble();
+        SimulatedLeaf leaf;
+        if (type < config.tableFraction) {
+          leaf = new SimulatedTableNode(branch, "Table " + i);
+        } else if (type < config.tableFraction + config.multiFraction) {
+          leaf = new SimulatedMultiNode(branch, "History " + i);
+        } else {
+          leaf = new SimulatedSingleNode(branch, "Check " + i);
+        }
+        branch.children.add(leaf);
+        leaves.add(leaf);
+      }
+    }
+  }
+
+  private void export(SimulatedNode node) throws RemoteException {
+    UnicastRemoteObject.exportObject(node, 0, csf, ssf);
+    if (node instanceof SimulatedBranch) {
+      for (SimulatedNode child : ((SimulatedBranch) node).children) {
+        export(child);
+      }
+    }
+  }
+
+  private void stop() {
+    timer.shutdownNow();
+    unexport(registry);
+    unexport(monitor);
+    unexport(root);
+    logger.info("Simulator stopped");
+  }
+
+  private static void unexport(Remote obj) {
+    try {
+      UnicastRemoteObject.unexportObject(obj, true);
+    } catch (NoSuchObjectException e) {
+      logger.log(Level.FINE, null, e);
+    }
+    if (obj instanceof SimulatedBranch) {
+      for (SimulatedNode child : ((SimulatedBranch) obj).children) {
+        unexport(child);
+      }
+    }
+  }
+
+  /**
+   * Delivers to a remote listener.
+   */
+  @FunctionalInterface
+  interface Delivery<L extends Remote> {
+    void deliver(L listener) throws RemoteException;
+  }
+
+  /**
+   * Delivers to each remote listener, removing any that fail.  Also used by
+   * {@link CallbackReplay}.
+   */
+  static <L extends Remote> void deliver(List<L> listeners, Delivery<L> delivery) {
+    for (L listener : listeners) {
+      try {
+        delivery.deliver(listener);
+      } catch (RemoteException e) {
+        logger.log(Level.FINE, "Removing failed listener", e);
+        listeners.remove(listener);
+      }
+    }
+  }
+
+  @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
+  private void tick() {
+    try {
+      long now = System.currentTimeMillis();
+      List<AlertChange> changes = new ArrayList<>();
+
+      // Flapping
+      if (now >= nextFlap) {
+        nextFlap = now + config.flapIntervalMillis;
+        for (SimulatedLeaf leaf : flappingLeaves) {
+          if (leaf.alertLevel == AlertLevel.NONE) {
+            setAlertLevel(leaf, AlertLevel.HIGH, "Flapping", changes);
+          } else if (leaf.alertLevel == AlertLevel.HIGH) {
+            setAlertLevel(leaf, AlertLevel.NONE, null, changes);
+          }
+        }
+      }
+
+      // Storms
+      if (now >= stormEnd) {
+        stormEnd = Long.MAX_VALUE;
+        for (SimulatedLeaf leaf : stormLeaves) {
+          setAlertLevel(leaf, AlertLevel.NONE, null, changes);
+        }
+        stormLeaves.clear();
+      }
+      if (now >= nextStorm) {
+        nextStorm = now + config.stormIntervalMillis;
+        stormEnd = now + config.stormDurationMillis;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < config.stormSize && !leaves.isEmpty(); i++) {
+          SimulatedLeaf leaf = leaves.get(random.nextInt(leaves.size()));
+          if (leaf.alertLevel == AlertLevel.NONE) {
+            setAlertLevel(leaf, AlertLevel.CRITICAL, "Storm", changes);
+            stormLeaves.add(leaf);
+          }
+        }
+      }
+
+      // Results, spread evenly over the interval
+      resultsOwed += (double) leaves.size() * TICK_MILLIS / config.resultIntervalMillis;
+      int count = Math.min((int) resultsOwed, leaves.size());
+      resultsOwed -= count;
+      for (int i = 0; i < count; i++) {
+        SimulatedLeaf leaf = leaves.get(resultCursor);
+        resultCursor = (resultCursor + 1) % leaves.size();
+        leaf.newResult(now);
+      }
+
+      if (!changes.isEmpty()) {
+        deliver(root.treeListeners, listener -> listener.nodeAlertChanged(changes));
+      }
+    } catch (ThreadDeath td) {
+      throw td;
+    } catch (Throwable t) {
+      // Keep the simulator running
+      logger.log(Level.SEVERE, null, t);
+    }
+  }
+
+  /**
+   * Changes the alert level of a leaf, updating its ancestors and producing
+   * a result with the new level.
+   */
+  private static void setAlertLevel(SimulatedLeaf leaf, AlertLevel newAlertLevel, String alertMessage, List<AlertChange> changes) {
+    AlertLevel oldAlertLevel = leaf.alertLevel;
+    if (newAlertLevel != oldAlertLevel) {
+      leaf.alertMessage = alertMessage;
+      leaf.alertLevel = newAlertLevel;
+      changes.add(
+          new AlertChange(
+              leaf,
+              leaf.fullPath,
+              oldAlertLevel,
+              newAlertLevel,
+              alertMessage,
+              AlertCategory.MONITORING,
+              AlertCategory.MONITORING
+          )
+      );
+      for (SimulatedBranch branch = leaf.parent; branch != null; branch = branch.parent) {
+        if (!branch.updateAlertLevel()) {
+          break;
+        }
+      }
+      leaf.newResult(System.currentTimeMillis());
+    }
+  }
+
+  private static long randomLatency() {
+    return TimeUnit.MILLISECONDS.toNanos(1 + ThreadLocalRandom.current().nextInt(50));
+  }
+
+  private abstract static class SimulatedNode implements Node {
+
+    final SimulatedBranch parent;
+    private final String label;
+    final String fullPath;
+    private final UUID uuid = UUID.randomUUID();
+    volatile AlertLevel alertLevel = AlertLevel.NONE;
+    volatile String alertMessage;
+
+    private SimulatedNode(SimulatedBranch parent, String label) {
+      this.parent = parent;
+      this.label = label;
+      this.fullPath = parent == null ? label : (parent.fullPath + " / " + label);
+    }
+
+    @Override
+    public Node getParent() {
+      return parent;
+    }
+
+    @Override
+    public AlertLevel getAlertLevel() {
+      return alertLevel;
+    }
+
+    @Override
+    public String getAlertMessage() {
+      return alertMessage;
+    }
+
+    @Override
+    public AlertCategory getAlertCategory() {
+      return AlertCategory.MONITORING;
+    }
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+
+    @Override
+    public UUID getUuid() {
+      return uuid;
+    }
+  }
+
+  private static class SimulatedBranch extends SimulatedNode {
+
+    /**
+     * Not modified once built.
+     */
+    final List<SimulatedNode> children = new ArrayList<>();
+
+    private SimulatedBranch(SimulatedBranch parent, String label) {
+      super(parent, label);
+    }
+
+    @Override
+    public List<? extends Node> getChildren() {
+      return Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return true;
+    }
+
+    /**
+     * Sets the alert level to the highest of the children.
+     *
+     * @return  {@code true} when changed
+     */
+    boolean updateAlertLevel() {
+      AlertLevel highest = AlertLevel.NONE;
+      for (SimulatedNode child : children) {
+        AlertLevel childLevel = child.alertLevel;
+        if (childLevel.compareTo(highest) > 0) {
+          highest = childLevel;
+        }
+      }
+      if (highest != alertLevel) {
+        alertLevel = highest;
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static final class SimulatedRoot extends SimulatedBranch implements RootNode {
+
+    final List<TreeListener> treeListeners = new CopyOnWriteArrayList<>();
+
+    private SimulatedRoot() {
+      super(null, "Simulator");
+    }
+
+    @Override
+    public void addTreeListener(TreeListener treeListener) {
+      treeListeners.add(treeListener);
+    }
+
+    @Override
+    public void removeTreeListener(TreeListener treeListener) {
+      treeListeners.remove(treeListener);
+    }
+
+    @Override
+    public NodeSnapshot getSnapshot() throws RemoteException {
+      return new NodeSnapshot(null, this);
+    }
+  }
+
+  private abstract static class SimulatedLeaf extends SimulatedNode {
+
+    private SimulatedLeaf(SimulatedBranch parent, String label) {
+      super(parent, label);
+    }
+
+    @Override
+    public List<? extends Node> getChildren() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return false;
+    }
+
+    /**
+     * Produces a new result at the current alert level and sends it to all listeners.
+     */
+    abstract void newResult(long time);
+  }
+
+  private static final class SimulatedSingleNode extends SimulatedLeaf implements SingleResultNode {
+
+    private final List<SingleResultListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile SingleResult lastResult;
+
+    private SimulatedSingleNode(SimulatedBranch parent, String label) {
+      super(parent, label);
+    }
+
+    @Override
+    void newResult(long time) {
+      AlertLevel level = alertLevel;
+      SingleResult result = new SingleResult(
+          time,
+          randomLatency(),
+          level,
+          null,
+          "Simulated report\nAlert level: " + level + "\nTime: " + time
+      );
+      lastResult = result;
+      deliver(listeners, listener -> listener.singleResultUpdated(result));
+    }
+
+    @Override
+    public void addSingleResultListener(SingleResultListener listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeSingleResultListener(SingleResultListener listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public SingleResult getLastResult() {
+      return lastResult;
+    }
+  }
+
+  private static final List<String> TABLE_HEADERS = Collections.unmodifiableList(Arrays.asList("Name", "Value", "Status"));
+
+  private final class SimulatedTableNode extends SimulatedLeaf implements TableResultNode {
+
+    private final List<TableResultListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile TableResult lastResult;
+
+    private SimulatedTableNode(SimulatedBranch parent, String label) {
+      super(parent, label);
+    }
+
+    @Override
+    void newResult(long time) {
+      AlertLevel level = alertLevel;
+      int rows = config.tableRows;
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      List<Object> data = new ArrayList<>(rows * TABLE_HEADERS.size());
+      List<AlertLevel> alertLevels = new ArrayList<>(rows);
+      for (int row = 0; row < rows; row++) {
+        AlertLevel rowLevel = row == 0 ? level : AlertLevel.NONE;
+        data.add("Row " + (row + 1));
+        data.add(random.nextInt(1000));
+        data.add(rowLevel.name());
+        alertLevels.add(rowLevel);
+      }
+      TableResult result = new TableResult(
+          time,
+          randomLatency(),
+          false,
+          TABLE_HEADERS.size(),
+          rows,
+          (Function<Locale, List<String>> & Serializable) locale -> TABLE_HEADERS,
+          (Function<Locale, List<Object>> & Serializable) locale -> data,
+          alertLevels
+      );
+      lastResult = result;
+      deliver(listeners, listener -> listener.tableResultUpdated(result));
+    }
+
+    @Override
+    public void addTableResultListener(TableResultListener listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeTableResultListener(TableResultListener listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public TableResult getLastResult() {
+      return lastResult;
+    }
+  }
+
+  private static final class SimulatedResult implements TableMultiResult {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long time;
+    private final long latency;
+    private final AlertLevel alertLevel;
+    private final Object[] rowData;
+
+    private SimulatedResult(long time, long latency, AlertLevel alertLevel, Object... rowData) {
+      this.time = time;
+      this.latency = latency;
+      this.alertLevel = alertLevel;
+      this.rowData = rowData;
+    }
+
+    @Override
+    public long getTime() {
+      return time;
+    }
+
+    @Override
+    public long getLatency() {
+      return latency;
+    }
+
+    @Override
+    public AlertLevel getAlertLevel() {
+      return alertLevel;
+    }
+
+    @Override
+    public String getError() {
+      return null;
+    }
+
+    @Override
+    public int getRowDataSize() {
+      return rowData.length;
+    }
+
+    @Override
+    public Object getRowData(int index) {
+      return rowData[index];
+    }
+  }
+
+  private static final List<String> MULTI_HEADERS = Collections.unmodifiableList(Arrays.asList("Value", "Status"));
+
+  private static final class SimulatedMultiNode extends SimulatedLeaf implements TableMultiResultNode<SimulatedResult> {
+
+    private final List<TableMultiResultListener<? super SimulatedResult>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Newest first.
+     */
+    private final Deque<SimulatedResult> results = new ArrayDeque<>(MAX_MULTI_RESULTS + 1);
+
+    private SimulatedMultiNode(SimulatedBranch parent, String label) {
+      super(parent, label);
+    }
+
+    @Override
+    void newResult(long time) {
+      AlertLevel level = alertLevel;
+      SimulatedResult added = new SimulatedResult(
+          time,
+          randomLatency(),
+          level,
+          ThreadLocalRandom.current().nextInt(1000),
+          level.name()
+      );
+      SimulatedResult removed;
+      synchronized (results) {
+        results.addFirst(added);
+        removed = results.size() > MAX_MULTI_RESULTS ? results.removeLast() : null;
+      }
+      deliver(listeners, listener -> listener.tableMultiResultAdded(added));
+      if (removed != null) {
+        deliver(listeners, listener -> listener.tableMultiResultRemoved(removed));
+      }
+    }
+
+    @Override
+    public void addTableMultiResultListener(TableMultiResultListener<? super SimulatedResult> listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeTableMultiResultListener(TableMultiResultListener<? super SimulatedResult> listener) {
+      listeners.remove(listener);
+    }
+
+    @Override
+    public List<?> getColumnHeaders() {
+      return MULTI_HEADERS;
+    }
+
+    @Override
+    public List<? extends SimulatedResult> getResults() {
+      synchronized (results) {
+        return new ArrayList<>(results);
+      }
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2008-2013, 2016, 2018, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2008-2013, 2016, 2018, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -28,27 +28,22 @@ import com.aoapps.sql.SQLUtility;
 import com.aoindustries.noc.monitor.common.AlertLevel;
 import com.aoindustries.noc.monitor.common.Node;
 import com.aoindustries.noc.monitor.common.SingleResult;
-import com.aoindustries.noc.monitor.common.SingleResultListener;
 import com.aoindustries.noc.monitor.common.SingleResultNode;
-import java.awt.Font;
-import java.awt.GridLayout;
-import java.rmi.RemoteException;
-import java.rmi.server.RMIClientSocketFactory;
-import java.rmi.server.RMIServerSocketFactory;
-import java.rmi.server.UnicastRemoteObject;
+import java.awt.BorderLayout;
 import java.text.DateFormat;
 import java.util.Date;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.function.Function;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import javax.swing.JButton;
 import javax.swing.JComponent;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
+import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
 
 /**
  * Component that displays {@link SingleResult}.
@@ -59,32 +54,56 @@ public class SingleResultTaskComponent extends JPanel implements TaskComponent {
 
   private static final long serialVersionUID = 1L;
 
-  private static final Logger logger = Logger.getLogger(SingleResultTaskComponent.class.getName());
-
   private static final Resources RESOURCES =
       Resources.getResources(ResourceBundle::getBundle, SingleResultTaskComponent.class);
 
   private final Noc noc;
   private SingleResultNode singleResultNode;
+  private NodeSubscriptions.Subscription subscription;
   private JComponent validationComponent;
 
   private final JScrollPane scrollPane;
-  private final JTextArea textArea;
+  private final VirtualTextArea textArea;
+  private final JTextField findField;
+
+  /**
+   * The most recently built text, used as the base for computing the changed
+   * lines of the next report.
+   */
+  private final Object lastTextLock = new Object();
+  private LineIndexedText lastText;
 
   /**
    * Creates a new component that displays {@link SingleResult}.
    */
   @SuppressWarnings("OverridableMethodCallInConstructor")
   public SingleResultTaskComponent(Noc noc) {
-    super(new GridLayout(1, 0));
+    super(new BorderLayout());
     this.noc = noc;
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    textArea = new JTextArea();
-    textArea.setEditable(false);
-    textArea.setFont(new Font("Monospaced", Font.PLAIN, textArea.getFont().getSize()));
+    // Find
+    JPanel findPanel = new JPanel(new BorderLayout());
+    findPanel.add(new JLabel(RESOURCES.getMessage("find.label")), BorderLayout.WEST);
+    findField = new JTextField();
+    findField.addActionListener(e -> findNext());
+    findPanel.add(findField, BorderLayout.CENTER);
+    JButton findNextButton = new JButton(RESOURCES.getMessage("findNext.label"));
+    findNextButton.addActionListener(e -> findNext());
+    findPanel.add(findNextButton, BorderLayout.EAST);
+    add(findPanel, BorderLayout.NORTH);
+
+    textArea = new VirtualTextArea();
     scrollPane = new JScrollPane(textArea);
-    add(scrollPane);
+    add(scrollPane, BorderLayout.CENTER);
+  }
+
+  private void findNext() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (!textArea.findNext(findField.getText())) {
+      UIManager.getLookAndFeel().provideErrorFeedback(findField);
+    }
   }
 
   @Override
@@ -94,13 +113,6 @@ public class SingleResultTaskComponent extends JPanel implements TaskComponent {
     return this;
   }
 
-  private final SingleResultListener singleResultListener = (final SingleResult singleResult) -> {
-    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-    SwingUtilities.invokeLater(() ->
-        updateValue(singleResult)
-    );
-  };
-
   @Override
   public void start(Node node, JComponent validationComponent) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
@@ -121,89 +133,103 @@ public class SingleResultTaskComponent extends JPanel implements TaskComponent {
     verticalScrollBar.setValue(verticalScrollBar.getMinimum());
     horizontalScrollBar.setValue(horizontalScrollBar.getMinimum());
 
-    final int port = noc.port;
-    final RMIClientSocketFactory csf = noc.csf;
-    final RMIServerSocketFactory ssf = noc.ssf;
-
-    noc.executorService.submit(() -> {
-      try {
-        final SingleResult result = localSingleResultNode.getLastResult();
-        SwingUtilities.invokeLater(() -> {
-          // When localSingleResultNode doesn't match, we have been stopped already
-          if (localSingleResultNode.equals(SingleResultTaskComponent.this.singleResultNode)) {
-            updateValue(result);
+    subscription = noc.subscriptions.subscribeSingleResult(
+        localSingleResultNode,
+        new NodeSubscriptions.Subscriber<SingleResult, LineIndexedText.Update>() {
+          @Override
+          public LineIndexedText.Update prepare(SingleResult result) {
+            return buildUpdate(result);
           }
-        });
-        UnicastRemoteObject.exportObject(singleResultListener, port, csf, ssf);
-        localSingleResultNode.addSingleResultListener(singleResultListener);
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    });
+
+          @Override
+          public void update(LineIndexedText.Update update) {
+            // When localSingleResultNode doesn't match, we have been stopped already
+            if (localSingleResultNode.equals(SingleResultTaskComponent.this.singleResultNode)) {
+              updateValue(update);
+            }
+          }
+        }
+    );
   }
 
   @Override
   public void stop() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    final SingleResultNode localSingleResultNode = this.singleResultNode;
-    if (localSingleResultNode != null) {
-      this.singleResultNode = null;
-      noc.executorService.submit(() -> {
-        try {
-          localSingleResultNode.removeSingleResultListener(singleResultListener);
-          noc.unexportObject(singleResultListener);
-        } catch (RemoteException err) {
-          logger.log(Level.SEVERE, null, err);
-        }
-      });
+    if (subscription != null) {
+      subscription.close();
+      subscription = null;
     }
+    singleResultNode = null;
 
     validationComponent = null;
-    textArea.setText("");
+    synchronized (lastTextLock) {
+      lastText = null;
+    }
+    textArea.clear();
+  }
+
+  /**
+   * Builds the text and its line index outside the Swing event dispatch
+   * thread, along with the lines changed since the last text built.
+   *
+   * @return  the update or {@code null} when there is no result
+   */
+  private LineIndexedText.Update buildUpdate(SingleResult singleResult) {
+    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
+
+    if (singleResult == null) {
+      return null;
+    }
+    Locale locale = Locale.getDefault();
+    DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale);
+    StringBuilder text = new StringBuilder();
+    String formattedDate = df.format(new Date(singleResult.getTime()));
+    long latency = singleResult.getLatency();
+    text.append(
+        latency < 1000000
+            ? RESOURCES.getMessage(
+            // locale,
+            "retrieved.micro",
+            formattedDate,
+            SQLUtility.formatDecimal3(latency)
+        ) : latency < 1000000000
+            ? RESOURCES.getMessage(
+            // locale,
+            "retrieved.milli",
+            formattedDate,
+            SQLUtility.formatDecimal3(latency / 1000)
+        ) : RESOURCES.getMessage(
+            // locale,
+            "retrieved.second",
+            formattedDate,
+            SQLUtility.formatDecimal3(latency / 1000000)
+        )
+    );
+    Function<Locale, String> error = singleResult.getError();
+    if (error != null) {
+      text.append("\n----------------------------------------------------------\n").append(error.apply(Locale.getDefault()));
+    }
+    if (singleResult.getReport() != null) {
+      text.append("\n----------------------------------------------------------\n").append(singleResult.getReport());
+    }
+    LineIndexedText indexed = new LineIndexedText(text.toString());
+    synchronized (lastTextLock) {
+      LineIndexedText.Update update = new LineIndexedText.Update(lastText, indexed);
+      lastText = indexed;
+      return update;
+    }
   }
 
-  private void updateValue(SingleResult singleResult) {
+  private void updateValue(LineIndexedText.Update update) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
     JComponent localValidationComponent = this.validationComponent;
     if (localValidationComponent != null) {
-      if (singleResult == null) {
-        textArea.setText("");
+      if (update == null) {
+        textArea.clear();
       } else {
-        Locale locale = Locale.getDefault();
-        DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale);
-        StringBuilder text = new StringBuilder();
-        String formattedDate = df.format(new Date(singleResult.getTime()));
-        long latency = singleResult.getLatency();
-        text.append(
-            latency < 1000000
-                ? RESOURCES.getMessage(
-                // locale,
-                "retrieved.micro",
-                formattedDate,
-                SQLUtility.formatDecimal3(latency)
-            ) : latency < 1000000000
-                ? RESOURCES.getMessage(
-                // locale,
-                "retrieved.milli",
-                formattedDate,
-                SQLUtility.formatDecimal3(latency / 1000)
-            ) : RESOURCES.getMessage(
-                // locale,
-                "retrieved.second",
-                formattedDate,
-                SQLUtility.formatDecimal3(latency / 1000000)
-            )
-        );
-        Function<Locale, String> error = singleResult.getError();
-        if (error != null) {
-          text.append("\n----------------------------------------------------------\n").append(error.apply(Locale.getDefault()));
-        }
-        if (singleResult.getReport() != null) {
-          text.append("\n----------------------------------------------------------\n").append(singleResult.getReport());
-        }
-        textArea.setText(text.toString());
+        textArea.setText(update);
         localValidationComponent.invalidate();
         localValidationComponent.validate();
         localValidationComponent.repaint();
@@ -0,0 +1,574 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An executor for one subsystem, with named threads and counters for
+ * monitoring.
+ *
+ * <p>By default, this is a bounded thread pool.  Threads are created up to the
+ * maximum as tasks arrive and time-out when idle.  Once all threads are busy,
+ * tasks wait in a bounded queue, and once the queue is full, tasks are given
+ * to the rejection policy.  With a queue capacity of zero, tasks are handed
+ * directly to an idle thread or a new thread, so a task stuck in a call that
+ * cannot be interrupted does not delay the tasks after it.</p>
+ *
+ * <p>When created for virtual threads, and running on a Java version that
+ * supports them, each task is run in a new virtual thread instead, with the
+ * same bounds: a semaphore allows no more tasks to run at once than the maximum
+ * number of threads, the other tasks wait in the bounded queue, and once the
+ * queue is full, tasks are given to the rejection policy.  This is meant for
+ * tasks that spend most of their time blocked on RMI or AOServ calls.  It is
+ * experimental, since its thread count and memory use have not yet been
+ * compared with the thread pool on Java 21.  On older Java versions, the
+ * bounded thread pool is used.</p>
+ *
+ * <p>Task latency is measured in two parts: the time waiting in the queue and
+ * the time running.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class SubsystemExecutor extends AbstractExecutorService {
+
+  private static final Logger logger = Logger.getLogger(SubsystemExecutor.class.getName());
+
+  /**
+   * The time idle threads are kept before exiting.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final String name;
+  /**
+   * The bounded thread pool or {@code null} when using virtual threads.
+   */
+  private final ThreadPoolExecutor pool;
+  /**
+   * The virtual threads or {@code null} when using the bounded thread pool.
+   */
+  private final VirtualThreadExecutor virtual;
+  private final ExecutorService delegate;
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder timedTasks = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAdder totalRunNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLong maxRunNanos = new AtomicLong();
+
+  /**
+   * Creates a new executor.
+   *
+   * @param  name  the name of the subsystem, used in thread names and logging
+   * @param  maxThreads  the maximum number of tasks running at once
+   * @param  queueCapacity  the maximum number of tasks waiting to run,
+   *                        or zero for none
+   * @param  rejectionPolicy  called, after counting and logging, when the queue is full.
+   *                          With virtual threads, the policies of {@link ThreadPoolExecutor}
+   *                          are followed, and any other policy aborts.
+   * @param  virtualThreads  run each task in a new virtual thread, when supported
+   */
+  SubsystemExecutor(String name, int maxThreads, int queueCapacity, RejectedExecutionHandler rejectionPolicy, boolean virtualThreads) {
+    this.name = name;
+    ExecutorService threadPerTask = virtualThreads ? newVirtualThreadPerTaskExecutor(name) : null;
+    if (threadPerTask != null) {
+      pool = null;
+      virtual = new VirtualThreadExecutor(threadPerTask, maxThreads, queueCapacity, rejectionPolicy);
+      delegate = virtual;
+    } else {
+      virtual = null;
+      pool = new ThreadPoolExecutor(
+          maxThreads,
+          maxThreads,
+          KEEP_ALIVE_SECONDS,
+          TimeUnit.SECONDS,
+          queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+          new NamedThreadFactory(name),
+          (Runnable r, ThreadPoolExecutor executor) -> {
+            rejected.increment();
+            logger.log(
+                Level.WARNING,
+                "{0}: Task rejected: queueDepth = {1}, activeCount = {2}",
+                new Object[]{name, executor.getQueue().size(), executor.getActiveCount()}
+            );
+            Runnable oldest = executor.getQueue().peek();
+            rejectionPolicy.rejectedExecution(r, executor);
+            if (oldest != null && oldest != r && !executor.getQueue().contains(oldest)) {
+              // Discarded by the policy, cancel so any scope tracking it is released
+              cancel(oldest);
+            }
+          }
+      );
+      pool.allowCoreThreadTimeOut(true);
+      delegate = pool;
+    }
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread per task.  Uses
+   * reflection since virtual threads are not available in Java 11.
+   *
+   * @return  the executor or {@code null} when virtual threads are not supported
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "noc-gui-" + name + "-", 1L);
+      ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+    } catch (ClassNotFoundException | NoSuchMethodException e) {
+      logger.log(Level.INFO, "{0}: Virtual threads not available, using platform threads", name);
+      return null;
+    } catch (InvocationTargetException e) {
+      // Virtual threads are a disabled preview feature
+      logger.log(Level.INFO, name + ": Virtual threads not enabled, using platform threads", e.getCause());
+      return null;
+    } catch (ReflectiveOperationException e) {
+      logger.log(Level.WARNING, name + ": Unable to create virtual threads, using platform threads", e);
+      return null;
+    }
+  }
+
+  /**
+   * Runs each task in a new virtual thread, bounded like the thread pool.  A
+   * thread that finishes its task runs the tasks waiting in the queue before
+   * exiting, so a permit is only released once the queue is empty.
+   */
+  private class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private final ExecutorService threadPerTask;
+    private final Semaphore permits;
+    private final BlockingQueue<Runnable> queue;
+    private final RejectedExecutionHandler rejectionPolicy;
+
+    private VirtualThreadExecutor(ExecutorService threadPerTask, int maxThreads, int queueCapacity, RejectedExecutionHandler rejectionPolicy) {
+      this.threadPerTask = threadPerTask;
+      this.permits = new Semaphore(maxThreads);
+      this.queue = queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+      this.rejectionPolicy = rejectionPolicy;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+      if (threadPerTask.isShutdown()) {
+        rejected.increment();
+        throw new RejectedExecutionException(name + ": Executor is shut down");
+      }
+      if (permits.tryAcquire()) {
+        try {
+          start(task);
+        } catch (RejectedExecutionException e) {
+          rejected.increment();
+          throw e;
+        }
+      } else if (queue.offer(task)) {
+        // A permit may have been released since trying to acquire one
+        dispatch();
+      } else {
+        reject(task);
+      }
+    }
+
+    /**
+     * Starts a new virtual thread, holding a permit.
+     */
+    private void start(Runnable first) {
+      try {
+        threadPerTask.execute(() -> runAll(first));
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    private void runAll(Runnable first) {
+      try {
+        Runnable task = first;
+        while (task != null) {
+          try {
+            task.run();
+          } catch (ThreadDeath td) {
+            throw td;
+          } catch (Throwable t) {
+            logger.log(Level.SEVERE, name, t);
+          }
+          task = queue.poll();
+        }
+      } finally {
+        permits.release();
+      }
+      // A task may have been queued since the queue was found empty
+      dispatch();
+    }
+
+    /**
+     * Starts a thread for the queued tasks when a permit is free.
+     */
+    private void dispatch() {
+      while (!queue.isEmpty() && permits.tryAcquire()) {
+        Runnable task = queue.poll();
+        if (task != null) {
+          try {
+            start(task);
+          } catch (RejectedExecutionException e) {
+            // Shut down while queued
+            rejected.increment();
+            cancel(task);
+          }
+          return;
+        }
+        permits.release();
+      }
+    }
+
+    /**
+     * Follows the rejection policy when the queue is full.
+     */
+    private void reject(Runnable task) {
+      rejected.increment();
+      logger.log(
+          Level.WARNING,
+          "{0}: Task rejected: queueDepth = {1}, activeCount = {2}",
+          new Object[]{name, queue.size(), activeCount.get()}
+      );
+      if (rejectionPolicy instanceof ThreadPoolExecutor.DiscardOldestPolicy) {
+        Runnable oldest = queue.poll();
+        if (oldest != null) {
+          // Discarded by the policy, cancel so any scope tracking it is released
+          cancel(oldest);
+          execute(task);
+        }
+      } else if (rejectionPolicy instanceof ThreadPoolExecutor.CallerRunsPolicy) {
+        task.run();
+      } else if (!(rejectionPolicy instanceof ThreadPoolExecutor.DiscardPolicy)) {
+        throw new RejectedExecutionException(name + ": Task rejected, queue full");
+      }
+    }
+
+    @Override
+    public void shutdown() {
+      threadPerTask.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      List<Runnable> notRun = new ArrayList<>();
+      queue.drainTo(notRun);
+      notRun.addAll(threadPerTask.shutdownNow());
+      return notRun;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return threadPerTask.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return threadPerTask.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return threadPerTask.awaitTermination(timeout, unit);
+    }
+  }
+
+  private static class NamedThreadFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    private NamedThreadFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "noc-gui-" + name + "-" + threadCount.incrementAndGet());
+      if (thread.isDaemon()) {
+        thread.setDaemon(false);
+      }
+      if (thread.getPriority() != Thread.NORM_PRIORITY) {
+        thread.setPriority(Thread.NORM_PRIORITY);
+      }
+      return thread;
+    }
+  }
+
+  /**
+   * Records the time a task was queued.
+   */
+  private class TimedTask implements Runnable {
+
+    private final Runnable task;
+    private final long queuedNanos = System.nanoTime();
+
+    private TimedTask(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      long startNanos = System.nanoTime();
+      activeCount.incrementAndGet();
+      try {
+        task.run();
+      } finally {
+        activeCount.decrementAndGet();
+        long endNanos = System.nanoTime();
+        long waitNanos = startNanos - queuedNanos;
+        long runNanos = endNanos - startNanos;
+        timedTasks.increment();
+        totalWaitNanos.add(waitNanos);
+        totalRunNanos.add(runNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        maxRunNanos.accumulateAndGet(runNanos, Math::max);
+      }
+    }
+  }
+
+  /**
+   * Cancels a task that will never be run.
+   */
+  private static void cancel(Runnable r) {
+    if (r instanceof TimedTask) {
+      Runnable task = ((TimedTask) r).task;
+      if (task instanceof Future) {
+        ((Future<?>) task).cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Removes the canceled tasks still waiting for a thread, so they do not
+   * take up space in the queue until a thread is free.
+   */
+  void purge() {
+    getQueue().removeIf(r -> {
+      if (r instanceof TimedTask) {
+        Runnable task = ((TimedTask) r).task;
+        return task instanceof Future && ((Future<?>) task).isCancelled();
+      }
+      return false;
+    });
+  }
+
+  private BlockingQueue<Runnable> getQueue() {
+    return pool != null ? pool.getQueue() : virtual.queue;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    // The pool and virtual threads count their own rejections
+    delegate.execute(new TimedTask(command));
+  }
+
+  /**
+   * Creates an executor that runs its tasks one at a time, in order, using
+   * the threads of this executor.  This replaces a single-thread executor per
+   * component, without a thread per component.
+   */
+  Executor newSerialExecutor() {
+    return new SerialExecutor();
+  }
+
+  private class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private Runnable active;
+
+    @Override
+    public synchronized void execute(Runnable command) {
+      tasks.add(() -> {
+        try {
+          command.run();
+        } finally {
+          scheduleNext();
+        }
+      });
+      if (active == null) {
+        scheduleNext();
+      }
+    }
+
+    private synchronized void scheduleNext() {
+      active = tasks.poll();
+      if (active != null) {
+        try {
+          SubsystemExecutor.this.execute(active);
+        } catch (RejectedExecutionException e) {
+          // Drop the rejected task so the following tasks are not blocked behind it
+          active = null;
+          throw e;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * Gets the name of the subsystem.
+   */
+  String getName() {
+    return name;
+  }
+
+  /**
+   * Checks if running tasks on virtual threads.
+   */
+  boolean isVirtual() {
+    return pool == null;
+  }
+
+  /**
+   * Gets the number of tasks waiting for a thread.
+   */
+  int getQueueDepth() {
+    return getQueue().size();
+  }
+
+  /**
+   * Gets the number of tasks currently running.
+   */
+  int getActiveCount() {
+    return activeCount.get();
+  }
+
+  /**
+   * Gets the current number of threads.  For virtual threads, this is the
+   * number of running tasks.
+   */
+  int getPoolSize() {
+    return pool == null ? activeCount.get() : pool.getPoolSize();
+  }
+
+  /**
+   * Gets the number of tasks completed.
+   */
+  long getCompletedTaskCount() {
+    return timedTasks.sum();
+  }
+
+  /**
+   * Gets the number of tasks rejected because the queue was full or the executor was shut down.
+   */
+  long getRejectedCount() {
+    return rejected.sum();
+  }
+
+  /**
+   * Gets the average time tasks waited in the queue.
+   */
+  long getAverageWaitNanos() {
+    long count = timedTasks.sum();
+    return count == 0 ? 0 : (totalWaitNanos.sum() / count);
+  }
+
+  /**
+   * Gets the longest time any task waited in the queue.
+   */
+  long getMaxWaitNanos() {
+    return maxWaitNanos.get();
+  }
+
+  /**
+   * Gets the average time tasks ran.
+   */
+  long getAverageRunNanos() {
+    long count = timedTasks.sum();
+    return count == 0 ? 0 : (totalRunNanos.sum() / count);
+  }
+
+  /**
+   * Gets the longest time any task ran.
+   */
+  long getMaxRunNanos() {
+    return maxRunNanos.get();
+  }
+
+  @Override
+  public String toString() {
+    return name
+        + ": virtual = " + isVirtual()
+        + ", queueDepth = " + getQueueDepth()
+        + ", activeCount = " + getActiveCount()
+        + ", poolSize = " + getPoolSize()
+        + ", completed = " + getCompletedTaskCount()
+        + ", rejected = " + getRejectedCount()
+        + ", averageWaitNanos = " + getAverageWaitNanos()
+        + ", maxWaitNanos = " + getMaxWaitNanos()
+        + ", averageRunNanos = " + getAverageRunNanos()
+        + ", maxRunNanos = " + getMaxRunNanos();
+  }
+}
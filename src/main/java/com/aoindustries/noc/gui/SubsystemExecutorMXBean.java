@@ -0,0 +1,57 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+/**
+ * The metrics of one {@link SubsystemExecutor}, registered as
+ * {@code com.aoindustries.noc.gui:type=SubsystemExecutor,name=<name>}.
+ * All times are in nanoseconds.
+ *
+ * @see  NocMetrics
+ *
+ * @author  AO Industries, Inc.
+ */
+public interface SubsystemExecutorMXBean {
+
+  boolean isVirtual();
+
+  int getQueueDepth();
+
+  int getActiveCount();
+
+  int getPoolSize();
+
+  long getCompletedTaskCount();
+
+  long getRejectedCount();
+
+  long getAverageWaitNanos();
+
+  long getMaxWaitNanos();
+
+  long getAverageRunNanos();
+
+  long getMaxRunNanos();
+}
@@ -24,6 +24,7 @@
 package com.aoindustries.noc.gui;
 
 import com.aoapps.lang.i18n.Resources;
+import com.aoindustries.noc.monitor.common.AlertCategory;
 import com.aoindustries.noc.monitor.common.AlertChange;
 import com.aoindustries.noc.monitor.common.AlertLevel;
 import com.aoindustries.noc.monitor.common.Node;
@@ -40,20 +41,29 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.GridLayout;
 import java.awt.event.ItemEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.UncheckedIOException;
 import java.rmi.RemoteException;
 import java.rmi.server.RMIClientSocketFactory;
 import java.rmi.server.RMIServerSocketFactory;
-import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.Icon;
 import javax.swing.JComboBox;
+import javax.swing.JMenuItem;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
+import javax.swing.JTabbedPane;
 import javax.swing.JToolBar;
 import javax.swing.JTree;
 import javax.swing.SwingUtilities;
@@ -83,8 +93,17 @@ public class SystemsPane extends JPanel {
   private final JSplitPane splitPane;
   private final JTree tree;
   private final DefaultTreeModel treeModel;
+  private final SystemsTreeReconciler reconciler;
   private final DefaultMutableTreeNode rootTreeNode;
   private final JPanel taskPanel;
+  private final DashboardPane dashboard;
+  private final JTabbedPane taskTabs;
+
+  /**
+   * A copy of the systems alert level, for building the tree state outside the
+   * Swing event dispatch thread.
+   */
+  private volatile AlertLevel systemsAlertLevel;
 
   // The selected node and taskPanel contents are set together
   private SystemsTreeNode selectedTreeNode;
@@ -99,9 +118,11 @@ public class SystemsPane extends JPanel {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
     this.noc = noc;
+    systemsAlertLevel = noc.preferences.getSystemsAlertLevel();
     rootTreeNode = new DefaultMutableTreeNode("Hidden Root", true);
     treeModel = new DefaultTreeModel(rootTreeNode, true);
     // treeModel.addTreeModelListener(new MyTreeModelListener());
+    reconciler = new SystemsTreeReconciler(treeModel, this::removingTreeNode);
     tree = new JTree(treeModel);
     tree.setCellRenderer(new SystemsTreeCellRenderer());
     tree.setRootVisible(false);
@@ -109,11 +130,15 @@ public class SystemsPane extends JPanel {
     tree.getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
 
     taskPanel = new JPanel(new GridLayout(1, 1));
+    dashboard = new DashboardPane(noc);
+    taskTabs = new JTabbedPane();
+    taskTabs.addTab(RESOURCES.getMessage("task.tab"), taskPanel);
+    taskTabs.addTab(RESOURCES.getMessage("dashboard.tab"), dashboard);
     splitPane = new JSplitPane(
         JSplitPane.HORIZONTAL_SPLIT,
         true,
         new JScrollPane(tree),
-        taskPanel
+        taskTabs
     );
     splitPane.setDividerLocation(noc.preferences.getSystemsSplitPaneDividerLocation());
     splitPane.addPropertyChangeListener(
@@ -130,6 +155,71 @@ public class SystemsPane extends JPanel {
         }
       }
     });
+    tree.addMouseListener(
+        new MouseAdapter() {
+          @Override
+          public void mousePressed(MouseEvent e) {
+            if (e.isPopupTrigger()) {
+              showTreePopup(e);
+            }
+          }
+
+          @Override
+          public void mouseReleased(MouseEvent e) {
+            if (e.isPopupTrigger()) {
+              showTreePopup(e);
+            }
+          }
+        }
+    );
+  }
+
+  /**
+   * Shows the popup menu to pin or unpin a node on the dashboard.
+   */
+  private void showTreePopup(MouseEvent e) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    TreePath treePath = tree.getPathForLocation(e.getX(), e.getY());
+    if (treePath != null) {
+      Object lastPathComponent = treePath.getLastPathComponent();
+      if (lastPathComponent instanceof SystemsTreeNode) {
+        final SystemsTreeNode treeNode = (SystemsTreeNode) lastPathComponent;
+        final Node node = treeNode.getNode();
+        if (DashboardPane.isPinnable(node)) {
+          JPopupMenu popup = new JPopupMenu();
+          if (dashboard.isPinned(node)) {
+            JMenuItem unpinItem = new JMenuItem(RESOURCES.getMessage("unpin.label"));
+            unpinItem.addActionListener(event -> dashboard.unpin(node));
+            popup.add(unpinItem);
+          } else {
+            final String label = getFullPath(treePath);
+            JMenuItem pinItem = new JMenuItem(RESOURCES.getMessage("pin.label"));
+            pinItem.addActionListener(event -> {
+              dashboard.pin(node, label, treeNode.alertLevel);
+              taskTabs.setSelectedComponent(dashboard);
+            });
+            popup.add(pinItem);
+          }
+          popup.show(tree, e.getX(), e.getY());
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the labels of the path, not including the hidden root.
+   */
+  private static String getFullPath(TreePath treePath) {
+    StringBuilder fullPath = new StringBuilder();
+    Object[] path = treePath.getPath();
+    for (int i = 1; i < path.length; i++) {
+      if (fullPath.length() > 0) {
+        fullPath.append(" / ");
+      }
+      fullPath.append(path[i]);
+    }
+    return fullPath.toString();
   }
 
   void addToolBars(JToolBar toolBar) {
@@ -197,10 +287,12 @@ public class SystemsPane extends JPanel {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
     noc.preferences.setSystemsAlertLevel(systemsAlertLevel);
+    this.systemsAlertLevel = systemsAlertLevel;
     batchValidateTreeNodes();
     if (this.taskComponent != null) {
       this.taskComponent.systemsAlertLevelChanged(systemsAlertLevel);
     }
+    dashboard.systemsAlertLevelChanged(systemsAlertLevel);
   }
 
   /**
@@ -271,18 +363,40 @@ public class SystemsPane extends JPanel {
   // Should only be updated from the Swing event thread
   private volatile TreeListener treeListener;
 
+  /**
+   * The first snapshot, loaded during login, used in place of fetching one
+   * for the first validation after {@link #start(com.aoindustries.noc.monitor.common.RootNode, java.lang.String, java.util.concurrent.CompletableFuture, com.aoindustries.noc.gui.LoginTimeline)}.
+   */
+  private final AtomicReference<CompletableFuture<NodeSnapshot>> initialSnapshot = new AtomicReference<>();
+
+  /**
+   * The timeline of the login, until the first tree is shown.
+   */
+  private LoginTimeline startTimeline;
+
   /**
    * {@code start()} should only be called when we have a login established.
+   *
+   * @param  initialSnapshot  the first snapshot, which may still be loading
+   * @param  timeline  the timeline of the login, marked once the first tree is shown
    */
-  void start(final RootNode rootNode, final String rootNodeLabel) {
+  void start(final RootNode rootNode, final String rootNodeLabel, CompletableFuture<NodeSnapshot> initialSnapshot, LoginTimeline timeline) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
+    this.initialSnapshot.set(initialSnapshot);
+    this.startTimeline = timeline;
+
     SystemsTreeNode newRootNode = new SystemsTreeNode(rootNodeLabel, rootNode, true);
     treeModel.insertNodeInto(newRootNode, rootTreeNode, 0);
     final int port = noc.port;
     final RMIClientSocketFactory csf = noc.csf;
     final RMIServerSocketFactory ssf = noc.ssf;
+    // Changes to the tree structure, only the fact there was a change is needed
+    final CallbackInbox.Slot<Boolean> structureChanges = noc.callbacks.newSlot(changed -> batchValidateTreeNodes());
     final TreeListener newTreeListener = new TreeListener() {
+      // Alert changes, by node until delivered to the Swing event dispatch thread
+      private final CallbackInbox.Slot<Map<Node, List<AlertTransition>>> alertChanges = noc.callbacks.newSlot(SwingUtilities::invokeLater, this::deliverAlerts);
+
       @Override
       public void nodeAdded() {
         // It is OK to run from any thread
@@ -290,7 +404,8 @@ public class SystemsPane extends JPanel {
 
         // TODO: Call system tray?
         if (treeListener == this) {
-          batchValidateTreeNodes();
+          noc.recorder.recordStructureChanged(true);
+          structureChanges.offer(Boolean.TRUE);
         }
       }
 
@@ -301,7 +416,8 @@ public class SystemsPane extends JPanel {
 
         // TODO: Call system tray?
         if (treeListener == this) {
-          batchValidateTreeNodes();
+          noc.recorder.recordStructureChanged(false);
+          structureChanges.offer(Boolean.TRUE);
         }
       }
 
@@ -310,31 +426,42 @@ public class SystemsPane extends JPanel {
         assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
 
         if (treeListener == this) {
-          batchValidateTreeNodes();
+          noc.recorder.recordAlertChanges(changes);
+          alertChanges.offer(AlertTransition.of(changes), AlertTransition::merge);
+        }
+      }
 
-          final TreeListener thisTreeListener = this;
-          SwingUtilities.invokeLater(() -> {
-            if (treeListener == thisTreeListener) {
-              for (AlertChange change : changes) {
-                noc.alert(
-                    change.getNode(),
-                    change.getNodeFullPath(),
-                    change.getOldAlertLevel(),
-                    change.getNewAlertLevel(),
-                    change.getAlertMessage(),
-                    change.getOldAlertCategory(),
-                    change.getNewAlertCategory()
-                );
-              }
+      /**
+       * Delivers alerts on the Swing event dispatch thread.  Only one delivery
+       * is pending at a time, so any further changes are merged while the
+       * Swing event dispatch thread is busy.  The tree is validated once for
+       * all changes, but every change that may raise an alert is delivered.
+       */
+      private void deliverAlerts(Map<Node, List<AlertTransition>> transitions) {
+        assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+        if (treeListener == this) {
+          batchValidateTreeNodes();
+          for (List<AlertTransition> nodeTransitions : transitions.values()) {
+            for (AlertTransition transition : nodeTransitions) {
+              noc.alert(
+                  transition.node,
+                  transition.nodeFullPath,
+                  transition.oldAlertLevel,
+                  transition.newAlertLevel,
+                  transition.alertMessage,
+                  transition.oldAlertCategory,
+                  transition.newAlertCategory
+              );
             }
-          });
+          }
         }
       }
     };
     this.treeListener = newTreeListener;
-    noc.executorService.submit(() -> {
+    noc.rmiLifecycleExecutor.submit(() -> {
       try {
-        UnicastRemoteObject.exportObject(newTreeListener, port, csf, ssf);
+        noc.unexports.exportObject(newTreeListener, port, csf, ssf);
         rootNode.addTreeListener(newTreeListener);
       } catch (RemoteException err) {
         logger.log(Level.SEVERE, null, err);
@@ -356,23 +483,136 @@ public class SystemsPane extends JPanel {
     final TreeListener oldTreeListener = this.treeListener;
     this.treeListener = null;
 
-    noc.executorService.submit(() -> {
+    noc.rmiLifecycleExecutor.submit(() -> {
       try {
         oldRootNode.removeTreeListener(oldTreeListener);
-        noc.unexportObject(oldTreeListener);
+        noc.unexports.unexportObject(oldTreeListener);
       } catch (RemoteException err) {
         logger.log(Level.SEVERE, null, err);
       }
     });
 
     selectNode(null);
+    dashboard.unpinAll();
+    pendingViewState = null;
+    initialSnapshot.set(null);
+    startTimeline = null;
+
+    // Any batch in progress was canceled by logout
+    synchronized (batchCounterLock) {
+      lastCompletedBatchCounter = batchCounter;
+      doingBatch = false;
+    }
 
     while (rootTreeNode.getChildCount() > 0) {
-      recursiveRemoveNodeFromParent((SystemsTreeNode) rootTreeNode.getChildAt(rootTreeNode.getChildCount() - 1));
+      reconciler.remove((SystemsTreeNode) rootTreeNode.getChildAt(rootTreeNode.getChildCount() - 1));
     }
     tree.repaint();
   }
 
+  /**
+   * The selected node and the nodes pinned to the dashboard, by full path,
+   * so they may be restored after reconnecting.
+   */
+  static final class ViewState {
+
+    private final String selectedPath;
+    private final List<String> pinnedPaths;
+
+    private ViewState(String selectedPath, List<String> pinnedPaths) {
+      this.selectedPath = selectedPath;
+      this.pinnedPaths = pinnedPaths;
+    }
+  }
+
+  /**
+   * Gets the current view state.
+   */
+  ViewState getViewState() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return new ViewState(
+        selectedTreeNode == null ? null : getFullPath(new TreePath(selectedTreeNode.getPath())),
+        dashboard.getPinnedLabels()
+    );
+  }
+
+  /**
+   * The view state to restore from the first snapshot after {@link #start(com.aoindustries.noc.monitor.common.RootNode, java.lang.String, java.util.concurrent.CompletableFuture, com.aoindustries.noc.gui.LoginTimeline)}.
+   */
+  private ViewState pendingViewState;
+
+  /**
+   * Restores a view state after reconnecting, once the first snapshot is
+   * received.  Any current alerts in the snapshot are raised again, since the
+   * monitor only sends alert changes.
+   */
+  void restoreViewState(ViewState viewState) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    pendingViewState = viewState;
+  }
+
+  private void applyViewState(ViewState viewState, NodeSnapshot rootNodeSnapshot, SystemsTreeNode newRootNode) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    String rootPath = String.valueOf(newRootNode.getUserObject());
+    applyViewState(viewState, rootNodeSnapshot, rootPath);
+    if (viewState.selectedPath != null) {
+      SystemsTreeNode selected = findTreeNode(newRootNode, rootPath, viewState.selectedPath);
+      if (selected != null) {
+        tree.setSelectionPath(new TreePath(selected.getPath()));
+      }
+    }
+  }
+
+  /**
+   * Recursive part of applyViewState, pins and alerts from the snapshot.
+   */
+  private void applyViewState(ViewState viewState, NodeSnapshot nodeSnapshot, String fullPath) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Node node = nodeSnapshot.getNode();
+    AlertLevel alertLevel = nodeSnapshot.getAlertLevel();
+    if (viewState.pinnedPaths.contains(fullPath) && DashboardPane.isPinnable(node)) {
+      dashboard.pin(node, fullPath, alertLevel);
+    }
+    if (alertLevel.compareTo(AlertLevel.HIGH) >= 0) {
+      AlertCategory alertCategory = nodeSnapshot.getAlertCategory();
+      noc.alert(
+          node,
+          fullPath,
+          AlertLevel.UNKNOWN,
+          alertLevel,
+          nodeSnapshot.getAlertMessage(),
+          alertCategory,
+          alertCategory
+      );
+    }
+    for (NodeSnapshot child : nodeSnapshot.getChildren()) {
+      applyViewState(viewState, child, fullPath + " / " + child.getLabel());
+    }
+  }
+
+  /**
+   * Finds the tree node for a full path, {@code null} when not in the tree.
+   */
+  private static SystemsTreeNode findTreeNode(SystemsTreeNode treeNode, String fullPath, String path) {
+    if (fullPath.equals(path)) {
+      return treeNode;
+    }
+    if (path.startsWith(fullPath + " / ")) {
+      for (int i = 0, count = treeNode.getChildCount(); i < count; i++) {
+        SystemsTreeNode child = (SystemsTreeNode) treeNode.getChildAt(i);
+        SystemsTreeNode found = findTreeNode(child, fullPath + " / " + child.getUserObject(), path);
+        if (found != null) {
+          return found;
+        }
+      }
+    }
+    return null;
+  }
+
   private final Object batchCounterLock = new Object();
   private long batchCounter;
   private long lastCompletedBatchCounter;
@@ -387,139 +627,120 @@ public class SystemsPane extends JPanel {
       batchCounter++;
       if (!doingBatch) {
         doingBatch = true;
-        noc.executorService.submit(() -> {
-          try {
-            while (!Thread.currentThread().isInterrupted()) {
-              boolean doIt;
-              synchronized (batchCounterLock) {
-                if (batchCounter > lastCompletedBatchCounter) {
-                  // System.out.println("DEBUG: Total in this batch: "+(batchCounter - lastCompletedBatchCounter));
-                  lastCompletedBatchCounter = batchCounter;
-                  doIt = true;
-                } else {
-                  doingBatch = false;
-                  doIt = false;
+        try {
+          noc.sessionTasks.submit(noc.systemsExecutor, () -> {
+            try {
+              while (!Thread.currentThread().isInterrupted()) {
+                boolean doIt;
+                synchronized (batchCounterLock) {
+                  if (batchCounter > lastCompletedBatchCounter) {
+                    // System.out.println("DEBUG: Total in this batch: "+(batchCounter - lastCompletedBatchCounter));
+                    lastCompletedBatchCounter = batchCounter;
+                    doIt = true;
+                  } else {
+                    doingBatch = false;
+                    doIt = false;
+                  }
                 }
-              }
-              if (doIt) {
-                validateTreeNodes();
-                // Sleep 1/4 second between updates
-                try {
-                  Thread.sleep(250);
-                } catch (InterruptedException err) {
-                  logger.log(Level.WARNING, null, err);
-                  // Restore the interrupted status
-                  Thread.currentThread().interrupt();
+                if (doIt) {
+                  validateTreeNodes();
+                  // Sleep 1/4 second between updates
+                  try {
+                    Thread.sleep(250);
+                  } catch (InterruptedException err) {
+                    logger.log(Level.WARNING, null, err);
+                    // Restore the interrupted status
+                    Thread.currentThread().interrupt();
+                  }
+                } else {
+                  break;
                 }
-              } else {
-                break;
               }
+            } catch (RemoteException err) {
+              throw new UncheckedIOException(err);
             }
-          } catch (RemoteException err) {
-            throw new UncheckedIOException(err);
-          }
-        });
+          });
+        } catch (RejectedExecutionException e) {
+          // Allow the next request to try again
+          doingBatch = false;
+          throw e;
+        }
       }
     }
   }
 
   /**
-   * Fetches the tree nodes from the monitor, then updates the JTree to match.
+   * Fetches the tree nodes from the monitor and builds the tree state, then
+   * updates the JTree to match.
    */
   private void validateTreeNodes() throws RemoteException {
     assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
 
     // Do the (potential) RMI in this background thread
-    final NodeSnapshot rootNodeSnapshot = noc.rootNode.getSnapshot();
+    final long fetchStart = System.nanoTime();
+    NodeSnapshot snapshot = null;
+    CompletableFuture<NodeSnapshot> initial = initialSnapshot.getAndSet(null);
+    if (initial != null) {
+      try {
+        snapshot = initial.get();
+      } catch (InterruptedException err) {
+        logger.log(Level.WARNING, null, err);
+        // Restore the interrupted status
+        Thread.currentThread().interrupt();
+        return;
+      } catch (ExecutionException err) {
+        logger.log(Level.WARNING, null, err);
+      }
+    }
+    final NodeSnapshot rootNodeSnapshot = snapshot != null ? snapshot : noc.rootNode.getSnapshot();
+    noc.metrics.snapshotFetch.record(System.nanoTime() - fetchStart);
+    noc.recorder.recordSnapshot(rootNodeSnapshot);
+    final SystemsTreeState state = SystemsTreeState.of(rootNodeSnapshot, systemsAlertLevel);
 
     // Do the following on the event dispatcher
     SwingUtilities.invokeLater(() -> {
       // Skip if there is no root node
       if (rootTreeNode.getChildCount() != 0) {
-        AlertLevel alertLevel = noc.preferences.getSystemsAlertLevel();
+        final long reconcileStart = System.nanoTime();
         SystemsTreeNode newRootNode = (SystemsTreeNode) rootTreeNode.getChildAt(0);
-        newRootNode.setAlertLevel(rootNodeSnapshot.getAlertLevel());
-        validateTreeNodes(rootNodeSnapshot, newRootNode, alertLevel);
+        reconciler.reconcile(state, newRootNode);
+        dashboard.updateAlertLevels(rootNodeSnapshot);
+        ViewState viewState = pendingViewState;
+        if (viewState != null) {
+          pendingViewState = null;
+          applyViewState(viewState, rootNodeSnapshot, newRootNode);
+        }
+        LoginTimeline timeline = startTimeline;
+        if (timeline != null) {
+          startTimeline = null;
+          timeline.mark(LoginTimeline.FIRST_TREE);
+        }
+        noc.metrics.snapshotReconcile.record(System.nanoTime() - reconcileStart);
       }
       tree.repaint();
     });
   }
 
   /**
-   * Recursive part of validateTreeNodes.
+   * Called for each tree node before it is removed.
    */
-  private void validateTreeNodes(NodeSnapshot nodeSnapshot, SystemsTreeNode treeNode, AlertLevel alertLevel) {
-    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
-    List<NodeSnapshot> children = nodeSnapshot.getChildren();
-    int childCount = 0;
-    for (NodeSnapshot child : children) {
-      AlertLevel childAlertLevel = child.getAlertLevel();
-      if (childAlertLevel.compareTo(alertLevel) >= 0) {
-        SystemsTreeNode childNode = findOrInsertChild(treeModel, treeNode, child, childCount);
-        childNode.setAlertLevel(childAlertLevel);
-        validateTreeNodes(child, childNode, alertLevel);
-        childCount++;
-      }
-    }
-    pruneChildren(treeModel, treeNode, childCount);
-  }
-
-  /**
-   * Optimized method of dynamically updating a tree.  Finds existing, deletes any extra before it (if not at proper index already),
-   * then inserts into correct position if not found anywhere.  This algorithm should work well, a deleted item will be removed when
-   * an item after it is found on the first pass, and an inserted item will be inserted directly into position because it was not
-   * found (and therefore nothing deleted).
-   */
-  private SystemsTreeNode findOrInsertChild(DefaultTreeModel treeModel, SystemsTreeNode parent, NodeSnapshot child, int index) {
-    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
-    Node childNode = child.getNode();
-
-    // Look for an existing match anywhere at the correct position or later in the children
-    for (int scanIndex = index; scanIndex < parent.getChildCount(); scanIndex++) {
-      SystemsTreeNode scanNode = (SystemsTreeNode) parent.getChildAt(scanIndex);
-      if (scanNode.getNode().equals(childNode)) {
-        // Found existing, remove any extra nodes up to it (if any)
-        for (int deleteIndex = scanIndex - 1; deleteIndex >= index; deleteIndex--) {
-          SystemsTreeNode deletingNode = (SystemsTreeNode) parent.getChildAt(deleteIndex);
-          recursiveRemoveNodeFromParent(deletingNode);
-        }
-        return scanNode;
-      }
-    }
-    // Not found, insert into correct position
-    SystemsTreeNode childTreeNode = new SystemsTreeNode(child.getLabel(), childNode, child.getAllowsChildren());
-    treeModel.insertNodeInto(childTreeNode, parent, index);
-    return childTreeNode;
-  }
-
-  private void pruneChildren(DefaultTreeModel treeModel, SystemsTreeNode parent, int size) {
+  private void removingTreeNode(SystemsTreeNode deletingNode) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    while (parent.getChildCount() > size) {
-      SystemsTreeNode deletingNode = (SystemsTreeNode) parent.getChildAt(parent.getChildCount() - 1);
-      recursiveRemoveNodeFromParent(deletingNode);
-    }
-  }
-
-  private void recursiveRemoveNodeFromParent(SystemsTreeNode deletingNode) {
-    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
-    // Delete children first
-    while (deletingNode.getChildCount() > 0) {
-      recursiveRemoveNodeFromParent((SystemsTreeNode) deletingNode.getChildAt(deletingNode.getChildCount() - 1));
-    }
     if (deletingNode == this.selectedTreeNode) {
       selectNode(null);
     }
-    treeModel.removeNodeFromParent(deletingNode);
     // Clear any alerts associated with the node that is being removed
     noc.clearAlerts(deletingNode.node);
   }
 
+  /**
+   * A node in the systems tree.  Not thread-safe, only used by the Swing event
+   * dispatch thread in the application, but without asserting so the tree model
+   * may be benchmarked headless.
+   */
   @SuppressWarnings("CloneableImplementsClone")
-  private class SystemsTreeNode extends DefaultMutableTreeNode {
+  static class SystemsTreeNode extends DefaultMutableTreeNode {
 
     private static final long serialVersionUID = 1L;
 
@@ -529,20 +750,14 @@ public class SystemsPane extends JPanel {
 
     SystemsTreeNode(String label, Node node, boolean allowsChildren) {
       super(label, allowsChildren);
-      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
       this.node = node;
     }
 
     void setAlertLevel(AlertLevel alertLevel) {
-      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
       this.alertLevel = alertLevel;
     }
 
     Node getNode() {
-      assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
-
       return node;
     }
   }
@@ -0,0 +1,113 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.Node;
+import java.util.function.Consumer;
+import javax.swing.tree.DefaultTreeModel;
+
+/**
+ * Updates the tree model of {@link SystemsPane} to match a new
+ * {@link SystemsTreeState}, moving, inserting, and removing as few tree nodes
+ * as possible.  This only uses the tree model, not any components, so it may
+ * be benchmarked headless.
+ *
+ * <p>This class is not thread-safe.  It is only used by the Swing event
+ * dispatch thread in the application.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+final class SystemsTreeReconciler {
+
+  private final DefaultTreeModel treeModel;
+  private final Consumer<SystemsPane.SystemsTreeNode> removing;
+
+  /**
+   * @param  removing  called for each tree node before it is removed from the model, children first
+   */
+  SystemsTreeReconciler(DefaultTreeModel treeModel, Consumer<SystemsPane.SystemsTreeNode> removing) {
+    this.treeModel = treeModel;
+    this.removing = removing;
+  }
+
+  /**
+   * Updates the given tree node and its children, recursively, to match the state.
+   */
+  void reconcile(SystemsTreeState state, SystemsPane.SystemsTreeNode treeNode) {
+    treeNode.setAlertLevel(state.alertLevel);
+    int childCount = 0;
+    for (SystemsTreeState child : state.children) {
+      reconcile(child, findOrInsertChild(treeNode, child, childCount));
+      childCount++;
+    }
+    pruneChildren(treeNode, childCount);
+  }
+
+  /**
+   * Optimized method of dynamically updating a tree.  Finds existing, deletes any extra before it (if not at proper index already),
+   * then inserts into correct position if not found anywhere.  This algorithm should work well, a deleted item will be removed when
+   * an item after it is found on the first pass, and an inserted item will be inserted directly into position because it was not
+   * found (and therefore nothing deleted).
+   */
+  private SystemsPane.SystemsTreeNode findOrInsertChild(SystemsPane.SystemsTreeNode parent, SystemsTreeState child, int index) {
+    Node childNode = child.node;
+
+    // Look for an existing match anywhere at the correct position or later in the children
+    for (int scanIndex = index; scanIndex < parent.getChildCount(); scanIndex++) {
+      SystemsPane.SystemsTreeNode scanNode = (SystemsPane.SystemsTreeNode) parent.getChildAt(scanIndex);
+      if (scanNode.getNode().equals(childNode)) {
+        // Found existing, remove any extra nodes up to it (if any)
+        for (int deleteIndex = scanIndex - 1; deleteIndex >= index; deleteIndex--) {
+          SystemsPane.SystemsTreeNode deletingNode = (SystemsPane.SystemsTreeNode) parent.getChildAt(deleteIndex);
+          remove(deletingNode);
+        }
+        return scanNode;
+      }
+    }
+    // Not found, insert into correct position
+    SystemsPane.SystemsTreeNode childTreeNode = new SystemsPane.SystemsTreeNode(child.label, childNode, child.allowsChildren);
+    treeModel.insertNodeInto(childTreeNode, parent, index);
+    return childTreeNode;
+  }
+
+  private void pruneChildren(SystemsPane.SystemsTreeNode parent, int size) {
+    while (parent.getChildCount() > size) {
+      SystemsPane.SystemsTreeNode deletingNode = (SystemsPane.SystemsTreeNode) parent.getChildAt(parent.getChildCount() - 1);
+      remove(deletingNode);
+    }
+  }
+
+  /**
+   * Removes a tree node and all its children from the model, children first.
+   */
+  void remove(SystemsPane.SystemsTreeNode deletingNode) {
+    // Delete children first
+    while (deletingNode.getChildCount() > 0) {
+      remove((SystemsPane.SystemsTreeNode) deletingNode.getChildAt(deletingNode.getChildCount() - 1));
+    }
+    removing.accept(deletingNode);
+    treeModel.removeNodeFromParent(deletingNode);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable view of the systems tree, showing only the nodes at or above
+ * the systems alert level.  This is built from a snapshot outside the Swing
+ * event dispatch thread, leaving only the changes to the tree model for
+ * {@link SystemsTreeReconciler}.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class SystemsTreeState {
+
+  /**
+   * Builds the view of a snapshot.  The root is always included.
+   */
+  static SystemsTreeState of(NodeSnapshot nodeSnapshot, AlertLevel systemsAlertLevel) {
+    List<NodeSnapshot> snapshotChildren = nodeSnapshot.getChildren();
+    List<SystemsTreeState> children = null;
+    for (NodeSnapshot child : snapshotChildren) {
+      if (child.getAlertLevel().compareTo(systemsAlertLevel) >= 0) {
+        if (children == null) {
+          children = new ArrayList<>(snapshotChildren.size());
+        }
+        children.add(of(child, systemsAlertLevel));
+      }
+    }
+    return new SystemsTreeState(
+        nodeSnapshot.getNode(),
+        nodeSnapshot.getLabel(),
+        nodeSnapshot.getAllowsChildren(),
+        nodeSnapshot.getAlertLevel(),
+        children == null ? Collections.emptyList() : Collections.unmodifiableList(children)
+    );
+  }
+
+  final Node node;
+  final String label;
+  final boolean allowsChildren;
+  final AlertLevel alertLevel;
+  final List<SystemsTreeState> children;
+
+  private SystemsTreeState(Node node, String label, boolean allowsChildren, AlertLevel alertLevel, List<SystemsTreeState> children) {
+    this.node = node;
+    this.label = label;
+    this.allowsChildren = allowsChildren;
+    this.alertLevel = alertLevel;
+    this.children = children;
+  }
+}
@@ -0,0 +1,314 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes rows to a file as CSV or newline-delimited JSON.  Rows are encoded
+ * directly into a fixed-size buffer that is drained to a {@link FileChannel},
+ * so memory use does not depend on the number of rows written.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TableExportWriter implements Closeable {
+
+  /**
+   * The supported file formats.
+   */
+  enum Format {
+    /**
+     * Comma-separated values, per RFC 4180.
+     */
+    CSV("csv"),
+    /**
+     * Newline-delimited JSON, one object per row, keyed by the column headers.
+     */
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    Format(String extension) {
+      this.extension = extension;
+    }
+
+    String getExtension() {
+      return extension;
+    }
+  }
+
+  private final Format format;
+  private final List<String> headers;
+  private final ChannelWriter out;
+
+  /**
+   * Creates or truncates the file.  The header is written by {@link #writeHeader()}.
+   */
+  TableExportWriter(Path path, Format format, List<String> headers) throws IOException {
+    this.format = format;
+    this.headers = headers;
+    this.out = new ChannelWriter(
+        FileChannel.open(
+            path,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        )
+    );
+  }
+
+  /**
+   * Writes the header, when the format has one.  Called once, before any rows.
+   */
+  void writeHeader() throws IOException {
+    if (format == Format.CSV) {
+      writeCsvRow(headers.toArray());
+    }
+  }
+
+  /**
+   * Writes one row.  The number of values must match the number of headers.
+   */
+  void writeRow(Object[] values) throws IOException {
+    if (values.length != headers.size()) {
+      throw new IllegalArgumentException("values.length != headers.size(): " + values.length + " != " + headers.size());
+    }
+    switch (format) {
+      case CSV:
+        writeCsvRow(values);
+        break;
+      case NDJSON:
+        writeJsonRow(values);
+        break;
+      default:
+        throw new AssertionError("Unexpected format: " + format);
+    }
+  }
+
+  private void writeCsvRow(Object[] values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      Object value = values[i];
+      if (value != null) {
+        String str = value.toString();
+        boolean quote = false;
+        for (int j = 0, len = str.length(); j < len; j++) {
+          char ch = str.charAt(j);
+          if (ch == ',' || ch == '"' || ch == '\r' || ch == '\n') {
+            quote = true;
+            break;
+          }
+        }
+        if (quote) {
+          out.write('"');
+          for (int j = 0, len = str.length(); j < len; j++) {
+            char ch = str.charAt(j);
+            if (ch == '"') {
+              out.write('"');
+            }
+            out.write(ch);
+          }
+          out.write('"');
+        } else {
+          out.write(str);
+        }
+      }
+    }
+    out.write("\r\n");
+  }
+
+  private void writeJsonRow(Object[] values) throws IOException {
+    out.write('{');
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        out.write(',');
+      }
+      writeJsonString(headers.get(i));
+      out.write(':');
+      Object value = values[i];
+      if (value == null) {
+        out.write("null");
+      } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long) {
+        out.write(value.toString());
+      } else {
+        writeJsonString(value.toString());
+      }
+    }
+    out.write("}\n");
+  }
+
+  private void writeJsonString(String str) throws IOException {
+    out.write('"');
+    for (int i = 0, len = str.length(); i < len; i++) {
+      char ch = str.charAt(i);
+      switch (ch) {
+        case '"':
+          out.write("\\\"");
+          break;
+        case '\\':
+          out.write("\\\\");
+          break;
+        case '\n':
+          out.write("\\n");
+          break;
+        case '\r':
+          out.write("\\r");
+          break;
+        case '\t':
+          out.write("\\t");
+          break;
+        default:
+          if (ch < 0x20) {
+            out.write("\\u00");
+            out.write(Character.forDigit(ch >> 4, 16));
+            out.write(Character.forDigit(ch & 0xf, 16));
+          } else {
+            out.write(ch);
+          }
+      }
+    }
+    out.write('"');
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Encodes UTF-8 into a fixed-size buffer, draining to the channel when full.
+   */
+  private static final class ChannelWriter extends Writer {
+
+    private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private boolean closed;
+
+    private ChannelWriter(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+      if (!chars.hasRemaining()) {
+        encode(false);
+      }
+      chars.put((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+      while (len > 0) {
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+        int count = Math.min(len, chars.remaining());
+        chars.put(cbuf, off, count);
+        off += count;
+        len -= count;
+      }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+      while (len > 0) {
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+        int count = Math.min(len, chars.remaining());
+        chars.put(str, off, off + count);
+        off += count;
+        len -= count;
+      }
+    }
+
+    private void encode(boolean endOfInput) throws IOException {
+      chars.flip();
+      while (true) {
+        CoderResult result = encoder.encode(chars, bytes, endOfInput);
+        if (result.isOverflow()) {
+          drain();
+        } else if (result.isUnderflow()) {
+          break;
+        } else {
+          result.throwException();
+        }
+      }
+      // Keeps any trailing high surrogate for the next call
+      chars.compact();
+    }
+
+    private void drain() throws IOException {
+      bytes.flip();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      bytes.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+      encode(false);
+      drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!closed) {
+        closed = true;
+        try {
+          encode(true);
+          while (encoder.flush(bytes).isOverflow()) {
+            drain();
+          }
+          drain();
+        } finally {
+          channel.close();
+        }
+      }
+    }
+  }
+}
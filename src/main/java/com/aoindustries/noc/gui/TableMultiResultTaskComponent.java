@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2008-2013, 2016, 2018, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2008-2013, 2016, 2018, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,23 +29,16 @@ import com.aoapps.sql.NanoInterval;
 import com.aoindustries.noc.monitor.common.AlertLevel;
 import com.aoindustries.noc.monitor.common.Node;
 import com.aoindustries.noc.monitor.common.TableMultiResult;
-import com.aoindustries.noc.monitor.common.TableMultiResultListener;
 import com.aoindustries.noc.monitor.common.TableMultiResultNode;
-import java.awt.GridLayout;
-import java.rmi.RemoteException;
-import java.rmi.server.RMIClientSocketFactory;
-import java.rmi.server.RMIServerSocketFactory;
-import java.rmi.server.UnicastRemoteObject;
+import java.awt.BorderLayout;
 import java.text.DateFormat;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JPanel;
 import javax.swing.JScrollBar;
@@ -61,19 +54,29 @@ import javax.swing.table.TableCellRenderer;
  */
 public class TableMultiResultTaskComponent extends JPanel implements TaskComponent {
 
-  private static final Logger logger = Logger.getLogger(TableMultiResultTaskComponent.class.getName());
-
   private static final Resources RESOURCES =
       Resources.getResources(ResourceBundle::getBundle, TableMultiResultTaskComponent.class);
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The maximum number of tables retained across different column headers.
+   */
+  private static final int MAX_CACHED_TABLES = 32;
+
+  /**
+   * The maximum number of cells retained across all tables.
+   */
+  private static final long MAX_CACHED_CELLS = 250000;
+
   private final Noc noc;
   private TableMultiResultNode<? extends TableMultiResult> tableMultiResultNode;
+  private NodeSubscriptions.Subscription subscription;
   private JComponent validationComponent;
+  private NodeSubscriptions.TableMultiResults lastResults;
 
   // The JTable is swapped-out based on the column names
-  private final Map<List<?>, JTable> tables = new HashMap<>();
+  private final JTableCache<List<?>> tables;
   // The current table in the scrollPane
   private JTable table;
   private final JScrollPane scrollPane;
@@ -83,12 +86,24 @@ public class TableMultiResultTaskComponent extends JPanel implements TaskCompone
    */
   @SuppressWarnings("OverridableMethodCallInConstructor")
   public TableMultiResultTaskComponent(Noc noc) {
-    super(new GridLayout(1, 0));
+    super(new BorderLayout());
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
     this.noc = noc;
+    tables = new JTableCache<>(
+        TableMultiResultTaskComponent.class.getSimpleName(),
+        MAX_CACHED_TABLES,
+        MAX_CACHED_CELLS,
+        noc.metrics
+    );
+
+    JPanel northPanel = new JPanel(new BorderLayout());
+    JButton exportButton = new JButton(RESOURCES.getMessage("export.label"));
+    exportButton.addActionListener(e -> export());
+    northPanel.add(exportButton, BorderLayout.EAST);
+    add(northPanel, BorderLayout.NORTH);
 
     scrollPane = new JScrollPane();
-    add(scrollPane);
+    add(scrollPane, BorderLayout.CENTER);
   }
 
   @Override
@@ -98,29 +113,6 @@ public class TableMultiResultTaskComponent extends JPanel implements TaskCompone
     return this;
   }
 
-  private final TableMultiResultListener<TableMultiResult> tableMultiResultListener = new TableMultiResultListener<>() {
-    @Override
-    public void tableMultiResultAdded(final TableMultiResult tableMultiResult) {
-      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-      try {
-        updateValues();
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    }
-
-    @Override
-    public void tableMultiResultRemoved(final TableMultiResult tableMultiResult) {
-      assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-      try {
-        updateValues();
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    }
-  };
-  private volatile boolean tableMultiResultListenerExported;
-
   @Override
   public void start(Node node, JComponent validationComponent) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
@@ -143,41 +135,35 @@ public class TableMultiResultTaskComponent extends JPanel implements TaskCompone
     verticalScrollBar.setValue(verticalScrollBar.getMinimum());
     horizontalScrollBar.setValue(horizontalScrollBar.getMinimum());
 
-    final int port = noc.port;
-    final RMIClientSocketFactory csf = noc.csf;
-    final RMIServerSocketFactory ssf = noc.ssf;
-
-    noc.executorService.submit(() -> {
-      try {
-        updateValues();
+    subscription = noc.subscriptions.subscribeTableMultiResult(
+        localTableMultiResultNode,
+        new NodeSubscriptions.Subscriber<NodeSubscriptions.TableMultiResults, View>() {
+          @Override
+          public View prepare(NodeSubscriptions.TableMultiResults results) {
+            return View.of(results, Locale.getDefault());
+          }
 
-        if (!tableMultiResultListenerExported) {
-          UnicastRemoteObject.exportObject(tableMultiResultListener, port, csf, ssf);
-          tableMultiResultListenerExported = true;
+          @Override
+          public void update(View view) {
+            // The field tableMultiResultNode will be null or different when this has been stopped
+            if (view != null && localTableMultiResultNode.equals(TableMultiResultTaskComponent.this.tableMultiResultNode)) {
+              updateValues(view);
+            }
+          }
         }
-        // noc.unexportObject(tableResultListener);
-        localTableMultiResultNode.addTableMultiResultListener(tableMultiResultListener);
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    });
+    );
   }
 
   @Override
   public void stop() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    final TableMultiResultNode<? extends TableMultiResult> localTableMultiResultNode = this.tableMultiResultNode;
-    if (localTableMultiResultNode != null) {
-      this.tableMultiResultNode = null;
-      noc.executorService.submit(() -> {
-        try {
-          localTableMultiResultNode.removeTableMultiResultListener(tableMultiResultListener);
-        } catch (RemoteException err) {
-          logger.log(Level.SEVERE, null, err);
-        }
-      });
+    if (subscription != null) {
+      subscription.close();
+      subscription = null;
     }
+    tableMultiResultNode = null;
+    lastResults = null;
 
     validationComponent = null;
     if (table != null) {
@@ -186,17 +172,24 @@ public class TableMultiResultTaskComponent extends JPanel implements TaskCompone
     }
   }
 
-  private void updateValues() throws RemoteException {
-    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-
-    final TableMultiResultNode<? extends TableMultiResult> localTableMultiResultNode = this.tableMultiResultNode;
-    // If any events come in after this is stopped, this may be null
-    if (localTableMultiResultNode != null) {
-      // Do as much as possible before switching over to the event dispatch thread
-      final DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, Locale.getDefault());
+  /**
+   * Results prepared for display.
+   */
+  static final class View {
+
+    /**
+     * Prepares results for display, adding the time and latency columns.
+     *
+     * @return  the view or {@code null} when {@code results} is {@code null}
+     */
+    static View of(NodeSubscriptions.TableMultiResults tableMultiResults, Locale locale) {
+      if (tableMultiResults == null) {
+        return null;
+      }
+      final DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale);
 
-      final List<?> columnHeaders = localTableMultiResultNode.getColumnHeaders();
-      final List<? extends TableMultiResult> results = localTableMultiResultNode.getResults();
+      final List<?> columnHeaders = tableMultiResults.getColumnHeaders();
+      final List<? extends TableMultiResult> results = tableMultiResults.getResults();
       final int rows = results.size();
 
       final List<Object> allHeaders = new ArrayList<>(columnHeaders.size() + 2);
@@ -205,116 +198,166 @@ public class TableMultiResultTaskComponent extends JPanel implements TaskCompone
       allHeaders.addAll(columnHeaders);
       final int columns = allHeaders.size();
 
-      SwingUtilities.invokeLater(() -> {
-        // The field tableMultiResultNode will be null or different when this has been stopped
-        if (localTableMultiResultNode.equals(TableMultiResultTaskComponent.this.tableMultiResultNode)) {
-          // Swap-out the table if needed
-          JTable newTable = tables.get(columnHeaders);
-          if (newTable == null) {
-            // System.out.println("DEBUG: TableResultTaskComponent: creating new JTable: "+columnHeaders);
-            UneditableDefaultTableModel tableModel = new UneditableDefaultTableModel(
-                rows,
-                columns
-            );
-            tableModel.setColumnIdentifiers(allHeaders.toArray());
-            newTable = new JTable(tableModel) {
-              private static final long serialVersionUID = 1;
-              @Override
-              public TableCellRenderer getCellRenderer(int row, int column) {
-                return new AlertLevelTableCellRenderer(
-                    super.getCellRenderer(row, column)
-                );
-              }
-            };
-            // table.setPreferredScrollableViewportSize(new Dimension(500, 70));
-            // table.setFillsViewportHeight(true);
-            tables.put(columnHeaders, newTable);
+      Object[] cells = new Object[rows * columns];
+      int index = 0;
+      for (int row = 0; row < rows; row++) {
+        TableMultiResult result = results.get(row);
+        AlertLevel alertLevel = result.getAlertLevel();
+
+        cells[index] = new AlertLevelAndData(
+            alertLevel,
+            RESOURCES.getMessage(
+                // locale,
+                "time",
+                df.format(new Date(result.getTime()))
+            )
+        );
+        String error = result.getError();
+        long latency = result.getLatency();
+        cells[index + 1] = new AlertLevelAndData(
+            alertLevel,
+            (error != null && columns == 2)
+                ? error
+                : NanoInterval.toString(latency)
+        );
+        if (error != null) {
+          // TODO: Combine into a single cell
+          if (columns > 2) {
+            cells[index + 2] = new AlertLevelAndData(alertLevel, error);
           }
-          if (newTable != table) {
-            if (table != null) {
-              scrollPane.setViewport(null);
-              UneditableDefaultTableModel tableModel = (UneditableDefaultTableModel) table.getModel();
-              tableModel.setRowCount(0);
-              table = null;
-            }
-            scrollPane.setViewportView(table = newTable);
-            // scrollPane.validate();
+          // Remaining columns left null
+        } else {
+          int rowDataSize = result.getRowDataSize();
+          for (int col = 2; col < columns; col++) {
+            cells[index + col] = new AlertLevelAndData(alertLevel, (col - 2) < rowDataSize ? result.getRowData(col - 2) : "");
           }
+        }
+        index += columns;
+      }
+      return new View(tableMultiResults, allHeaders, new TableView(rows, columns, cells));
+    }
 
-          // Update the data in the table
-          UneditableDefaultTableModel tableModel = (UneditableDefaultTableModel) table.getModel();
-          if (columns != tableModel.getColumnCount()) {
-            tableModel.setColumnCount(columns);
-          }
+    final NodeSubscriptions.TableMultiResults results;
+    final List<Object> allHeaders;
+    final TableView table;
 
-          if (rows != tableModel.getRowCount()) {
-            tableModel.setRowCount(rows);
-          }
+    private View(NodeSubscriptions.TableMultiResults results, List<Object> allHeaders, TableView table) {
+      this.results = results;
+      this.allHeaders = allHeaders;
+      this.table = table;
+    }
+  }
+
+  private void updateValues(View view) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-          for (int row = 0; row < rows; row++) {
-            TableMultiResult result = results.get(row);
-            AlertLevel alertLevel = result.getAlertLevel();
-
-            tableModel.setValueAt(
-                new AlertLevelAndData(
-                    alertLevel,
-                    RESOURCES.getMessage(
-                        // locale,
-                        "time",
-                        df.format(new Date(result.getTime()))
-                    )
-                ),
-                row,
-                0
-            );
-            String error = result.getError();
-            long latency = result.getLatency();
-            tableModel.setValueAt(
-                new AlertLevelAndData(
-                    alertLevel,
-                    (error != null && columns == 2)
-                        ? error
-                        : NanoInterval.toString(latency)
-                ),
-                row,
-                1
-            );
-            if (error != null) {
-              // TODO: Combine into a single cell
-              if (columns > 2) {
-                tableModel.setValueAt(
-                    new AlertLevelAndData(alertLevel, error),
-                    row,
-                    2
-                );
+    lastResults = view.results;
+
+    // Swap-out the table if needed
+    JTable newTable = tables.get(view.results.getColumnHeaders(), columnModel -> {
+      // System.out.println("DEBUG: TableResultTaskComponent: creating new JTable: "+columnHeaders);
+      UneditableDefaultTableModel tableModel = new UneditableDefaultTableModel(
+          view.table.rows,
+          view.table.columns
+      );
+      tableModel.setColumnIdentifiers(view.allHeaders.toArray());
+      // table.setPreferredScrollableViewportSize(new Dimension(500, 70));
+      // table.setFillsViewportHeight(true);
+      return new JTable(tableModel, columnModel) {
+        private static final long serialVersionUID = 1;
+        @Override
+        public TableCellRenderer getCellRenderer(int row, int column) {
+          return new AlertLevelTableCellRenderer(
+              super.getCellRenderer(row, column)
+          );
+        }
+      };
+    });
+    if (newTable != table) {
+      if (table != null) {
+        scrollPane.setViewport(null);
+        UneditableDefaultTableModel tableModel = (UneditableDefaultTableModel) table.getModel();
+        tableModel.setRowCount(0);
+        table = null;
+      }
+      scrollPane.setViewportView(table = newTable);
+      // scrollPane.validate();
+    }
+
+    // Update the data in the table
+    view.table.applyTo((UneditableDefaultTableModel) table.getModel());
+    tables.trim(table);
+
+    validationComponent.invalidate();
+    validationComponent.validate();
+    validationComponent.repaint();
+  }
+
+  /**
+   * Exports the most recent results, streaming from the immutable results list.
+   */
+  private void export() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final NodeSubscriptions.TableMultiResults tableMultiResults = lastResults;
+    if (tableMultiResults != null) {
+      final List<?> columnHeaders = tableMultiResults.getColumnHeaders();
+      final List<? extends TableMultiResult> results = tableMultiResults.getResults();
+      Exporter.export(
+          noc,
+          this,
+          RESOURCES.getMessage("export.defaultName"),
+          new Exporter.RowSource() {
+            private int row;
+
+            @Override
+            public List<String> getHeaders() {
+              List<String> headers = new ArrayList<>(columnHeaders.size() + 4);
+              headers.add(RESOURCES.getMessage("alertLevel.header"));
+              headers.add(RESOURCES.getMessage("time.header"));
+              headers.add(RESOURCES.getMessage("latencyNanos.header"));
+              headers.add(RESOURCES.getMessage("error.header"));
+              for (Object columnHeader : columnHeaders) {
+                headers.add(columnHeader == null ? null : columnHeader.toString());
               }
-              for (int col = 3; col < columns; col++) {
-                tableModel.setValueAt(
-                    null,
-                    row,
-                    col
-                );
+              return headers;
+            }
+
+            @Override
+            public int getRowCount() {
+              return results.size();
+            }
+
+            @Override
+            public boolean nextRow(Object[] values) {
+              if (row >= results.size()) {
+                return false;
               }
-            } else {
-              int rowDataSize = result.getRowDataSize();
-              for (int col = 2; col < columns; col++) {
-                tableModel.setValueAt(
-                    new AlertLevelAndData(alertLevel, (col - 2) < rowDataSize ? result.getRowData(col - 2) : ""),
-                    row,
-                    col
-                );
+              TableMultiResult result = results.get(row++);
+              values[0] = result.getAlertLevel().name();
+              values[1] = Instant.ofEpochMilli(result.getTime()).toString();
+              values[2] = result.getLatency();
+              values[3] = result.getError();
+              int rowDataSize = result.getError() == null ? result.getRowDataSize() : 0;
+              for (int col = 4; col < values.length; col++) {
+                values[col] = (col - 4) < rowDataSize ? result.getRowData(col - 4) : null;
               }
+              return true;
             }
           }
-
-          validationComponent.invalidate();
-          validationComponent.validate();
-          validationComponent.repaint();
-        }
-      });
+      );
     }
   }
 
+  /**
+   * Gets the cache of tables, for its hit and miss counts.
+   */
+  JTableCache<List<?>> getTableCache() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return tables;
+  }
+
   @Override
   public void systemsAlertLevelChanged(AlertLevel systemsAlertLevel) {
     // Do nothing
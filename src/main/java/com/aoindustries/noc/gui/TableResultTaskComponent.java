@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2008-2013, 2016, 2018, 2019, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2008-2013, 2016, 2018, 2019, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -29,23 +29,15 @@ import com.aoapps.sql.SQLUtility;
 import com.aoindustries.noc.monitor.common.AlertLevel;
 import com.aoindustries.noc.monitor.common.Node;
 import com.aoindustries.noc.monitor.common.TableResult;
-import com.aoindustries.noc.monitor.common.TableResultListener;
 import com.aoindustries.noc.monitor.common.TableResultNode;
 import java.awt.BorderLayout;
-import java.rmi.RemoteException;
-import java.rmi.server.RMIClientSocketFactory;
-import java.rmi.server.RMIServerSocketFactory;
-import java.rmi.server.UnicastRemoteObject;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
@@ -62,20 +54,36 @@ import javax.swing.table.TableCellRenderer;
  */
 public class TableResultTaskComponent extends JPanel implements TaskComponent {
 
-  private static final Logger logger = Logger.getLogger(TableResultTaskComponent.class.getName());
-
   private static final Resources RESOURCES =
       Resources.getResources(ResourceBundle::getBundle, TableResultTaskComponent.class);
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The maximum number of tables retained across different column headers.
+   */
+  private static final int MAX_CACHED_TABLES = 32;
+
+  /**
+   * The maximum number of cells retained across all tables.
+   */
+  private static final long MAX_CACHED_CELLS = 250000;
+
   private final Noc noc;
   private TableResultNode tableResultNode;
+  private NodeSubscriptions.Subscription subscription;
   private JComponent validationComponent;
+  // The most recent result, redisplayed when the systems alert level changes
+  private TableResult lastResult;
+  /**
+   * A copy of the systems alert level, for preparing results outside the Swing
+   * event dispatch thread.
+   */
+  private volatile AlertLevel systemsAlertLevel;
 
   private final JLabel retrievedLabel;
   // The JTable is swapped-out based on the column names
-  private final Map<List<String>, JTable> tables = new HashMap<>();
+  private final JTableCache<List<String>> tables;
   // The current table in the scrollPane
   private JTable table;
   private final JScrollPane scrollPane;
@@ -88,9 +96,20 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
     super(new BorderLayout());
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
     this.noc = noc;
-
+    tables = new JTableCache<>(
+        TableResultTaskComponent.class.getSimpleName(),
+        MAX_CACHED_TABLES,
+        MAX_CACHED_CELLS,
+        noc.metrics
+    );
+
+    JPanel northPanel = new JPanel(new BorderLayout());
     retrievedLabel = new JLabel();
-    add(retrievedLabel, BorderLayout.NORTH);
+    northPanel.add(retrievedLabel, BorderLayout.CENTER);
+    JButton exportButton = new JButton(RESOURCES.getMessage("export.label"));
+    exportButton.addActionListener(e -> export());
+    northPanel.add(exportButton, BorderLayout.EAST);
+    add(northPanel, BorderLayout.NORTH);
 
     scrollPane = new JScrollPane();
     add(scrollPane, BorderLayout.CENTER);
@@ -103,13 +122,6 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
     return this;
   }
 
-  private final Object tableResultListenerLock = new Object();
-  private final TableResultListener tableResultListener = tableResult -> {
-    assert !SwingUtilities.isEventDispatchThread() : "Running in Swing event dispatch thread";
-    SwingUtilities.invokeLater(() -> updateValue(tableResult));
-  };
-  private boolean tableResultListenerExported;
-
   @Override
   public void start(Node node, JComponent validationComponent) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
@@ -130,81 +142,167 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
     verticalScrollBar.setValue(verticalScrollBar.getMinimum());
     horizontalScrollBar.setValue(horizontalScrollBar.getMinimum());
 
-    final int port = noc.port;
-    final RMIClientSocketFactory csf = noc.csf;
-    final RMIServerSocketFactory ssf = noc.ssf;
-
-    noc.executorService.submit(() -> {
-      try {
-        final TableResult result = localTableResultNode.getLastResult();
-        SwingUtilities.invokeLater(() -> {
-          // When localTableResultNode doesn't match, we have been stopped already
-          if (localTableResultNode.equals(TableResultTaskComponent.this.tableResultNode)) {
-            updateValue(result);
+    systemsAlertLevel = noc.preferences.getSystemsAlertLevel();
+    subscription = noc.subscriptions.subscribeTableResult(
+        localTableResultNode,
+        new NodeSubscriptions.Subscriber<TableResult, View>() {
+          @Override
+          public View prepare(TableResult result) {
+            return View.of(result, Locale.getDefault(), systemsAlertLevel);
           }
-        });
-        synchronized (tableResultListenerLock) {
-          if (!tableResultListenerExported) {
-            UnicastRemoteObject.exportObject(tableResultListener, port, csf, ssf);
-            tableResultListenerExported = true;
-            localTableResultNode.addTableResultListener(tableResultListener);
+
+          @Override
+          public void update(View view) {
+            // When localTableResultNode doesn't match, we have been stopped already
+            if (localTableResultNode.equals(TableResultTaskComponent.this.tableResultNode)) {
+              if (view != null && view.systemsAlertLevel != systemsAlertLevel) {
+                // Prepared before the systems alert level changed
+                view = View.of(view.result, Locale.getDefault(), systemsAlertLevel);
+              }
+              lastResult = view == null ? null : view.result;
+              updateValue(view);
+            }
           }
         }
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    });
+    );
   }
 
   @Override
   public void stop() {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    final TableResultNode localTableResultNode = this.tableResultNode;
-    if (localTableResultNode != null) {
-      this.tableResultNode = null;
-      noc.executorService.submit(() -> {
-        synchronized (tableResultListenerLock) {
-          if (tableResultListenerExported) {
-            try {
-              localTableResultNode.removeTableResultListener(tableResultListener);
-            } catch (RemoteException err) {
-              logger.log(Level.WARNING, null, err);
-            }
-            tableResultListenerExported = false;
-            noc.unexportObject(tableResultListener);
-          }
-        }
-      });
+    if (subscription != null) {
+      subscription.close();
+      subscription = null;
     }
+    tableResultNode = null;
+    lastResult = null;
 
     validationComponent = null;
     updateValue(null);
   }
 
-  private void updateValue(TableResult tableResult) {
+  /**
+   * A result prepared for display.
+   */
+  static final class View {
+
+    /**
+     * Prepares a result for display, filtering the rows by alert level.
+     *
+     * @return  the view or {@code null} when {@code result} is {@code null}
+     */
+    static View of(TableResult result, Locale locale, AlertLevel systemsAlertLevel) {
+      if (result == null) {
+        return null;
+      }
+      DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale);
+      String formattedDate = df.format(new Date(result.getTime()));
+      long latency = result.getLatency();
+      String retrievedLine =
+          latency < 1000000
+              ? RESOURCES.getMessage(
+              // locale,
+              "retrieved.micro",
+              formattedDate,
+              SQLUtility.formatDecimal3(latency)
+          ) : latency < 1000000000
+              ? RESOURCES.getMessage(
+              // locale,
+              "retrieved.milli",
+              formattedDate,
+              SQLUtility.formatDecimal3(latency / 1000)
+          ) : RESOURCES.getMessage(
+              // locale,
+              "retrieved.second",
+              formattedDate,
+              SQLUtility.formatDecimal3(latency / 1000000)
+          );
+      List<String> columnHeaders = result.getColumnHeaders(locale);
+      return new View(
+          result,
+          systemsAlertLevel,
+          retrievedLine,
+          columnHeaders,
+          filterRows(
+              result.getColumns(),
+              result.getRows(),
+              result.getTableData(locale),
+              result.getAlertLevels(),
+              systemsAlertLevel
+          )
+      );
+    }
+
+    final TableResult result;
+    final AlertLevel systemsAlertLevel;
+    final String retrievedLine;
+    final List<String> columnHeaders;
+    final TableView table;
+
+    private View(TableResult result, AlertLevel systemsAlertLevel, String retrievedLine, List<String> columnHeaders, TableView table) {
+      this.result = result;
+      this.systemsAlertLevel = systemsAlertLevel;
+      this.retrievedLine = retrievedLine;
+      this.columnHeaders = columnHeaders;
+      this.table = table;
+    }
+  }
+
+  /**
+   * Builds the table of the rows at or above the systems alert level.
+   *
+   * @param  allTableData  the data of all rows, row by row
+   * @param  allAlertLevels  the alert level of each row
+   */
+  static TableView filterRows(
+      int columns,
+      int allRows,
+      List<?> allTableData,
+      List<AlertLevel> allAlertLevels,
+      AlertLevel systemsAlertLevel
+  ) {
+    int rows = 0;
+    for (int row = 0; row < allRows; row++) {
+      if (allAlertLevels.get(row).compareTo(systemsAlertLevel) >= 0) {
+        rows++;
+      }
+    }
+    Object[] cells = new Object[rows * columns];
+    int index = 0;
+    int cellIndex = 0;
+    for (int row = 0; row < allRows; row++) {
+      AlertLevel alertLevel = allAlertLevels.get(row);
+      if (alertLevel.compareTo(systemsAlertLevel) >= 0) {
+        for (int col = 0; col < columns; col++) {
+          cells[cellIndex++] = new AlertLevelAndData(alertLevel, allTableData.get(index++));
+        }
+      } else {
+        index += columns;
+      }
+    }
+    return new TableView(rows, columns, cells);
+  }
+
+  private void updateValue(View view) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    if (tableResult == null) {
+    if (view == null) {
       if (table != null) {
         scrollPane.setViewport(null);
         table = null;
       }
     } else {
-      // Find the table for the current column labels
-      Locale locale = Locale.getDefault();
-
       // Swap-out the table if needed
-      List<String> columnHeaders = tableResult.getColumnHeaders(locale);
-      JTable newTable = tables.get(columnHeaders);
-      if (newTable == null) {
+      List<String> columnHeaders = view.columnHeaders;
+      JTable newTable = tables.get(columnHeaders, columnModel -> {
         // System.out.println("DEBUG: TableResultTaskComponent: creating new JTable: "+columnHeaders);
         UneditableDefaultTableModel tableModel = new UneditableDefaultTableModel(
-            tableResult.getRows(),
-            tableResult.getColumns()
+            view.table.rows,
+            view.table.columns
         );
         tableModel.setColumnIdentifiers(columnHeaders.toArray());
-        newTable = new JTable(tableModel) {
+        JTable createdTable = new JTable(tableModel, columnModel) {
           private static final long serialVersionUID = 1L;
 
           @Override
@@ -214,11 +312,11 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
             );
           }
         };
-        newTable.setCellSelectionEnabled(true);
+        createdTable.setCellSelectionEnabled(true);
         // table.setPreferredScrollableViewportSize(new Dimension(500, 70));
         // table.setFillsViewportHeight(true);
-        tables.put(columnHeaders, newTable);
-      }
+        return createdTable;
+      });
       if (newTable != table) {
         if (table != null) {
           scrollPane.setViewport(null);
@@ -229,70 +327,9 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
       }
 
       // Update the data in the table
-      DateFormat df = DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.LONG, locale);
-      String formattedDate = df.format(new Date(tableResult.getTime()));
-      long latency = tableResult.getLatency();
-      String retrievedLine =
-          latency < 1000000
-              ? RESOURCES.getMessage(
-              // locale,
-              "retrieved.micro",
-              formattedDate,
-              SQLUtility.formatDecimal3(latency)
-          ) : latency < 1000000000
-              ? RESOURCES.getMessage(
-              // locale,
-              "retrieved.milli",
-              formattedDate,
-              SQLUtility.formatDecimal3(latency / 1000)
-          ) : RESOURCES.getMessage(
-              // locale,
-              "retrieved.second",
-              formattedDate,
-              SQLUtility.formatDecimal3(latency / 1000000)
-          );
-      retrievedLabel.setText(retrievedLine);
-
-      UneditableDefaultTableModel tableModel = (UneditableDefaultTableModel) table.getModel();
-      int columns = tableResult.getColumns();
-      if (columns != tableModel.getColumnCount()) {
-        tableModel.setColumnCount(columns);
-      }
-
-      List<?> allTableData = tableResult.getTableData(locale);
-      List<AlertLevel> allAlertLevels = tableResult.getAlertLevels();
-      int allRows = tableResult.getRows();
-      List<Object> tableData = new ArrayList<>(allRows * columns);
-      List<AlertLevel> alertLevels = new ArrayList<>(allRows);
-      AlertLevel systemsAlertLevel = noc.preferences.getSystemsAlertLevel();
-      int index = 0;
-      for (int row = 0; row < allRows; row++) {
-        AlertLevel alertLevel = allAlertLevels.get(row);
-        if (alertLevel.compareTo(systemsAlertLevel) >= 0) {
-          for (int col = 0; col < columns; col++) {
-            tableData.add(allTableData.get(index++));
-          }
-          alertLevels.add(alertLevel);
-        } else {
-          index += columns;
-        }
-      }
-      int rows = tableData.size() / columns;
-      if (rows != tableModel.getRowCount()) {
-        tableModel.setRowCount(rows);
-      }
-
-      index = 0;
-      for (int row = 0; row < rows; row++) {
-        AlertLevel alertLevel = alertLevels.get(row);
-        for (int col = 0; col < columns; col++) {
-          tableModel.setValueAt(
-              new AlertLevelAndData(alertLevel, tableData.get(index++)),
-              row,
-              col
-          );
-        }
-      }
+      retrievedLabel.setText(view.retrievedLine);
+      view.table.applyTo((UneditableDefaultTableModel) table.getModel());
+      tables.trim(table);
 
       validationComponent.invalidate();
       validationComponent.validate();
@@ -300,23 +337,78 @@ public class TableResultTaskComponent extends JPanel implements TaskComponent {
     }
   }
 
+  /**
+   * Exports the most recent result, including the rows hidden by the systems alert level.
+   */
+  private void export() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    final TableResult result = lastResult;
+    if (result != null) {
+      final Locale locale = Locale.getDefault();
+      Exporter.export(
+          noc,
+          this,
+          RESOURCES.getMessage("export.defaultName"),
+          new Exporter.RowSource() {
+            private final int rows = result.getRows();
+            private final int columns = result.getColumns();
+            private List<?> tableData;
+            private List<AlertLevel> alertLevels;
+            private int row;
+
+            @Override
+            public List<String> getHeaders() {
+              List<String> columnHeaders = result.getColumnHeaders(locale);
+              List<String> headers = new ArrayList<>(columnHeaders.size() + 1);
+              headers.add(RESOURCES.getMessage("alertLevel.header"));
+              headers.addAll(columnHeaders);
+              return headers;
+            }
+
+            @Override
+            public int getRowCount() {
+              return rows;
+            }
+
+            @Override
+            public boolean nextRow(Object[] values) {
+              if (row >= rows) {
+                return false;
+              }
+              if (tableData == null) {
+                tableData = result.getTableData(locale);
+                alertLevels = result.getAlertLevels();
+              }
+              values[0] = alertLevels.get(row).name();
+              int index = row * columns;
+              for (int col = 0; col < columns; col++) {
+                values[col + 1] = tableData.get(index + col);
+              }
+              row++;
+              return true;
+            }
+          }
+      );
+    }
+  }
+
+  /**
+   * Gets the cache of tables, for its hit and miss counts.
+   */
+  JTableCache<List<String>> getTableCache() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return tables;
+  }
+
   @Override
   public void systemsAlertLevelChanged(AlertLevel systemsAlertLevel) {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
-    final TableResultNode localTableResultNode = this.tableResultNode;
-    noc.executorService.submit(() -> {
-      try {
-        final TableResult result = localTableResultNode.getLastResult();
-        SwingUtilities.invokeLater(() -> {
-          // When localTableResultNode doesn't match, we have been stopped already
-          if (localTableResultNode.equals(TableResultTaskComponent.this.tableResultNode)) {
-            updateValue(result);
-          }
-        });
-      } catch (RemoteException err) {
-        logger.log(Level.SEVERE, null, err);
-      }
-    });
+    this.systemsAlertLevel = systemsAlertLevel;
+    if (tableResultNode != null) {
+      updateValue(View.of(lastResult, Locale.getDefault(), systemsAlertLevel));
+    }
   }
 }
@@ -0,0 +1,78 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * The immutable contents of a table, prepared outside the Swing event
+ * dispatch thread and then applied to the table model.  The cells are
+ * typically {@link AlertLevelAndData}.
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TableView {
+
+  final int rows;
+  final int columns;
+  /**
+   * The cells, row by row.  Not modified once constructed.
+   */
+  private final Object[] cells;
+
+  /**
+   * @param  cells  the cells, row by row, which are not copied and must not be modified
+   */
+  TableView(int rows, int columns, Object[] cells) {
+    if (cells.length != rows * columns) {
+      throw new IllegalArgumentException("cells.length != rows * columns: " + cells.length + " != " + rows + " * " + columns);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.cells = cells;
+  }
+
+  Object getValueAt(int row, int col) {
+    return cells[row * columns + col];
+  }
+
+  /**
+   * Sets the size and all cells of the table model to match this view.
+   */
+  void applyTo(DefaultTableModel tableModel) {
+    if (columns != tableModel.getColumnCount()) {
+      tableModel.setColumnCount(columns);
+    }
+    if (rows != tableModel.getRowCount()) {
+      tableModel.setRowCount(rows);
+    }
+    int index = 0;
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        tableModel.setValueAt(cells[index++], row, col);
+      }
+    }
+  }
+}
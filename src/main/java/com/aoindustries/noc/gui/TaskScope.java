@@ -0,0 +1,124 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tracks the background tasks started for one purpose, such as a login
+ * session, so they may all be canceled together when that purpose ends.
+ * Canceling interrupts the running tasks and prevents the waiting tasks from
+ * starting.  Waiting tasks are also removed from the queue of any
+ * {@link SubsystemExecutor}, so a thread stuck in a task that ignores
+ * interrupts does not leave the queue full.  Tasks submitted after the scope
+ * is closed are canceled immediately.
+ *
+ * <p>Only tasks that may be safely abandoned belong in a scope.  Cleanup, such
+ * as removing and unexporting listeners, must not be submitted through a scope.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class TaskScope {
+
+  private final Set<ScopedTask> tasks = new HashSet<>();
+  private boolean closed;
+
+  private class ScopedTask extends FutureTask<Void> {
+
+    private final Executor executor;
+
+    private ScopedTask(Executor executor, Runnable task) {
+      super(task, null);
+      this.executor = executor;
+    }
+
+    @Override
+    protected void done() {
+      synchronized (tasks) {
+        tasks.remove(this);
+      }
+    }
+  }
+
+  /**
+   * Submits a task to the given executor, tracked by this scope until done.
+   */
+  Future<?> submit(Executor executor, Runnable task) {
+    ScopedTask scopedTask = new ScopedTask(executor, task);
+    synchronized (tasks) {
+      if (closed) {
+        scopedTask.cancel(false);
+        return scopedTask;
+      }
+      tasks.add(scopedTask);
+    }
+    try {
+      executor.execute(scopedTask);
+    } catch (RejectedExecutionException e) {
+      scopedTask.cancel(false);
+      throw e;
+    }
+    return scopedTask;
+  }
+
+  /**
+   * Gets the number of tasks not yet done.
+   */
+  int getTaskCount() {
+    synchronized (tasks) {
+      return tasks.size();
+    }
+  }
+
+  /**
+   * Cancels all tasks not yet done, interrupting those running.
+   */
+  void close() {
+    List<ScopedTask> toCancel;
+    synchronized (tasks) {
+      closed = true;
+      toCancel = new ArrayList<>(tasks);
+      tasks.clear();
+    }
+    Set<SubsystemExecutor> toPurge = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (ScopedTask task : toCancel) {
+      task.cancel(true);
+      if (task.executor instanceof SubsystemExecutor) {
+        toPurge.add((SubsystemExecutor) task.executor);
+      }
+    }
+    for (SubsystemExecutor executor : toPurge) {
+      executor.purge();
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2009-2013, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2024, 2025  AO Industries, Inc.
+ * Copyright (C) 2009-2013, 2016, 2017, 2018, 2019, 2020, 2021, 2022, 2024, 2025, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -48,8 +48,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.JComboBox;
@@ -175,7 +174,7 @@ public class TicketEditor extends JPanel implements TableListener {
     public void focusLost(FocusEvent e) {
       final TicketType newType = (TicketType) typeComboBox.getSelectedItem();
       if (newType != null) {
-        currentTicketExecutorService.submit(() -> {
+        currentTicketExecutor.execute(() -> {
           synchronized (currentTicketLock) {
             if (currentTicket != null) {
               try {
@@ -210,7 +209,7 @@ public class TicketEditor extends JPanel implements TableListener {
     public void focusLost(FocusEvent e) {
       final Status newStatus = (Status) statusComboBox.getSelectedItem();
       if (newStatus != null) {
-        currentTicketExecutorService.submit(() -> {
+        currentTicketExecutor.execute(() -> {
           synchronized (currentTicketLock) {
             if (currentTicket != null) {
               try {
@@ -259,7 +258,7 @@ public class TicketEditor extends JPanel implements TableListener {
     @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
     public void focusLost(FocusEvent e) {
       final Account newAccount = accountComboBox.getSelectedIndex() == 0 ? null : (Account) accountComboBox.getSelectedItem();
-      currentTicketExecutorService.submit(() -> {
+      currentTicketExecutor.execute(() -> {
         synchronized (currentTicketLock) {
           if (currentTicket != null) {
             try {
@@ -295,7 +294,7 @@ public class TicketEditor extends JPanel implements TableListener {
     @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
     public void focusLost(FocusEvent e) {
       final String newSummary = summaryTextField.getText();
-      currentTicketExecutorService.submit(() -> {
+      currentTicketExecutor.execute(() -> {
         synchronized (currentTicketLock) {
           if (currentTicket != null) {
             try {
@@ -333,7 +332,7 @@ public class TicketEditor extends JPanel implements TableListener {
     @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
     public void focusLost(FocusEvent e) {
       final String newInternalNotes = internalNotesTextArea.getText();
-      currentTicketExecutorService.submit(() -> {
+      currentTicketExecutor.execute(() -> {
         synchronized (currentTicketLock) {
           if (currentTicket != null) {
             try {
@@ -371,6 +370,7 @@ public class TicketEditor extends JPanel implements TableListener {
     assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
 
     this.noc = noc;
+    this.currentTicketExecutor = noc.ticketsExecutor.newSerialExecutor();
     this.preferencesSet = preferencesSet;
 
     // MultiSplitPane
@@ -496,16 +496,16 @@ public class TicketEditor extends JPanel implements TableListener {
   private Ticket currentTicket;
 
   /**
-   * By being of size one, it causes elements submitted to the executorservice to
+   * By being serial, it causes elements submitted to the executor to
    * occur in order.
    */
-  final ExecutorService currentTicketExecutorService = Executors.newFixedThreadPool(1);
+  final Executor currentTicketExecutor;
 
   /**
    * Shows the specified ticket or empty if <code>null</code>.
    *
    * <p>This may be called by any thread, if called by the Swing event dispatch
-   * thread, it will recall itself in the background using ExecutorService to
+   * thread, it will recall itself in the background using Executor to
    * retrieve data.</p>
    *
    * <p>If the ticket is the same as the one currently opened (same ID), then this call has no affect.</p>
@@ -524,7 +524,7 @@ public class TicketEditor extends JPanel implements TableListener {
     if (SwingUtilities.isEventDispatchThread()) {
       // Run in background thread for data lookups
       //       Make happen in order
-      currentTicketExecutorService.submit(() ->
+      currentTicketExecutor.execute(() ->
           showTicket(requestConn, requestedTicketId)
       );
     } else {
@@ -586,7 +586,7 @@ public class TicketEditor extends JPanel implements TableListener {
   @SuppressWarnings({"UseSpecificCatch", "TooBroadCatch"})
   public void tableUpdated(Table<?> table) {
     // Run in a background thread to avoid deadlock while waiting for lock
-    currentTicketExecutorService.submit(() -> {
+    currentTicketExecutor.execute(() -> {
       synchronized (currentTicketLock) {
         if (currentTicket != null) {
           try {
@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2009-2013, 2016, 2020, 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2009-2013, 2016, 2020, 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -74,7 +74,7 @@ public class TicketEditorFrame extends JFrame {
     Component glassPane = getGlassPane();
     glassPane.setCursor(Cursor.getPredefinedCursor(java.awt.Cursor.WAIT_CURSOR));
     glassPane.setVisible(true);
-    ticketEditor.currentTicketExecutorService.submit(() -> {
+    ticketEditor.currentTicketExecutor.execute(() -> {
       try {
         AoservConnector conn = noc.conn;
         if (conn != null) {
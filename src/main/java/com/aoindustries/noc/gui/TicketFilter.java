@@ -0,0 +1,282 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ticket filters selected in {@link CommunicationPane}.  Tickets are read
+ * through an {@link Accessor}, so the filtering may be benchmarked without an
+ * AOServ connection.
+ *
+ * <p>An empty set of selected values matches all tickets for that dimension.</p>
+ *
+ * <p>Tickets may be filtered one at a time, or by the bitmaps of a
+ * {@link TicketIndex}.  Both give the same result.</p>
+ *
+ * @param  <T>  the type of ticket
+ * @param  <C>  the type of category
+ * @param  <A>  the type of account
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TicketFilter<T, C, A> {
+
+  /**
+   * Reads the filtered values from a ticket.
+   */
+  interface Accessor<T, C, A> {
+
+    Object getBrand(T ticket) throws IOException, SQLException;
+
+    Object getReseller(T ticket) throws IOException, SQLException;
+
+    Object getTicketType(T ticket) throws IOException, SQLException;
+
+    Object getStatus(T ticket) throws IOException, SQLException;
+
+    /**
+     * Gets the admin priority, or the client priority when there is no admin priority.
+     */
+    Object getPriority(T ticket) throws IOException, SQLException;
+
+    Object getLanguage(T ticket) throws IOException, SQLException;
+
+    C getCategory(T ticket) throws IOException, SQLException;
+
+    A getAccount(T ticket) throws IOException, SQLException;
+  }
+
+  /**
+   * The tickets passing the filters, along with the categories and accounts
+   * of the tickets passing all filters other than category and account.
+   */
+  static final class Result<T, C, A> {
+
+    final List<T> tickets;
+    final Set<C> categoriesWithTickets;
+    final Set<A> accountsWithTickets;
+
+    private Result(List<T> tickets, Set<C> categoriesWithTickets, Set<A> accountsWithTickets) {
+      this.tickets = tickets;
+      this.categoriesWithTickets = categoriesWithTickets;
+      this.accountsWithTickets = accountsWithTickets;
+    }
+  }
+
+  private final Set<?> selectedBrands;
+  private final Set<?> selectedResellers;
+  private final Map<T, ?> ticketAssignments;
+  private final boolean includeUnassigned;
+  private final Set<?> selectedAssignments;
+  private final Set<?> selectedTypes;
+  private final Set<?> selectedStatuses;
+  private final Set<?> selectedPriorities;
+  private final Set<?> selectedLanguages;
+  private final boolean includeUncategorized;
+  private final Set<C> selectedCategories;
+  private final boolean includeNoAccount;
+  private final Set<A> selectedAccounts;
+
+  /**
+   * @param  ticketAssignments  the assignment of each assigned ticket or {@code null} to not filter by assignment
+   */
+  TicketFilter(
+      Set<?> selectedBrands,
+      Set<?> selectedResellers,
+      Map<T, ?> ticketAssignments,
+      boolean includeUnassigned,
+      Set<?> selectedAssignments,
+      Set<?> selectedTypes,
+      Set<?> selectedStatuses,
+      Set<?> selectedPriorities,
+      Set<?> selectedLanguages,
+      boolean includeUncategorized,
+      Set<C> selectedCategories,
+      boolean includeNoAccount,
+      Set<A> selectedAccounts
+  ) {
+    this.selectedBrands = selectedBrands;
+    this.selectedResellers = selectedResellers;
+    this.ticketAssignments = ticketAssignments;
+    this.includeUnassigned = includeUnassigned;
+    this.selectedAssignments = selectedAssignments;
+    this.selectedTypes = selectedTypes;
+    this.selectedStatuses = selectedStatuses;
+    this.selectedPriorities = selectedPriorities;
+    this.selectedLanguages = selectedLanguages;
+    this.includeUncategorized = includeUncategorized;
+    this.selectedCategories = selectedCategories;
+    this.includeNoAccount = includeNoAccount;
+    this.selectedAccounts = selectedAccounts;
+  }
+
+  /**
+   * Filters the tickets.  The resulting tickets are in the reverse order of
+   * {@code allTickets}, since the tickets are sorted by open date descending
+   * and are displayed ascending.
+   */
+  Result<T, C, A> filter(List<T> allTickets, Accessor<T, C, A> accessor) throws IOException, SQLException {
+    List<T> tickets = new ArrayList<>(allTickets.size()); // Worst-case is to be equal size - this avoids any resize - choosing time over space
+    Set<C> categoriesWithTickets = new HashSet<>();
+    Set<A> accountsWithTickets = new HashSet<>();
+    for (T ticket : allTickets) {
+      // Brands
+      if (!selectedBrands.isEmpty()) {
+        Object brand = accessor.getBrand(ticket);
+        if (brand == null || !selectedBrands.contains(brand)) {
+          continue;
+        }
+      }
+      // Resellers
+      if (!selectedResellers.isEmpty()) {
+        Object reseller = accessor.getReseller(ticket);
+        if (reseller == null || !selectedResellers.contains(reseller)) {
+          continue;
+        }
+      }
+      // Assignments
+      if (ticketAssignments != null && (includeUnassigned || !selectedAssignments.isEmpty())) {
+        Object assignment = ticketAssignments.get(ticket);
+        if (assignment == null) {
+          if (!includeUnassigned) {
+            continue;
+          }
+        } else {
+          if (!selectedAssignments.contains(assignment)) {
+            continue;
+          }
+        }
+      }
+      // Types
+      if (!selectedTypes.isEmpty()) {
+        if (!selectedTypes.contains(accessor.getTicketType(ticket))) {
+          continue;
+        }
+      }
+      // Statuses
+      if (!selectedStatuses.isEmpty()) {
+        if (!selectedStatuses.contains(accessor.getStatus(ticket))) {
+          continue;
+        }
+      }
+      // Priorities
+      if (!selectedPriorities.isEmpty()) {
+        if (!selectedPriorities.contains(accessor.getPriority(ticket))) {
+          continue;
+        }
+      }
+      // Languages
+      if (!selectedLanguages.isEmpty()) {
+        if (!selectedLanguages.contains(accessor.getLanguage(ticket))) {
+          continue;
+        }
+      }
+      // These are updated after the above filters because we want only
+      // the categories and accounts that have tickets given the
+      // above filters
+      C ticketCategory = accessor.getCategory(ticket);
+      categoriesWithTickets.add(ticketCategory);
+      A account = accessor.getAccount(ticket);
+      accountsWithTickets.add(account);
+      // Categories
+      if (includeUncategorized || !selectedCategories.isEmpty()) {
+        if (ticketCategory == null) {
+          if (!includeUncategorized) {
+            continue;
+          }
+        } else {
+          if (!selectedCategories.contains(ticketCategory)) {
+            continue;
+          }
+        }
+      }
+      // Accounts
+      if (includeNoAccount || !selectedAccounts.isEmpty()) {
+        if (account == null) {
+          if (!includeNoAccount) {
+            continue;
+          }
+        } else {
+          if (!selectedAccounts.contains(account)) {
+            continue;
+          }
+        }
+      }
+      // All filters passed, add to results
+      tickets.add(ticket);
+    }
+    // Reverse order because default is sorted by open date descending, we want ascending
+    Collections.reverse(tickets);
+    return new Result<>(tickets, categoriesWithTickets, accountsWithTickets);
+  }
+
+  /**
+   * Filters the tickets by the bitmaps of an index.  The resulting tickets are
+   * in the reverse order of the tickets last indexed.
+   */
+  Result<T, C, A> filter(TicketIndex<T, C, A> index) {
+    BitSet matches = index.all();
+    if (!selectedBrands.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.BRAND, selectedBrands, false));
+    }
+    if (!selectedResellers.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.RESELLER, selectedResellers, false));
+    }
+    if (ticketAssignments != null && (includeUnassigned || !selectedAssignments.isEmpty())) {
+      matches.and(index.selectAssignments(ticketAssignments, selectedAssignments, includeUnassigned));
+    }
+    if (!selectedTypes.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.TYPE, selectedTypes, false));
+    }
+    if (!selectedStatuses.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.STATUS, selectedStatuses, false));
+    }
+    if (!selectedPriorities.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.PRIORITY, selectedPriorities, false));
+    }
+    if (!selectedLanguages.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.LANGUAGE, selectedLanguages, false));
+    }
+    // Only the categories and accounts that have tickets given the above filters
+    Set<C> categoriesWithTickets = index.getCategories(matches);
+    Set<A> accountsWithTickets = index.getAccounts(matches);
+    if (includeUncategorized || !selectedCategories.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.CATEGORY, selectedCategories, includeUncategorized));
+    }
+    if (includeNoAccount || !selectedAccounts.isEmpty()) {
+      matches.and(index.select(TicketIndex.Dimension.ACCOUNT, selectedAccounts, includeNoAccount));
+    }
+    return new Result<>(index.getTickets(matches), categoriesWithTickets, accountsWithTickets);
+  }
+}
@@ -0,0 +1,396 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bitmap indexes of tickets, one per filtered dimension, for
+ * {@link TicketFilter#filter(com.aoindustries.noc.gui.TicketIndex)}.  Each
+ * ticket is given a dense ordinal, and each value of each dimension has a
+ * {@link BitSet} of the ordinals of the tickets having that value.  A filter is
+ * then evaluated as an OR of the selected values within each dimension and an
+ * AND across dimensions, without looking-up any ticket values.
+ *
+ * <p>The indexes are maintained incrementally by {@link #update(java.util.List)}:
+ * new tickets are given a free ordinal, removed tickets have their ordinal
+ * freed, and only the bits of changed values are moved.  The ticket values may
+ * be read in parallel, but the indexes are always updated in one thread.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @param  <T>  the type of ticket
+ * @param  <C>  the type of category
+ * @param  <A>  the type of account
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TicketIndex<T, C, A> {
+
+  /**
+   * The indexed dimensions.  Assignments are indexed separately, since they
+   * are not part of the ticket.
+   */
+  enum Dimension {
+    BRAND,
+    RESELLER,
+    TYPE,
+    STATUS,
+    PRIORITY,
+    LANGUAGE,
+    CATEGORY,
+    ACCOUNT
+  }
+
+  private static final Dimension[] dimensions = Dimension.values();
+
+  private final TicketFilter.Accessor<T, C, A> accessor;
+
+  /**
+   * The tickets, in the order most recently given to {@link #update(java.util.List)}.
+   */
+  private List<T> allTickets = Collections.emptyList();
+
+  private final Map<T, Integer> ordinals = new HashMap<>();
+
+  /**
+   * The ticket for each ordinal, or {@code null} when the ordinal is free.
+   */
+  private final List<T> tickets = new ArrayList<>();
+
+  /**
+   * The ordinals currently in use.
+   */
+  private final BitSet live = new BitSet();
+
+  /**
+   * The ordinals freed by removed tickets, reused before adding new ordinals.
+   */
+  private final BitSet free = new BitSet();
+
+  /**
+   * The position of each ticket in {@link #allTickets}, by ordinal.
+   */
+  private int[] positions = new int[0];
+
+  /**
+   * The current value of each dimension, by ordinal.
+   */
+  private final Object[][] values = new Object[dimensions.length][0];
+
+  /**
+   * The ordinals of the tickets having each value, by dimension.  The
+   * {@code null} key holds the tickets without a value.
+   */
+  private final Map<Dimension, Map<Object, BitSet>> indexes = new EnumMap<>(Dimension.class);
+
+  /**
+   * The assignments the assignment index was built from, compared by identity.
+   */
+  private Map<T, ?> indexedAssignments;
+  private final Map<Object, BitSet> assignmentIndex = new HashMap<>();
+  private final BitSet assigned = new BitSet();
+
+  TicketIndex(TicketFilter.Accessor<T, C, A> accessor) {
+    this.accessor = accessor;
+    for (Dimension dimension : dimensions) {
+      indexes.put(dimension, new HashMap<>());
+    }
+  }
+
+  private Object getValue(Dimension dimension, T ticket) throws IOException, SQLException {
+    switch (dimension) {
+      case BRAND:
+        return accessor.getBrand(ticket);
+      case RESELLER:
+        return accessor.getReseller(ticket);
+      case TYPE:
+        return accessor.getTicketType(ticket);
+      case STATUS:
+        return accessor.getStatus(ticket);
+      case PRIORITY:
+        return accessor.getPriority(ticket);
+      case LANGUAGE:
+        return accessor.getLanguage(ticket);
+      case CATEGORY:
+        return accessor.getCategory(ticket);
+      case ACCOUNT:
+        return accessor.getAccount(ticket);
+      default:
+        throw new AssertionError("Unexpected dimension: " + dimension);
+    }
+  }
+
+  private int allocateOrdinal() {
+    int ordinal = free.nextSetBit(0);
+    if (ordinal != -1) {
+      free.clear(ordinal);
+      return ordinal;
+    }
+    ordinal = tickets.size();
+    tickets.add(null);
+    if (ordinal >= positions.length) {
+      int newLength = Math.max(16, positions.length * 2);
+      positions = Arrays.copyOf(positions, newLength);
+      for (int i = 0; i < values.length; i++) {
+        values[i] = Arrays.copyOf(values[i], newLength);
+      }
+    }
+    return ordinal;
+  }
+
+  private void setBit(Dimension dimension, Object value, int ordinal) {
+    indexes.get(dimension).computeIfAbsent(value, v -> new BitSet()).set(ordinal);
+  }
+
+  private void clearBit(Dimension dimension, Object value, int ordinal) {
+    Map<Object, BitSet> index = indexes.get(dimension);
+    BitSet bits = index.get(value);
+    bits.clear(ordinal);
+    if (bits.isEmpty()) {
+      index.remove(value);
+    }
+  }
+
+  /**
+   * Reads the value of every dimension of a ticket.
+   */
+  private Object[] readValues(T ticket) throws IOException, SQLException {
+    Object[] ticketValues = new Object[dimensions.length];
+    for (Dimension dimension : dimensions) {
+      ticketValues[dimension.ordinal()] = getValue(dimension, ticket);
+    }
+    return ticketValues;
+  }
+
+  /**
+   * Updates the indexes to the given tickets, reading the ticket values in the
+   * calling thread.
+   *
+   * @see  #update(java.util.List, java.util.concurrent.ForkJoinPool)
+   */
+  void update(List<T> allTickets) throws IOException, SQLException {
+    update(allTickets, null);
+  }
+
+  /**
+   * Updates the indexes to the given tickets.  Tickets already indexed keep
+   * their ordinal, and only the dimensions with changed values are updated.
+   *
+   * @param  pool  the pool to read the ticket values in parallel or {@code null} to read in the calling thread
+   */
+  void update(List<T> allTickets, ForkJoinPool pool) throws IOException, SQLException {
+    List<Object[]> allValues = ParallelChunks.map(pool, allTickets, this::readValues);
+    BitSet seen = new BitSet(tickets.size());
+    for (int position = 0, size = allTickets.size(); position < size; position++) {
+      T ticket = allTickets.get(position);
+      Object[] ticketValues = allValues.get(position);
+      Integer existing = ordinals.get(ticket);
+      int ordinal;
+      if (existing == null) {
+        ordinal = allocateOrdinal();
+        ordinals.put(ticket, ordinal);
+        live.set(ordinal);
+        for (Dimension dimension : dimensions) {
+          Object value = ticketValues[dimension.ordinal()];
+          values[dimension.ordinal()][ordinal] = value;
+          setBit(dimension, value, ordinal);
+        }
+      } else {
+        ordinal = existing;
+        for (Dimension dimension : dimensions) {
+          Object value = ticketValues[dimension.ordinal()];
+          Object[] dimensionValues = values[dimension.ordinal()];
+          Object oldValue = dimensionValues[ordinal];
+          if (!Objects.equals(value, oldValue)) {
+            clearBit(dimension, oldValue, ordinal);
+            dimensionValues[ordinal] = value;
+            setBit(dimension, value, ordinal);
+          }
+        }
+      }
+      // Keep the most recent instance, in case of identity-based lookups
+      tickets.set(ordinal, ticket);
+      positions[ordinal] = position;
+      seen.set(ordinal);
+    }
+    // Free the ordinals of removed tickets
+    BitSet removed = (BitSet) live.clone();
+    removed.andNot(seen);
+    for (int ordinal = removed.nextSetBit(0); ordinal != -1; ordinal = removed.nextSetBit(ordinal + 1)) {
+      ordinals.remove(tickets.get(ordinal));
+      tickets.set(ordinal, null);
+      for (Dimension dimension : dimensions) {
+        Object[] dimensionValues = values[dimension.ordinal()];
+        clearBit(dimension, dimensionValues[ordinal], ordinal);
+        dimensionValues[ordinal] = null;
+      }
+      live.clear(ordinal);
+      free.set(ordinal);
+    }
+    this.allTickets = allTickets;
+    // Ordinals may have been reused
+    indexedAssignments = null;
+  }
+
+  /**
+   * Gets a new bitmap of all tickets.
+   */
+  BitSet all() {
+    return (BitSet) live.clone();
+  }
+
+  /**
+   * Gets a new bitmap of the tickets having any of the selected values.
+   *
+   * @param  includeNull  also include the tickets without a value
+   */
+  BitSet select(Dimension dimension, Set<?> selected, boolean includeNull) {
+    Map<Object, BitSet> index = indexes.get(dimension);
+    BitSet result = new BitSet();
+    // Iterate the smaller of the two
+    if (selected.size() <= index.size()) {
+      for (Object value : selected) {
+        if (value != null) {
+          BitSet bits = index.get(value);
+          if (bits != null) {
+            result.or(bits);
+          }
+        }
+      }
+    } else {
+      for (Map.Entry<Object, BitSet> entry : index.entrySet()) {
+        Object value = entry.getKey();
+        if (value != null && selected.contains(value)) {
+          result.or(entry.getValue());
+        }
+      }
+    }
+    if (includeNull) {
+      BitSet bits = index.get(null);
+      if (bits != null) {
+        result.or(bits);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets a new bitmap of the tickets assigned to any of the selected
+   * administrators.
+   *
+   * @param  ticketAssignments  the assignment of each assigned ticket, indexed
+   *                            again only when a different map is given
+   * @param  includeUnassigned  also include the tickets not assigned
+   */
+  BitSet selectAssignments(Map<T, ?> ticketAssignments, Set<?> selected, boolean includeUnassigned) {
+    if (ticketAssignments != indexedAssignments) {
+      assignmentIndex.clear();
+      assigned.clear();
+      for (Map.Entry<T, ?> entry : ticketAssignments.entrySet()) {
+        Integer ordinal = ordinals.get(entry.getKey());
+        if (ordinal != null) {
+          assignmentIndex.computeIfAbsent(entry.getValue(), v -> new BitSet()).set(ordinal);
+          assigned.set(ordinal);
+        }
+      }
+      indexedAssignments = ticketAssignments;
+    }
+    BitSet result = new BitSet();
+    for (Object value : selected) {
+      BitSet bits = assignmentIndex.get(value);
+      if (bits != null) {
+        result.or(bits);
+      }
+    }
+    if (includeUnassigned) {
+      BitSet unassigned = (BitSet) live.clone();
+      unassigned.andNot(assigned);
+      result.or(unassigned);
+    }
+    return result;
+  }
+
+  /**
+   * Gets the values of a dimension that have any of the given tickets.
+   */
+  private Set<Object> getValues(Dimension dimension, BitSet matches) {
+    Set<Object> result = new HashSet<>();
+    for (Map.Entry<Object, BitSet> entry : indexes.get(dimension).entrySet()) {
+      if (entry.getValue().intersects(matches)) {
+        result.add(entry.getKey());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Gets the categories that have any of the given tickets.
+   */
+  @SuppressWarnings("unchecked")
+  Set<C> getCategories(BitSet matches) {
+    return (Set<C>) (Set<?>) getValues(Dimension.CATEGORY, matches);
+  }
+
+  /**
+   * Gets the accounts that have any of the given tickets.
+   */
+  @SuppressWarnings("unchecked")
+  Set<A> getAccounts(BitSet matches) {
+    return (Set<A>) (Set<?>) getValues(Dimension.ACCOUNT, matches);
+  }
+
+  /**
+   * Gets the given tickets, in the reverse order of the tickets last given to
+   * {@link #update(java.util.List)}.
+   */
+  List<T> getTickets(BitSet matches) {
+    int count = matches.cardinality();
+    int[] matchPositions = new int[count];
+    int i = 0;
+    for (int ordinal = matches.nextSetBit(0); ordinal != -1; ordinal = matches.nextSetBit(ordinal + 1)) {
+      matchPositions[i++] = positions[ordinal];
+    }
+    Arrays.sort(matchPositions);
+    List<T> result = new ArrayList<>(count);
+    for (i = count - 1; i >= 0; i--) {
+      result.add(allTickets.get(matchPositions[i]));
+    }
+    return result;
+  }
+}
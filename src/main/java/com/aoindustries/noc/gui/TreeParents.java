@@ -0,0 +1,92 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import com.aoapps.hodgepodge.tree.Node;
+import com.aoapps.hodgepodge.tree.Tree;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parent of each value in a tree, found in one walk of the tree.  Used to
+ * find the nodes that have any of a set of values in their subtree by walking
+ * up from each value, instead of searching the subtree beneath every node.
+ *
+ * @param  <E>  the type of value
+ *
+ * @author  AO Industries, Inc.
+ */
+final class TreeParents<E> {
+
+  /**
+   * The parent of each value, with {@code null} for the root nodes.
+   */
+  private final Map<E, E> parents = new HashMap<>();
+
+  /**
+   * Walks the tree, iteratively so deep trees do not overflow the stack.
+   */
+  TreeParents(Tree<E> tree) throws IOException, SQLException {
+    Deque<Node<E>> stack = new ArrayDeque<>();
+    for (Node<E> root : tree.getRootNodes()) {
+      parents.put(root.getValue(), null);
+      stack.push(root);
+    }
+    while (!stack.isEmpty()) {
+      Node<E> node = stack.pop();
+      List<Node<E>> children = node.getChildren();
+      if (children != null) {
+        E value = node.getValue();
+        for (Node<E> child : children) {
+          parents.put(child.getValue(), value);
+          stack.push(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the given values along with all of their ancestors, which is the set
+   * of nodes that have any of the values in their subtree.  Each walk up stops
+   * at the first ancestor already found, so each node is visited at most once.
+   */
+  Set<E> getAncestorsOrSelf(Collection<? extends E> values) {
+    Set<E> result = new HashSet<>();
+    for (E value : values) {
+      while (value != null && result.add(value)) {
+        value = parents.get(value);
+      }
+    }
+    return result;
+  }
+}
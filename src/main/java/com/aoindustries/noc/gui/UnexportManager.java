@@ -0,0 +1,295 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Exports and unexports the listeners given to the monitor.
+ *
+ * <p>An object cannot be unexported gracefully while calls to it are in
+ * progress.  Instead of blocking a thread per object until it can be
+ * unexported, each object that is still busy is retried on a single timer
+ * thread, with exponential backoff.  Any object still busy at the deadline is
+ * unexported forcefully.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class UnexportManager {
+
+  private static final Logger logger = Logger.getLogger(UnexportManager.class.getName());
+
+  /**
+   * The delay before the first retry.
+   */
+  private static final long INITIAL_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /**
+   * The maximum delay between retries.
+   */
+  private static final long MAX_DELAY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+  /**
+   * The time after which an object is unexported forcefully.
+   */
+  private static final long DEADLINE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  /**
+   * The time the timer thread is kept when there is nothing pending.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private static class Pending {
+
+    private final long deadline;
+    private long delay = INITIAL_DELAY_NANOS;
+    private long nextAttempt;
+
+    private Pending(long now) {
+      this.deadline = now + DEADLINE_NANOS;
+      this.nextAttempt = now + delay;
+    }
+  }
+
+  private final ScheduledThreadPoolExecutor timer;
+
+  /**
+   * All objects currently exported, including those pending unexport.
+   */
+  private final Set<Remote> exported = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  private final Map<Remote, Pending> pending = new IdentityHashMap<>();
+  private ScheduledFuture<?> scheduled;
+  private long scheduledAttempt;
+
+  private final LongAdder gracefulCount = new LongAdder();
+  private final LongAdder retryCount = new LongAdder();
+  private final LongAdder forcedCount = new LongAdder();
+
+  UnexportManager() {
+    timer = new ScheduledThreadPoolExecutor(1, r -> {
+      Thread thread = new Thread(r, "noc-gui-unexport");
+      if (thread.isDaemon()) {
+        thread.setDaemon(false);
+      }
+      return thread;
+    });
+    timer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    timer.allowCoreThreadTimeOut(true);
+    timer.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Exports an object, tracking it until unexported.
+   */
+  void exportObject(Remote remote, int port, RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws RemoteException {
+    UnicastRemoteObject.exportObject(remote, port, csf, ssf);
+    synchronized (pending) {
+      exported.add(remote);
+    }
+  }
+
+  /**
+   * Unexports an object, returning immediately.  When calls to the object are
+   * in progress, it is retried in the background until the deadline, then
+   * unexported forcefully.
+   */
+  void unexportObject(Remote remote) {
+    try {
+      if (UnicastRemoteObject.unexportObject(remote, false)) {
+        gracefulCount.increment();
+        synchronized (pending) {
+          exported.remove(remote);
+        }
+      } else {
+        long now = System.nanoTime();
+        synchronized (pending) {
+          if (!pending.containsKey(remote)) {
+            Pending p = new Pending(now);
+            pending.put(remote, p);
+            scheduleLocked(p.nextAttempt, now);
+          }
+        }
+      }
+    } catch (NoSuchObjectException err) {
+      logger.log(Level.WARNING, null, err);
+      synchronized (pending) {
+        exported.remove(remote);
+      }
+    }
+  }
+
+  /**
+   * Schedules the timer for the given attempt time, unless already scheduled sooner.
+   */
+  private void scheduleLocked(long attempt, long now) {
+    assert Thread.holdsLock(pending);
+    if (scheduled == null || attempt - scheduledAttempt < 0) {
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+      scheduledAttempt = attempt;
+      scheduled = timer.schedule(this::retryPending, Math.max(0, attempt - now), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Retries all objects that are due, then schedules the next attempt.
+   */
+  private void retryPending() {
+    long now = System.nanoTime();
+    List<Remote> due = new ArrayList<>();
+    synchronized (pending) {
+      scheduled = null;
+      for (Map.Entry<Remote, Pending> entry : pending.entrySet()) {
+        if (entry.getValue().nextAttempt - now <= 0) {
+          due.add(entry.getKey());
+        }
+      }
+    }
+    for (Remote remote : due) {
+      boolean done;
+      boolean forced = false;
+      try {
+        if (UnicastRemoteObject.unexportObject(remote, false)) {
+          gracefulCount.increment();
+          done = true;
+        } else {
+          Pending p;
+          synchronized (pending) {
+            p = pending.get(remote);
+          }
+          if (now - p.deadline >= 0) {
+            logger.log(Level.WARNING, null, new RuntimeException("Unable to unexport Object, now being forceful"));
+            UnicastRemoteObject.unexportObject(remote, true);
+            forced = true;
+            done = true;
+          } else {
+            retryCount.increment();
+            done = false;
+          }
+        }
+      } catch (NoSuchObjectException err) {
+        logger.log(Level.WARNING, null, err);
+        done = true;
+      }
+      if (forced) {
+        forcedCount.increment();
+      }
+      if (done) {
+        synchronized (pending) {
+          pending.remove(remote);
+          exported.remove(remote);
+        }
+      }
+    }
+    synchronized (pending) {
+      long next = 0;
+      boolean hasNext = false;
+      for (Iterator<Pending> iter = pending.values().iterator(); iter.hasNext(); ) {
+        Pending p = iter.next();
+        if (p.nextAttempt - now <= 0) {
+          p.delay = Math.min(p.delay * 2, MAX_DELAY_NANOS);
+          long attempt = now + p.delay;
+          // Never wait past the deadline
+          p.nextAttempt = attempt - p.deadline > 0 ? p.deadline : attempt;
+        }
+        if (!hasNext || p.nextAttempt - next < 0) {
+          next = p.nextAttempt;
+          hasNext = true;
+        }
+      }
+      if (hasNext) {
+        scheduleLocked(next, System.nanoTime());
+      }
+    }
+  }
+
+  /**
+   * Gets the number of objects currently exported, including those pending unexport.
+   * Once logged-out, any remaining are leaked.
+   */
+  int getExportedCount() {
+    synchronized (pending) {
+      return exported.size();
+    }
+  }
+
+  /**
+   * Gets the number of objects waiting for calls to complete before being unexported.
+   */
+  int getPendingCount() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  /**
+   * Gets the number of objects unexported gracefully.
+   */
+  long getGracefulCount() {
+    return gracefulCount.sum();
+  }
+
+  /**
+   * Gets the number of retries that found an object still busy.
+   */
+  long getRetryCount() {
+    return retryCount.sum();
+  }
+
+  /**
+   * Gets the number of objects unexported forcefully at the deadline.
+   */
+  long getForcedCount() {
+    return forcedCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "unexport: exported = " + getExportedCount()
+        + ", pending = " + getPendingCount()
+        + ", graceful = " + getGracefulCount()
+        + ", retries = " + getRetryCount()
+        + ", forced = " + getForcedCount();
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.aoindustries.noc.gui;
+
+import java.awt.Color;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.datatransfer.StringSelection;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import javax.swing.AbstractAction;
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.KeyStroke;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+/**
+ * A read-only, monospaced text view that only paints the visible lines of a
+ * {@link LineIndexedText}.  Unlike {@link javax.swing.JTextArea}, no document
+ * or per-line views are created, so multi-megabyte reports may be displayed
+ * without blocking the Swing event dispatch thread.
+ *
+ * <p>Whole lines may be selected with the mouse and copied.</p>
+ *
+ * @author  AO Industries, Inc.
+ */
+class VirtualTextArea extends JComponent implements Scrollable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int MARGIN = 2;
+
+  private LineIndexedText text = LineIndexedText.EMPTY;
+
+  private int lineHeight;
+  private int charWidth;
+  private int ascent;
+
+  // The selected lines, inclusive, or -1 when none
+  private int selectionAnchor = -1;
+  private int selectionLead = -1;
+
+  // The last match from find
+  private int matchOffset = -1;
+  private int matchLength;
+
+  private final Color selectionBackground;
+  private final Color matchBackground;
+
+  @SuppressWarnings("OverridableMethodCallInConstructor")
+  VirtualTextArea() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    Color background = UIManager.getColor("TextArea.background");
+    setBackground(background == null ? Color.WHITE : background);
+    Color foreground = UIManager.getColor("TextArea.foreground");
+    setForeground(foreground == null ? Color.BLACK : foreground);
+    Color selection = UIManager.getColor("TextArea.selectionBackground");
+    selectionBackground = selection == null ? new Color(0xb8cfe5) : selection;
+    matchBackground = Color.YELLOW;
+    setOpaque(true);
+    setFocusable(true);
+    Font font = UIManager.getFont("TextArea.font");
+    setFont(new Font("Monospaced", Font.PLAIN, font == null ? 12 : font.getSize()));
+
+    MouseAdapter mouseAdapter = new MouseAdapter() {
+      @Override
+      public void mousePressed(MouseEvent e) {
+        requestFocusInWindow();
+        if (SwingUtilities.isLeftMouseButton(e)) {
+          int line = getLineAt(e.getY());
+          if (e.isShiftDown() && selectionAnchor != -1) {
+            setSelection(selectionAnchor, line);
+          } else {
+            setSelection(line, line);
+          }
+        }
+      }
+
+      @Override
+      public void mouseDragged(MouseEvent e) {
+        if (SwingUtilities.isLeftMouseButton(e) && selectionAnchor != -1) {
+          int line = getLineAt(e.getY());
+          setSelection(selectionAnchor, line);
+          scrollRectToVisible(new Rectangle(e.getX(), line * lineHeight, 1, lineHeight));
+        }
+      }
+    };
+    addMouseListener(mouseAdapter);
+    addMouseMotionListener(mouseAdapter);
+
+    int menuShortcutKeyMask = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+    getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_C, menuShortcutKeyMask), "copy");
+    getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_COPY, 0), "copy");
+    getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_A, menuShortcutKeyMask), "select-all");
+    getActionMap().put("copy", new AbstractAction() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        copy();
+      }
+    });
+    getActionMap().put("select-all", new AbstractAction() {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public void actionPerformed(ActionEvent e) {
+        setSelection(0, text.getLineCount() - 1);
+      }
+    });
+  }
+
+  @Override
+  public void setFont(Font font) {
+    super.setFont(font);
+    FontMetrics fm = getFontMetrics(font);
+    lineHeight = Math.max(1, fm.getHeight());
+    charWidth = Math.max(1, fm.charWidth('m'));
+    ascent = fm.getAscent();
+    revalidate();
+    repaint();
+  }
+
+  LineIndexedText getText() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    return text;
+  }
+
+  /**
+   * Replaces the text, repainting only the changed lines when the update was
+   * computed against the text currently displayed.
+   */
+  void setText(LineIndexedText.Update update) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    LineIndexedText oldText = this.text;
+    LineIndexedText newText = update.getText();
+    if (newText == oldText) {
+      return;
+    }
+    this.text = newText;
+    matchOffset = -1;
+    matchLength = 0;
+    int lineCount = newText.getLineCount();
+    if (selectionAnchor >= lineCount || selectionLead >= lineCount) {
+      selectionAnchor = -1;
+      selectionLead = -1;
+    }
+    boolean sizeChanged =
+        oldText.getLineCount() != lineCount
+            || oldText.getMaxColumns() != newText.getMaxColumns();
+    if (sizeChanged) {
+      revalidate();
+    }
+    if (update.getBase() != oldText) {
+      // Computed against a different text, repaint all
+      repaint();
+    } else if (update.hasChanges()) {
+      int firstChanged = update.getFirstChangedLine();
+      int y = firstChanged * lineHeight;
+      if (update.getOldChangedEnd() == update.getNewChangedEnd()) {
+        // Same number of lines, only the changed lines are repainted
+        repaint(0, y, getWidth(), (update.getNewChangedEnd() - firstChanged) * lineHeight);
+      } else {
+        // Lines have shifted, repaint through the end
+        repaint(0, y, getWidth(), Math.max(getHeight(), lineCount * lineHeight) - y);
+      }
+    }
+  }
+
+  void clear() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    setText(new LineIndexedText.Update(null, LineIndexedText.EMPTY));
+    selectionAnchor = -1;
+    selectionLead = -1;
+  }
+
+  /**
+   * Finds the next case-insensitive occurrence of the query after the last
+   * match, or after the top of the visible area when there is no last match.
+   * Wraps around to the start of the text.  The match is highlighted and
+   * scrolled into view.
+   *
+   * @return  {@code true} when found
+   */
+  boolean findNext(String query) {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    if (query == null || query.isEmpty()) {
+      return false;
+    }
+    int from;
+    if (matchOffset != -1) {
+      from = matchOffset + 1;
+    } else {
+      Rectangle visible = getVisibleRect();
+      int topLine = Math.min(getLineAt(visible.y), text.getLineCount() - 1);
+      from = text.getLineStart(Math.max(0, topLine));
+    }
+    int found = text.indexOfIgnoreCase(query, from);
+    if (found == -1 && from > 0) {
+      found = text.indexOfIgnoreCase(query, 0);
+    }
+    repaintMatch();
+    if (found == -1) {
+      matchOffset = -1;
+      matchLength = 0;
+      return false;
+    }
+    matchOffset = found;
+    matchLength = query.length();
+    Rectangle bounds = getMatchBounds();
+    repaint(bounds);
+    scrollRectToVisible(bounds);
+    return true;
+  }
+
+  private Rectangle getMatchBounds() {
+    int line = text.getLineOfOffset(matchOffset);
+    int startColumn = text.getColumn(line, matchOffset);
+    int endColumn = text.getColumn(line, Math.min(matchOffset + matchLength, text.getLineEnd(line)));
+    return new Rectangle(
+        MARGIN + startColumn * charWidth,
+        line * lineHeight,
+        Math.max(1, endColumn - startColumn) * charWidth,
+        lineHeight
+    );
+  }
+
+  private void repaintMatch() {
+    if (matchOffset != -1) {
+      repaint(getMatchBounds());
+    }
+  }
+
+  private int getLineAt(int y) {
+    return Math.max(0, Math.min(text.getLineCount() - 1, y / lineHeight));
+  }
+
+  private void setSelection(int anchor, int lead) {
+    repaintLines(selectionAnchor, selectionLead);
+    selectionAnchor = anchor;
+    selectionLead = lead;
+    repaintLines(anchor, lead);
+  }
+
+  private void repaintLines(int line1, int line2) {
+    if (line1 != -1 && line2 != -1) {
+      int first = Math.min(line1, line2);
+      int last = Math.max(line1, line2);
+      repaint(0, first * lineHeight, getWidth(), (last - first + 1) * lineHeight);
+    }
+  }
+
+  /**
+   * Copies the selected lines, or all text when nothing is selected.
+   */
+  void copy() {
+    assert SwingUtilities.isEventDispatchThread() : "Not running in Swing event dispatch thread";
+
+    String selected;
+    if (selectionAnchor == -1) {
+      selected = text.getText();
+    } else {
+      int first = Math.min(selectionAnchor, selectionLead);
+      int last = Math.max(selectionAnchor, selectionLead);
+      selected = text.getText().substring(text.getLineStart(first), text.getLineEnd(last));
+    }
+    StringSelection selection = new StringSelection(selected);
+    Toolkit.getDefaultToolkit().getSystemClipboard().setContents(selection, selection);
+  }
+
+  @Override
+  protected void paintComponent(Graphics g) {
+    Rectangle clip = g.getClipBounds();
+    if (clip == null) {
+      clip = new Rectangle(0, 0, getWidth(), getHeight());
+    }
+    g.setColor(getBackground());
+    g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+    int lineCount = text.getLineCount();
+    int firstLine = Math.max(0, clip.y / lineHeight);
+    int lastLine = Math.min(lineCount - 1, (clip.y + clip.height) / lineHeight);
+    int firstColumn = Math.max(0, (clip.x - MARGIN) / charWidth);
+    int lastColumn = (clip.x + clip.width - MARGIN) / charWidth + 1;
+    int selectionFirst = selectionAnchor == -1 ? -1 : Math.min(selectionAnchor, selectionLead);
+    int selectionLast = selectionAnchor == -1 ? -1 : Math.max(selectionAnchor, selectionLead);
+    int matchLine = matchOffset == -1 ? -1 : text.getLineOfOffset(matchOffset);
+
+    g.setFont(getFont());
+    for (int line = firstLine; line <= lastLine; line++) {
+      int y = line * lineHeight;
+      if (line >= selectionFirst && line <= selectionLast) {
+        g.setColor(selectionBackground);
+        g.fillRect(clip.x, y, clip.width, lineHeight);
+      }
+      if (line == matchLine) {
+        Rectangle bounds = getMatchBounds();
+        g.setColor(matchBackground);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+      }
+      String expanded = text.getExpandedLine(line);
+      int len = expanded.length();
+      if (firstColumn < len) {
+        g.setColor(getForeground());
+        g.drawString(
+            expanded.substring(firstColumn, Math.min(len, lastColumn)),
+            MARGIN + firstColumn * charWidth,
+            y + ascent
+        );
+      }
+    }
+  }
+
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    return new Dimension(
+        text.getMaxColumns() * charWidth + MARGIN * 2,
+        text.getLineCount() * lineHeight
+    );
+  }
+
+  @Override
+  public Dimension getPreferredScrollableViewportSize() {
+    return getPreferredSize();
+  }
+
+  @Override
+  public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+    return orientation == SwingConstants.VERTICAL ? lineHeight : charWidth;
+  }
+
+  @Override
+  public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+    if (orientation == SwingConstants.VERTICAL) {
+      return Math.max(lineHeight, (visibleRect.height / lineHeight - 1) * lineHeight);
+    } else {
+      return Math.max(charWidth, visibleRect.width - charWidth);
+    }
+  }
+
+  @Override
+  public boolean getScrollableTracksViewportWidth() {
+    Container parent = SwingUtilities.getUnwrappedParent(this);
+    return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+  }
+
+  @Override
+  public boolean getScrollableTracksViewportHeight() {
+    Container parent = SwingUtilities.getUnwrappedParent(this);
+    return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+  }
+}
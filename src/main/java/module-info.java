@@ -1,6 +1,6 @@
 /*
  * noc-gui - Graphical User Interface for Network Operations Center.
- * Copyright (C) 2021, 2022  AO Industries, Inc.
+ * Copyright (C) 2021, 2022, 2026  AO Industries, Inc.
  *     support@aoindustries.com
  *     7262 Bull Pen Cir
  *     Mobile, AL 36695
@@ -36,7 +36,9 @@ module com.aoindustries.noc.gui {
   // Java SE
   requires java.desktop;
   requires java.logging;
+  requires java.management;
   requires java.prefs;
   requires java.rmi;
   requires java.sql;
+  requires jdk.httpserver;
 }
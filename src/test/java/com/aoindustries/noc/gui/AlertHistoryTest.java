@@ -0,0 +1,210 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests the alert bookkeeping of {@link AlertHistory}, including that each
+ * {@link AlertHistory.Update}, applied to a separate list, keeps it in step.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class AlertHistoryTest {
+
+  private static AlertHistory.Update alert(AlertHistory history, Object source, AlertLevel oldAlertLevel, AlertLevel newAlertLevel) {
+    return history.alert(
+        source,
+        source.toString(),
+        oldAlertLevel,
+        newAlertLevel,
+        oldAlertLevel + " -> " + newAlertLevel,
+        AlertCategory.MONITORING,
+        AlertCategory.MONITORING
+    );
+  }
+
+  /**
+   * Applies an update to a list, as {@link AlertsPane} does to its table model.
+   */
+  private static void apply(AlertHistory.Update update, List<AlertsPane.Alert> rows) {
+    if (update.removedRow != -1) {
+      rows.remove(update.removedRow);
+    }
+    if (update.inserted != null) {
+      rows.add(0, update.inserted);
+    }
+  }
+
+  @Test
+  public void testRaisedAtHigh() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    assertSame(AlertHistory.Update.NONE, alert(history, "a", AlertLevel.NONE, AlertLevel.MEDIUM));
+    AlertHistory.Update update = alert(history, "a", AlertLevel.MEDIUM, AlertLevel.HIGH);
+    assertEquals(-1, update.removedRow);
+    assertFalse(update.moved);
+    assertEquals(AlertLevel.HIGH, update.inserted.newAlertLevel);
+    assertEquals(1, history.size());
+    assertEquals(0, history.indexOf("a"));
+  }
+
+  /**
+   * A node first seen already at {@link AlertLevel#HIGH} or above raises an alert.
+   */
+  @Test
+  public void testRaisedFromUnknown() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    assertTrue(alert(history, "a", AlertLevel.UNKNOWN, AlertLevel.HIGH).isModified());
+    assertEquals(1, history.size());
+  }
+
+  /**
+   * Decreasing to a level still at {@link AlertLevel#HIGH} or above does not
+   * raise a new alert, but does update an existing one.
+   */
+  @Test
+  public void testDecrease() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    assertSame(AlertHistory.Update.NONE, alert(history, "a", AlertLevel.CRITICAL, AlertLevel.HIGH));
+    alert(history, "b", AlertLevel.NONE, AlertLevel.CRITICAL);
+    alert(history, "c", AlertLevel.NONE, AlertLevel.HIGH);
+    AlertHistory.Update update = alert(history, "b", AlertLevel.CRITICAL, AlertLevel.HIGH);
+    assertEquals(1, update.removedRow);
+    assertTrue(update.moved);
+    assertEquals(AlertLevel.HIGH, update.inserted.newAlertLevel);
+    assertEquals(0, history.indexOf("b"));
+    assertEquals(1, history.indexOf("c"));
+  }
+
+  @Test
+  public void testRemovedBelowHigh() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    alert(history, "a", AlertLevel.NONE, AlertLevel.HIGH);
+    alert(history, "b", AlertLevel.NONE, AlertLevel.HIGH);
+    AlertHistory.Update update = alert(history, "a", AlertLevel.HIGH, AlertLevel.LOW);
+    assertEquals(1, update.removedRow);
+    assertFalse(update.moved);
+    assertNull(update.inserted);
+    assertEquals(-1, history.indexOf("a"));
+    assertEquals(1, history.size());
+  }
+
+  @Test
+  public void testOldestRemovedWhenFull() {
+    AlertHistory history = new AlertHistory(2);
+    alert(history, "a", AlertLevel.NONE, AlertLevel.HIGH);
+    alert(history, "b", AlertLevel.NONE, AlertLevel.HIGH);
+    AlertHistory.Update update = alert(history, "c", AlertLevel.NONE, AlertLevel.HIGH);
+    assertEquals(1, update.removedRow);
+    assertFalse(update.moved);
+    assertEquals(-1, history.indexOf("a"));
+    assertEquals(0, history.indexOf("c"));
+    assertEquals(2, history.size());
+    // An existing source replaces its own alert, not the oldest
+    update = alert(history, "b", AlertLevel.HIGH, AlertLevel.CRITICAL);
+    assertEquals(1, update.removedRow);
+    assertTrue(update.moved);
+    assertEquals(1, history.indexOf("c"));
+  }
+
+  @Test
+  public void testCopy() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    for (int i = 0; i < 10; i++) {
+      alert(history, i, AlertLevel.NONE, AlertLevel.HIGH);
+    }
+    assertEquals(10, history.getNextSequence());
+    AlertsPane.Alert[] chunk = new AlertsPane.Alert[4];
+    // Newest first, older than the given sequence
+    assertEquals(4, history.copy(history.getNextSequence(), chunk));
+    assertEquals(9, chunk[0].sequence);
+    assertEquals(6, chunk[3].sequence);
+    assertEquals(4, history.copy(chunk[3].sequence, chunk));
+    assertEquals(5, chunk[0].sequence);
+    assertEquals(2, history.copy(chunk[3].sequence, chunk));
+    assertEquals(1, chunk[0].sequence);
+    assertEquals(0, chunk[1].sequence);
+    assertEquals(0, history.copy(0, chunk));
+  }
+
+  @Test
+  public void testHighestAlertLevel() {
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    assertEquals(AlertLevel.NONE, history.getHighestAlertLevel());
+    alert(history, "a", AlertLevel.NONE, AlertLevel.HIGH);
+    assertEquals(AlertLevel.HIGH, history.getHighestAlertLevel());
+    alert(history, "b", AlertLevel.NONE, AlertLevel.CRITICAL);
+    alert(history, "c", AlertLevel.NONE, AlertLevel.HIGH);
+    assertEquals(AlertLevel.CRITICAL, history.getHighestAlertLevel());
+    alert(history, "b", AlertLevel.CRITICAL, AlertLevel.NONE);
+    assertEquals(AlertLevel.HIGH, history.getHighestAlertLevel());
+    history.clear();
+    assertEquals(AlertLevel.NONE, history.getHighestAlertLevel());
+  }
+
+  /**
+   * Random changes, with a limited size, keep one alert per source, newest
+   * first, and the updates keep a separate list in step.
+   */
+  @Test
+  public void testUpdatesKeepRowsInStep() {
+    Random random = new Random(1);
+    AlertLevel[] alertLevels = AlertLevel.values();
+    AlertHistory history = new AlertHistory(8);
+    List<AlertsPane.Alert> rows = new ArrayList<>();
+    AlertLevel[] levels = new AlertLevel[20];
+    Arrays.fill(levels, AlertLevel.UNKNOWN);
+    for (int i = 0; i < 10000; i++) {
+      int source = random.nextInt(levels.length);
+      AlertLevel newLevel = alertLevels[random.nextInt(alertLevels.length)];
+      apply(alert(history, source, levels[source], newLevel), rows);
+      levels[source] = newLevel;
+      assertEquals(history.getAlerts(), rows);
+      assertTrue(history.size() <= 8);
+      for (int j = 1; j < rows.size(); j++) {
+        assertTrue(rows.get(j - 1).sequence > rows.get(j).sequence);
+        for (int k = 0; k < j; k++) {
+          assertFalse(rows.get(j).source.equals(rows.get(k).source));
+        }
+      }
+      for (AlertsPane.Alert alert : rows) {
+        assertTrue(alert.newAlertLevel.compareTo(AlertLevel.HIGH) >= 0);
+      }
+    }
+  }
+}
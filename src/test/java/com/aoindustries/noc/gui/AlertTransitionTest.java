@@ -0,0 +1,268 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertChange;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Tests that merging {@link AlertTransition} keeps every change that raises an
+ * alert in {@link AlertHistory}.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class AlertTransitionTest {
+
+  private static final AlertLevel[] alertLevels = AlertLevel.values();
+
+  private static Node newNode() {
+    return (Node) Proxy.newProxyInstance(
+        Node.class.getClassLoader(),
+        new Class<?>[]{Node.class},
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "equals":
+              return proxy == args[0];
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "toString":
+              return "Node@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        }
+    );
+  }
+
+  private static AlertChange change(Node node, AlertLevel oldAlertLevel, AlertLevel newAlertLevel) {
+    return new AlertChange(
+        node,
+        node.toString(),
+        oldAlertLevel,
+        newAlertLevel,
+        oldAlertLevel + " -> " + newAlertLevel,
+        AlertCategory.MONITORING,
+        AlertCategory.MONITORING
+    );
+  }
+
+  /**
+   * Delivers the changes to the history, as {@link SystemsPane} does.
+   *
+   * @return  the alerts inserted
+   */
+  private static List<AlertsPane.Alert> deliver(Map<Node, List<AlertTransition>> transitions, AlertHistory history) {
+    List<AlertsPane.Alert> inserted = new ArrayList<>();
+    for (List<AlertTransition> nodeTransitions : transitions.values()) {
+      for (AlertTransition transition : nodeTransitions) {
+        AlertHistory.Update update = history.alert(
+            transition.node,
+            transition.nodeFullPath,
+            transition.oldAlertLevel,
+            transition.newAlertLevel,
+            transition.alertMessage,
+            transition.oldAlertCategory,
+            transition.newAlertCategory
+        );
+        if (update.inserted != null) {
+          inserted.add(update.inserted);
+        }
+      }
+    }
+    return inserted;
+  }
+
+  /**
+   * A node that recovers and fails again in one batch raises an alert.
+   */
+  @Test
+  public void testRecoverAndFailInOneBatch() {
+    Node node = newNode();
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    List<AlertsPane.Alert> inserted = deliver(
+        AlertTransition.of(Arrays.asList(
+            change(node, AlertLevel.HIGH, AlertLevel.NONE),
+            change(node, AlertLevel.NONE, AlertLevel.HIGH)
+        )),
+        history
+    );
+    assertEquals(1, inserted.size());
+    assertEquals(AlertLevel.NONE, inserted.get(0).oldAlertLevel);
+    assertEquals(AlertLevel.HIGH, inserted.get(0).newAlertLevel);
+    assertEquals(0, history.indexOf(node));
+  }
+
+  /**
+   * A node that recovers and fails again in separate batches, merged while
+   * the Swing event dispatch thread is busy, raises an alert.
+   */
+  @Test
+  public void testRecoverAndFailAcrossBatches() {
+    Node node = newNode();
+    Map<Node, List<AlertTransition>> merged = AlertTransition.merge(
+        AlertTransition.of(Collections.singletonList(change(node, AlertLevel.HIGH, AlertLevel.NONE))),
+        AlertTransition.of(Collections.singletonList(change(node, AlertLevel.NONE, AlertLevel.HIGH)))
+    );
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    assertEquals(1, deliver(merged, history).size());
+    assertEquals(0, history.indexOf(node));
+  }
+
+  /**
+   * A node that fails and recovers before delivery still raises an alert,
+   * which is then removed.
+   */
+  @Test
+  public void testFailAndRecover() {
+    Node node = newNode();
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    List<AlertsPane.Alert> inserted = deliver(
+        AlertTransition.of(Arrays.asList(
+            change(node, AlertLevel.NONE, AlertLevel.HIGH),
+            change(node, AlertLevel.HIGH, AlertLevel.NONE)
+        )),
+        history
+    );
+    assertEquals(1, inserted.size());
+    assertEquals(-1, history.indexOf(node));
+  }
+
+  @Test
+  public void testEscalateAndReturn() {
+    Node node = newNode();
+    AlertHistory history = new AlertHistory(Integer.MAX_VALUE);
+    List<AlertsPane.Alert> inserted = deliver(
+        AlertTransition.of(Arrays.asList(
+            change(node, AlertLevel.HIGH, AlertLevel.CRITICAL),
+            change(node, AlertLevel.CRITICAL, AlertLevel.HIGH)
+        )),
+        history
+    );
+    assertEquals(2, inserted.size());
+    assertEquals(AlertLevel.HIGH, inserted.get(1).newAlertLevel);
+  }
+
+  /**
+   * Runs of changes ending below {@link AlertLevel#HIGH} are merged into one.
+   */
+  @Test
+  public void testMergesBelowHigh() {
+    Node node = newNode();
+    Map<Node, List<AlertTransition>> transitions = AlertTransition.of(Arrays.asList(
+        change(node, AlertLevel.NONE, AlertLevel.LOW),
+        change(node, AlertLevel.LOW, AlertLevel.MEDIUM),
+        change(node, AlertLevel.MEDIUM, AlertLevel.LOW)
+    ));
+    List<AlertTransition> nodeTransitions = transitions.get(node);
+    assertEquals(1, nodeTransitions.size());
+    assertEquals(AlertLevel.NONE, nodeTransitions.get(0).oldAlertLevel);
+    assertEquals(AlertLevel.LOW, nodeTransitions.get(0).newAlertLevel);
+    assertEquals("MEDIUM -> LOW", nodeTransitions.get(0).alertMessage);
+  }
+
+  @Test
+  public void testMergeDoesNotModify() {
+    Node node = newNode();
+    Map<Node, List<AlertTransition>> earlier = AlertTransition.of(Collections.singletonList(change(node, AlertLevel.NONE, AlertLevel.LOW)));
+    Map<Node, List<AlertTransition>> later = AlertTransition.of(Collections.singletonList(change(node, AlertLevel.LOW, AlertLevel.MEDIUM)));
+    Map<Node, List<AlertTransition>> merged = AlertTransition.merge(earlier, later);
+    assertEquals(1, merged.get(node).size());
+    assertEquals(AlertLevel.MEDIUM, merged.get(node).get(0).newAlertLevel);
+    assertEquals(AlertLevel.LOW, earlier.get(node).get(0).newAlertLevel);
+    assertEquals(AlertLevel.LOW, later.get(node).get(0).oldAlertLevel);
+    assertNull(earlier.get(newNode()));
+  }
+
+  /**
+   * Delivering random changes merged in random batches gives the same alerts
+   * as delivering each change alone.
+   */
+  @Test
+  public void testSameAlertsAsUnmerged() {
+    Random random = new Random(1);
+    List<Node> nodes = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      nodes.add(newNode());
+    }
+    for (int round = 0; round < 200; round++) {
+      AlertHistory unmerged = new AlertHistory(Integer.MAX_VALUE);
+      AlertHistory merged = new AlertHistory(Integer.MAX_VALUE);
+      AlertLevel[] levels = new AlertLevel[nodes.size()];
+      Arrays.fill(levels, AlertLevel.UNKNOWN);
+      Map<Node, List<AlertTransition>> pending = Collections.emptyMap();
+      int unmergedCount = 0;
+      int mergedCount = 0;
+      for (int i = 0; i < 100; i++) {
+        List<AlertChange> batch = new ArrayList<>();
+        int batchSize = 1 + random.nextInt(4);
+        for (int j = 0; j < batchSize; j++) {
+          int n = random.nextInt(nodes.size());
+          AlertLevel newLevel = alertLevels[random.nextInt(AlertLevel.UNKNOWN.ordinal())];
+          AlertChange change = change(nodes.get(n), levels[n], newLevel);
+          levels[n] = newLevel;
+          batch.add(change);
+          unmergedCount += deliver(AlertTransition.of(Collections.singletonList(change)), unmerged).size();
+        }
+        pending = AlertTransition.merge(pending, AlertTransition.of(batch));
+        // Sometimes the Swing event dispatch thread is busy
+        if (random.nextInt(3) == 0) {
+          mergedCount += deliver(pending, merged).size();
+          pending = Collections.emptyMap();
+        }
+      }
+      mergedCount += deliver(pending, merged).size();
+      // Same number of alerts raised, and the same alerts remaining for each node
+      assertEquals(unmergedCount, mergedCount);
+      assertEquals(unmerged.size(), merged.size());
+      for (Node node : nodes) {
+        int unmergedIndex = unmerged.indexOf(node);
+        int mergedIndex = merged.indexOf(node);
+        assertEquals(unmergedIndex == -1, mergedIndex == -1);
+        if (unmergedIndex != -1) {
+          AlertsPane.Alert expected = unmerged.getAlerts().get(unmergedIndex);
+          AlertsPane.Alert actual = merged.getAlerts().get(mergedIndex);
+          assertNotNull(actual);
+          assertEquals(expected.oldAlertLevel, actual.oldAlertLevel);
+          assertEquals(expected.newAlertLevel, actual.newAlertLevel);
+          assertEquals(expected.alertMessage, actual.alertMessage);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+/**
+ * Tests the negotiation of {@link CompressedSocket} with compressed and plain
+ * peers, over loopback.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class CompressedSocketTest {
+
+  private static final long TIMEOUT = 10000;
+
+  private static final RMIClientSocketFactory plainClient = (host, port) -> new Socket(host, port);
+
+  private static final RMIServerSocketFactory plainServer = port -> new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+  /**
+   * A message that compresses well, large enough to need several buffers.
+   */
+  private static byte[] newMessage() {
+    byte[] message = new byte[100000];
+    for (int i = 0; i < message.length; i++) {
+      message[i] = (byte) "status=ok;".charAt(i % 10);
+    }
+    return message;
+  }
+
+  private interface Peer {
+    void run(Socket socket) throws IOException;
+  }
+
+  /**
+   * Accepts one connection in another thread, closing it after the peer runs.
+   */
+  private static Future<?> acceptOne(ExecutorService executor, ServerSocket serverSocket, Peer peer) {
+    return executor.submit(() -> {
+      try (Socket socket = serverSocket.accept()) {
+        peer.run(socket);
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Reads a length-prefixed message and sends it back.
+   */
+  private static void echo(Socket socket) throws IOException {
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] message = new byte[in.readInt()];
+    in.readFully(message);
+    OutputStream out = socket.getOutputStream();
+    out.write(message);
+    out.flush();
+  }
+
+  /**
+   * Sends a length-prefixed message and reads it back.
+   */
+  private static void assertEcho(Socket socket, byte[] message) throws IOException {
+    OutputStream out = socket.getOutputStream();
+    out.write(new byte[] {
+        (byte) (message.length >>> 24),
+        (byte) (message.length >>> 16),
+        (byte) (message.length >>> 8),
+        (byte) message.length
+    });
+    out.write(message);
+    out.flush();
+    byte[] received = new byte[message.length];
+    new DataInputStream(socket.getInputStream()).readFully(received);
+    assertArrayEquals(message, received);
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testCompressedPeers() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ServerSocket serverSocket = new RMIServerSocketFactoryCompressed(plainServer).createServerSocket(0)) {
+      long compressedBefore = CompressedSocket.getCompressedConnectionCount();
+      long rawBefore = CompressedSocket.getRawBytesOut();
+      long wireBefore = CompressedSocket.getWireBytesOut();
+      Future<?> server = acceptOne(executor, serverSocket, CompressedSocketTest::echo);
+      byte[] message = newMessage();
+      try (Socket socket = new RMIClientSocketFactoryCompressed(plainClient).createSocket("127.0.0.1", serverSocket.getLocalPort())) {
+        assertTrue(socket instanceof CompressedSocket);
+        assertEcho(socket, message);
+      }
+      server.get(TIMEOUT, TimeUnit.MILLISECONDS);
+      // Both ends of the connection
+      assertEquals(2, CompressedSocket.getCompressedConnectionCount() - compressedBefore);
+      long raw = CompressedSocket.getRawBytesOut() - rawBefore;
+      long wire = CompressedSocket.getWireBytesOut() - wireBefore;
+      assertTrue("raw = " + raw, raw >= message.length * 2L);
+      assertTrue("wire = " + wire, wire < raw / 10);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A plain client is accepted without compression, with any bytes read while
+   * looking for the header given back.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testPlainClient() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ServerSocket serverSocket = new RMIServerSocketFactoryCompressed(plainServer).createServerSocket(0)) {
+      for (byte[] message : Arrays.asList(newMessage(), new byte[0])) {
+        long plainBefore = CompressedSocket.getPlainConnectionCount();
+        Future<?> server = acceptOne(executor, serverSocket, CompressedSocketTest::echo);
+        try (Socket socket = plainClient.createSocket("127.0.0.1", serverSocket.getLocalPort())) {
+          assertEcho(socket, message);
+        }
+        server.get(TIMEOUT, TimeUnit.MILLISECONDS);
+        assertEquals(1, CompressedSocket.getPlainConnectionCount() - plainBefore);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A plain connection that starts with the first bytes of the header.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testPlainClientPartialHeader() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ServerSocket serverSocket = new RMIServerSocketFactoryCompressed(plainServer).createServerSocket(0)) {
+      byte[] message = "NOCZ\u0000 not compressed".getBytes(StandardCharsets.US_ASCII);
+      Future<?> server = acceptOne(executor, serverSocket, socket -> {
+        byte[] received = new byte[message.length];
+        new DataInputStream(socket.getInputStream()).readFully(received);
+        assertArrayEquals(message, received);
+      });
+      try (Socket socket = plainClient.createSocket("127.0.0.1", serverSocket.getLocalPort())) {
+        OutputStream out = socket.getOutputStream();
+        out.write(message);
+        out.flush();
+        server.get(TIMEOUT, TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * A compressed client fails, and closes its connection, when the server
+   * does not acknowledge the header.
+   */
+  @Test(timeout = TIMEOUT)
+  public void testPlainServerRejects() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ServerSocket serverSocket = plainServer.createServerSocket(0)) {
+      Future<?> server = acceptOne(executor, serverSocket, socket -> {
+        socket.getInputStream().read();
+        OutputStream out = socket.getOutputStream();
+        out.write('E');
+        out.flush();
+        // Wait for the client to close
+        InputStream in = socket.getInputStream();
+        while (in.read() != -1) {
+          // Discard
+        }
+      });
+      SocketException e = assertThrows(
+          SocketException.class,
+          () -> new RMIClientSocketFactoryCompressed(plainClient).createSocket("127.0.0.1", serverSocket.getLocalPort())
+      );
+      assertTrue(e.getMessage(), e.getMessage().startsWith("Compression not accepted by server"));
+      // The server sees the client close
+      server.get(TIMEOUT, TimeUnit.MILLISECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test(timeout = TIMEOUT)
+  public void testPlainServerCloses() throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try (ServerSocket serverSocket = plainServer.createServerSocket(0)) {
+      // Reads the whole header before closing, so the client is not reset
+      Future<?> server = acceptOne(executor, serverSocket, socket -> new DataInputStream(socket.getInputStream()).readFully(new byte[5]));
+      assertThrows(
+          EOFException.class,
+          () -> new RMIClientSocketFactoryCompressed(plainClient).createSocket("127.0.0.1", serverSocket.getLocalPort())
+      );
+      server.get(TIMEOUT, TimeUnit.MILLISECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,374 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+import org.junit.Test;
+
+/**
+ * Tests {@link KeyedTableModel}, checking the events fired by each diff
+ * against a copy of the rows maintained only from those events.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class KeyedTableModelTest {
+
+  private static final class Row {
+
+    private final String key;
+    private final int value;
+
+    private Row(String key, int value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Row)) {
+        return false;
+      }
+      Row other = (Row) obj;
+      return key.equals(other.key) && value == other.value;
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() * 31 + value;
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  private static final KeyedTableModel.RowAdapter<String, Row> adapter = new KeyedTableModel.RowAdapter<>() {
+    @Override
+    public String getKey(Row row) {
+      return row.key;
+    }
+
+    @Override
+    public Object getValueAt(Row row, int column) {
+      return column == 0 ? row.key : row.value;
+    }
+  };
+
+  private static List<Row> rows(String... keys) {
+    List<Row> rows = new ArrayList<>(keys.length);
+    for (String key : keys) {
+      rows.add(new Row(key, 0));
+    }
+    return rows;
+  }
+
+  private interface EdtTask {
+    void run() throws Exception;
+  }
+
+  /**
+   * Runs a task in the Swing event dispatch thread, rethrowing any failure.
+   */
+  private static void onEdt(EdtTask task) throws InterruptedException {
+    try {
+      SwingUtilities.invokeAndWait(() -> {
+        try {
+          task.run();
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Exception e) {
+          throw new AssertionError(e);
+        }
+      });
+    } catch (InvocationTargetException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new AssertionError(cause);
+    }
+  }
+
+  private final KeyedTableModel<String, Row> model = new KeyedTableModel<>(Arrays.asList("Key", "Value"), adapter);
+
+  /**
+   * The events fired since last cleared, as type, first row, and last row.
+   */
+  private final List<List<Integer>> events = new ArrayList<>();
+
+  /**
+   * The cells of the rows, maintained only from the events.
+   */
+  private final List<List<Object>> mirror = new ArrayList<>();
+
+  private List<Object> getCells(int row) {
+    return Arrays.asList(model.getValueAt(row, 0), model.getValueAt(row, 1));
+  }
+
+  public KeyedTableModelTest() throws InterruptedException {
+    onEdt(() -> model.addTableModelListener(e -> {
+      events.add(Arrays.asList(e.getType(), e.getFirstRow(), e.getLastRow()));
+      if (e.getType() == TableModelEvent.DELETE) {
+        mirror.subList(e.getFirstRow(), e.getLastRow() + 1).clear();
+      } else if (e.getType() == TableModelEvent.INSERT) {
+        for (int row = e.getFirstRow(); row <= e.getLastRow(); row++) {
+          mirror.add(row, getCells(row));
+        }
+      } else if (e.getLastRow() == Integer.MAX_VALUE) {
+        mirror.clear();
+        for (int row = 0, count = model.getRowCount(); row < count; row++) {
+          mirror.add(getCells(row));
+        }
+      } else {
+        for (int row = e.getFirstRow(); row <= e.getLastRow(); row++) {
+          mirror.set(row, getCells(row));
+        }
+      }
+    }));
+  }
+
+  private static List<Integer> event(int type, int firstRow, int lastRow) {
+    return Arrays.asList(type, firstRow, lastRow);
+  }
+
+  private static List<Integer> dataChanged() {
+    return event(TableModelEvent.UPDATE, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Applies the diff, checking the model and the mirror have the new rows.
+   *
+   * @return  the events fired
+   */
+  private List<List<Integer>> apply(KeyedTableModel.Diff<String, Row> diff, List<Row> expected) throws InterruptedException {
+    List<List<Integer>> fired = new ArrayList<>();
+    onEdt(() -> {
+      events.clear();
+      model.apply(diff);
+      fired.addAll(events);
+      assertEquals(expected.size(), model.getRowCount());
+      assertEquals(expected.size(), mirror.size());
+      for (int i = 0; i < expected.size(); i++) {
+        Row row = expected.get(i);
+        assertSame(row, model.getRow(i));
+        assertEquals(Arrays.asList(row.key, row.value), mirror.get(i));
+        assertEquals(i, model.indexOf(row.key));
+      }
+    });
+    return fired;
+  }
+
+  private List<List<Integer>> apply(List<Row> newRows) throws InterruptedException {
+    return apply(model.diff(newRows), newRows);
+  }
+
+  @Test
+  public void testInsert() throws InterruptedException {
+    List<Row> rows = rows("a", "b", "c");
+    assertEquals(Collections.singletonList(event(TableModelEvent.INSERT, 0, 2)), apply(rows));
+    rows = new ArrayList<>(rows);
+    rows.add(1, new Row("x", 0));
+    rows.add(2, new Row("y", 0));
+    rows.add(new Row("z", 0));
+    assertEquals(
+        Arrays.asList(
+            event(TableModelEvent.INSERT, 1, 2),
+            event(TableModelEvent.INSERT, 5, 5)
+        ),
+        apply(rows)
+    );
+  }
+
+  @Test
+  public void testDelete() throws InterruptedException {
+    apply(rows("a", "b", "c", "d", "e", "f"));
+    // From the end, so the earlier indexes are unchanged
+    assertEquals(
+        Arrays.asList(
+            event(TableModelEvent.DELETE, 5, 5),
+            event(TableModelEvent.DELETE, 1, 3)
+        ),
+        apply(rows("a", "e"))
+    );
+    assertEquals(Collections.singletonList(event(TableModelEvent.DELETE, 0, 1)), apply(rows()));
+  }
+
+  @Test
+  public void testChange() throws InterruptedException {
+    apply(rows("a", "b", "c", "d", "e"));
+    List<Row> rows = rows("a", "b", "c", "d", "e");
+    rows.set(1, new Row("b", 1));
+    rows.set(2, new Row("c", 1));
+    rows.set(4, new Row("e", 1));
+    KeyedTableModel.Diff<String, Row> diff = model.diff(rows);
+    assertTrue(diff.isModified());
+    assertFalse(diff.isReplace());
+    assertEquals(
+        Arrays.asList(
+            event(TableModelEvent.UPDATE, 1, 2),
+            event(TableModelEvent.UPDATE, 4, 4)
+        ),
+        apply(diff, rows)
+    );
+  }
+
+  /**
+   * Equal rows are not modified, so the rows already applied are kept.
+   */
+  @Test
+  public void testUnmodified() throws InterruptedException {
+    List<Row> rows = rows("a", "b");
+    apply(rows);
+    KeyedTableModel.Diff<String, Row> diff = model.diff(rows("a", "b"));
+    assertFalse(diff.isModified());
+    assertEquals(Collections.emptyList(), apply(diff, rows));
+  }
+
+  @Test
+  public void testReorderReplaces() throws InterruptedException {
+    apply(rows("a", "b", "c"));
+    List<Row> rows = rows("c", "a", "b");
+    KeyedTableModel.Diff<String, Row> diff = model.diff(rows);
+    assertTrue(diff.isReplace());
+    assertEquals(Collections.singletonList(dataChanged()), apply(diff, rows));
+  }
+
+  @Test
+  public void testMaxRanges() throws InterruptedException {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < (KeyedTableModel.MAX_RANGES + 1) * 2; i++) {
+      rows.add(new Row(Integer.toString(i), 0));
+    }
+    apply(rows);
+    // Exactly MAX_RANGES ranges of changed rows
+    List<Row> changed = new ArrayList<>(rows);
+    for (int i = 0; i < KeyedTableModel.MAX_RANGES; i++) {
+      changed.set(i * 2, new Row(changed.get(i * 2).key, 1));
+    }
+    KeyedTableModel.Diff<String, Row> diff = model.diff(changed);
+    assertFalse(diff.isReplace());
+    assertEquals(KeyedTableModel.MAX_RANGES, apply(diff, changed).size());
+    // One more range replaces all rows
+    changed = new ArrayList<>(changed);
+    for (int i = 0; i <= KeyedTableModel.MAX_RANGES; i++) {
+      changed.set(i * 2, new Row(changed.get(i * 2).key, 2));
+    }
+    diff = model.diff(changed);
+    assertTrue(diff.isReplace());
+    assertEquals(Collections.singletonList(dataChanged()), apply(diff, changed));
+  }
+
+  /**
+   * A diff computed before another diff is applied is computed again against
+   * the current rows.
+   */
+  @Test
+  public void testRebase() throws InterruptedException {
+    apply(rows("a", "b", "c"));
+    List<Row> stale = rows("a", "c", "d");
+    KeyedTableModel.Diff<String, Row> staleDiff = model.diff(stale);
+    apply(rows("b", "c"));
+    onEdt(() -> {
+      KeyedTableModel.Diff<String, Row> rebased = model.rebase(staleDiff);
+      assertTrue(rebased != staleDiff);
+      assertEquals(stale, rebased.getRows());
+    });
+    assertEquals(
+        Arrays.asList(
+            event(TableModelEvent.DELETE, 0, 0),
+            event(TableModelEvent.INSERT, 0, 0),
+            event(TableModelEvent.INSERT, 2, 2)
+        ),
+        apply(staleDiff, stale)
+    );
+    // A current diff is not computed again
+    KeyedTableModel.Diff<String, Row> current = model.diff(rows("a"));
+    onEdt(() -> assertSame(current, model.rebase(current)));
+  }
+
+  /**
+   * Row range events keep the selection of the rows that remain.
+   */
+  @Test
+  public void testKeepsSelection() throws InterruptedException {
+    apply(rows("a", "b", "c", "d", "e"));
+    onEdt(() -> {
+      JTable table = new JTable(model);
+      table.setRowSelectionInterval(3, 3);
+      model.apply(model.diff(rows("a", "d", "e", "f")));
+      assertEquals(1, table.getSelectedRowCount());
+      assertEquals("d", table.getValueAt(table.getSelectedRow(), 0));
+    });
+  }
+
+  @Test
+  public void testRandomChanges() throws InterruptedException {
+    Random random = new Random(1);
+    List<Row> rows = new ArrayList<>();
+    int next = 0;
+    for (int round = 0; round < 500; round++) {
+      List<Row> newRows = new ArrayList<>();
+      for (Row row : rows) {
+        int action = random.nextInt(20);
+        if (action != 0) {
+          newRows.add(action == 1 ? new Row(row.key, row.value + 1) : row);
+        }
+      }
+      int inserts = random.nextInt(5);
+      for (int i = 0; i < inserts; i++) {
+        newRows.add(random.nextInt(newRows.size() + 1), new Row(Integer.toString(next++), 0));
+      }
+      if (random.nextInt(30) == 0) {
+        Collections.shuffle(newRows, random);
+      }
+      KeyedTableModel.Diff<String, Row> diff = model.diff(newRows);
+      // Sometimes apply another diff first, so this one is rebased
+      if (random.nextInt(10) == 0 && !newRows.isEmpty()) {
+        List<Row> other = new ArrayList<>(newRows);
+        other.remove(0);
+        apply(other);
+      }
+      apply(diff, newRows);
+      rows = newRows;
+    }
+  }
+}
@@ -0,0 +1,343 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.aoindustries.noc.monitor.common.AlertCategory;
+import com.aoindustries.noc.monitor.common.AlertLevel;
+import com.aoindustries.noc.monitor.common.Node;
+import com.aoindustries.noc.monitor.common.NodeSnapshot;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import org.junit.Test;
+
+/**
+ * Tests building {@link SystemsTreeState} from snapshots and reconciling the
+ * tree model with {@link SystemsTreeReconciler}, headless.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class SystemsTreeReconcilerTest {
+
+  /**
+   * A local node for building snapshots.
+   */
+  private static final class TestNode implements Node {
+
+    private final TestNode parent;
+    private final String label;
+    private final boolean allowsChildren;
+    private final List<TestNode> children = new ArrayList<>();
+    private final UUID uuid = UUID.randomUUID();
+    private AlertLevel alertLevel = AlertLevel.NONE;
+
+    private TestNode(TestNode parent, String label, boolean allowsChildren) {
+      this.parent = parent;
+      this.label = label;
+      this.allowsChildren = allowsChildren;
+      if (parent != null) {
+        parent.children.add(this);
+      }
+    }
+
+    @Override
+    public Node getParent() {
+      return parent;
+    }
+
+    @Override
+    public List<? extends Node> getChildren() {
+      return Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public AlertLevel getAlertLevel() {
+      return alertLevel;
+    }
+
+    @Override
+    public String getAlertMessage() {
+      return null;
+    }
+
+    @Override
+    public AlertCategory getAlertCategory() {
+      return AlertCategory.MONITORING;
+    }
+
+    @Override
+    public boolean getAllowsChildren() {
+      return allowsChildren;
+    }
+
+    @Override
+    public String getLabel() {
+      return label;
+    }
+
+    @Override
+    public UUID getUuid() {
+      return uuid;
+    }
+
+    @Override
+    public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * Counts the changes to the tree model.
+   */
+  private static final class Counter implements TreeModelListener {
+
+    private int inserted;
+    private int removed;
+
+    @Override
+    public void treeNodesChanged(TreeModelEvent e) {
+      // Not counted
+    }
+
+    @Override
+    public void treeNodesInserted(TreeModelEvent e) {
+      inserted += e.getChildIndices().length;
+    }
+
+    @Override
+    public void treeNodesRemoved(TreeModelEvent e) {
+      removed += e.getChildIndices().length;
+    }
+
+    @Override
+    public void treeStructureChanged(TreeModelEvent e) {
+      throw new AssertionError("Structure changed");
+    }
+  }
+
+  private final TestNode root = new TestNode(null, "Root", true);
+  private final List<TestNode> leaves = new ArrayList<>();
+  private final DefaultTreeModel treeModel = new DefaultTreeModel(new DefaultMutableTreeNode("Hidden Root", true), true);
+  private final Counter counter = new Counter();
+  private final List<SystemsPane.SystemsTreeNode> removing = new ArrayList<>();
+  private final SystemsTreeReconciler reconciler = new SystemsTreeReconciler(treeModel, removing::add);
+  private final SystemsPane.SystemsTreeNode rootTreeNode = new SystemsPane.SystemsTreeNode(root.label, root, true);
+
+  /**
+   * Two levels of branches below the root, with the given number of children each.
+   */
+  private void build(int fanout) {
+    for (int i = 0; i < fanout; i++) {
+      TestNode level1 = new TestNode(root, "Level 1 #" + i, true);
+      for (int j = 0; j < fanout; j++) {
+        TestNode level2 = new TestNode(level1, "Level 2 #" + j, true);
+        for (int k = 0; k < fanout; k++) {
+          leaves.add(new TestNode(level2, "Leaf #" + k, false));
+        }
+      }
+    }
+    ((DefaultMutableTreeNode) treeModel.getRoot()).add(rootTreeNode);
+    treeModel.addTreeModelListener(counter);
+  }
+
+  /**
+   * Sets the alert level of each branch to the highest of its children.
+   */
+  private static AlertLevel updateAlertLevels(TestNode node) {
+    if (node.allowsChildren) {
+      AlertLevel highest = AlertLevel.NONE;
+      for (TestNode child : node.children) {
+        AlertLevel childLevel = updateAlertLevels(child);
+        if (childLevel.compareTo(highest) > 0) {
+          highest = childLevel;
+        }
+      }
+      node.alertLevel = highest;
+    }
+    return node.alertLevel;
+  }
+
+  private SystemsTreeState state(AlertLevel systemsAlertLevel) throws RemoteException {
+    updateAlertLevels(root);
+    return SystemsTreeState.of(new NodeSnapshot(null, root), systemsAlertLevel);
+  }
+
+  /**
+   * Checks the tree nodes match the state, recursively.
+   */
+  private static void assertTree(SystemsTreeState state, SystemsPane.SystemsTreeNode treeNode) {
+    assertSame(state.node, treeNode.getNode());
+    assertEquals(state.label, treeNode.getUserObject());
+    assertEquals(state.allowsChildren, treeNode.getAllowsChildren());
+    assertEquals(state.children.size(), treeNode.getChildCount());
+    for (int i = 0; i < state.children.size(); i++) {
+      assertTree(state.children.get(i), (SystemsPane.SystemsTreeNode) treeNode.getChildAt(i));
+    }
+  }
+
+  private static void index(SystemsPane.SystemsTreeNode treeNode, Map<Node, SystemsPane.SystemsTreeNode> treeNodes) {
+    treeNodes.put(treeNode.getNode(), treeNode);
+    for (int i = 0; i < treeNode.getChildCount(); i++) {
+      index((SystemsPane.SystemsTreeNode) treeNode.getChildAt(i), treeNodes);
+    }
+  }
+
+  @Test
+  public void testStateFilters() throws RemoteException {
+    build(2);
+    leaves.get(0).alertLevel = AlertLevel.HIGH;
+    leaves.get(7).alertLevel = AlertLevel.LOW;
+    SystemsTreeState all = state(AlertLevel.NONE);
+    assertEquals(2, all.children.size());
+    assertEquals(2, all.children.get(1).children.get(1).children.size());
+    SystemsTreeState high = state(AlertLevel.HIGH);
+    assertSame(root, high.node);
+    assertEquals(AlertLevel.HIGH, high.alertLevel);
+    assertEquals(1, high.children.size());
+    assertSame(leaves.get(0), high.children.get(0).children.get(0).children.get(0).node);
+    assertEquals(0, high.children.get(0).children.get(0).children.get(0).children.size());
+    // The root is always included
+    SystemsTreeState critical = state(AlertLevel.CRITICAL);
+    assertSame(root, critical.node);
+    assertEquals(0, critical.children.size());
+    assertThrows(UnsupportedOperationException.class, () -> high.children.clear());
+  }
+
+  @Test
+  public void testInitial() throws RemoteException {
+    build(3);
+    SystemsTreeState state = state(AlertLevel.NONE);
+    reconciler.reconcile(state, rootTreeNode);
+    assertTree(state, rootTreeNode);
+    assertEquals(3 + 3 * 3 + 3 * 3 * 3, counter.inserted);
+    assertEquals(0, counter.removed);
+  }
+
+  @Test
+  public void testUnchanged() throws RemoteException {
+    build(3);
+    reconciler.reconcile(state(AlertLevel.NONE), rootTreeNode);
+    counter.inserted = 0;
+    reconciler.reconcile(state(AlertLevel.NONE), rootTreeNode);
+    assertEquals(0, counter.inserted);
+    assertEquals(0, counter.removed);
+    assertTrue(removing.isEmpty());
+  }
+
+  /**
+   * Hiding one leaf removes only it, keeping the other tree nodes.
+   */
+  @Test
+  public void testKeepsTreeNodes() throws RemoteException {
+    build(3);
+    for (TestNode leaf : leaves) {
+      leaf.alertLevel = AlertLevel.LOW;
+    }
+    reconciler.reconcile(state(AlertLevel.LOW), rootTreeNode);
+    Map<Node, SystemsPane.SystemsTreeNode> before = new IdentityHashMap<>();
+    index(rootTreeNode, before);
+    counter.inserted = 0;
+    TestNode hidden = leaves.get(4);
+    hidden.alertLevel = AlertLevel.NONE;
+    SystemsTreeState state = state(AlertLevel.LOW);
+    reconciler.reconcile(state, rootTreeNode);
+    assertTree(state, rootTreeNode);
+    assertEquals(0, counter.inserted);
+    assertEquals(1, counter.removed);
+    assertEquals(1, removing.size());
+    assertSame(before.get(hidden), removing.get(0));
+    Map<Node, SystemsPane.SystemsTreeNode> after = new IdentityHashMap<>();
+    index(rootTreeNode, after);
+    for (Map.Entry<Node, SystemsPane.SystemsTreeNode> entry : after.entrySet()) {
+      assertSame(before.get(entry.getKey()), entry.getValue());
+    }
+    // Shown again, in its original position
+    hidden.alertLevel = AlertLevel.LOW;
+    state = state(AlertLevel.LOW);
+    reconciler.reconcile(state, rootTreeNode);
+    assertTree(state, rootTreeNode);
+    assertEquals(1, counter.inserted);
+  }
+
+  /**
+   * Removed branches are given to the callback children first.
+   */
+  @Test
+  public void testRemovesChildrenFirst() throws RemoteException {
+    build(2);
+    reconciler.reconcile(state(AlertLevel.NONE), rootTreeNode);
+    leaves.get(0).alertLevel = AlertLevel.HIGH;
+    reconciler.reconcile(state(AlertLevel.HIGH), rootTreeNode);
+    // All 14 tree nodes below the root, other than the path of 3 to the leaf still shown
+    assertEquals(14 - 3, removing.size());
+    for (int i = 0; i < removing.size(); i++) {
+      SystemsPane.SystemsTreeNode removed = removing.get(i);
+      Node parent = removed.getNode().getParent();
+      for (int j = 0; j < i; j++) {
+        assertTrue("Parent removed before child", removing.get(j).getNode() != parent);
+      }
+    }
+  }
+
+  /**
+   * Random changes of alert level, reconciled incrementally, give the same
+   * tree as reconciling into an empty tree.
+   */
+  @Test
+  public void testRandomChanges() throws RemoteException {
+    build(4);
+    Random random = new Random(1);
+    AlertLevel[] systemsAlertLevels = {AlertLevel.NONE, AlertLevel.LOW, AlertLevel.MEDIUM, AlertLevel.HIGH, AlertLevel.CRITICAL};
+    for (int round = 0; round < 100; round++) {
+      for (TestNode leaf : leaves) {
+        if (random.nextInt(10) == 0) {
+          leaf.alertLevel = systemsAlertLevels[random.nextInt(systemsAlertLevels.length)];
+        }
+      }
+      SystemsTreeState state = state(systemsAlertLevels[random.nextInt(systemsAlertLevels.length)]);
+      int removedBefore = removing.size();
+      counter.removed = 0;
+      reconciler.reconcile(state, rootTreeNode);
+      assertTree(state, rootTreeNode);
+      // Each tree node removed from the model was given to the callback
+      assertEquals(counter.removed, removing.size() - removedBefore);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import javax.swing.table.DefaultTableModel;
+import org.junit.Test;
+
+/**
+ * Tests {@link TableView} and its application to a table model.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class TableViewTest {
+
+  private static TableView newView(int rows, int columns) {
+    Object[] cells = new Object[rows * columns];
+    for (int row = 0; row < rows; row++) {
+      for (int col = 0; col < columns; col++) {
+        cells[row * columns + col] = row + "," + col;
+      }
+    }
+    return new TableView(rows, columns, cells);
+  }
+
+  private static void assertModel(TableView view, DefaultTableModel tableModel) {
+    assertEquals(view.rows, tableModel.getRowCount());
+    assertEquals(view.columns, tableModel.getColumnCount());
+    for (int row = 0; row < view.rows; row++) {
+      for (int col = 0; col < view.columns; col++) {
+        assertEquals(row + "," + col, tableModel.getValueAt(row, col));
+      }
+    }
+  }
+
+  @Test
+  public void testGetValueAt() {
+    TableView view = newView(3, 4);
+    assertEquals("0,0", view.getValueAt(0, 0));
+    assertEquals("1,3", view.getValueAt(1, 3));
+    assertEquals("2,0", view.getValueAt(2, 0));
+  }
+
+  @Test
+  public void testWrongCellCount() {
+    assertThrows(IllegalArgumentException.class, () -> new TableView(2, 3, new Object[5]));
+  }
+
+  @Test
+  public void testApplyTo() {
+    DefaultTableModel tableModel = new DefaultTableModel();
+    TableView view = newView(5, 3);
+    view.applyTo(tableModel);
+    assertModel(view, tableModel);
+    // Shrinks
+    view = newView(2, 2);
+    view.applyTo(tableModel);
+    assertModel(view, tableModel);
+    // Grows again, with every cell set
+    view = newView(6, 4);
+    view.applyTo(tableModel);
+    assertModel(view, tableModel);
+    // Empty
+    view = newView(0, 4);
+    view.applyTo(tableModel);
+    assertModel(view, tableModel);
+  }
+}
@@ -0,0 +1,362 @@
+/*
+ * noc-gui - Graphical User Interface for Network Operations Center.
+ * Copyright (C) 2026  AO Industries, Inc.
+ *     support@aoindustries.com
+ *     7262 Bull Pen Cir
+ *     Mobile, AL 36695
+ *
+ * This file is part of noc-gui.
+ *
+ * noc-gui is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * noc-gui is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with noc-gui.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package com.aoindustries.noc.gui;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Tests that filtering by a {@link TicketIndex} gives the same result as
+ * filtering one ticket at a time, including after incremental updates.
+ *
+ * @author  AO Industries, Inc.
+ */
+public class TicketFilterTest {
+
+  private static final int DIMENSIONS = TicketIndex.Dimension.values().length;
+
+  /**
+   * A ticket with one value per dimension, compared by identity like AOServ
+   * tickets from different table loads.
+   */
+  private static final class Ticket {
+
+    private final String name;
+    private final Integer[] values = new Integer[DIMENSIONS];
+
+    private Ticket(String name, Integer... values) {
+      this.name = name;
+      System.arraycopy(values, 0, this.values, 0, values.length);
+    }
+
+    @Override
+    public String toString() {
+      return name + Arrays.toString(values);
+    }
+  }
+
+  private static final TicketFilter.Accessor<Ticket, Integer, Integer> accessor = new TicketFilter.Accessor<>() {
+    @Override
+    public Object getBrand(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.BRAND.ordinal()];
+    }
+
+    @Override
+    public Object getReseller(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.RESELLER.ordinal()];
+    }
+
+    @Override
+    public Object getTicketType(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.TYPE.ordinal()];
+    }
+
+    @Override
+    public Object getStatus(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.STATUS.ordinal()];
+    }
+
+    @Override
+    public Object getPriority(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.PRIORITY.ordinal()];
+    }
+
+    @Override
+    public Object getLanguage(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.LANGUAGE.ordinal()];
+    }
+
+    @Override
+    public Integer getCategory(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.CATEGORY.ordinal()];
+    }
+
+    @Override
+    public Integer getAccount(Ticket ticket) {
+      return ticket.values[TicketIndex.Dimension.ACCOUNT.ordinal()];
+    }
+  };
+
+  private static Set<Object> set(Object... values) {
+    return new HashSet<>(Arrays.asList(values));
+  }
+
+  private static Set<Integer> intSet(Integer... values) {
+    return new HashSet<>(Arrays.asList(values));
+  }
+
+  /**
+   * Selects nothing except the given categories and accounts.
+   */
+  private static TicketFilter<Ticket, Integer, Integer> filter(
+      Map<Ticket, ?> ticketAssignments,
+      boolean includeUnassigned,
+      Set<?> selectedAssignments,
+      boolean includeUncategorized,
+      Set<Integer> selectedCategories
+  ) {
+    return new TicketFilter<>(
+        Collections.emptySet(),
+        Collections.emptySet(),
+        ticketAssignments,
+        includeUnassigned,
+        selectedAssignments,
+        Collections.emptySet(),
+        Collections.emptySet(),
+        Collections.emptySet(),
+        Collections.emptySet(),
+        includeUncategorized,
+        selectedCategories,
+        false,
+        Collections.emptySet()
+    );
+  }
+
+  private static TicketFilter<Ticket, Integer, Integer> randomFilter(Random random, Map<Ticket, ?> ticketAssignments) {
+    List<Set<Object>> selected = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      Set<Object> values = new HashSet<>();
+      int count = random.nextInt(3);
+      for (int j = 0; j < count; j++) {
+        values.add(random.nextInt(4));
+      }
+      selected.add(values);
+    }
+    Set<Object> selectedAssignments = new HashSet<>();
+    if (random.nextBoolean()) {
+      selectedAssignments.add(random.nextInt(3));
+    }
+    Set<Integer> selectedCategories = new HashSet<>();
+    if (random.nextBoolean()) {
+      selectedCategories.add(random.nextInt(4));
+    }
+    Set<Integer> selectedAccounts = new HashSet<>();
+    if (random.nextBoolean()) {
+      selectedAccounts.add(random.nextInt(4));
+    }
+    return new TicketFilter<>(
+        selected.get(0),
+        selected.get(1),
+        random.nextBoolean() ? ticketAssignments : null,
+        random.nextBoolean(),
+        selectedAssignments,
+        selected.get(2),
+        selected.get(3),
+        selected.get(4),
+        selected.get(5),
+        random.nextBoolean(),
+        selectedCategories,
+        random.nextBoolean(),
+        selectedAccounts
+    );
+  }
+
+  private static Ticket randomTicket(Random random, String name) {
+    Ticket ticket = new Ticket(name);
+    randomize(random, ticket);
+    return ticket;
+  }
+
+  /**
+   * Sets every dimension to {@code null} or one of four values.
+   */
+  private static void randomize(Random random, Ticket ticket) {
+    for (int i = 0; i < DIMENSIONS; i++) {
+      int value = random.nextInt(5) - 1;
+      ticket.values[i] = value == -1 ? null : value;
+    }
+  }
+
+  private static void assertSameResult(
+      TicketFilter<Ticket, Integer, Integer> filter,
+      List<Ticket> tickets,
+      TicketIndex<Ticket, Integer, Integer> index
+  ) throws IOException, SQLException {
+    TicketFilter.Result<Ticket, Integer, Integer> expected = filter.filter(tickets, accessor);
+    TicketFilter.Result<Ticket, Integer, Integer> actual = filter.filter(index);
+    assertEquals(expected.tickets, actual.tickets);
+    assertEquals(expected.categoriesWithTickets, actual.categoriesWithTickets);
+    assertEquals(expected.accountsWithTickets, actual.accountsWithTickets);
+  }
+
+  @Test
+  public void testFilterIndexMatchesFilterList() throws IOException, SQLException {
+    Random random = new Random(1);
+    List<Ticket> tickets = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      tickets.add(randomTicket(random, "t" + i));
+    }
+    Map<Ticket, Integer> assignments = new HashMap<>();
+    for (Ticket ticket : tickets) {
+      if (random.nextBoolean()) {
+        assignments.put(ticket, random.nextInt(3));
+      }
+    }
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(tickets);
+    for (int i = 0; i < 500; i++) {
+      assertSameResult(randomFilter(random, assignments), tickets, index);
+    }
+  }
+
+  @Test
+  public void testNothingSelected() throws IOException, SQLException {
+    List<Ticket> tickets = Arrays.asList(
+        new Ticket("a", 0, 0, 0, 0, 0, 0, 0, 0),
+        new Ticket("b"),
+        new Ticket("c", 1, 1, 1, 1, 1, 1, 1, 1)
+    );
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(tickets);
+    TicketFilter<Ticket, Integer, Integer> filter = filter(null, false, Collections.emptySet(), false, Collections.emptySet());
+    assertSameResult(filter, tickets, index);
+    // In reverse order
+    assertEquals(Arrays.asList(tickets.get(2), tickets.get(1), tickets.get(0)), filter.filter(index).tickets);
+  }
+
+  @Test
+  public void testUncategorized() throws IOException, SQLException {
+    Ticket a = new Ticket("a", 0, 0, 0, 0, 0, 0, 1, 0);
+    Ticket b = new Ticket("b", 0, 0, 0, 0, 0, 0, null, 0);
+    Ticket c = new Ticket("c", 0, 0, 0, 0, 0, 0, 2, 0);
+    List<Ticket> tickets = Arrays.asList(a, b, c);
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(tickets);
+    TicketFilter<Ticket, Integer, Integer> filter = filter(null, false, Collections.emptySet(), true, intSet(2));
+    assertSameResult(filter, tickets, index);
+    assertEquals(Arrays.asList(c, b), filter.filter(index).tickets);
+    assertEquals(intSet(1, null, 2), filter.filter(index).categoriesWithTickets);
+  }
+
+  @Test
+  public void testUpdateReusesOrdinalsOfRemovedTickets() throws IOException, SQLException {
+    Ticket a = new Ticket("a", 0, 0, 0, 0, 0, 0, 1, 0);
+    Ticket b = new Ticket("b", 0, 0, 0, 0, 0, 0, 2, 0);
+    Ticket c = new Ticket("c", 0, 0, 0, 0, 0, 0, 3, 0);
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(Arrays.asList(a, b, c));
+    // b is removed and d takes its ordinal, with a different category
+    Ticket d = new Ticket("d", 0, 0, 0, 0, 0, 0, 4, 0);
+    List<Ticket> tickets = Arrays.asList(d, a, c);
+    index.update(tickets);
+    for (Set<Integer> categories : Arrays.asList(intSet(), intSet(1), intSet(2), intSet(4), intSet(2, 4))) {
+      assertSameResult(filter(null, false, Collections.emptySet(), false, categories), tickets, index);
+    }
+    assertEquals(Collections.emptyList(), filter(null, false, Collections.emptySet(), false, intSet(2)).filter(index).tickets);
+    assertEquals(Collections.singletonList(d), filter(null, false, Collections.emptySet(), false, intSet(4)).filter(index).tickets);
+    assertEquals(intSet(1, 3, 4), filter(null, false, Collections.emptySet(), false, intSet()).filter(index).categoriesWithTickets);
+  }
+
+  @Test
+  public void testUpdateChangedValues() throws IOException, SQLException {
+    Ticket a = new Ticket("a", 0, 0, 0, 0, 0, 0, 1, 0);
+    Ticket b = new Ticket("b", 0, 0, 0, 0, 0, 0, 2, 0);
+    List<Ticket> tickets = Arrays.asList(a, b);
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(tickets);
+    a.values[TicketIndex.Dimension.CATEGORY.ordinal()] = 2;
+    b.values[TicketIndex.Dimension.CATEGORY.ordinal()] = null;
+    index.update(tickets);
+    TicketFilter<Ticket, Integer, Integer> filter = filter(null, false, Collections.emptySet(), false, intSet(2));
+    assertSameResult(filter, tickets, index);
+    assertEquals(Collections.singletonList(a), filter.filter(index).tickets);
+  }
+
+  /**
+   * The assignments are indexed by ordinal, so must be indexed again after
+   * an ordinal is reused, even when given the same map.
+   */
+  @Test
+  public void testAssignmentsAfterOrdinalReused() throws IOException, SQLException {
+    Ticket a = new Ticket("a");
+    Ticket b = new Ticket("b");
+    Map<Ticket, Integer> assignments = new HashMap<>();
+    assignments.put(b, 1);
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    index.update(Arrays.asList(a, b));
+    TicketFilter<Ticket, Integer, Integer> filter = filter(assignments, false, set(1), false, Collections.emptySet());
+    assertEquals(Collections.singletonList(b), filter.filter(index).tickets);
+    // b is removed and c takes its ordinal, without being assigned
+    Ticket c = new Ticket("c");
+    List<Ticket> tickets = Arrays.asList(a, c);
+    index.update(tickets);
+    assertSameResult(filter, tickets, index);
+    assertEquals(Collections.emptyList(), filter.filter(index).tickets);
+    TicketFilter<Ticket, Integer, Integer> unassigned = filter(assignments, true, Collections.emptySet(), false, Collections.emptySet());
+    assertSameResult(unassigned, tickets, index);
+    assertEquals(Arrays.asList(c, a), unassigned.filter(index).tickets);
+  }
+
+  @Test
+  public void testIncrementalUpdates() throws IOException, SQLException {
+    Random random = new Random(2);
+    List<Ticket> tickets = new ArrayList<>();
+    TicketIndex<Ticket, Integer, Integer> index = new TicketIndex<>(accessor);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      int next = 0;
+      for (int round = 0; round < 200; round++) {
+        // Remove some, add some, change some, and sometimes reorder
+        for (int i = 0; i < 30 && !tickets.isEmpty(); i++) {
+          tickets.remove(random.nextInt(tickets.size()));
+        }
+        for (int i = 0; i < 40; i++) {
+          tickets.add(random.nextInt(tickets.size() + 1), randomTicket(random, "t" + next++));
+        }
+        for (int i = 0; i < 20; i++) {
+          randomize(random, tickets.get(random.nextInt(tickets.size())));
+        }
+        if (random.nextInt(5) == 0) {
+          Collections.shuffle(tickets, random);
+        }
+        index.update(tickets, random.nextBoolean() ? pool : null);
+        Map<Ticket, Integer> assignments = new HashMap<>();
+        for (Ticket ticket : tickets) {
+          if (random.nextBoolean()) {
+            assignments.put(ticket, random.nextInt(3));
+          }
+        }
+        for (int i = 0; i < 5; i++) {
+          assertSameResult(randomFilter(random, assignments), tickets, index);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}